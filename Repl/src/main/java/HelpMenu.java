@@ -36,6 +36,7 @@ public enum HelpMenu {
         FILTER_REMOVE,
         HELP,
         PRINT,
+        ANALYZE,
         EXCLUDE_ADD,
         EXCLUDE_REMOVE,
         QUIT;
@@ -61,7 +62,9 @@ public enum HelpMenu {
                 case FILTER_ADD -> {
                     return "\t- f add <filterType> <argument> - Adds a search filter which will modify the lecture list. List of supported filters:\n" +
                             "\t\t\t f add group <groupName> - Filters lectures by group name - # creates filter: group_<groupName>\n" +
-                            "\t\t\t f add professor <professorName> - Filters lectures held by the provided professor - # creates filter: professor_<professorName>";
+                            "\t\t\t f add professor <professorName> - Filters lectures held by the provided professor - # creates filter: professor_<professorName>\n" +
+                            "\t\t\t f add day <dayOfWeek> - Filters lectures held on the provided day, e.g. monday - # creates filter: day_<dayOfWeek>\n" +
+                            "\t\t\t f add type <lectureType> - Filters lectures of the provided type: lecture, seminar or other - # creates filter: type_<lectureType>";
                 }
 
                 case FILTER_REMOVE -> {
@@ -85,6 +88,11 @@ public enum HelpMenu {
                     return "\t- p - Prints the schedule with added filters and exclusions";
                 }
 
+                case ANALYZE -> {
+                    return "\t- analyze <pathToReportFile>? - Prints every double-booked classroom, professor and group of the schedule\n" +
+                            "\t\t\t <pathToReportFile>? - OPTIONAL - Also writes the report to a .csv or .json file";
+                }
+
                 case QUIT -> {
                     return "\t- q - Quits the program";
                 }
@@ -1,4 +1,6 @@
 import schedule.Schedule;
+import schedule.analysis.ConflictReport;
+import schedule.analysis.DoubleBooking;
 import schedule.filter.Filter;
 import schedule.manager.collection.ScheduleManagerCollection;
 import schedule.manager.weekly.ScheduleManagerWeekly;
@@ -99,6 +101,9 @@ public class Main {
             case "p":
                 printSchedule();
                 break;
+            case "analyze":
+                analyzeConflicts(argument1);
+                break;
             case "q":
                 break;
             default:
@@ -196,6 +201,26 @@ public class Main {
         System.out.println("-------------------- ");
     }
 
+    private void analyzeConflicts(String reportPath) {
+        ConflictReport report = schedule.analyzeConflicts();
+        System.out.println("----- Conflicts ----- ");
+        for (DoubleBooking booking : report.doubleBookings()) {
+            System.out.println(booking.resource() + " " + booking.key() + " on " + booking.day() + " " + booking.start() + "-" + booking.end()
+                    + ": " + booking.first().getSubject() + " / " + booking.second().getSubject());
+        }
+        System.out.println("-------------------- ");
+        report.counts().forEach((resource, count) -> System.out.println(resource + ": " + count));
+        if (reportPath == null) {
+            return;
+        }
+        try {
+            schedule.writeConflictReport(report, reportPath);
+            System.out.println("Report written to: " + reportPath);
+        } catch (Exception e) {
+            System.err.println("Failed writing report with: " + e.getLocalizedMessage());
+        }
+    }
+
     private boolean checkParams(String... args) {
         Arrays.stream(args).forEach(System.out::println);
         for (String arg : args) {
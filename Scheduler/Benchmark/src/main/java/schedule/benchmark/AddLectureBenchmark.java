@@ -0,0 +1,81 @@
+package schedule.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import schedule.Schedule;
+import schedule.index.Resource;
+import schedule.lecture.Lecture;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conflict check of {@link Schedule#addLecture(Lecture)} by adding a lecture that clashes with one
+ * already in the schedule, so the schedule doesn't change between invocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Dfile.encoding=UTF-8", "-Xmx4g"})
+public class AddLectureBenchmark {
+
+	/**
+	 * The number of lectures in the schedule.
+	 */
+	@Param({"400", "100000", "1000000"})
+	public int scale;
+
+	/**
+	 * The resources checked for conflicts: only classrooms, as by default, or classrooms, professors and groups.
+	 */
+	@Param({"classroom", "all"})
+	public String resources;
+
+	/**
+	 * Whether the lectures are kept in a columnar store.
+	 */
+	@Param({"false", "true"})
+	public boolean columnar;
+
+	private Schedule schedule;
+	private Lecture clash;
+
+	/**
+	 * Fills the schedule.
+	 */
+	@Setup
+	public void setup() {
+		List<Lecture> lectures = Fixtures.lectures(scale);
+		schedule = new Schedule();
+		// the bundled schedule isn't free of conflicts, fill the schedule without checking
+		schedule.setConflictResources(Set.of());
+		lectures.forEach(schedule::addLecture);
+		schedule.setColumnarStorage(columnar);
+		schedule.setConflictResources(resources.equals("all") ? EnumSet.allOf(Resource.class) : EnumSet.of(Resource.CLASSROOM));
+
+		Lecture last = lectures.get(lectures.size() - 1);
+		clash = last.withTimes(last.getStart(), last.getEnd());
+		clash.setSubject("Clash");
+	}
+
+	/**
+	 * @return false, the lecture is rejected
+	 */
+	@Benchmark
+	public boolean addClashing() {
+		return schedule.addLecture(clash);
+	}
+}
@@ -0,0 +1,47 @@
+package schedule.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Runs the benchmarks and writes the results as JSON to {@code jmh-result.json}, unless other options are given.
+ * <p>
+ * Accepts the usual JMH options, e.g. {@code java -jar benchmarks.jar Filter -p scale=400 -rff filter.json}.
+ */
+public final class BenchmarkRunner {
+
+	private BenchmarkRunner() {
+	}
+
+	/**
+	 * @param args the JMH command line options
+	 * @throws CommandLineOptionException If the options can't be parsed.
+	 * @throws RunnerException            If a benchmark fails.
+	 * @throws IOException                If the help can't be printed.
+	 */
+	public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException {
+		CommandLineOptions options = new CommandLineOptions(args);
+		if (options.shouldHelp()) {
+			options.showHelp();
+			return;
+		}
+		if (options.shouldList()) {
+			new Runner(options).list();
+			return;
+		}
+		ChainedOptionsBuilder builder = new OptionsBuilder().parent(options);
+		if (options.getResultFormat().hasValue() || options.getResult().hasValue()) {
+			builder.resultFormat(options.getResultFormat().orElse(ResultFormatType.JSON));
+		} else {
+			builder.resultFormat(ResultFormatType.JSON).result("jmh-result.json");
+		}
+		new Runner(builder.build()).run();
+	}
+}
@@ -0,0 +1,89 @@
+package schedule.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import schedule.Schedule;
+import schedule.index.Resource;
+import schedule.insert.InsertReport;
+import schedule.lecture.Lecture;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures filling an empty schedule with {@link Schedule#addLectures(java.util.Collection)}
+ * against calling {@link Schedule#addLecture(Lecture)} for every lecture.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Dfile.encoding=UTF-8", "-Xmx4g"})
+public class BulkInsertBenchmark {
+
+	/**
+	 * The number of lectures inserted.
+	 */
+	@Param({"1000", "100000"})
+	public int scale;
+
+	/**
+	 * The resources checked for conflicts: only classrooms, as by default, or classrooms, professors and groups.
+	 */
+	@Param({"classroom", "all"})
+	public String resources;
+
+	private List<Lecture> lectures;
+	private Schedule schedule;
+
+	/**
+	 * Loads the lectures.
+	 */
+	@Setup(Level.Trial)
+	public void load() {
+		lectures = Fixtures.lectures(scale);
+	}
+
+	/**
+	 * Creates an empty schedule for every insert.
+	 */
+	@Setup(Level.Iteration)
+	public void setup() {
+		schedule = new Schedule();
+		schedule.setConflictResources(resources.equals("all") ? EnumSet.allOf(Resource.class) : EnumSet.of(Resource.CLASSROOM));
+	}
+
+	/**
+	 * @return the outcome of every lecture
+	 */
+	@Benchmark
+	public InsertReport addLectures() {
+		return schedule.addLectures(lectures);
+	}
+
+	/**
+	 * @return the number of lectures added
+	 */
+	@Benchmark
+	public int addLectureLoop() {
+		int added = 0;
+		for (Lecture lecture : lectures) {
+			if (schedule.addLecture(lecture)) {
+				added++;
+			}
+		}
+		return added;
+	}
+}
@@ -0,0 +1,78 @@
+package schedule.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import schedule.classroom.Classroom;
+import schedule.classroom.ClassroomRegistry;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures looking up the bundled classrooms by name, which the importers do for every lecture.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Dfile.encoding=UTF-8")
+public class ClassroomRegistryBenchmark {
+
+	private String first;
+	private String last;
+	private String loose;
+
+	/**
+	 * Registers the bundled classrooms.
+	 */
+	@Setup
+	public void setup() {
+		Fixtures.directory();
+		List<Classroom> classrooms = ClassroomRegistry.classrooms();
+		first = classrooms.get(0).getName();
+		last = classrooms.get(classrooms.size() - 1).getName();
+		loose = " " + last.toUpperCase() + " ";
+	}
+
+	/**
+	 * @return the first registered classroom
+	 */
+	@Benchmark
+	public Optional<Classroom> forNameFirst() {
+		return ClassroomRegistry.forName(first);
+	}
+
+	/**
+	 * @return the last registered classroom
+	 */
+	@Benchmark
+	public Optional<Classroom> forNameLast() {
+		return ClassroomRegistry.forName(last);
+	}
+
+	/**
+	 * @return nothing, the classroom doesn't exist
+	 */
+	@Benchmark
+	public Optional<Classroom> forNameMissing() {
+		return ClassroomRegistry.forName("Missing");
+	}
+
+	/**
+	 * @return the last registered classroom
+	 */
+	@Benchmark
+	public Optional<Classroom> forNormalizedName() {
+		return ClassroomRegistry.forNormalizedName(loose);
+	}
+}
@@ -0,0 +1,150 @@
+package schedule.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import schedule.lecture.Lecture;
+import schedule.manager.service.provided.codec.DayCodec;
+import schedule.manager.service.provided.codec.GroupCodec;
+import schedule.manager.service.provided.codec.TimeRangeCodec;
+import schedule.manager.service.provided.csv.mappers.DayMapper;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures decoding and encoding the fields of a thousand lectures with the codecs,
+ * against the regular expressions and formatters they replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Dfile.encoding=UTF-8"})
+public class CodecBenchmark {
+
+	private static final int FIELDS = 1000;
+
+	private final String[] timeRanges = new String[FIELDS];
+	private final String[] days = new String[FIELDS];
+	private final String[] groups = new String[FIELDS];
+	private final LocalTime[] starts = new LocalTime[FIELDS];
+	private final LocalTime[] ends = new LocalTime[FIELDS];
+
+	/**
+	 * Takes the fields from the lectures the other benchmarks use, formatted like the CSV files.
+	 */
+	@Setup
+	public void setup() {
+		List<Lecture> lectures = Fixtures.lectures(FIELDS);
+		for (int i = 0; i < FIELDS; i++) {
+			Lecture lecture = lectures.get(i);
+			starts[i] = lecture.getStart();
+			ends[i] = lecture.getEnd();
+			String end = ends[i].getMinute() == 0 ? String.valueOf(ends[i].getHour()) : ends[i].getHour() + ":" + ends[i].getMinute();
+			timeRanges[i] = starts[i].getHour() + ":" + starts[i].getMinute() + "-" + end;
+			days[i] = DayMapper.mapToAbbreviation(lecture.getDay());
+			groups[i] = String.join(", ", lecture.getGroups());
+		}
+	}
+
+	/**
+	 * @param blackhole consumes the times
+	 */
+	@Benchmark
+	public void parseTimeRangesFormatter(Blackhole blackhole) {
+		DateTimeFormatter formatter = DateTimeFormatter.ofPattern("H:m");
+		for (String range : timeRanges) {
+			String[] parts = range.split("-");
+			blackhole.consume(LocalTime.parse(parts[0], formatter));
+			String end = parts[1].contains(":") ? parts[1] : parts[1] + ":00";
+			blackhole.consume(LocalTime.parse(end, formatter));
+		}
+	}
+
+	/**
+	 * @param blackhole consumes the times
+	 */
+	@Benchmark
+	public void parseTimeRangesCodec(Blackhole blackhole) {
+		for (String range : timeRanges) {
+			int decoded = TimeRangeCodec.decode(range, 0, range.length());
+			blackhole.consume(TimeRangeCodec.start(decoded));
+			blackhole.consume(TimeRangeCodec.end(decoded));
+		}
+	}
+
+	/**
+	 * @param blackhole consumes the formatted ranges
+	 */
+	@Benchmark
+	public void formatTimeRangesFormatter(Blackhole blackhole) {
+		DateTimeFormatter formatter = DateTimeFormatter.ofPattern("HH:mm");
+		for (int i = 0; i < FIELDS; i++) {
+			blackhole.consume(starts[i].format(formatter) + "-" + ends[i].format(formatter));
+		}
+	}
+
+	/**
+	 * @param blackhole consumes the formatted ranges
+	 */
+	@Benchmark
+	public void formatTimeRangesCodec(Blackhole blackhole) {
+		for (int i = 0; i < FIELDS; i++) {
+			blackhole.consume(TimeRangeCodec.format(starts[i], ends[i]));
+		}
+	}
+
+	/**
+	 * @param blackhole consumes the days
+	 */
+	@Benchmark
+	public void parseDaysRegex(Blackhole blackhole) {
+		for (String day : days) {
+			blackhole.consume(DayMapper.mapToDayOfWeek(day.trim().replaceAll("[\\s ]*", "").trim()));
+		}
+	}
+
+	/**
+	 * @param blackhole consumes the days
+	 */
+	@Benchmark
+	public void parseDaysCodec(Blackhole blackhole) {
+		for (String day : days) {
+			blackhole.consume(DayCodec.fromAbbreviation(day, 0, day.length()));
+		}
+	}
+
+	/**
+	 * @param blackhole consumes the groups
+	 */
+	@Benchmark
+	public void splitGroupsRegex(Blackhole blackhole) {
+		for (String list : groups) {
+			for (String group : list.split("\\s*,\\s*")) {
+				blackhole.consume(group);
+			}
+		}
+	}
+
+	/**
+	 * @param blackhole consumes the positions of the groups
+	 */
+	@Benchmark
+	public void splitGroupsCodec(Blackhole blackhole) {
+		for (String list : groups) {
+			GroupCodec.split(list, 0, list.length(), true, (text, from, to) -> blackhole.consume(from + to));
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package schedule.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import schedule.lecture.Lecture;
+import schedule.manager.collection.OccurrenceView;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures expanding the bundled weekly schedule into a collection of occurrences, which
+ * {@link schedule.manager.collection.ScheduleManagerCollection} does when loading a schedule.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Dfile.encoding=UTF-8", "-Xmx4g"})
+public class CollectionBenchmark {
+
+	/**
+	 * The number of occurrences, rounded up to whole weeks.
+	 */
+	@Param({"400", "100000", "1000000"})
+	public int scale;
+
+	private OccurrenceView occurrences;
+
+	/**
+	 * Loads the weekly schedule.
+	 */
+	@Setup
+	public void setup() {
+		occurrences = Fixtures.occurrences(scale);
+	}
+
+	/**
+	 * @return every occurrence
+	 */
+	@Benchmark
+	public List<Lecture> materialize() {
+		return new OccurrenceView(Fixtures.weekly(), Fixtures.period(scale)).materialize();
+	}
+
+	/**
+	 * @return the number of occurrences, counted without keeping them
+	 */
+	@Benchmark
+	public long iterate() {
+		return occurrences.stream().count();
+	}
+}
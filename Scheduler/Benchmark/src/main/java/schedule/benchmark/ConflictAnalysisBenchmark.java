@@ -0,0 +1,76 @@
+package schedule.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import schedule.analysis.ConflictAnalyzer;
+import schedule.analysis.ConflictReport;
+import schedule.index.Resource;
+import schedule.lecture.Lecture;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures finding every double-booked classroom, professor and group of a schedule,
+ * with the days analyzed by one thread or by a thread per available processor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Dfile.encoding=UTF-8", "-Xmx4g"})
+public class ConflictAnalysisBenchmark {
+
+	/**
+	 * The number of lectures in the schedule.
+	 */
+	@Param({"400", "100000", "1000000"})
+	public int scale;
+
+	/**
+	 * The number of threads analyzing the days, 0 for one per available processor.
+	 */
+	@Param({"1", "0"})
+	public int threads;
+
+	private List<Lecture> lectures;
+	private ForkJoinPool pool;
+
+	/**
+	 * Loads the lectures and starts the pool.
+	 */
+	@Setup
+	public void setup() {
+		lectures = Fixtures.lectures(scale);
+		pool = new ForkJoinPool(threads == 0 ? Runtime.getRuntime().availableProcessors() : threads);
+	}
+
+	/**
+	 * Stops the pool.
+	 */
+	@TearDown
+	public void tearDown() {
+		pool.shutdown();
+	}
+
+	/**
+	 * @return the report
+	 */
+	@Benchmark
+	public ConflictReport analyze() {
+		return ConflictAnalyzer.analyze(lectures, EnumSet.allOf(Resource.class), pool);
+	}
+}
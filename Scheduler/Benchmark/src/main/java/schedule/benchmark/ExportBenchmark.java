@@ -0,0 +1,152 @@
+package schedule.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import schedule.lecture.Lecture;
+import schedule.manager.ExportReport;
+import schedule.manager.ScheduleManager;
+import schedule.manager.service.provided.csv.ScheduleManagerCSV;
+import schedule.manager.service.provided.json.ScheduleManagerJSON;
+import schedule.manager.service.provided.pdf.ScheduleExporterPDF;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures exporting lectures to CSV, JSON and PDF.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Dfile.encoding=UTF-8", "-Xmx4g"})
+public class ExportBenchmark {
+
+	/**
+	 * The lectures and files for the CSV and JSON exports.
+	 */
+	@State(Scope.Benchmark)
+	public static class Text {
+
+		/**
+		 * The number of lectures to export.
+		 */
+		@Param({"400", "100000", "1000000"})
+		public int scale;
+
+		private List<Lecture> lectures;
+		private Path csv;
+		private Path json;
+
+		/**
+		 * Creates the lectures and the files.
+		 *
+		 * @throws IOException If the files can't be created.
+		 */
+		@Setup
+		public void setup() throws IOException {
+			lectures = Fixtures.lectures(scale);
+			csv = Files.createTempFile("export", ".csv");
+			json = Files.createTempFile("export", ".json");
+		}
+	}
+
+	/**
+	 * The lectures and files for the PDF export and for publishing to CSV, JSON and PDF at once.
+	 * PDFs of a million lectures aren't practical, so the largest scale is smaller.
+	 */
+	@State(Scope.Benchmark)
+	public static class Pdf {
+
+		/**
+		 * The number of lectures to export.
+		 */
+		@Param({"400", "10000", "100000"})
+		public int pdfScale;
+
+		private List<Lecture> lectures;
+		private Path pdf;
+		private List<String> published;
+
+		/**
+		 * Creates the lectures and the files.
+		 *
+		 * @throws IOException If the files can't be created.
+		 */
+		@Setup
+		public void setup() throws IOException {
+			lectures = Fixtures.lectures(pdfScale);
+			pdf = Files.createTempFile("export", ".pdf");
+			published = List.of(Files.createTempFile("publish", ".csv").toString(),
+					Files.createTempFile("publish", ".json").toString(), pdf.toString());
+		}
+	}
+
+	/**
+	 * @param text the lectures and files
+	 * @return true
+	 * @throws IOException If the file can't be written.
+	 */
+	@Benchmark
+	public boolean exportCsv(Text text) throws IOException {
+		return new ScheduleManagerCSV().exportData(text.lectures, text.csv.toString());
+	}
+
+	/**
+	 * @param text the lectures and files
+	 * @return true
+	 * @throws IOException If the file can't be written.
+	 */
+	@Benchmark
+	public boolean exportJson(Text text) throws IOException {
+		return new ScheduleManagerJSON().exportData(text.lectures, text.json.toString());
+	}
+
+	/**
+	 * @param pdf the lectures and file
+	 * @return true
+	 * @throws IOException If the file can't be written.
+	 */
+	@Benchmark
+	public boolean exportPdf(Pdf pdf) throws IOException {
+		return new ScheduleExporterPDF().exportData(pdf.lectures, pdf.pdf.toString());
+	}
+
+	/**
+	 * Writes the CSV, JSON and PDF files one after the other.
+	 *
+	 * @param pdf the lectures and files
+	 * @throws Exception If a file can't be written.
+	 */
+	@Benchmark
+	public void publishSequential(Pdf pdf) throws Exception {
+		ScheduleManager manager = new ScheduleManager();
+		for (String path : pdf.published) {
+			manager.writeSchedule(pdf.lectures, path);
+		}
+	}
+
+	/**
+	 * Writes the CSV, JSON and PDF files at once, reading the lectures once.
+	 *
+	 * @param pdf the lectures and files
+	 * @return the timings
+	 * @throws Exception If a file can't be written.
+	 */
+	@Benchmark
+	public ExportReport publishConcurrent(Pdf pdf) throws Exception {
+		return new ScheduleManager().writeSchedules(pdf.lectures, pdf.published).join();
+	}
+}
@@ -0,0 +1,93 @@
+package schedule.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import schedule.Schedule;
+import schedule.filter.ClassroomComputerFilter;
+import schedule.filter.ClassroomNameFilter;
+import schedule.filter.ClassroomSizeFilter;
+import schedule.filter.DayFilter;
+import schedule.filter.Filter;
+import schedule.filter.GroupFilter;
+import schedule.filter.LectureTypeFilter;
+import schedule.filter.ProfessorFilter;
+import schedule.lecture.Lecture;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Schedule#filtered()} with an increasing number of filters, from cheap and unselective to selective,
+ * for each way the schedule can keep its lectures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Dfile.encoding=UTF-8", "-Xmx4g"})
+public class FilterBenchmark {
+
+	/**
+	 * The number of lectures in the schedule.
+	 */
+	@Param({"400", "100000", "1000000"})
+	public int scale;
+
+	/**
+	 * The number of filters.
+	 */
+	@Param({"1", "2", "3", "4", "5", "6", "7"})
+	public int filters;
+
+	/**
+	 * How the schedule keeps its lectures: a list filtered by the compiled pipeline, a list with the posting index,
+	 * or a columnar store.
+	 */
+	@Param({"list", "indexed", "columnar"})
+	public String storage;
+
+	private Schedule schedule;
+
+	/**
+	 * Fills the schedule and adds the filters.
+	 */
+	@Setup
+	public void setup() {
+		List<Lecture> lectures = Fixtures.lectures(scale);
+		Lecture sample = Fixtures.weekly().get(0);
+		List<Filter> all = List.of(
+				new ClassroomSizeFilter(20),
+				new ClassroomComputerFilter(0),
+				new ProfessorFilter(sample.getProfessor().substring(0, 3)),
+				new ClassroomNameFilter("raf"),
+				new LectureTypeFilter(sample.getType()),
+				new DayFilter(sample.getDay()),
+				new GroupFilter(sample.getGroups().iterator().next()));
+
+		schedule = new Schedule();
+		schedule.setConflictResources(Set.of());
+		lectures.forEach(schedule::addLecture);
+		all.subList(0, filters).forEach(schedule::addFilter);
+		schedule.setIndexedFiltering(storage.equals("indexed"));
+		schedule.setColumnarStorage(storage.equals("columnar"));
+	}
+
+	/**
+	 * @return the filtered lectures
+	 */
+	@Benchmark
+	public List<Lecture> filtered() {
+		return schedule.filtered();
+	}
+}
@@ -0,0 +1,146 @@
+package schedule.benchmark;
+
+import schedule.common.ValidityPeriod;
+import schedule.lecture.Lecture;
+import schedule.manager.ScheduleManager;
+import schedule.manager.collection.OccurrenceView;
+import schedule.manager.service.provided.json.ScheduleManagerJSON;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inputs shared by the benchmarks.
+ * <p>
+ * Every input is derived from the bundled schedule, a weekly schedule of 400 lectures. A scale of up to 400 takes
+ * the first lectures of the bundled schedule, larger scales expand the bundled schedule into a collection of
+ * occurrences on consecutive dates, like {@link schedule.manager.collection.ScheduleManagerCollection} does.
+ */
+final class Fixtures {
+
+	/**
+	 * The first date of the synthetic collections.
+	 */
+	static final LocalDate START = LocalDate.of(2023, 10, 2);
+
+	private static Path directory;
+	private static List<Lecture> weekly;
+
+	private Fixtures() {
+	}
+
+	/**
+	 * @return the directory the bundled files are extracted to, with the classrooms registered
+	 */
+	static synchronized Path directory() {
+		if (directory == null) {
+			try {
+				Path extracted = Files.createTempDirectory("schedule-benchmark");
+				for (String name : List.of("schedule.csv", "mapping.cfg", "classrooms.json")) {
+					try (InputStream input = Fixtures.class.getResourceAsStream("/fixtures/" + name)) {
+						Files.copy(input, extracted.resolve(name), StandardCopyOption.REPLACE_EXISTING);
+					}
+				}
+				new ScheduleManager().initializeClassrooms(extracted.resolve("classrooms.json").toString());
+				directory = extracted;
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		return directory;
+	}
+
+	/**
+	 * @return the path of the bundled mapping configuration
+	 */
+	static String config() {
+		return directory().resolve("mapping.cfg").toString();
+	}
+
+	/**
+	 * @return the lectures of the bundled weekly schedule
+	 */
+	static synchronized List<Lecture> weekly() {
+		if (weekly == null) {
+			try {
+				weekly = List.copyOf(new ScheduleManager().loadSchedule(directory().resolve("schedule.csv").toString(), config()));
+			} catch (Exception e) {
+				throw new IllegalStateException("Could not load the bundled schedule", e);
+			}
+		}
+		return weekly;
+	}
+
+	/**
+	 * @param scale the number of lectures
+	 * @return a new mutable list of lectures
+	 */
+	static List<Lecture> lectures(int scale) {
+		List<Lecture> weekly = weekly();
+		if (scale <= weekly.size()) {
+			return new ArrayList<>(weekly.subList(0, scale));
+		}
+		return occurrences(scale).stream().limit(scale).collect(ArrayList::new, List::add, List::addAll);
+	}
+
+	/**
+	 * @param scale the number of occurrences
+	 * @return a view of the bundled schedule over a period with at least the given number of occurrences
+	 */
+	static OccurrenceView occurrences(int scale) {
+		return new OccurrenceView(weekly(), period(scale));
+	}
+
+	/**
+	 * @param scale the number of occurrences
+	 * @return whole weeks with at least the given number of occurrences of the bundled schedule
+	 */
+	static ValidityPeriod period(int scale) {
+		long weeks = Math.max(1, (scale + weekly().size() - 1) / weekly().size());
+		return new ValidityPeriod(START, START.plusWeeks(weeks));
+	}
+
+	/**
+	 * Writes a CSV file with the given number of rows, repeating the rows of the bundled schedule.
+	 *
+	 * @param scale the number of rows
+	 * @return the path of the file
+	 */
+	static Path csv(int scale) throws IOException {
+		Path path = directory().resolve("schedule-" + scale + ".csv");
+		if (Files.notExists(path)) {
+			List<String> lines = Files.readAllLines(directory().resolve("schedule.csv"), StandardCharsets.UTF_8);
+			List<String> rows = lines.subList(1, lines.size()).stream().filter(line -> !line.isBlank()).toList();
+			List<String> output = new ArrayList<>(scale + 1);
+			output.add(lines.get(0));
+			for (int i = 0; i < scale; i++) {
+				output.add(rows.get(i % rows.size()));
+			}
+			Files.write(path, output, StandardCharsets.UTF_8);
+		}
+		return path;
+	}
+
+	/**
+	 * Writes a JSON file with the given number of lectures.
+	 *
+	 * @param scale the number of lectures
+	 * @return the path of the file
+	 */
+	static Path json(int scale) throws IOException {
+		Path path = directory().resolve("schedule-" + scale + ".json");
+		if (Files.notExists(path)) {
+			Files.createFile(path);
+			new ScheduleManagerJSON().exportData(lectures(scale), path.toString());
+		}
+		return path;
+	}
+}
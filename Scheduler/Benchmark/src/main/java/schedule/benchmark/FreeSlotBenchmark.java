@@ -0,0 +1,135 @@
+package schedule.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import schedule.Schedule;
+import schedule.classroom.Classroom;
+import schedule.classroom.ClassroomRegistry;
+import schedule.common.ValidityPeriod;
+import schedule.index.FreeSlot;
+import schedule.index.Resource;
+import schedule.index.RoomRequirements;
+import schedule.lecture.Lecture;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures finding the classrooms with at least 30 seats and a projector that are free on Tuesday from 14 to 16,
+ * and every free window of at least 90 minutes in such a classroom during the week,
+ * with the free slot finder and by checking a lecture in every classroom and time for conflicts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Dfile.encoding=UTF-8", "-Xmx4g"})
+public class FreeSlotBenchmark {
+
+	private static final RoomRequirements REQUIREMENTS = RoomRequirements.seats(30).withProjector();
+	private static final LocalTime FROM = LocalTime.of(8, 0);
+	private static final LocalTime TO = LocalTime.of(21, 0);
+	private static final Duration LENGTH = Duration.ofMinutes(90);
+	private static final Duration STEP = Duration.ofMinutes(15);
+
+	/**
+	 * The number of lectures in the schedule.
+	 */
+	@Param({"400", "100000"})
+	public int scale;
+
+	private Schedule schedule;
+	/**
+	 * The week searched in, the first week of the schedule.
+	 */
+	private ValidityPeriod week;
+
+	/**
+	 * Fills the schedule and indexes the free time of the classrooms.
+	 */
+	@Setup
+	public void setup() {
+		Fixtures.directory();
+		List<Lecture> lectures = Fixtures.lectures(scale);
+		schedule = new Schedule();
+		schedule.setConflictResources(Set.of());
+		lectures.forEach(schedule::addLecture);
+		schedule.setConflictResources(EnumSet.of(Resource.CLASSROOM));
+		week = lectures.get(0).getValidityPeriod();
+		schedule.findFreeClassrooms(REQUIREMENTS, DayOfWeek.TUESDAY, LocalTime.of(14, 0), LocalTime.of(16, 0), week);
+	}
+
+	/**
+	 * @return the free classrooms
+	 */
+	@Benchmark
+	public List<Classroom> freeClassroomsFinder() {
+		return schedule.findFreeClassrooms(REQUIREMENTS, DayOfWeek.TUESDAY, LocalTime.of(14, 0), LocalTime.of(16, 0), week);
+	}
+
+	/**
+	 * @return the free classrooms
+	 */
+	@Benchmark
+	public List<Classroom> freeClassroomsConflicts() {
+		List<Classroom> free = new ArrayList<>();
+		for (Classroom classroom : ClassroomRegistry.classrooms()) {
+			if (REQUIREMENTS.test(classroom) && isFree(classroom, DayOfWeek.TUESDAY, LocalTime.of(14, 0), LocalTime.of(16, 0))) {
+				free.add(classroom);
+			}
+		}
+		return free;
+	}
+
+	/**
+	 * @return the free windows
+	 */
+	@Benchmark
+	public List<FreeSlot> freeSlotsFinder() {
+		return schedule.findFreeSlots(REQUIREMENTS, EnumSet.allOf(DayOfWeek.class), FROM, TO, LENGTH, week);
+	}
+
+	/**
+	 * Tries every start time a step apart, as the finder's cells, and reports the free starts.
+	 *
+	 * @return the free windows
+	 */
+	@Benchmark
+	public List<FreeSlot> freeSlotsConflicts() {
+		List<FreeSlot> slots = new ArrayList<>();
+		for (Classroom classroom : ClassroomRegistry.classrooms()) {
+			if (!REQUIREMENTS.test(classroom)) {
+				continue;
+			}
+			for (DayOfWeek day : DayOfWeek.values()) {
+				for (LocalTime start = FROM; !start.plus(LENGTH).isAfter(TO); start = start.plus(STEP)) {
+					if (isFree(classroom, day, start, start.plus(LENGTH))) {
+						slots.add(new FreeSlot(classroom, day, start, start.plus(LENGTH)));
+					}
+				}
+			}
+		}
+		return slots;
+	}
+
+	private boolean isFree(Classroom classroom, DayOfWeek day, LocalTime start, LocalTime end) {
+		Lecture probe = new Lecture("Probe", null, null, Set.of(), day, start, end, week, classroom);
+		return schedule.getConflicts(probe).isEmpty();
+	}
+}
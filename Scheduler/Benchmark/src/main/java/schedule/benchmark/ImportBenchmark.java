@@ -0,0 +1,81 @@
+package schedule.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import schedule.lecture.Lecture;
+import schedule.manager.service.provided.csv.ScheduleImporterMappedCSV;
+import schedule.manager.service.provided.csv.ScheduleManagerCSV;
+import schedule.manager.service.provided.json.ScheduleManagerJSON;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading a schedule file with {@link ScheduleManagerCSV#loadData}, {@link ScheduleImporterMappedCSV#loadData}
+ * and {@link ScheduleManagerJSON#loadData}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Dfile.encoding=UTF-8", "-Xmx4g"})
+public class ImportBenchmark {
+
+	/**
+	 * The number of lectures in the file.
+	 */
+	@Param({"400", "100000", "1000000"})
+	public int scale;
+
+	private String csv;
+	private String json;
+
+	/**
+	 * Writes the files.
+	 *
+	 * @throws IOException If the files can't be written.
+	 */
+	@Setup
+	public void setup() throws IOException {
+		csv = Fixtures.csv(scale).toString();
+		json = Fixtures.json(scale).toString();
+	}
+
+	/**
+	 * @return the loaded lectures
+	 * @throws IOException If the file can't be read.
+	 */
+	@Benchmark
+	public List<Lecture> loadCsv() throws IOException {
+		return new ScheduleManagerCSV().loadData(csv, Fixtures.config());
+	}
+
+	/**
+	 * @return the loaded lectures
+	 * @throws IOException If the file can't be read.
+	 */
+	@Benchmark
+	public List<Lecture> loadMappedCsv() throws IOException {
+		return new ScheduleImporterMappedCSV().loadData(csv, Fixtures.config());
+	}
+
+	/**
+	 * @return the loaded lectures
+	 * @throws IOException If the file can't be read.
+	 */
+	@Benchmark
+	public List<Lecture> loadJson() throws IOException {
+		return new ScheduleManagerJSON().loadData(json, null);
+	}
+}
@@ -0,0 +1,101 @@
+package schedule.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import schedule.Schedule;
+import schedule.lecture.Lecture;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures moving a lecture from the middle of the schedule back and forth between two times, by the lecture and by
+ * its handle, and looking the lecture up by value and by handle.
+ * The schedule checks no resources for conflicts, so every move succeeds and only the lookup and update are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Dfile.encoding=UTF-8", "-Xmx4g"})
+public class LectureHandleBenchmark {
+
+	private static final LocalTime EARLY = LocalTime.of(8, 0);
+	private static final LocalTime LATE = LocalTime.of(19, 0);
+
+	/**
+	 * The number of lectures in the schedule.
+	 */
+	@Param({"400", "100000"})
+	public int scale;
+
+	private Schedule schedule;
+	private Lecture lecture;
+	private long handle;
+	private boolean early;
+
+	/**
+	 * Fills the schedule and picks the lecture in the middle.
+	 */
+	@Setup
+	public void setup() {
+		List<Lecture> lectures = Fixtures.lectures(scale);
+		schedule = new Schedule();
+		schedule.setConflictResources(Set.of());
+		lectures.forEach(schedule::addLecture);
+		lecture = lectures.get(lectures.size() / 2);
+		handle = schedule.handleOf(lecture).orElseThrow();
+	}
+
+	/**
+	 * @return whether the lecture was moved
+	 */
+	@Benchmark
+	public boolean moveByLecture() {
+		early = !early;
+		LocalTime start = early ? EARLY : LATE;
+		boolean moved = schedule.moveLecture(lecture, start, start.plusMinutes(90));
+		lecture = lecture.withTimes(start, start.plusMinutes(90));
+		return moved;
+	}
+
+	/**
+	 * @return whether the lecture was moved
+	 */
+	@Benchmark
+	public boolean moveByHandle() {
+		early = !early;
+		LocalTime start = early ? EARLY : LATE;
+		return schedule.moveLecture(handle, start, start.plusMinutes(90));
+	}
+
+	/**
+	 * @return the handle of the lecture
+	 */
+	@Benchmark
+	public OptionalLong lookupByLecture() {
+		return schedule.handleOf(lecture);
+	}
+
+	/**
+	 * @return the lecture
+	 */
+	@Benchmark
+	public Optional<Lecture> lookupByHandle() {
+		return schedule.getLecture(handle);
+	}
+}
@@ -0,0 +1,152 @@
+package schedule.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import schedule.Schedule;
+import schedule.classroom.Classroom;
+import schedule.classroom.ClassroomRegistry;
+import schedule.index.Resource;
+import schedule.index.RoomRequirements;
+import schedule.lecture.Lecture;
+import schedule.placement.AutoPlacer;
+import schedule.placement.PlacementRequest;
+import schedule.placement.PlacementResult;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures placing the lectures of the busiest classrooms of the weekly schedule elsewhere, as if the classrooms were
+ * closed for renovation, with the {@link AutoPlacer} against trying every classroom and time in turn with
+ * {@link Schedule#addLecture(Lecture)}. Every lecture needs a classroom with at least as many seats as its own.
+ * The lectures of the placeholder group RG, which is booked for more hours than a week has, stay in the timetable.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Dfile.encoding=UTF-8", "-Xmx4g"})
+public class PlacementBenchmark {
+
+	private static final Duration BUDGET = Duration.ofSeconds(5);
+	private static final Duration STEP = Duration.ofMinutes(15);
+
+	/**
+	 * The number of classrooms closed.
+	 */
+	@Param({"1", "5", "10"})
+	public int closed;
+
+	private List<Lecture> timetable;
+	private List<PlacementRequest> requests;
+	private Set<String> closedClassrooms;
+	private Schedule schedule;
+
+	/**
+	 * Takes the lectures of the busiest classrooms out of the timetable.
+	 */
+	@Setup(Level.Trial)
+	public void load() {
+		Fixtures.directory();
+		List<Lecture> lectures = Fixtures.weekly();
+		Map<String, Long> usage = lectures.stream()
+				.collect(Collectors.groupingBy(lecture -> lecture.getClassroom().getName(), Collectors.counting()));
+		closedClassrooms = usage.entrySet().stream()
+				.sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+				.limit(closed)
+				.map(Map.Entry::getKey)
+				.collect(Collectors.toSet());
+		timetable = new ArrayList<>();
+		requests = new ArrayList<>();
+		for (Lecture lecture : lectures) {
+			if (closedClassrooms.contains(lecture.getClassroom().getName()) && !lecture.getGroups().contains("RG")) {
+				requests.add(PlacementRequest.of(lecture, RoomRequirements.seats(seats(lecture.getClassroom()))));
+			} else {
+				timetable.add(lecture);
+			}
+		}
+	}
+
+	/**
+	 * Creates the timetable for every placement.
+	 */
+	@Setup(Level.Iteration)
+	public void setup() {
+		schedule = new Schedule();
+		schedule.setConflictResources(Set.of());
+		timetable.forEach(schedule::addLecture);
+		schedule.setConflictResources(EnumSet.allOf(Resource.class));
+	}
+
+	/**
+	 * @return the placed lectures
+	 */
+	@Benchmark
+	public PlacementResult autoPlacer() {
+		AutoPlacer placer = schedule.autoPlacer();
+		placer.setClosedClassrooms(closedClassrooms);
+		return placer.place(requests, BUDGET);
+	}
+
+	/**
+	 * Adds every lecture in the first classroom and time it fits in, classrooms in registration order.
+	 *
+	 * @return the number of lectures placed
+	 */
+	@Benchmark
+	public int firstFit() {
+		List<Classroom> classrooms = ClassroomRegistry.classrooms().stream()
+				.filter(classroom -> !closedClassrooms.contains(classroom.getName()))
+				.toList();
+		int placed = 0;
+		for (PlacementRequest request : requests) {
+			if (firstFit(request, classrooms)) {
+				placed++;
+			}
+		}
+		return placed;
+	}
+
+	private boolean firstFit(PlacementRequest request, List<Classroom> classrooms) {
+		Lecture lecture = request.lecture();
+		for (Classroom classroom : classrooms) {
+			if (!request.requirements().test(classroom)) {
+				continue;
+			}
+			for (DayOfWeek day : request.days()) {
+				for (LocalTime start = request.earliest(); !start.plus(request.length()).isAfter(request.latest()); start = start.plus(STEP)) {
+					Lecture placed = new Lecture(lecture.getSubject(), lecture.getType(), lecture.getProfessor(),
+							new HashSet<>(lecture.getGroups()), day, start, start.plus(request.length()), lecture.getValidityPeriod(), classroom);
+					if (schedule.addLecture(placed)) {
+						return true;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	private static int seats(Classroom classroom) {
+		return classroom.getNoSpaces() == null ? 0 : classroom.getNoSpaces();
+	}
+}
@@ -0,0 +1,61 @@
+package schedule.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import schedule.lecture.Lecture;
+import schedule.manager.ScheduleManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ScheduleManager#sort(List)} on a shuffled copy of the lectures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Dfile.encoding=UTF-8", "-Xmx4g"})
+public class SortBenchmark {
+
+	/**
+	 * The number of lectures.
+	 */
+	@Param({"400", "100000", "1000000"})
+	public int scale;
+
+	private final ScheduleManager manager = new ScheduleManager();
+	private List<Lecture> shuffled;
+
+	/**
+	 * Shuffles the lectures.
+	 */
+	@Setup
+	public void setup() {
+		shuffled = Fixtures.lectures(scale);
+		Collections.shuffle(shuffled, new Random(42));
+	}
+
+	/**
+	 * @return the sorted copy
+	 */
+	@Benchmark
+	public List<Lecture> sort() {
+		List<Lecture> lectures = new ArrayList<>(shuffled);
+		manager.sort(lectures);
+		return lectures;
+	}
+}
@@ -56,6 +56,16 @@ public final class Classroom {
 		return ClassroomRegistry.forName(name);
 	}
 
+	/**
+	 * Finds a classroom from a name, ignoring case and whitespace if there is no classroom with the exact name.
+	 *
+	 * @param name The name of the classroom
+	 * @return If exists, returns the classroom with the given name, otherwise returns empty optional
+	 */
+	public static Optional<Classroom> forLooseName(String name) {
+		return ClassroomRegistry.forName(name).or(() -> ClassroomRegistry.forNormalizedName(name));
+	}
+
 	/**
 	 * Checks if the classroom has a projector.
 	 *
@@ -1,27 +1,34 @@
 package schedule.classroom;
 
-import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * The ClassroomRegistry class provides methods to manage and retrieve Classroom objects.
+ * <p>
+ * The classrooms are kept in an immutable snapshot, indexed by name and by normalized name, behind a volatile reference.
+ * Lookups never lock, and {@link #initialize(List) initializing} the registry again replaces the snapshot atomically,
+ * so a reader sees either the old or the new classrooms, never a mix of both.
  */
 public final class ClassroomRegistry {
 
-	private static class Holder {
-		private static final List<Classroom> CLASSROOMS = new ArrayList<>();
+	private static volatile Snapshot snapshot = Snapshot.EMPTY;
+
+	private ClassroomRegistry() {
 	}
 
 	/**
-	 * Initializes the list of classrooms if it is empty.
+	 * Replaces the registered classrooms with the given ones.
+	 * If several classrooms have the same name, the first one is kept.
 	 *
-	 * @param rooms the list of classrooms to be added to the list
+	 * @param rooms the classrooms to register
 	 */
 	public static void initialize(List<Classroom> rooms) {
-		if (Holder.CLASSROOMS.isEmpty()) {
-			Holder.CLASSROOMS.addAll(rooms);
-		}
+		snapshot = Snapshot.of(rooms);
 	}
 
 	/**
@@ -31,6 +38,71 @@ public final class ClassroomRegistry {
 	 * @return an optional containing a Classroom object if found, otherwise an empty optional
 	 */
 	public static Optional<Classroom> forName(String name) {
-		return Holder.CLASSROOMS.stream().filter(c -> c.getName().equals(name)).findFirst();
+		return Optional.ofNullable(snapshot.byName.get(name));
+	}
+
+	/**
+	 * Returns an optional Classroom object with the given name, ignoring case and whitespace,
+	 * so {@code "raf 10(a)"} finds {@code "Raf10 (a)"}.
+	 *
+	 * @param name the name of the classroom to search for
+	 * @return an optional containing a Classroom object if found, otherwise an empty optional
+	 */
+	public static Optional<Classroom> forNormalizedName(String name) {
+		return name == null ? Optional.empty() : Optional.ofNullable(snapshot.byNormalizedName.get(normalize(name)));
+	}
+
+	/**
+	 * @return the registered classrooms, in the order they were registered
+	 */
+	public static List<Classroom> classrooms() {
+		return snapshot.classrooms;
+	}
+
+	/**
+	 * Normalizes a classroom name by removing whitespace and converting it to lower case.
+	 *
+	 * @param name the name to normalize
+	 * @return the normalized name
+	 */
+	static String normalize(String name) {
+		StringBuilder normalized = new StringBuilder(name.length());
+		for (int i = 0; i < name.length(); i++) {
+			char c = name.charAt(i);
+			if (!Character.isWhitespace(c) && !Character.isSpaceChar(c)) {
+				normalized.append(c);
+			}
+		}
+		return normalized.toString().toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * An immutable view of the registered classrooms.
+	 */
+	private static final class Snapshot {
+
+		private static final Snapshot EMPTY = new Snapshot(List.of(), Map.of(), Map.of());
+
+		private final List<Classroom> classrooms;
+		private final Map<String, Classroom> byName;
+		private final Map<String, Classroom> byNormalizedName;
+
+		private Snapshot(List<Classroom> classrooms, Map<String, Classroom> byName, Map<String, Classroom> byNormalizedName) {
+			this.classrooms = classrooms;
+			this.byName = byName;
+			this.byNormalizedName = byNormalizedName;
+		}
+
+		private static Snapshot of(List<Classroom> rooms) {
+			Map<String, Classroom> byName = new HashMap<>(rooms.size() * 2);
+			Map<String, Classroom> byNormalizedName = new HashMap<>(rooms.size() * 2);
+			for (Classroom room : rooms) {
+				if (room.getName() != null) {
+					byName.putIfAbsent(room.getName(), room);
+					byNormalizedName.putIfAbsent(normalize(room.getName()), room);
+				}
+			}
+			return new Snapshot(List.copyOf(rooms), Collections.unmodifiableMap(byName), Collections.unmodifiableMap(byNormalizedName));
+		}
 	}
-}
\ No newline at end of file
+}
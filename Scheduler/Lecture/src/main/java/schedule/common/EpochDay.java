@@ -0,0 +1,66 @@
+package schedule.common;
+
+import java.time.LocalDate;
+
+/**
+ * Encodes dates as {@code int} epoch days, for storing dates in primitive columns and binary records.
+ * <p>
+ * {@link LocalDate#MIN} and {@link LocalDate#MAX}, used for lectures that are valid indefinitely, don't fit into
+ * an {@code int}, so they are mapped to {@link #MIN} and {@link #MAX}.
+ * Any other date outside the {@code int} range is clamped to them as well.
+ */
+public final class EpochDay {
+
+	/**
+	 * Encoded {@link LocalDate#MIN}.
+	 */
+	public static final int MIN = Integer.MIN_VALUE;
+
+	/**
+	 * Encoded {@link LocalDate#MAX}.
+	 */
+	public static final int MAX = Integer.MAX_VALUE;
+
+	/**
+	 * Encoded missing date.
+	 */
+	public static final int NONE = Integer.MIN_VALUE + 1;
+
+	private EpochDay() {
+	}
+
+	/**
+	 * Encodes a date.
+	 *
+	 * @param date the date to encode, can be null
+	 * @return the epoch day of the date, or {@link #NONE} if the date is null
+	 */
+	public static int of(LocalDate date) {
+		if (date == null) {
+			return NONE;
+		}
+		long epochDay = date.toEpochDay();
+		if (epochDay <= NONE) {
+			return MIN;
+		}
+		if (epochDay >= MAX) {
+			return MAX;
+		}
+		return (int) epochDay;
+	}
+
+	/**
+	 * Decodes a date.
+	 *
+	 * @param epochDay the encoded date
+	 * @return the decoded date, or null if the date is missing
+	 */
+	public static LocalDate toDate(int epochDay) {
+		return switch (epochDay) {
+			case MIN -> LocalDate.MIN;
+			case MAX -> LocalDate.MAX;
+			case NONE -> null;
+			default -> LocalDate.ofEpochDay(epochDay);
+		};
+	}
+}
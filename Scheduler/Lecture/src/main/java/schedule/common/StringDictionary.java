@@ -0,0 +1,150 @@
+package schedule.common;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Interns strings and assigns every distinct string a stable, small {@code int} id.
+ * <p>
+ * Schedules repeat the same few hundred subjects, professors, groups and classroom names thousands of times.
+ * Importers pass every such value of a file through a dictionary of their own, so every occurrence shares
+ * a single {@code String} instance, and code that stores lectures in columns can store the id instead.
+ * <p>
+ * Ids are assigned in insertion order starting from zero and are never reused. Lookups are lock-free,
+ * adding a new string takes a lock. The dictionary only grows, so it should live as long as the file or the
+ * schedule it is used for, and not longer: there is no dictionary shared by the whole process.
+ */
+public final class StringDictionary {
+
+	/**
+	 * The id of a missing (null) string.
+	 */
+	public static final int NONE = -1;
+
+	private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+
+	/**
+	 * The strings by id. Replaced by a larger copy when full, so a reader always sees every string
+	 * whose id it was able to look up.
+	 */
+	private volatile String[] values = new String[256];
+
+	/**
+	 * The number of strings in the dictionary, guarded by {@code this}.
+	 */
+	private int size;
+
+	/**
+	 * Creates an empty dictionary.
+	 */
+	public StringDictionary() {
+	}
+
+	/**
+	 * Returns the id of a string, adding it to the dictionary if it isn't in it yet.
+	 *
+	 * @param value the string
+	 * @return the id of the string, or {@link #NONE} if the string is null
+	 */
+	public int id(String value) {
+		if (value == null) {
+			return NONE;
+		}
+		Integer id = ids.get(value);
+		return id != null ? id : add(value);
+	}
+
+	/**
+	 * Returns the id of a string without adding it.
+	 *
+	 * @param value the string
+	 * @return the id of the string, or {@link #NONE} if the string is null or not in the dictionary
+	 */
+	public int idOf(String value) {
+		if (value == null) {
+			return NONE;
+		}
+		return ids.getOrDefault(value, NONE);
+	}
+
+	/**
+	 * Returns the string with the given id.
+	 *
+	 * @param id the id
+	 * @return the string, or null for {@link #NONE}
+	 * @throws IndexOutOfBoundsException if no string has the given id
+	 */
+	public String value(int id) {
+		if (id == NONE) {
+			return null;
+		}
+		String[] current = values;
+		if (id < 0 || id >= current.length || current[id] == null) {
+			throw new IndexOutOfBoundsException("Unknown string id: " + id);
+		}
+		return current[id];
+	}
+
+	/**
+	 * Returns the shared instance of a string, adding the string to the dictionary if it isn't in it yet.
+	 *
+	 * @param value the string
+	 * @return the shared instance equal to the string, or null if the string is null
+	 */
+	public String intern(String value) {
+		return value(id(value));
+	}
+
+	/**
+	 * Returns the shared instance of a string if the dictionary contains it, without adding it.
+	 * Useful for values, like filter requirements, that are compared against interned strings but shouldn't grow the dictionary.
+	 *
+	 * @param value the string
+	 * @return the shared instance equal to the string if there is one, otherwise the string itself
+	 */
+	public String canonical(String value) {
+		int id = idOf(value);
+		return id == NONE ? value : value(id);
+	}
+
+	/**
+	 * @return the number of strings in the dictionary
+	 */
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * Evaluates a predicate once per string in the dictionary.
+	 *
+	 * @param predicate the predicate to evaluate
+	 * @return the ids of the strings the predicate accepts
+	 */
+	public BitSet matching(Predicate<String> predicate) {
+		String[] current = values;
+		BitSet matching = new BitSet(current.length);
+		for (int id = 0; id < current.length && current[id] != null; id++) {
+			if (predicate.test(current[id])) {
+				matching.set(id);
+			}
+		}
+		return matching;
+	}
+
+	private synchronized int add(String value) {
+		Integer id = ids.get(value);
+		if (id != null) {
+			return id;
+		}
+		String[] current = values;
+		if (size == current.length) {
+			current = Arrays.copyOf(current, size * 2);
+		}
+		current[size] = value;
+		values = current;
+		ids.put(value, size);
+		return size++;
+	}
+}
@@ -0,0 +1,197 @@
+package schedule.exclusions;
+
+import schedule.common.EpochDay;
+import schedule.common.ValidityPeriod;
+import schedule.lecture.Lecture;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Exclusions compiled into a calendar, so checking whether a lecture is excluded doesn't test every exclusion.
+ * <p>
+ * {@link HolidayExclusion Holidays}, {@link ExamExclusion exams} and {@link TestExclusion tests} are turned into
+ * sorted, disjoint intervals over epoch days, which are searched in O(log n). Within the window of the calendar,
+ * usually the validity period of the schedule, the excluded days are also kept in a bitset, so checking a lecture
+ * held on a single day is a single bit lookup. Any other exclusion is tested as a predicate.
+ * <p>
+ * The calendar answers exactly like testing the exclusions one by one. To express the strict comparisons of the
+ * exclusions, the calendar counts in half days: a lecture valid from day {@code f} to day {@code t} covers the half days
+ * strictly between {@code 2f} and {@code 2t}, a holiday on day {@code d} marks the half day {@code 2d}, and an exam from
+ * day {@code f} to day {@code t} marks the half days from {@code 2f + 1} to {@code 2t - 1}.
+ * <p>
+ * The calendar is immutable, it has to be compiled again when the exclusions change.
+ */
+public final class ExclusionCalendar {
+
+	/**
+	 * The largest window, in half days, kept in the bitset.
+	 */
+	private static final long MAX_WINDOW = 1L << 24;
+
+	/**
+	 * The starts of the excluded intervals, in half days, sorted.
+	 */
+	private final long[] starts;
+
+	/**
+	 * The inclusive ends of the excluded intervals, in half days.
+	 */
+	private final long[] ends;
+
+	/**
+	 * The first half day of the window, or {@code Long.MAX_VALUE} if there is no window.
+	 */
+	private final long windowStart;
+
+	/**
+	 * The last half day of the window.
+	 */
+	private final long windowEnd;
+
+	/**
+	 * The excluded half days in the window, relative to its start.
+	 */
+	private final BitSet window;
+
+	/**
+	 * The exclusions placed in the calendar.
+	 */
+	private final List<Exclusion> compiled = new ArrayList<>();
+
+	/**
+	 * The exclusions that can't be placed in the calendar.
+	 */
+	private final List<Exclusion> others = new ArrayList<>();
+
+	/**
+	 * Compiles the exclusions into a calendar.
+	 *
+	 * @param exclusions the exclusions
+	 * @param window     the dates to keep in the bitset, usually the validity period of the schedule, can be null
+	 */
+	public ExclusionCalendar(Collection<? extends Exclusion> exclusions, ValidityPeriod window) {
+		List<long[]> intervals = new ArrayList<>();
+		for (Exclusion exclusion : exclusions) {
+			long[] interval = interval(exclusion);
+			if (interval == null) {
+				others.add(exclusion);
+				continue;
+			}
+			compiled.add(exclusion);
+			if (interval[0] <= interval[1]) {
+				intervals.add(interval);
+			}
+		}
+		intervals.sort((first, second) -> Long.compare(first[0], second[0]));
+
+		// merge into disjoint intervals, so the last interval starting before a point is the only one that can contain it
+		long[] starts = new long[intervals.size()];
+		long[] ends = new long[intervals.size()];
+		int size = 0;
+		for (long[] interval : intervals) {
+			if (size > 0 && interval[0] <= ends[size - 1] + 1) {
+				ends[size - 1] = Math.max(ends[size - 1], interval[1]);
+			} else {
+				starts[size] = interval[0];
+				ends[size] = interval[1];
+				size++;
+			}
+		}
+		this.starts = Arrays.copyOf(starts, size);
+		this.ends = Arrays.copyOf(ends, size);
+
+		long windowStart = Long.MAX_VALUE;
+		long windowEnd = Long.MIN_VALUE;
+		if (window != null && window.validFrom() != null && window.validTo() != null) {
+			long from = 2L * EpochDay.of(window.validFrom());
+			long to = 2L * EpochDay.of(window.validTo());
+			if (to - from < MAX_WINDOW) {
+				windowStart = from;
+				windowEnd = to;
+			}
+		}
+		this.windowStart = windowStart;
+		this.windowEnd = windowEnd;
+		this.window = new BitSet();
+		for (int i = 0; i < size && windowStart != Long.MAX_VALUE; i++) {
+			long from = Math.max(starts[i], windowStart);
+			long to = Math.min(ends[i], windowEnd);
+			if (from <= to) {
+				this.window.set((int) (from - windowStart), (int) (to - windowStart) + 1);
+			}
+		}
+	}
+
+	/**
+	 * Checks if any of the exclusions excludes the lecture.
+	 *
+	 * @param lecture the lecture to check
+	 * @return true if the lecture is excluded, false otherwise
+	 */
+	public boolean isExcluded(Lecture lecture) {
+		for (Exclusion other : others) {
+			if (other.test(lecture)) {
+				return true;
+			}
+		}
+		ValidityPeriod period = lecture.getValidityPeriod();
+		if (period == null || !period.validFrom().isBefore(period.validTo())) {
+			// no half day lies strictly inside an empty period, let the exclusions handle it
+			return compiled.stream().anyMatch(exclusion -> exclusion.test(lecture));
+		}
+		long from = 2L * EpochDay.of(period.validFrom()) + 1;
+		long to = 2L * EpochDay.of(period.validTo()) - 1;
+		if (from >= windowStart && to <= windowEnd) {
+			int next = window.nextSetBit((int) (from - windowStart));
+			return next >= 0 && next <= to - windowStart;
+		}
+		int index = Arrays.binarySearch(starts, to);
+		int last = index >= 0 ? index : -index - 2;
+		return last >= 0 && ends[last] >= from;
+	}
+
+	/**
+	 * Checks every lecture in parallel.
+	 *
+	 * @param lectures the lectures to check, which shouldn't be modified while they are checked
+	 * @return the positions of the excluded lectures in the list
+	 */
+	public BitSet markExcluded(List<Lecture> lectures) {
+		BitSet excluded = new BitSet(lectures.size());
+		IntStream.range(0, lectures.size())
+				.parallel()
+				.filter(position -> isExcluded(lectures.get(position)))
+				.forEachOrdered(excluded::set);
+		return excluded;
+	}
+
+	/**
+	 * @return the excluded half days of an exclusion, or null if the exclusion isn't one of the known types
+	 */
+	private static long[] interval(Exclusion exclusion) {
+		if (exclusion instanceof HolidayExclusion holiday && holiday.date() != null) {
+			long day = 2L * EpochDay.of(holiday.date());
+			return new long[]{day, day};
+		}
+		ValidityPeriod active;
+		if (exclusion instanceof ExamExclusion exam) {
+			active = exam.active();
+		} else if (exclusion instanceof TestExclusion test) {
+			active = test.active();
+		} else {
+			return null;
+		}
+		if (active == null) {
+			return null;
+		}
+		long from = 2L * EpochDay.of(active.validFrom());
+		long to = 2L * EpochDay.of(active.validTo());
+		// an exam on a single day excludes lectures containing the day, like a holiday
+		return from == to ? new long[]{from, to} : new long[]{from + 1, to - 1};
+	}
+}
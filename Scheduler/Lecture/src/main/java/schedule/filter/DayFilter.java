@@ -0,0 +1,20 @@
+package schedule.filter;
+
+import schedule.lecture.Lecture;
+
+import java.time.DayOfWeek;
+
+/**
+ * Filter for lectures held on a given day of the week.
+ */
+public record DayFilter(DayOfWeek requirement) implements Filter {
+	@Override
+	public boolean test(Lecture lecture) {
+		return lecture.getDay() == requirement;
+	}
+
+	@Override
+	public String getName() {
+		return "day_" + requirement.name().toLowerCase();
+	}
+}
@@ -1,7 +1,9 @@
 package schedule.filter;
 
 import schedule.lecture.Lecture;
+import schedule.lecture.type.LectureType;
 
+import java.time.DayOfWeek;
 import java.util.Objects;
 import java.util.function.Predicate;
 
@@ -42,6 +44,8 @@ public interface Filter extends Predicate<Lecture> {
 			case CLASSROOM_COMPUTER -> new ClassroomComputerFilter(Integer.parseInt(requirement));
 			case CLASSROOM_NAME -> new ClassroomNameFilter(requirement);
 			case CLASSROOM_SIZE -> new ClassroomSizeFilter(Integer.parseInt(requirement));
+			case DAY -> new DayFilter(DayOfWeek.valueOf(requirement.toUpperCase()));
+			case TYPE -> new LectureTypeFilter(LectureType.valueOf(requirement.toUpperCase()));
 		};
 	}
 
@@ -68,16 +72,14 @@ public interface Filter extends Predicate<Lecture> {
 	}
 
 	/**
-	 * Returns a new Filter object that represents the logical AND of this filter and another filter.
+	 * Returns a new Filter object that represents the logical AND of this filter and another predicate.
 	 *
-	 * @param other The other filter to apply the logical AND operation with.
-	 * @return A new Filter object that represents the logical AND of this filter and the other filter.
-	 * @throws NullPointerException if the other filter is null.
+	 * @param other The other filter or predicate to apply the logical AND operation with.
+	 * @return A new Filter object that represents the logical AND of this filter and the other predicate.
+	 * @throws NullPointerException if the other predicate is null.
 	 */
 	@Override
 	default Filter and(Predicate<? super Lecture> other) {
-		if (!(other instanceof Filter))
-			return (t) -> false;
 		Objects.requireNonNull(other);
 		return (t) -> test(t) && other.test(t);
 	}
@@ -87,6 +89,6 @@ public interface Filter extends Predicate<Lecture> {
 	 * The user can implement other types of filters by subclassing or with lambdas.
 	 */
 	enum FilterType {
-		SUBJECT, PROFESSOR, GROUP, CLASSROOM_PROJECTOR, CLASSROOM_COMPUTER, CLASSROOM_NAME, CLASSROOM_SIZE
+		SUBJECT, PROFESSOR, GROUP, CLASSROOM_PROJECTOR, CLASSROOM_COMPUTER, CLASSROOM_NAME, CLASSROOM_SIZE, DAY, TYPE
 	}
 }
@@ -0,0 +1,154 @@
+package schedule.filter;
+
+import schedule.lecture.Lecture;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * A set of filters compiled into a flat array, evaluated in the order that is expected to reject a lecture the fastest.
+ * <p>
+ * The order is based on a cost estimate of every filter type and on the fraction of lectures every filter lets
+ * through, measured on a sample of the lectures the pipeline is going to be applied to.
+ * Cheap and selective filters run first, and evaluation stops at the first filter rejecting the lecture.
+ * <p>
+ * A pipeline is immutable, it has to be compiled again when the set of filters changes.
+ */
+public final class FilterPipeline implements Predicate<Lecture> {
+
+	/**
+	 * The maximum number of lectures tested to estimate the selectivity of a filter.
+	 */
+	private static final int SAMPLE_SIZE = 1024;
+
+	/**
+	 * A pipeline without filters, it accepts every lecture.
+	 */
+	private static final FilterPipeline EMPTY = new FilterPipeline(new Filter[0]);
+
+	private final Filter[] filters;
+
+	private FilterPipeline(Filter[] filters) {
+		this.filters = filters;
+	}
+
+	/**
+	 * Compiles the filters into a pipeline.
+	 *
+	 * @param filters  the filters to compile, all of them have to pass for a lecture to be accepted
+	 * @param lectures the lectures the pipeline is going to be applied to, used to estimate the selectivity of every filter
+	 * @return the compiled pipeline
+	 */
+	public static FilterPipeline compile(Collection<? extends Filter> filters, List<Lecture> lectures) {
+		if (filters.isEmpty()) {
+			return EMPTY;
+		}
+		if (filters.size() == 1) {
+			return new FilterPipeline(filters.toArray(new Filter[0]));
+		}
+
+		List<Lecture> sample = sample(lectures);
+		List<Ranked> ranked = new ArrayList<>(filters.size());
+		for (Filter filter : filters) {
+			ranked.add(new Ranked(filter, rank(filter, sample)));
+		}
+		// stable sort, so filters with the same rank keep the order they were added in
+		ranked.sort(Comparator.comparingDouble(Ranked::rank));
+		return new FilterPipeline(ranked.stream().map(Ranked::filter).toArray(Filter[]::new));
+	}
+
+	/**
+	 * Tests the lecture against every filter, stopping at the first one that rejects it.
+	 *
+	 * @param lecture the lecture to test
+	 * @return true if every filter accepts the lecture, false otherwise
+	 */
+	@Override
+	public boolean test(Lecture lecture) {
+		for (Filter filter : filters) {
+			if (!filter.test(lecture)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the compiled filters in evaluation order
+	 */
+	public List<Filter> getFilters() {
+		return List.of(filters);
+	}
+
+	/**
+	 * Checks if the pipeline accepts every lecture.
+	 *
+	 * @return true if the pipeline has no filters, false otherwise
+	 */
+	public boolean isEmpty() {
+		return filters.length == 0;
+	}
+
+	/**
+	 * Ranks a filter by the expected cost of reaching a rejection through it.
+	 * A filter that rejects nothing is ranked after all filters that do.
+	 */
+	private static double rank(Filter filter, List<Lecture> sample) {
+		if (sample.isEmpty()) {
+			return cost(filter);
+		}
+		int passed = 0;
+		for (Lecture lecture : sample) {
+			if (passes(filter, lecture)) {
+				passed++;
+			}
+		}
+		double rejected = 1 - (double) passed / sample.size();
+		return rejected == 0 ? Double.MAX_VALUE : cost(filter) / rejected;
+	}
+
+	private static boolean passes(Filter filter, Lecture lecture) {
+		try {
+			return filter.test(lecture);
+		} catch (RuntimeException e) {
+			// incomplete lectures only fail once the pipeline is applied, sampling must not report them
+			return true;
+		}
+	}
+
+	/**
+	 * Relative cost of evaluating a filter once.
+	 */
+	private static double cost(Filter filter) {
+		if (filter instanceof DayFilter || filter instanceof LectureTypeFilter) {
+			return 1;
+		}
+		if (filter instanceof ClassroomSizeFilter || filter instanceof ClassroomComputerFilter || filter instanceof ClassroomProjectorFilter) {
+			return 2;
+		}
+		if (filter instanceof GroupFilter) {
+			return 3;
+		}
+		// Subject, professor and classroom name filters lower-case both strings on every test,
+		// filters that the library doesn't know about are assumed to be at least as expensive
+		return 8;
+	}
+
+	private static List<Lecture> sample(List<Lecture> lectures) {
+		if (lectures.size() <= SAMPLE_SIZE) {
+			return lectures;
+		}
+		List<Lecture> sample = new ArrayList<>(SAMPLE_SIZE);
+		double step = (double) lectures.size() / SAMPLE_SIZE;
+		for (int i = 0; i < SAMPLE_SIZE; i++) {
+			sample.add(lectures.get((int) (i * step)));
+		}
+		return sample;
+	}
+
+	private record Ranked(Filter filter, double rank) {
+	}
+}
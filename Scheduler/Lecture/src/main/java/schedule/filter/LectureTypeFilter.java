@@ -0,0 +1,19 @@
+package schedule.filter;
+
+import schedule.lecture.Lecture;
+import schedule.lecture.type.LectureType;
+
+/**
+ * Filter for lectures of a given type.
+ */
+public record LectureTypeFilter(LectureType requirement) implements Filter {
+	@Override
+	public boolean test(Lecture lecture) {
+		return lecture.getType() == requirement;
+	}
+
+	@Override
+	public String getName() {
+		return "type_" + requirement.name().toLowerCase();
+	}
+}
@@ -81,4 +81,23 @@ public class Lecture {
 				this.classroom);
 	}
 
+	/**
+	 * Returns a new Lecture object held in another classroom.
+	 * Used for replacing the classroom of a lecture with a reloaded one, without changing the lecture.
+	 * @param classroom the new classroom for the Lecture
+	 * @return a new Lecture object with the updated classroom
+	 */
+	public Lecture withClassroom(Classroom classroom) {
+		return new Lecture(
+				this.subject,
+				this.type,
+				this.professor,
+				this.groups == null ? null : new HashSet<>(this.groups),
+				this.day,
+				this.start,
+				this.end,
+				this.validityPeriod,
+				classroom);
+	}
+
 }
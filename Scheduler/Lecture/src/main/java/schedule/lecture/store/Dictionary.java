@@ -0,0 +1,72 @@
+package schedule.lecture.store;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Assigns small consecutive ids to distinct values, so columns can store the id instead of the value.
+ * Ids are never reused or removed, the dictionary only grows.
+ *
+ * @param <T> the type of the values, must have value-based equality
+ */
+final class Dictionary<T> {
+
+	private final Map<T, Integer> ids = new HashMap<>();
+	private final List<T> values = new ArrayList<>();
+
+	/**
+	 * Returns the id of a value, adding the value to the dictionary if it isn't in it yet.
+	 *
+	 * @param value the value, can be null
+	 * @return the id of the value, or {@link LectureStore#NONE} for null
+	 */
+	int add(T value) {
+		if (value == null) {
+			return LectureStore.NONE;
+		}
+		Integer id = ids.get(value);
+		if (id == null) {
+			id = values.size();
+			ids.put(value, id);
+			values.add(value);
+		}
+		return id;
+	}
+
+	/**
+	 * Returns the id of a value without adding it.
+	 *
+	 * @param value the value, can be null
+	 * @return the id of the value, or {@link LectureStore#NONE} if the value is null or not in the dictionary
+	 */
+	int idOf(T value) {
+		if (value == null) {
+			return LectureStore.NONE;
+		}
+		return ids.getOrDefault(value, LectureStore.NONE);
+	}
+
+	T value(int id) {
+		return id == LectureStore.NONE ? null : values.get(id);
+	}
+
+	/**
+	 * Evaluates a predicate once per distinct value.
+	 *
+	 * @param predicate the predicate to evaluate
+	 * @return the ids of the values the predicate accepts
+	 */
+	BitSet matching(Predicate<T> predicate) {
+		BitSet matching = new BitSet(values.size());
+		for (int id = 0; id < values.size(); id++) {
+			if (predicate.test(values.get(id))) {
+				matching.set(id);
+			}
+		}
+		return matching;
+	}
+}
@@ -0,0 +1,548 @@
+package schedule.lecture.store;
+
+import schedule.classroom.Classroom;
+import schedule.common.EpochDay;
+import schedule.common.StringDictionary;
+import schedule.common.ValidityPeriod;
+import schedule.filter.ClassroomComputerFilter;
+import schedule.filter.ClassroomNameFilter;
+import schedule.filter.ClassroomProjectorFilter;
+import schedule.filter.ClassroomSizeFilter;
+import schedule.filter.DayFilter;
+import schedule.filter.Filter;
+import schedule.filter.GroupFilter;
+import schedule.filter.LectureTypeFilter;
+import schedule.filter.ProfessorFilter;
+import schedule.filter.SubjectFilter;
+import schedule.lecture.Lecture;
+import schedule.lecture.type.LectureType;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * A list of lectures stored column by column in primitive arrays.
+ * <p>
+ * Every lecture takes a fixed number of bytes: the day and the type are stored as bytes, start and end times as
+ * seconds of the day, the validity period as epoch days, and the subject, professor, groups and classroom as ids of
+ * values kept once per store. {@link Lecture} objects are only created when a lecture is read from the list,
+ * and they are detached copies: modifying them doesn't change the store.
+ * <p>
+ * Filtering, sorting and conflict checks run directly on the columns. Conflict checks look up the rows of the
+ * lecture's classroom, professor and groups on its day in a {@link RowIndex}, built on the first check and kept up to
+ * date while lectures are appended, replaced or removed from the end; other changes rebuild it on the next check.
+ * Times are stored with a precision of one second, like in the binary schedule format, except that
+ * {@link LocalTime#MAX} is stored as the end of the day. A lecture whose times have a fraction of a second is stored
+ * without it, and is not found in the store.
+ */
+public class LectureStore extends AbstractList<Lecture> implements RandomAccess {
+
+	/**
+	 * Stored in place of an id, ordinal or time that is null.
+	 */
+	static final int NONE = -1;
+	/**
+	 * Stored in place of {@link LocalTime#MAX}, one second after the last second of the day.
+	 */
+	private static final int END_OF_DAY = 24 * 60 * 60;
+
+	private static final DayOfWeek[] DAYS = DayOfWeek.values();
+	private static final LectureType[] TYPES = LectureType.values();
+
+	/**
+	 * The subjects and professors, released along with the store.
+	 */
+	private final StringDictionary strings = new StringDictionary();
+	private final Dictionary<Set<String>> groupSets = new Dictionary<>();
+	private final Dictionary<Classroom> classrooms = new Dictionary<>();
+	/**
+	 * The names of the groups, so the row index can key rows by a single group.
+	 */
+	private final Dictionary<String> groupNames = new Dictionary<>();
+
+	private byte[] day;
+	private byte[] type;
+	private int[] start;
+	private int[] end;
+	private int[] validFrom;
+	private int[] validTo;
+	private int[] subject;
+	private int[] professor;
+	private int[] groups;
+	private int[] classroom;
+
+	private int size;
+	/**
+	 * The rows by resource and day, null until the next conflict check builds it.
+	 */
+	private RowIndex rows;
+
+	/**
+	 * Creates an empty store.
+	 */
+	public LectureStore() {
+		this(16);
+	}
+
+	/**
+	 * Creates an empty store with room for the given number of lectures.
+	 *
+	 * @param capacity the initial capacity
+	 */
+	public LectureStore(int capacity) {
+		allocate(Math.max(capacity, 1));
+	}
+
+	/**
+	 * Creates a store containing the given lectures.
+	 *
+	 * @param lectures the lectures to store, in order
+	 * @return the new store
+	 */
+	public static LectureStore of(Collection<Lecture> lectures) {
+		LectureStore store = new LectureStore(lectures.size());
+		lectures.forEach(store::add);
+		return store;
+	}
+
+	@Override
+	public Lecture get(int index) {
+		Objects.checkIndex(index, size);
+		Set<String> groupSet = groupSets.value(groups[index]);
+		return new Lecture(
+				strings.value(subject[index]),
+				type[index] == NONE ? null : TYPES[type[index]],
+				strings.value(professor[index]),
+				groupSet == null ? null : new HashSet<>(groupSet),
+				day[index] == NONE ? null : DAYS[day[index]],
+				time(start[index]),
+				time(end[index]),
+				validFrom[index] == EpochDay.NONE ? null : new ValidityPeriod(EpochDay.toDate(validFrom[index]), EpochDay.toDate(validTo[index])),
+				classrooms.value(classroom[index]));
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public void add(int index, Lecture lecture) {
+		Objects.checkIndex(index, size + 1);
+		Objects.requireNonNull(lecture, "Lecture cannot be null");
+		if (size == day.length) {
+			allocate(size * 2);
+		}
+		if (index < size) {
+			shift(index, index + 1, size - index);
+			rows = null;
+		}
+		write(index, lecture);
+		if (rows != null) {
+			index(index, true);
+		}
+		size++;
+		modCount++;
+	}
+
+	@Override
+	public Lecture set(int index, Lecture lecture) {
+		Objects.requireNonNull(lecture, "Lecture cannot be null");
+		Lecture previous = get(index);
+		if (rows != null) {
+			index(index, false);
+		}
+		write(index, lecture);
+		if (rows != null) {
+			index(index, true);
+		}
+		return previous;
+	}
+
+	@Override
+	public Lecture remove(int index) {
+		Lecture removed = get(index);
+		if (rows != null && index == size - 1) {
+			index(index, false);
+		} else {
+			rows = null;
+		}
+		shift(index + 1, index, size - index - 1);
+		size--;
+		modCount++;
+		return removed;
+	}
+
+	@Override
+	public void clear() {
+		size = 0;
+		rows = null;
+		modCount++;
+	}
+
+	/**
+	 * Finds a lecture by comparing the columns, without creating a lecture per row.
+	 *
+	 * @param o the lecture to find
+	 * @return the index of the first equal lecture, or -1 if there is none
+	 */
+	@Override
+	public int indexOf(Object o) {
+		if (!(o instanceof Lecture lecture)) {
+			return -1;
+		}
+		Row row = lookup(lecture);
+		if (row == null) {
+			return -1;
+		}
+		for (int i = 0; i < size; i++) {
+			if (row.matches(i)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return indexOf(o) >= 0;
+	}
+
+	/**
+	 * Selects the lectures that pass every filter.
+	 * <p>
+	 * The filters provided by the library are evaluated once per distinct subject, professor, group set or
+	 * classroom, and then matched against the id columns. Other filters are tested on every remaining lecture.
+	 *
+	 * @param filters the filters to apply
+	 * @return the indices of the lectures that pass every filter
+	 */
+	public BitSet select(Collection<? extends Filter> filters) {
+		BitSet selected = new BitSet(size);
+		selected.set(0, size);
+		for (Filter filter : filters) {
+			IntPredicate predicate = compile(filter);
+			for (int i = selected.nextSetBit(0); i >= 0; i = selected.nextSetBit(i + 1)) {
+				if (!predicate.test(i)) {
+					selected.clear(i);
+				}
+			}
+			if (selected.isEmpty()) {
+				break;
+			}
+		}
+		return selected;
+	}
+
+	/**
+	 * Sorts the lectures by day, start time and end time, keeping the order of equal lectures.
+	 *
+	 * @return the index every lecture had before sorting, by its new index
+	 */
+	public int[] sort() {
+		// sorted by end first, then by day and start with the rank by end breaking ties, so equal lectures keep
+		// their order; every value is shifted by one, so missing values sort first
+		long[] keys = new long[size];
+		for (int i = 0; i < size; i++) {
+			keys[i] = (long) (end[i] + 1) << 32 | i;
+		}
+		Arrays.sort(keys);
+		int[] byEnd = new int[size];
+		for (int rank = 0; rank < size; rank++) {
+			byEnd[rank] = (int) keys[rank];
+		}
+		for (int rank = 0; rank < size; rank++) {
+			int i = byEnd[rank];
+			long key = (long) (day[i] + 1) * (END_OF_DAY + 2) + start[i] + 1;
+			keys[rank] = key << 32 | rank;
+		}
+		Arrays.sort(keys);
+
+		int[] order = new int[size];
+		for (int i = 0; i < size; i++) {
+			order[i] = byEnd[(int) keys[i]];
+		}
+		day = permute(day, order);
+		type = permute(type, order);
+		start = permute(start, order);
+		end = permute(end, order);
+		validFrom = permute(validFrom, order);
+		validTo = permute(validTo, order);
+		subject = permute(subject, order);
+		professor = permute(professor, order);
+		groups = permute(groups, order);
+		classroom = permute(classroom, order);
+		rows = null;
+		modCount++;
+		return order;
+	}
+
+	/**
+	 * Finds the lectures that are held at the same time as the given lecture and share one of the checked resources.
+	 * A lecture without a validity period is held in every period.
+	 *
+	 * @param lecture          the lecture to check
+	 * @param checkClassroom   whether lectures in the same classroom conflict
+	 * @param checkProfessor   whether lectures held by the same professor conflict
+	 * @param checkGroups      whether lectures attended by one of the same groups conflict
+	 * @return the indices of the conflicting lectures
+	 */
+	public BitSet conflicts(Lecture lecture, boolean checkClassroom, boolean checkProfessor, boolean checkGroups) {
+		BitSet conflicts = new BitSet();
+		int lectureDay = lecture.getDay().ordinal();
+		int lectureStart = seconds(lecture.getStart());
+		int lectureEnd = seconds(lecture.getEnd());
+		ValidityPeriod period = lecture.getValidityPeriod();
+		// a lecture without a validity period is held in every period
+		int lectureFrom = period == null ? EpochDay.MIN : EpochDay.of(period.validFrom());
+		int lectureTo = period == null ? EpochDay.MAX : EpochDay.of(period.validTo());
+		if (rows == null) {
+			rows = new RowIndex();
+			for (int i = 0; i < size; i++) {
+				index(i, true);
+			}
+		}
+
+		IntConsumer check = i -> {
+			if (end[i] > lectureStart && (validFrom[i] == EpochDay.NONE || (validFrom[i] < lectureTo && validTo[i] > lectureFrom))) {
+				conflicts.set(i);
+			}
+		};
+		if (checkClassroom) {
+			candidates(RowIndex.CLASSROOM, classrooms.idOf(lecture.getClassroom()), lectureDay, lectureStart, lectureEnd, check);
+		}
+		if (checkProfessor) {
+			candidates(RowIndex.PROFESSOR, strings.idOf(lecture.getProfessor()), lectureDay, lectureStart, lectureEnd, check);
+		}
+		if (checkGroups && lecture.getGroups() != null) {
+			for (String group : lecture.getGroups()) {
+				candidates(RowIndex.GROUP, groupNames.idOf(group), lectureDay, lectureStart, lectureEnd, check);
+			}
+		}
+		return conflicts;
+	}
+
+	private void candidates(int resource, int key, int lectureDay, int lectureStart, int lectureEnd, IntConsumer check) {
+		if (key != NONE) {
+			rows.forEachCandidate(resource, key, lectureDay, lectureStart, lectureEnd, check);
+		}
+	}
+
+	/**
+	 * Adds a row to the row index, or removes it, under its classroom, professor and every one of its groups.
+	 * Rows without a day or a time are never in conflict, so they aren't indexed.
+	 */
+	private void index(int i, boolean add) {
+		if (day[i] == NONE || start[i] == NONE || end[i] == NONE) {
+			return;
+		}
+		index(RowIndex.CLASSROOM, classroom[i], i, add);
+		index(RowIndex.PROFESSOR, professor[i], i, add);
+		Set<String> groupSet = groupSets.value(groups[i]);
+		if (groupSet != null) {
+			for (String group : groupSet) {
+				index(RowIndex.GROUP, groupNames.add(group), i, add);
+			}
+		}
+	}
+
+	private void index(int resource, int key, int i, boolean add) {
+		if (key == NONE) {
+			return;
+		}
+		if (add) {
+			rows.add(resource, key, day[i], start[i], end[i], i);
+		} else {
+			rows.remove(resource, key, day[i], start[i], i);
+		}
+	}
+
+	private IntPredicate compile(Filter filter) {
+		if (filter instanceof DayFilter dayFilter) {
+			int ordinal = dayFilter.requirement().ordinal();
+			return i -> day[i] == ordinal;
+		}
+		if (filter instanceof LectureTypeFilter typeFilter) {
+			int ordinal = typeFilter.requirement().ordinal();
+			return i -> type[i] == ordinal;
+		}
+		if (filter instanceof SubjectFilter) {
+			BitSet ids = strings.matching(value -> filter.test(probe(value, null, null, null)));
+			return i -> subject[i] != NONE && ids.get(subject[i]);
+		}
+		if (filter instanceof ProfessorFilter) {
+			BitSet ids = strings.matching(value -> filter.test(probe(null, value, null, null)));
+			return i -> professor[i] != NONE && ids.get(professor[i]);
+		}
+		if (filter instanceof GroupFilter) {
+			BitSet ids = groupSets.matching(value -> filter.test(probe(null, null, value, null)));
+			return i -> groups[i] != NONE && ids.get(groups[i]);
+		}
+		if (filter instanceof ClassroomNameFilter || filter instanceof ClassroomSizeFilter
+				|| filter instanceof ClassroomComputerFilter || filter instanceof ClassroomProjectorFilter) {
+			BitSet ids = classrooms.matching(value -> filter.test(probe(null, null, null, value)));
+			return i -> classroom[i] != NONE && ids.get(classroom[i]);
+		}
+		return i -> filter.test(get(i));
+	}
+
+	/**
+	 * Creates a lecture with a single attribute set, for evaluating a filter that only reads that attribute.
+	 */
+	private static Lecture probe(String subject, String professor, Set<String> groups, Classroom classroom) {
+		Lecture probe = new Lecture();
+		probe.setSubject(subject);
+		probe.setProfessor(professor);
+		probe.setGroups(groups);
+		probe.setClassroom(classroom);
+		return probe;
+	}
+
+	private void write(int index, Lecture lecture) {
+		day[index] = (byte) (lecture.getDay() == null ? NONE : lecture.getDay().ordinal());
+		type[index] = (byte) (lecture.getType() == null ? NONE : lecture.getType().ordinal());
+		start[index] = seconds(lecture.getStart());
+		end[index] = seconds(lecture.getEnd());
+		ValidityPeriod validityPeriod = lecture.getValidityPeriod();
+		validFrom[index] = validityPeriod == null ? EpochDay.NONE : EpochDay.of(validityPeriod.validFrom());
+		validTo[index] = validityPeriod == null ? EpochDay.NONE : EpochDay.of(validityPeriod.validTo());
+		subject[index] = strings.id(lecture.getSubject());
+		professor[index] = strings.id(lecture.getProfessor());
+		groups[index] = groupSets.add(lecture.getGroups() == null ? null : Set.copyOf(lecture.getGroups()));
+		classroom[index] = classrooms.add(lecture.getClassroom());
+	}
+
+	/**
+	 * Encodes a lecture without adding anything to the dictionaries.
+	 *
+	 * @return the encoded lecture, or null if one of its values isn't in the store, so no row can be equal to it
+	 */
+	private Row lookup(Lecture lecture) {
+		Row row = new Row(
+				lecture.getDay() == null ? NONE : lecture.getDay().ordinal(),
+				lecture.getType() == null ? NONE : lecture.getType().ordinal(),
+				seconds(lecture.getStart()),
+				seconds(lecture.getEnd()),
+				lecture.getValidityPeriod() == null ? EpochDay.NONE : EpochDay.of(lecture.getValidityPeriod().validFrom()),
+				lecture.getValidityPeriod() == null ? EpochDay.NONE : EpochDay.of(lecture.getValidityPeriod().validTo()),
+				strings.idOf(lecture.getSubject()),
+				strings.idOf(lecture.getProfessor()),
+				groupSets.idOf(lecture.getGroups()),
+				classrooms.idOf(lecture.getClassroom()));
+		if (!storedExactly(lecture.getStart()) || !storedExactly(lecture.getEnd())
+				|| (row.subject == NONE && lecture.getSubject() != null)
+				|| (row.professor == NONE && lecture.getProfessor() != null)
+				|| (row.groups == NONE && lecture.getGroups() != null)
+				|| (row.classroom == NONE && lecture.getClassroom() != null)) {
+			return null;
+		}
+		return row;
+	}
+
+	private void allocate(int capacity) {
+		day = day == null ? new byte[capacity] : Arrays.copyOf(day, capacity);
+		type = type == null ? new byte[capacity] : Arrays.copyOf(type, capacity);
+		start = start == null ? new int[capacity] : Arrays.copyOf(start, capacity);
+		end = end == null ? new int[capacity] : Arrays.copyOf(end, capacity);
+		validFrom = validFrom == null ? new int[capacity] : Arrays.copyOf(validFrom, capacity);
+		validTo = validTo == null ? new int[capacity] : Arrays.copyOf(validTo, capacity);
+		subject = subject == null ? new int[capacity] : Arrays.copyOf(subject, capacity);
+		professor = professor == null ? new int[capacity] : Arrays.copyOf(professor, capacity);
+		groups = groups == null ? new int[capacity] : Arrays.copyOf(groups, capacity);
+		classroom = classroom == null ? new int[capacity] : Arrays.copyOf(classroom, capacity);
+	}
+
+	private void shift(int from, int to, int length) {
+		System.arraycopy(day, from, day, to, length);
+		System.arraycopy(type, from, type, to, length);
+		System.arraycopy(start, from, start, to, length);
+		System.arraycopy(end, from, end, to, length);
+		System.arraycopy(validFrom, from, validFrom, to, length);
+		System.arraycopy(validTo, from, validTo, to, length);
+		System.arraycopy(subject, from, subject, to, length);
+		System.arraycopy(professor, from, professor, to, length);
+		System.arraycopy(groups, from, groups, to, length);
+		System.arraycopy(classroom, from, classroom, to, length);
+	}
+
+	private static byte[] permute(byte[] column, int[] order) {
+		byte[] permuted = new byte[column.length];
+		for (int i = 0; i < order.length; i++) {
+			permuted[i] = column[order[i]];
+		}
+		return permuted;
+	}
+
+	private static int[] permute(int[] column, int[] order) {
+		int[] permuted = new int[column.length];
+		for (int i = 0; i < order.length; i++) {
+			permuted[i] = column[order[i]];
+		}
+		return permuted;
+	}
+
+	private static int seconds(LocalTime time) {
+		if (time == null) {
+			return NONE;
+		}
+		return time.equals(LocalTime.MAX) ? END_OF_DAY : time.toSecondOfDay();
+	}
+
+	private static LocalTime time(int seconds) {
+		if (seconds == NONE) {
+			return null;
+		}
+		return seconds == END_OF_DAY ? LocalTime.MAX : LocalTime.ofSecondOfDay(seconds);
+	}
+
+	private static boolean storedExactly(LocalTime time) {
+		return time == null || time.getNano() == 0 || time.equals(LocalTime.MAX);
+	}
+
+	/**
+	 * A lecture encoded the same way it would be stored in the columns.
+	 */
+	private final class Row {
+		private final int day;
+		private final int type;
+		private final int start;
+		private final int end;
+		private final int validFrom;
+		private final int validTo;
+		private final int subject;
+		private final int professor;
+		private final int groups;
+		private final int classroom;
+
+		private Row(int day, int type, int start, int end, int validFrom, int validTo, int subject, int professor, int groups, int classroom) {
+			this.day = day;
+			this.type = type;
+			this.start = start;
+			this.end = end;
+			this.validFrom = validFrom;
+			this.validTo = validTo;
+			this.subject = subject;
+			this.professor = professor;
+			this.groups = groups;
+			this.classroom = classroom;
+		}
+
+		private boolean matches(int i) {
+			return LectureStore.this.day[i] == day && LectureStore.this.type[i] == type
+					&& LectureStore.this.start[i] == start && LectureStore.this.end[i] == end
+					&& LectureStore.this.validFrom[i] == validFrom && LectureStore.this.validTo[i] == validTo
+					&& LectureStore.this.subject[i] == subject && LectureStore.this.professor[i] == professor
+					&& LectureStore.this.groups[i] == groups && LectureStore.this.classroom[i] == classroom;
+		}
+	}
+}
@@ -0,0 +1,143 @@
+package schedule.lecture.store;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * The rows of a {@link LectureStore} by classroom, professor and group, per day of the week, ordered by start time.
+ * <p>
+ * Every bucket remembers the longest lecture ever added to it, so the rows that can overlap a time window start
+ * inside a bounded range: a lookup is a binary search followed by a scan of the rows in that range only, the same
+ * way the occupancy index of a schedule kept as objects works.
+ */
+final class RowIndex {
+
+	static final int CLASSROOM = 0;
+	static final int PROFESSOR = 1;
+	static final int GROUP = 2;
+
+	private final Map<Long, Bucket> buckets = new HashMap<>();
+
+	/**
+	 * Adds a row under a resource.
+	 *
+	 * @param resource {@link #CLASSROOM}, {@link #PROFESSOR} or {@link #GROUP}
+	 * @param key      the id of the classroom, professor or group
+	 * @param day      the ordinal of the day
+	 * @param start    the start of the lecture, in seconds of the day
+	 * @param end      the end of the lecture, in seconds of the day
+	 * @param row      the row of the lecture
+	 */
+	void add(int resource, int key, int day, int start, int end, int row) {
+		buckets.computeIfAbsent(key(resource, key, day), k -> new Bucket()).add(start, end, row);
+	}
+
+	/**
+	 * Removes a row from a resource.
+	 */
+	void remove(int resource, int key, int day, int start, int row) {
+		long bucketKey = key(resource, key, day);
+		Bucket bucket = buckets.get(bucketKey);
+		if (bucket != null && bucket.remove(start, row) && bucket.size == 0) {
+			buckets.remove(bucketKey);
+		}
+	}
+
+	/**
+	 * Passes every row of a resource starting before the end of a time window and possibly still running at its
+	 * start to the consumer. The caller checks the end and the validity period of the rows.
+	 */
+	void forEachCandidate(int resource, int key, int day, int start, int end, IntConsumer consumer) {
+		Bucket bucket = buckets.get(key(resource, key, day));
+		if (bucket != null) {
+			bucket.forEachCandidate(start, end, consumer);
+		}
+	}
+
+	private static long key(int resource, int key, int day) {
+		return ((long) key << 8) | (resource << 3) | day;
+	}
+
+	/**
+	 * The rows of one resource on one day, sorted by start.
+	 */
+	private static final class Bucket {
+
+		private int[] starts = new int[4];
+		private int[] rows = new int[4];
+		private int size;
+		/**
+		 * The length of the longest lecture ever added, never shrunk on removal.
+		 */
+		private int maxLength;
+
+		void add(int start, int end, int row) {
+			if (size == rows.length) {
+				starts = Arrays.copyOf(starts, size * 2);
+				rows = Arrays.copyOf(rows, size * 2);
+			}
+			// after the rows with the same start, so rows appended in order need no shifting
+			int position = upperBound(start);
+			System.arraycopy(starts, position, starts, position + 1, size - position);
+			System.arraycopy(rows, position, rows, position + 1, size - position);
+			starts[position] = start;
+			rows[position] = row;
+			size++;
+			maxLength = Math.max(maxLength, end - start);
+		}
+
+		boolean remove(int start, int row) {
+			for (int i = lowerBound(start); i < size && starts[i] == start; i++) {
+				if (rows[i] == row) {
+					System.arraycopy(starts, i + 1, starts, i, size - i - 1);
+					System.arraycopy(rows, i + 1, rows, i, size - i - 1);
+					size--;
+					return true;
+				}
+			}
+			return false;
+		}
+
+		void forEachCandidate(int start, int end, IntConsumer consumer) {
+			for (int i = lowerBound(Math.min(start - maxLength, end)); i < size && starts[i] < end; i++) {
+				consumer.accept(rows[i]);
+			}
+		}
+
+		/**
+		 * @return the first position whose start is at least the given one
+		 */
+		private int lowerBound(int start) {
+			int low = 0;
+			int high = size;
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				if (starts[middle] < start) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			return low;
+		}
+
+		/**
+		 * @return the first position whose start is after the given one
+		 */
+		private int upperBound(int start) {
+			int low = 0;
+			int high = size;
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				if (starts[middle] <= start) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			return low;
+		}
+	}
+}
@@ -1,18 +1,59 @@
 package schedule;
 
 import lombok.Getter;
+import schedule.analysis.ConflictAnalyzer;
+import schedule.analysis.ConflictReport;
 import schedule.classroom.Classroom;
+import schedule.classroom.ClassroomRegistry;
 import schedule.common.ValidityPeriod;
 import schedule.exclusions.Exclusion;
+import schedule.exclusions.ExclusionCalendar;
+import schedule.exporter.spec.DoubleBookingRow;
 import schedule.filter.Filter;
+import schedule.filter.FilterPipeline;
+import schedule.index.Conflict;
+import schedule.index.ConflictSweep;
+import schedule.index.FreeSlot;
+import schedule.index.FreeSlotFinder;
+import schedule.index.LectureHandles;
+import schedule.index.OccupancyIndex;
+import schedule.index.PostingIndex;
+import schedule.index.Resource;
+import schedule.index.RoomRequirements;
 import schedule.lecture.Lecture;
+import schedule.insert.InsertOutcome;
+import schedule.insert.InsertReport;
+import schedule.lecture.store.LectureStore;
+import schedule.manager.ExportReport;
 import schedule.manager.ScheduleManager;
+import schedule.merge.MergeReport;
+import schedule.merge.ScheduleMerger;
+import schedule.placement.AutoPlacer;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 // TODO: Load exceptions
@@ -39,20 +80,57 @@ public class Schedule {
 	 */
 	private final List<Filter> filters = new ArrayList<>();
 
+	/**
+	 * The filters compiled into a pipeline, recompiled every time the filters change.
+	 */
+	private FilterPipeline pipeline = FilterPipeline.compile(List.of(), List.of());
+
+	/**
+	 * The filters that can't be answered by the posting index, compiled into a pipeline.
+	 */
+	private FilterPipeline residualPipeline = pipeline;
+
 	/**
 	 * A list of exclusions for the schedule.
 	 */
 	private final List<Exclusion> exclusions = new ArrayList<>();
 
+	/**
+	 * The exclusions compiled into a calendar, null until the next exclusion check after the exclusions changed.
+	 */
+	private ExclusionCalendar calendar;
+
 	/**
 	 * The manager responsible for loading and writing the schedule.
 	 */
 	private final ScheduleManager manager;
 	/**
-	 * A list of lectures in the schedule.
+	 * A list of lectures in the schedule, including the tombstones of removed lectures until it is compacted.
+	 * The list should only be modified through the schedule, otherwise the indexes get out of sync.
 	 */
-	@Getter
 	private List<Lecture> lectures = new ArrayList<>();
+	/**
+	 * The handles of the lectures and the tombstones of the removed ones, by position in the list.
+	 */
+	private final LectureHandles handles = new LectureHandles();
+	/**
+	 * Index of the resources occupied by the lectures, used for conflict checks.
+	 * Left empty while the lectures are kept in a columnar store, which keeps its own index of the rows by resource.
+	 */
+	private final OccupancyIndex occupancy = new OccupancyIndex();
+	/**
+	 * Optional index used to answer exact-match filters, null while indexed filtering is disabled.
+	 */
+	private PostingIndex postings;
+	/**
+	 * Index of the free time of the classrooms, null until it is first searched.
+	 */
+	private FreeSlotFinder freeSlots;
+	/**
+	 * The resources that are checked for double-bookings when a lecture is added.
+	 */
+	@Getter
+	private Set<Resource> conflictResources = EnumSet.of(Resource.CLASSROOM);
 	/**
 	 * The validity period of the schedule.
 	 */
@@ -84,6 +162,7 @@ public class Schedule {
 	public void setValidityPeriod(ValidityPeriod validityPeriod) {
 		this.validityPeriod = validityPeriod;
 		manager.setValidityPeriod(validityPeriod);
+		calendar = null;
 	}
 
 	/**
@@ -95,7 +174,181 @@ public class Schedule {
 	 * @apiNote The call to {@code loadClassroomAmenities} must be made before calling this method.
 	 */
 	public void loadSchedule(String path, String config) throws Exception {
-		lectures = manager.loadSchedule(path, config);
+		List<Lecture> loaded = manager.loadSchedule(path, config);
+		lectures = store() != null ? LectureStore.of(loaded) : loaded;
+		handles.reset(lectures);
+		reindex();
+		compileFilters();
+	}
+
+	/**
+	 * Loads the lectures of a schedule file the same way {@link #loadSchedule(String, String)} does, through the
+	 * manager of this schedule and with its validity period, without changing the schedule.
+	 * Used for comparing the schedule with its file after the file changed.
+	 *
+	 * @param path   The path to the schedule file.
+	 * @param config The configuration for loading the schedule.
+	 * @return The lectures the schedule would hold after loading the file.
+	 * @throws Exception If an error occurs while loading the schedule.
+	 */
+	public List<Lecture> loadLectures(String path, String config) throws Exception {
+		return manager.loadSchedule(path, config);
+	}
+
+	/**
+	 * Loads several schedule files, e.g. one per department and year, and merges them into this schedule,
+	 * replacing the lectures already in it.
+	 * <p>
+	 * The files are parsed concurrently, by at most one thread per available processor, and merged in the given order
+	 * as they finish. Lectures identical to one from an earlier file are dropped, and lectures of different files held
+	 * in the same classroom at the same time are reported; both are kept in the schedule.
+	 * If a file can't be loaded, the schedule is left unchanged.
+	 *
+	 * @param paths  The paths to the schedule files, CSV, JSON or {@code .sched}.
+	 * @param config The configuration for loading the CSV files.
+	 * @return The report of the merge.
+	 * @throws Exception If an error occurs while loading one of the files.
+	 * @apiNote The call to {@code loadClassroomAmenities} must be made before calling this method.
+	 */
+	public MergeReport loadSchedules(Collection<Path> paths, String config) throws Exception {
+		List<Path> files = List.copyOf(paths);
+		int threads = Math.max(1, Math.min(files.size(), Runtime.getRuntime().availableProcessors()));
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<List<Lecture>>> loads = new ArrayList<>(files.size());
+			for (Path file : files) {
+				loads.add(executor.submit(() -> manager.loadSchedule(file.toString(), config)));
+			}
+			occupancy.clear();
+			ScheduleMerger merger = new ScheduleMerger(occupancy);
+			for (int i = 0; i < files.size(); i++) {
+				merger.merge(files.get(i), await(loads.get(i)));
+			}
+			lectures = store() != null ? LectureStore.of(merger.lectures()) : merger.lectures();
+			handles.reset(lectures);
+			if (store() != null) {
+				occupancy.clear();
+			}
+			if (postings != null) {
+				postings.rebuild(lectures);
+			}
+			if (freeSlots != null) {
+				freeSlots.rebuild(lectures);
+			}
+			compileFilters();
+			return merger.report();
+		} catch (Exception e) {
+			reindex();
+			throw e;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Switches between keeping the lectures as a list of objects and keeping them in a columnar {@link LectureStore}.
+	 * <p>
+	 * The columnar store keeps every lecture in a few primitive columns and shares the subjects, professors, group sets
+	 * and classrooms between lectures, which takes a fraction of the memory of a list of lectures for large, expanded
+	 * schedules. Filtering, sorting and conflict checks run on the columns. The lectures returned by the schedule
+	 * are created on demand, so they are copies: changing them doesn't change the schedule.
+	 *
+	 * @param enabled true to move the lectures into a columnar store, false to move them back into a list
+	 */
+	public void setColumnarStorage(boolean enabled) {
+		compact();
+		if (enabled && store() == null) {
+			lectures = LectureStore.of(lectures);
+		} else if (!enabled && store() != null) {
+			lectures = new ArrayList<>(lectures);
+		} else {
+			return;
+		}
+		reindex();
+	}
+
+	/**
+	 * Enables or disables the posting list index used by {@link #filtered()}.
+	 * <p>
+	 * While enabled, group, classroom name, lecture type and day filters are answered by intersecting posting lists
+	 * of lecture positions, and only the remaining filters are tested on the matching lectures.
+	 * Keeping the index up to date makes adding and removing lectures slightly more expensive.
+	 *
+	 * @param enabled true to build and maintain the index, false to drop it
+	 */
+	public void setIndexedFiltering(boolean enabled) {
+		if (!enabled) {
+			postings = null;
+		} else if (postings == null) {
+			compact();
+			postings = new PostingIndex();
+			postings.rebuild(lectures);
+		}
+	}
+
+	/**
+	 * Sets the resources that are checked for double-bookings when a lecture is added or moved.
+	 * By default, only classrooms are checked.
+	 *
+	 * @param resources the resources to check, e.g. {@code EnumSet.allOf(Resource.class)} to also reject
+	 *                  professor and group double-bookings
+	 */
+	public void setConflictResources(Set<Resource> resources) {
+		Objects.requireNonNull(resources, "Resources cannot be null");
+		conflictResources = resources.isEmpty() ? EnumSet.noneOf(Resource.class) : EnumSet.copyOf(resources);
+	}
+
+	/**
+	 * Sets the length of the cells the free time of the classrooms is tracked in, 15 minutes by default.
+	 * Lectures that don't start or end on the boundary of a cell take the whole cells they touch.
+	 *
+	 * @param granularity the length of a cell, a whole number of seconds that divides a day
+	 * @throws IllegalArgumentException If the day can't be divided into cells of the given length.
+	 */
+	public void setFreeSlotGranularity(Duration granularity) {
+		Objects.requireNonNull(granularity, "Granularity cannot be null");
+		freeSlots = createFreeSlotFinder(granularity);
+	}
+
+	/**
+	 * Finds the classrooms that are free during the whole given time, e.g. the rooms with at least 30 seats and
+	 * a projector free on Tuesday from 14 to 16:
+	 * <pre>
+	 *     schedule.findFreeClassrooms(RoomRequirements.seats(30).withProjector(), DayOfWeek.TUESDAY,
+	 *             LocalTime.of(14, 0), LocalTime.of(16, 0), null);
+	 * </pre>
+	 * The free time of the classrooms is indexed on the first search, and kept up to date as the schedule changes.
+	 *
+	 * @param requirements the amenities the classrooms need
+	 * @param day          the day of the week
+	 * @param start        the start of the time
+	 * @param end          the end of the time
+	 * @param period       the period the classrooms have to be free in, or null to check every lecture
+	 * @return the free classrooms with the required amenities
+	 */
+	public List<Classroom> findFreeClassrooms(RoomRequirements requirements, DayOfWeek day, LocalTime start, LocalTime end, ValidityPeriod period) {
+		Objects.requireNonNull(requirements, "Requirements cannot be null");
+		Objects.requireNonNull(day, "Day cannot be null");
+		return freeSlots().freeClassrooms(requirements, day, start, end, period);
+	}
+
+	/**
+	 * Finds every window of at least the given length between two times in which a classroom with the required
+	 * amenities is free.
+	 *
+	 * @param requirements the amenities the classrooms need
+	 * @param days         the days of the week to search
+	 * @param from         the earliest start of a window
+	 * @param to           the latest end of a window, {@link LocalTime#MAX} for midnight
+	 * @param length       the least length of a window
+	 * @param period       the period the classrooms have to be free in, or null to check every lecture
+	 * @return the free windows, by classroom and day
+	 * @see #findFreeClassrooms(RoomRequirements, DayOfWeek, LocalTime, LocalTime, ValidityPeriod)
+	 */
+	public List<FreeSlot> findFreeSlots(RoomRequirements requirements, Set<DayOfWeek> days, LocalTime from, LocalTime to, Duration length, ValidityPeriod period) {
+		Objects.requireNonNull(requirements, "Requirements cannot be null");
+		Objects.requireNonNull(days, "Days cannot be null");
+		return freeSlots().find(requirements, days, from, to, length, period);
 	}
 
 	/**
@@ -108,10 +361,36 @@ public class Schedule {
 	 *             "no_spaces": 23,
 	 *             "computers": 47
 	 *             }
+	 * <p>
+	 * Can be called again to reload the file, the lectures already in the schedule are then replaced by copies with
+	 * the reloaded classrooms, so lectures held by callers don't change.
+	 *
 	 * @throws IOException If an I/O error occurs during the data loading process.
 	 */
 	public void loadClassroomAmenities(String path) throws Exception {
 		manager.initializeClassrooms(path);
+		compact();
+		boolean replaced = false;
+		for (int i = 0; i < lectures.size(); i++) {
+			Lecture lecture = lectures.get(i);
+			Classroom current = lecture.getClassroom();
+			if (current == null) {
+				continue;
+			}
+			Classroom reloaded = Classroom.forName(current.getName()).orElse(current);
+			if (reloaded != current) {
+				Lecture copy = lecture.withClassroom(reloaded);
+				lectures.set(i, copy);
+				handles.replace(i, lecture, copy);
+				replaced = true;
+			}
+		}
+		if (replaced) {
+			reindex();
+		}
+		if (freeSlots != null) {
+			freeSlots.setClassrooms(ClassroomRegistry.classrooms());
+		}
 	}
 
 	/**
@@ -124,10 +403,18 @@ public class Schedule {
 	 */
 	public void initializeValidityPeriod(String path) throws Exception {
 		validityPeriod = manager.initializeValidityPeriod(path);
+		calendar = null;
 	}
 
+	/**
+	 * Adds the exclusions from an external file to the current list of exclusions.
+	 *
+	 * @param path The path for the exclusions JSON file.
+	 * @throws Exception If an error occurs while loading the exclusions.
+	 */
 	public void initExclusions(String path) throws Exception {
 		exclusions.addAll(manager.initExclusions(path));
+		calendar = null;
 	}
 
 	/**
@@ -137,7 +424,7 @@ public class Schedule {
 	 * @throws Exception If an error occurs while writing the schedule.
 	 */
 	public void exportSchedule(String path) throws Exception {
-		manager.writeSchedule(lectures, path);
+		manager.writeSchedule(getLectures(), path);
 	}
 
 	/**
@@ -151,6 +438,29 @@ public class Schedule {
 	}
 
 
+	/**
+	 * Exports the current schedule to several files at once, e.g. to publish it as CSV, JSON and PDF.
+	 * The lectures are read once and the files are written concurrently.
+	 *
+	 * @param paths The paths where the schedule should be written.
+	 * @return A future completed with the time each file took, the schedule must not be changed until it completes.
+	 * @throws Exception If the type of a file is not supported or a file can't be created.
+	 */
+	public CompletableFuture<ExportReport> exportSchedules(Collection<String> paths) throws Exception {
+		return manager.writeSchedules(getLectures(), paths);
+	}
+
+	/**
+	 * Exports the filtered schedule to several files at once, see {@link #exportSchedules(Collection)}.
+	 *
+	 * @param paths The paths where the filtered schedule should be written.
+	 * @return A future completed with the time each file took.
+	 * @throws Exception If the type of a file is not supported or a file can't be created.
+	 */
+	public CompletableFuture<ExportReport> exportFilteredSchedules(Collection<String> paths) throws Exception {
+		return manager.writeSchedules(filtered(), paths);
+	}
+
 	/**
 	 * Adds a filter to the list of filters.
 	 *
@@ -158,6 +468,7 @@ public class Schedule {
 	 */
 	public void addFilter(Filter filter) {
 		filters.add(filter);
+		compileFilters();
 	}
 
 
@@ -168,6 +479,7 @@ public class Schedule {
 	 */
 	public void removeFilter(Filter filter) {
 		filters.remove(filter);
+		compileFilters();
 	}
 
 	/**
@@ -175,6 +487,7 @@ public class Schedule {
 	 */
 	public void clearFilters() {
 		filters.clear();
+		compileFilters();
 	}
 
 	/**
@@ -191,7 +504,16 @@ public class Schedule {
 	 * @return A list of lectures filtered by the current filters.
 	 */
 	public List<Lecture> filtered() {
-		return lectures.stream().filter(filters.stream().reduce(Filter::and).orElse(x -> true)).toList();
+		BitSet candidates = postings == null ? null : postings.candidates(filters);
+		if (candidates != null) {
+			// the posting lists keep the slots of removed lectures until the list is compacted
+			return collect(candidates, residualPipeline);
+		}
+		compact();
+		if (store() != null) {
+			return collect(store().select(filters), x -> true);
+		}
+		return lectures.stream().filter(pipeline).toList();
 	}
 
 	/**
@@ -201,6 +523,7 @@ public class Schedule {
 	 */
 	public void addExclusion(Exclusion exclusion) {
 		exclusions.add(exclusion);
+		calendar = null;
 	}
 
 	/**
@@ -210,6 +533,7 @@ public class Schedule {
 	 */
 	public void removeExclusion(Exclusion exclusion) {
 		exclusions.remove(exclusion);
+		calendar = null;
 	}
 
 	/**
@@ -217,6 +541,7 @@ public class Schedule {
 	 */
 	public void clearExclusions() {
 		exclusions.clear();
+		calendar = null;
 	}
 
 	/**
@@ -226,7 +551,16 @@ public class Schedule {
 	 * @return True if the lecture is excluded, false otherwise.
 	 */
 	public boolean isExcluded(Lecture lecture) {
-		return exclusions.stream().anyMatch(exclusion -> exclusion.test(lecture));
+		return calendar().isExcluded(lecture);
+	}
+
+	/**
+	 * Checks every lecture in the schedule for exclusion, in parallel.
+	 *
+	 * @return The excluded lectures, in schedule order.
+	 */
+	public List<Lecture> excludedLectures() {
+		return collect(calendar().markExcluded(getLectures()), x -> true);
 	}
 
 	/**
@@ -242,11 +576,52 @@ public class Schedule {
 			return false;
 		}
 
-		return lectures.add(lecture);
+		append(lecture);
+		return true;
+	}
+
+	/**
+	 * Adds several lectures at once, e.g. when building a schedule programmatically.
+	 * <p>
+	 * The lectures are checked against the schedule and against each other in a single sort and sweep
+	 * per checked resource and day, see {@link ConflictSweep}, and the accepted ones are added in one step.
+	 * The outcome is the same as calling {@link #addLecture(Lecture)} for every lecture in the given order:
+	 * a lecture is rejected if it overlaps a lecture of the schedule or an accepted lecture given before it.
+	 *
+	 * @param lectures The lectures to add.
+	 * @return The outcome of every lecture, naming the conflicting lecture of every rejected one.
+	 */
+	public InsertReport addLectures(Collection<Lecture> lectures) {
+		Objects.requireNonNull(lectures, "Lectures cannot be null");
+		List<Lecture> batch = List.copyOf(lectures);
+
+		List<Conflict> conflicts = ConflictSweep.check(getLectures(), batch, conflictResources);
+		List<InsertOutcome> outcomes = new ArrayList<>(batch.size());
+		List<Lecture> accepted = new ArrayList<>(batch.size());
+		for (int i = 0; i < batch.size(); i++) {
+			outcomes.add(new InsertOutcome(batch.get(i), conflicts.get(i)));
+			if (conflicts.get(i) == null) {
+				accepted.add(batch.get(i));
+			}
+		}
+
+		this.lectures.addAll(accepted);
+		accepted.forEach(handles::add);
+		if (store() == null) {
+			occupancy.addAll(accepted);
+		}
+		if (postings != null) {
+			accepted.forEach(postings::add);
+		}
+		if (freeSlots != null) {
+			freeSlots.addAll(accepted);
+		}
+		return new InsertReport(Collections.unmodifiableList(outcomes));
 	}
 
 	/**
 	 * Removes the given lecture from the list of lectures.
+	 * If the schedule holds several equal lectures, the first one is removed.
 	 *
 	 * @param lecture The lecture to be removed.
 	 * @return True if the lecture was successfully removed, false otherwise.
@@ -255,50 +630,397 @@ public class Schedule {
 		// Validate input
 		Objects.requireNonNull(lecture, "Lecture cannot be null");
 
-		return lectures.remove(lecture);
+		int slot = find(lecture);
+		if (slot < 0) {
+			return false;
+		}
+		remove(slot);
+		return true;
+	}
+
+	/**
+	 * Removes the lecture with the given handle, in constant time.
+	 *
+	 * @param handle The handle of the lecture, see {@link #handleOf(Lecture)}.
+	 * @return True if the lecture was removed, false if no lecture of the schedule has the handle.
+	 */
+	public boolean removeLecture(long handle) {
+		int slot = handles.slot(handle);
+		if (slot < 0) {
+			return false;
+		}
+		remove(slot);
+		return true;
 	}
 
 
 	/**
 	 * Moves the given lecture to a different time slot.
 	 * Note: The lecture must already be in the schedule.
+	 * The lecture keeps its handle and its position in the schedule.
 	 *
 	 * @param lecture The lecture to be moved.
 	 * @param start   New start time of the lecture
 	 * @param end     New end time of the lecture
-	 * @return True if the lecture is successfully moved.
+	 * @return True if the lecture is successfully moved, false if the new time slot is taken,
+	 * in which case the lecture stays where it was.
 	 * @throws IllegalArgumentException If the lecture is not in schedule
 	 */
 	public boolean moveLecture(Lecture lecture, LocalTime start, LocalTime end) {
 		// Validate input
 		Objects.requireNonNull(lecture, "Lecture cannot be null");
-		if (!lectures.contains(lecture)) {
+		int slot = find(lecture);
+		if (slot < 0) {
 			throw new IllegalArgumentException("Lecture not in schedule");
 		}
-		// Remove the old lecture and add the updated lecture
-		if (removeLecture(lecture)) {
-			Lecture updatedLecture = lecture.withTimes(start, end);
-			return addLecture(updatedLecture);
+		return move(slot, start, end);
+	}
+
+	/**
+	 * Moves the lecture with the given handle to a different time slot, in constant time apart from the conflict check.
+	 * The lecture keeps its handle and its position in the schedule.
+	 *
+	 * @param handle The handle of the lecture, see {@link #handleOf(Lecture)}.
+	 * @param start  New start time of the lecture
+	 * @param end    New end time of the lecture
+	 * @return True if the lecture is successfully moved, false if the new time slot is taken,
+	 * in which case the lecture stays where it was.
+	 * @throws IllegalArgumentException If no lecture of the schedule has the handle
+	 */
+	public boolean moveLecture(long handle, LocalTime start, LocalTime end) {
+		int slot = handles.slot(handle);
+		if (slot < 0) {
+			throw new IllegalArgumentException("No lecture with handle " + handle);
 		}
-		return false;
+		return move(slot, start, end);
+	}
+
+	/**
+	 * Finds the handle of a lecture, which identifies it until it is removed, even if the schedule holds equal
+	 * lectures. Handles are given when a lecture is added, and to every lecture when the schedule is loaded.
+	 *
+	 * @param lecture The lecture to look up.
+	 * @return The handle of the first lecture equal to the given one, empty if there is none.
+	 */
+	public OptionalLong handleOf(Lecture lecture) {
+		Objects.requireNonNull(lecture, "Lecture cannot be null");
+		int slot = find(lecture);
+		return slot < 0 ? OptionalLong.empty() : OptionalLong.of(handles.handle(slot));
+	}
+
+	/**
+	 * Finds the handle of the lecture at a position of {@link #getLectures()}, e.g. to tell apart equal lectures.
+	 *
+	 * @param index The position of the lecture.
+	 * @return The handle of the lecture.
+	 * @throws IndexOutOfBoundsException If there is no lecture at the position.
+	 */
+	public long handleAt(int index) {
+		Objects.checkIndex(index, getLectures().size());
+		return handles.handle(index);
+	}
+
+	/**
+	 * Looks up a lecture by its handle, in constant time.
+	 *
+	 * @param handle The handle of the lecture.
+	 * @return The lecture, empty if no lecture of the schedule has the handle.
+	 */
+	public Optional<Lecture> getLecture(long handle) {
+		int slot = handles.slot(handle);
+		return slot < 0 ? Optional.empty() : Optional.of(lectures.get(slot));
+	}
+
+	/**
+	 * @return The lectures of the schedule, in order.
+	 * The list should only be modified through the schedule, otherwise the indexes get out of sync.
+	 */
+	public List<Lecture> getLectures() {
+		compact();
+		return lectures;
+	}
+
+	/**
+	 * Finds the lectures that prevent the given lecture from being added to the schedule.
+	 *
+	 * @param lecture The lecture to check.
+	 * @return The lectures occupying one of the checked resources at the same time, empty if the lecture can be added.
+	 */
+	public List<Conflict> getConflicts(Lecture lecture) {
+		Objects.requireNonNull(lecture, "Lecture cannot be null");
+		if (store() == null) {
+			return occupancy.conflicts(lecture, conflictResources);
+		}
+
+		List<Conflict> conflicts = new ArrayList<>();
+		for (Resource resource : conflictResources) {
+			BitSet rows = store().conflicts(lecture, resource == Resource.CLASSROOM, resource == Resource.PROFESSOR, resource == Resource.GROUP);
+			rows.stream().filter(handles::isLive).forEach(row -> conflicts.add(new Conflict(resource, lectures.get(row))));
+		}
+		return conflicts;
+	}
+
+	/**
+	 * Finds every double-booked classroom, professor and group in the schedule, e.g. to check an imported schedule,
+	 * whose lectures are not checked for conflicts when it is loaded.
+	 * The days of the week are analyzed in parallel on the common fork-join pool.
+	 *
+	 * @return The report of the double-bookings, which can be written to a file with
+	 * {@link #writeConflictReport(ConflictReport, String)}.
+	 */
+	public ConflictReport analyzeConflicts() {
+		return analyzeConflicts(EnumSet.allOf(Resource.class));
+	}
+
+	/**
+	 * Finds every double-booking of the given resources in the schedule.
+	 *
+	 * @param resources The resources to check.
+	 * @return The report of the double-bookings.
+	 * @see #analyzeConflicts()
+	 */
+	public ConflictReport analyzeConflicts(Set<Resource> resources) {
+		Objects.requireNonNull(resources, "Resources cannot be null");
+		return ConflictAnalyzer.analyze(getLectures(), resources);
+	}
+
+	/**
+	 * Writes a conflict report to a file, through the manager of this schedule, in the format given by the extension
+	 * of the file name, e.g. a CSV file with a row per double-booking or a JSON file with the counts and the double-bookings.
+	 *
+	 * @param report The report, from {@link #analyzeConflicts()}.
+	 * @param path   The path of the file.
+	 * @throws Exception If no format plugin writes conflict reports to the file type, or the file can't be written.
+	 */
+	public void writeConflictReport(ConflictReport report, String path) throws Exception {
+		Map<String, Integer> counts = new LinkedHashMap<>();
+		report.counts().forEach((resource, count) -> counts.put(resource.name(), count));
+		List<DoubleBookingRow> rows = report.doubleBookings().stream()
+				.map(booking -> new DoubleBookingRow(booking.resource().name(), booking.key(), booking.day(),
+						booking.start(), booking.end(), booking.first(), booking.second()))
+				.toList();
+		manager.writeConflictReport(report.lectures(), counts, rows, path);
+	}
+
+	/**
+	 * Creates a placer that finds a classroom and a time for new lectures around the lectures of the schedule,
+	 * in the registered classrooms and the classrooms used by the schedule.
+	 * The placed lectures can be added with {@link #addLectures(Collection)}.
+	 *
+	 * @return The placer, which has to be created again after the schedule changes.
+	 */
+	public AutoPlacer autoPlacer() {
+		return new AutoPlacer(List.copyOf(getLectures()), ClassroomRegistry.classrooms());
 	}
 
 	private boolean hasFreeSpot(Lecture lecture) {
-		List<Lecture> list = lectures.stream().filter(sample ->
+		return hasFreeSpot(lecture, -1);
+	}
+
+	/**
+	 * Checks a lecture for conflicts, ignoring the lecture in the given slot, the lecture being moved.
+	 */
+	private boolean hasFreeSpot(Lecture lecture, int ignored) {
+		if (store() == null) {
+			return occupancy.isFree(lecture, conflictResources);
+		}
+		BitSet rows = store().conflicts(lecture,
+				conflictResources.contains(Resource.CLASSROOM),
+				conflictResources.contains(Resource.PROFESSOR),
+				conflictResources.contains(Resource.GROUP));
+		return rows.stream().noneMatch(row -> row != ignored && handles.isLive(row));
+	}
+
+	private static List<Lecture> await(Future<List<Lecture>> load) throws Exception {
+		try {
+			return load.get();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof Exception cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
 
-				sample.getValidityPeriod().overlaps(lecture.getValidityPeriod()) &&
-						sample.getClassroom().equals(lecture.getClassroom()) &&
-						sample.getDay().equals(lecture.getDay()) &&
-						(lecture.getStart().isBefore(sample.getEnd()) && sample.getStart().isBefore(lecture.getEnd()))
-		).toList();
-		System.err.println(list + " " + list.size());
-		return list.isEmpty();
+	private LectureStore store() {
+		return lectures instanceof LectureStore store ? store : null;
+	}
+
+	private FreeSlotFinder freeSlots() {
+		if (freeSlots == null) {
+			freeSlots = createFreeSlotFinder(FreeSlotFinder.DEFAULT_GRANULARITY);
+		}
+		return freeSlots;
+	}
+
+	private FreeSlotFinder createFreeSlotFinder(Duration granularity) {
+		FreeSlotFinder finder = new FreeSlotFinder(granularity);
+		finder.setClassrooms(ClassroomRegistry.classrooms());
+		finder.addAll(getLectures());
+		return finder;
+	}
+
+	private ExclusionCalendar calendar() {
+		if (calendar == null) {
+			calendar = new ExclusionCalendar(exclusions, validityPeriod);
+		}
+		return calendar;
+	}
+
+	private List<Lecture> collect(BitSet positions, Predicate<Lecture> filter) {
+		List<Lecture> result = new ArrayList<>(positions.cardinality());
+		for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)) {
+			if (!handles.isLive(i)) {
+				continue;
+			}
+			Lecture lecture = lectures.get(i);
+			if (filter.test(lecture)) {
+				result.add(lecture);
+			}
+		}
+		return Collections.unmodifiableList(result);
+	}
+
+	private void append(Lecture lecture) {
+		lectures.add(lecture);
+		handles.add(lecture);
+		if (store() == null) {
+			occupancy.add(lecture);
+		}
+		if (postings != null) {
+			postings.add(lecture);
+		}
+		if (freeSlots != null) {
+			freeSlots.add(lecture);
+		}
+	}
+
+	/**
+	 * Finds the first slot holding a lecture equal to the given one. Lectures kept as objects can be changed in place,
+	 * so they are compared with every lecture if they are not found by their hash code.
+	 */
+	private int find(Lecture lecture) {
+		return handles.find(lecture, lectures, store() == null);
+	}
+
+	/**
+	 * Leaves a tombstone in the slot of a lecture. The posting index keeps the slot until the list is compacted,
+	 * which happens at the latest once half of the slots are tombstones.
+	 */
+	private void remove(int slot) {
+		Lecture removed = lectures.get(slot);
+		handles.remove(slot, removed);
+		if (store() == null) {
+			occupancy.remove(removed);
+		}
+		if (freeSlots != null) {
+			freeSlots.remove(removed);
+		}
+		if (handles.tombstones() * 2 > lectures.size()) {
+			compact();
+		}
+	}
+
+	/**
+	 * Moves the lecture in a slot to other times, keeping its slot and handle. The posting index doesn't change,
+	 * the indexed attributes of the lecture stay the same.
+	 */
+	private boolean move(int slot, LocalTime start, LocalTime end) {
+		Lecture lecture = lectures.get(slot);
+		Lecture moved = lecture.withTimes(start, end);
+		if (store() == null) {
+			occupancy.remove(lecture);
+		}
+		if (!hasFreeSpot(moved, slot)) {
+			// The new slot is taken, the lecture stays where it was
+			if (store() == null) {
+				occupancy.add(lecture);
+			}
+			return false;
+		}
+		lectures.set(slot, moved);
+		handles.replace(slot, lecture, moved);
+		if (store() == null) {
+			occupancy.add(moved);
+		}
+		if (freeSlots != null) {
+			freeSlots.remove(lecture);
+			freeSlots.add(moved);
+		}
+		return true;
+	}
+
+	/**
+	 * Drops the tombstones of the removed lectures from the list, before the list is read as a whole.
+	 * The posting lists drop the same slots, so the lectures don't have to be indexed again.
+	 */
+	private void compact() {
+		if (handles.tombstones() == 0) {
+			return;
+		}
+		if (postings != null) {
+			postings.compact(handles::isLive);
+		}
+		handles.compact(lectures);
+	}
+
+	private void compileFilters() {
+		compact();
+		pipeline = FilterPipeline.compile(filters, lectures);
+		residualPipeline = FilterPipeline.compile(filters.stream().filter(filter -> !PostingIndex.isIndexed(filter)).toList(), lectures);
+	}
+
+	private void reindex() {
+		compact();
+		if (store() == null) {
+			occupancy.rebuild(lectures);
+		} else {
+			occupancy.clear();
+		}
+		if (postings != null) {
+			postings.rebuild(lectures);
+		}
+		if (freeSlots != null) {
+			freeSlots.rebuild(lectures);
+		}
 	}
 
 	/**
 	 * Sorts the lectures in the schedule.
 	 */
 	public void sort() {
-		manager.sort(lectures);
+		compact();
+		if (store() != null) {
+			handles.permute(store().sort());
+		} else {
+			List<Lecture> unsorted = new ArrayList<>(lectures);
+			manager.sort(lectures);
+			handles.permute(order(unsorted, lectures));
+		}
+		if (postings != null) {
+			postings.rebuild(lectures);
+		}
+	}
+
+	/**
+	 * Finds where every lecture of a reordered list was before, by identity, so equal lectures keep their handles.
+	 *
+	 * @return the position every lecture had in the list before, by its new position
+	 */
+	private static int[] order(List<Lecture> before, List<Lecture> after) {
+		// the positions of a lecture added several times are chained, in order
+		Map<Lecture, Integer> first = new IdentityHashMap<>();
+		int[] next = new int[before.size()];
+		for (int i = before.size() - 1; i >= 0; i--) {
+			Integer following = first.put(before.get(i), i);
+			next[i] = following == null ? -1 : following;
+		}
+		int[] order = new int[after.size()];
+		for (int i = 0; i < after.size(); i++) {
+			int position = first.get(after.get(i));
+			order[i] = position;
+			first.put(after.get(i), next[position]);
+		}
+		return order;
 	}
 }
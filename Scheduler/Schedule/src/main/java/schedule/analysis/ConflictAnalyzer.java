@@ -0,0 +1,104 @@
+package schedule.analysis;
+
+import schedule.index.ConflictSweep;
+import schedule.index.Resource;
+import schedule.lecture.Lecture;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Finds every double-booked classroom, professor and group of a schedule.
+ * <p>
+ * Lectures on different days of the week never overlap, so the lectures are split by {@link DayOfWeek} and every day
+ * is analyzed by its own task on a fork-join pool. Within a day, the lectures are grouped by resource and swept in
+ * start order, see {@link ConflictSweep#forEachOverlap(Collection, Set, ConflictSweep.OverlapHandler)}, so the
+ * analysis takes O(n log n) time, plus the time to report the double-bookings. Lectures only overlap if their
+ * validity periods do.
+ */
+public final class ConflictAnalyzer {
+
+	private static final Comparator<DoubleBooking> REPORT_ORDER = Comparator
+			.comparing(DoubleBooking::resource)
+			.thenComparing(DoubleBooking::key)
+			.thenComparing(booking -> booking.first().getStart())
+			.thenComparing(booking -> booking.second().getStart());
+
+	private ConflictAnalyzer() {
+	}
+
+	/**
+	 * Finds every double-booked resource of the lectures on the common fork-join pool.
+	 *
+	 * @param lectures  the lectures to analyze
+	 * @param resources the resources to check
+	 * @return the report of the double-bookings
+	 */
+	public static ConflictReport analyze(Collection<Lecture> lectures, Set<Resource> resources) {
+		return analyze(lectures, resources, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Finds every double-booked resource of the lectures.
+	 *
+	 * @param lectures  the lectures to analyze
+	 * @param resources the resources to check
+	 * @param pool      the pool the days are analyzed on
+	 * @return the report of the double-bookings
+	 */
+	public static ConflictReport analyze(Collection<Lecture> lectures, Set<Resource> resources, ForkJoinPool pool) {
+		Set<Resource> checked = resources.isEmpty() ? EnumSet.noneOf(Resource.class) : EnumSet.copyOf(resources);
+		Map<DayOfWeek, List<Lecture>> byDay = new EnumMap<>(DayOfWeek.class);
+		int count = 0;
+		for (Lecture lecture : lectures) {
+			count++;
+			if (lecture.getDay() != null) {
+				byDay.computeIfAbsent(lecture.getDay(), day -> new ArrayList<>()).add(lecture);
+			}
+		}
+
+		List<DayTask> tasks = new ArrayList<>(byDay.size());
+		for (List<Lecture> day : byDay.values()) {
+			DayTask task = new DayTask(day, checked);
+			pool.execute(task);
+			tasks.add(task);
+		}
+		List<DoubleBooking> doubleBookings = new ArrayList<>();
+		for (DayTask task : tasks) {
+			doubleBookings.addAll(task.join());
+		}
+		return new ConflictReport(count, List.copyOf(checked), List.copyOf(doubleBookings));
+	}
+
+	/**
+	 * Sweeps the lectures of a single day.
+	 */
+	private static final class DayTask extends RecursiveTask<List<DoubleBooking>> {
+
+		private final List<Lecture> lectures;
+		private final Set<Resource> resources;
+
+		DayTask(List<Lecture> lectures, Set<Resource> resources) {
+			this.lectures = lectures;
+			this.resources = resources;
+		}
+
+		@Override
+		protected List<DoubleBooking> compute() {
+			List<DoubleBooking> doubleBookings = new ArrayList<>();
+			ConflictSweep.forEachOverlap(lectures, resources,
+					(resource, key, first, second) -> doubleBookings.add(new DoubleBooking(resource, key, first, second)));
+			doubleBookings.sort(REPORT_ORDER);
+			return doubleBookings;
+		}
+	}
+}
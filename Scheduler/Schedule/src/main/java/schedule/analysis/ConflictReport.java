@@ -0,0 +1,46 @@
+package schedule.analysis;
+
+import schedule.index.Resource;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every double-booking found in a schedule.
+ *
+ * @param lectures       the number of lectures analyzed
+ * @param resources      the resources checked
+ * @param doubleBookings the double-bookings, ordered by day, resource, key and time
+ */
+public record ConflictReport(int lectures, List<Resource> resources, List<DoubleBooking> doubleBookings) {
+
+	/**
+	 * @return true if no resource is double-booked
+	 */
+	public boolean isEmpty() {
+		return doubleBookings.isEmpty();
+	}
+
+	/**
+	 * @param resource the resource
+	 * @return the double-bookings of the resource, in report order
+	 */
+	public List<DoubleBooking> of(Resource resource) {
+		return doubleBookings.stream().filter(booking -> booking.resource() == resource).toList();
+	}
+
+	/**
+	 * @return the number of double-bookings of every checked resource
+	 */
+	public Map<Resource, Integer> counts() {
+		Map<Resource, Integer> counts = new EnumMap<>(Resource.class);
+		for (Resource resource : resources) {
+			counts.put(resource, 0);
+		}
+		for (DoubleBooking booking : doubleBookings) {
+			counts.merge(booking.resource(), 1, Integer::sum);
+		}
+		return counts;
+	}
+}
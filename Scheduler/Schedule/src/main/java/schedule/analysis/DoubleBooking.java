@@ -0,0 +1,39 @@
+package schedule.analysis;
+
+import schedule.index.Resource;
+import schedule.lecture.Lecture;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * Two lectures of a schedule using the same resource at the same time.
+ *
+ * @param resource the resource both lectures use
+ * @param key      the classroom name, the professor or the group both lectures have
+ * @param first    the lecture starting first
+ * @param second   the other lecture
+ */
+public record DoubleBooking(Resource resource, String key, Lecture first, Lecture second) {
+
+	/**
+	 * @return the day both lectures are held on
+	 */
+	public DayOfWeek day() {
+		return first.getDay();
+	}
+
+	/**
+	 * @return the start of the time both lectures are held
+	 */
+	public LocalTime start() {
+		return second.getStart().isAfter(first.getStart()) ? second.getStart() : first.getStart();
+	}
+
+	/**
+	 * @return the end of the time both lectures are held
+	 */
+	public LocalTime end() {
+		return second.getEnd().isBefore(first.getEnd()) ? second.getEnd() : first.getEnd();
+	}
+}
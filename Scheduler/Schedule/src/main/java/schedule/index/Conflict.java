@@ -0,0 +1,12 @@
+package schedule.index;
+
+import schedule.lecture.Lecture;
+
+/**
+ * Describes a lecture that is already occupying a resource another lecture wants to use.
+ *
+ * @param resource the resource both lectures use at the same time
+ * @param lecture  the lecture that is already holding the resource
+ */
+public record Conflict(Resource resource, Lecture lecture) {
+}
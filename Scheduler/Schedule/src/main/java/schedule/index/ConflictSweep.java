@@ -0,0 +1,282 @@
+package schedule.index;
+
+import schedule.common.ValidityPeriod;
+import schedule.lecture.Lecture;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Checks a batch of lectures for conflicts with the lectures of a schedule and with each other, in one pass,
+ * and finds every conflict between the lectures of a schedule.
+ * <p>
+ * The lectures are grouped by the resource they use, the key of the resource (the classroom name, the professor
+ * or a group) and the day, e.g. by classroom and day. Every group is sorted by start time and swept once, keeping
+ * the lectures that are still being held, so only the lectures that really overlap are compared.
+ * Lectures of the schedule are only grouped if a lecture of the batch uses the same resource on the same day.
+ * <p>
+ * Within a group, the lectures are swept separately per validity period, and the lectures of two periods are only
+ * swept together if the periods overlap, so the occurrences of a collection schedule on different dates are never
+ * compared.
+ * <p>
+ * The result of {@link #check(Collection, List, Set)} is the same as adding the lectures one by one: a lecture is
+ * rejected if it overlaps a lecture of the schedule, or a lecture earlier in the batch that was accepted.
+ */
+public final class ConflictSweep {
+
+	private ConflictSweep() {
+	}
+
+	/**
+	 * Receives two lectures using the same resource at the same time.
+	 */
+	@FunctionalInterface
+	public interface OverlapHandler {
+
+		/**
+		 * @param resource the resource both lectures use
+		 * @param key      the classroom name, the professor or the group both lectures have
+		 * @param first    the lecture starting first, or the shorter one if both start at the same time
+		 * @param second   the other lecture
+		 */
+		void overlap(Resource resource, String key, Lecture first, Lecture second);
+	}
+
+	/**
+	 * Finds every pair of lectures using one of the resources at the same time, both in time of day and in validity
+	 * period. A pair sharing several groups is passed once per group.
+	 *
+	 * @param lectures  the lectures to check
+	 * @param resources the resources that can't be used by two lectures at the same time
+	 * @param handler   receives the overlapping pairs, grouped by resource, key and day
+	 */
+	public static void forEachOverlap(Collection<Lecture> lectures, Set<Resource> resources, OverlapHandler handler) {
+		Map<GroupKey, List<Entry>> groups = new HashMap<>();
+		int index = 0;
+		for (Lecture lecture : lectures) {
+			for (Resource resource : resources) {
+				for (String key : OccupancyIndex.keys(lecture, resource)) {
+					groups.computeIfAbsent(new GroupKey(resource, key, lecture.getDay()), k -> new ArrayList<>()).add(new Entry(lecture, index));
+				}
+			}
+			index++;
+		}
+		for (Map.Entry<GroupKey, List<Entry>> group : groups.entrySet()) {
+			GroupKey key = group.getKey();
+			sweep(group.getValue(), (first, second) -> handler.overlap(key.resource(), key.key(), first.lecture, second.lecture));
+		}
+	}
+
+	/**
+	 * Checks the batch of lectures against the lectures of a schedule and against each other.
+	 *
+	 * @param existing  the lectures already in the schedule, expected to be free of conflicts
+	 * @param batch     the lectures to add, in the order they should be added
+	 * @param resources the resources that can't be used by two lectures at the same time
+	 * @return for every lecture of the batch, in the same order, null if the lecture can be added,
+	 * otherwise the conflict with an accepted lecture of the batch or a lecture of the schedule
+	 */
+	public static List<Conflict> check(Collection<Lecture> existing, List<Lecture> batch, Set<Resource> resources) {
+		Map<GroupKey, List<Entry>> groups = new HashMap<>();
+		for (int i = 0; i < batch.size(); i++) {
+			Lecture lecture = batch.get(i);
+			for (Resource resource : resources) {
+				for (String key : OccupancyIndex.keys(lecture, resource)) {
+					groups.computeIfAbsent(new GroupKey(resource, key, lecture.getDay()), k -> new ArrayList<>()).add(new Entry(lecture, i));
+				}
+			}
+		}
+		if (groups.isEmpty()) {
+			return Arrays.asList(new Conflict[batch.size()]);
+		}
+		for (Lecture lecture : existing) {
+			for (Resource resource : resources) {
+				for (String key : OccupancyIndex.keys(lecture, resource)) {
+					List<Entry> group = groups.get(new GroupKey(resource, key, lecture.getDay()));
+					if (group != null) {
+						group.add(new Entry(lecture, Entry.EXISTING));
+					}
+				}
+			}
+		}
+
+		Conflict[] conflicts = new Conflict[batch.size()];
+		// the overlapping lectures earlier in the batch, for every lecture of the batch
+		List<List<Overlap>> earlier = new ArrayList<>(batch.size());
+		for (int i = 0; i < batch.size(); i++) {
+			earlier.add(null);
+		}
+		for (Map.Entry<GroupKey, List<Entry>> group : groups.entrySet()) {
+			Resource resource = group.getKey().resource();
+			sweep(group.getValue(), (first, second) -> {
+				if (first.isExisting() && second.isExisting()) {
+					return;
+				}
+				if (first.isExisting() || second.isExisting()) {
+					Entry added = first.isExisting() ? second : first;
+					Entry held = first.isExisting() ? first : second;
+					if (conflicts[added.index] == null) {
+						conflicts[added.index] = new Conflict(resource, held.lecture);
+					}
+					return;
+				}
+				Entry later = first.index > second.index ? first : second;
+				Entry sooner = later == first ? second : first;
+				if (earlier.get(later.index) == null) {
+					earlier.set(later.index, new ArrayList<>(2));
+				}
+				earlier.get(later.index).add(new Overlap(resource, sooner.index));
+			});
+		}
+
+		// decide in the order of the batch, a lecture only blocks the later ones if it was accepted itself
+		for (int i = 0; i < batch.size(); i++) {
+			if (conflicts[i] != null || earlier.get(i) == null) {
+				continue;
+			}
+			Overlap blocking = null;
+			for (Overlap overlap : earlier.get(i)) {
+				if (conflicts[overlap.index] == null && (blocking == null || overlap.index < blocking.index)) {
+					blocking = overlap;
+				}
+			}
+			if (blocking != null) {
+				conflicts[i] = new Conflict(blocking.resource, batch.get(blocking.index));
+			}
+		}
+		return Arrays.asList(conflicts);
+	}
+
+	/**
+	 * Passes every pair of lectures of a group that overlap, both in time of day and in validity period, to the consumer.
+	 */
+	private static void sweep(List<Entry> group, OverlapConsumer consumer) {
+		// sorting by period first puts the lectures of every period next to each other, ordered by time
+		group.sort(ConflictSweep::compareByPeriodAndTime);
+		List<List<Entry>> runs = new ArrayList<>();
+		for (int from = 0, to; from < group.size(); from = to) {
+			Entry first = group.get(from);
+			for (to = from + 1; to < group.size() && group.get(to).hasPeriodOf(first); to++) {
+			}
+			runs.add(group.subList(from, to));
+		}
+		for (int i = 0; i < runs.size(); i++) {
+			Entry period = runs.get(i).get(0);
+			if (period.overlapsPeriodOf(period)) {
+				sweep(runs.get(i), null, consumer);
+			}
+			// the periods are ordered by their start, once one starts after this one ends, the rest do too
+			for (int j = i + 1; j < runs.size(); j++) {
+				Entry other = runs.get(j).get(0);
+				if (other.validFrom >= period.validTo) {
+					break;
+				}
+				if (period.overlapsPeriodOf(other)) {
+					sweep(runs.get(i), runs.get(j), consumer);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sweeps two lists of lectures sorted by time, passing every pair overlapping in time of day to the consumer,
+	 * the one starting first first. Without a second list, the pairs within the first list are passed, otherwise
+	 * only the pairs of a lecture of each list.
+	 */
+	private static void sweep(List<Entry> first, List<Entry> second, OverlapConsumer consumer) {
+		List<Entry> firstActive = new ArrayList<>();
+		List<Entry> secondActive = second == null ? firstActive : new ArrayList<>();
+		int i = 0;
+		int j = 0;
+		int secondSize = second == null ? 0 : second.size();
+		while (i < first.size() || j < secondSize) {
+			boolean fromFirst = j == secondSize || (i < first.size() && compareByTime(first.get(i), second.get(j)) <= 0);
+			Entry entry = fromFirst ? first.get(i++) : second.get(j++);
+			List<Entry> others = fromFirst ? secondActive : firstActive;
+			// drop the lectures that ended before this one starts
+			int kept = 0;
+			for (Entry held : others) {
+				if (held.end > entry.start) {
+					others.set(kept++, held);
+				}
+			}
+			others.subList(kept, others.size()).clear();
+			for (Entry held : others) {
+				consumer.accept(held, entry);
+			}
+			(fromFirst ? firstActive : secondActive).add(entry);
+		}
+	}
+
+	private static int compareByTime(Entry first, Entry second) {
+		int compared = Integer.compare(first.start, second.start);
+		return compared != 0 ? compared : Integer.compare(first.end, second.end);
+	}
+
+	private static int compareByPeriodAndTime(Entry first, Entry second) {
+		int compared = Long.compare(first.validFrom, second.validFrom);
+		if (compared == 0) {
+			compared = Long.compare(first.validTo, second.validTo);
+		}
+		return compared != 0 ? compared : compareByTime(first, second);
+	}
+
+	@FunctionalInterface
+	private interface OverlapConsumer {
+		void accept(Entry first, Entry second);
+	}
+
+	private record GroupKey(Resource resource, String key, DayOfWeek day) {
+	}
+
+	/**
+	 * A lecture of a group, with its times in seconds of the day and its validity period in epoch days,
+	 * the whole time line for a lecture without a validity period.
+	 *
+	 * @param index the position of the lecture in the batch, {@link #EXISTING} for a lecture of the schedule
+	 */
+	private record Entry(Lecture lecture, int index, int start, int end, long validFrom, long validTo) {
+
+		static final int EXISTING = -1;
+
+		Entry(Lecture lecture, int index) {
+			this(lecture, index, lecture.getStart().toSecondOfDay(), lecture.getEnd().toSecondOfDay(),
+					validFrom(lecture.getValidityPeriod()), validTo(lecture.getValidityPeriod()));
+		}
+
+		boolean isExisting() {
+			return index == EXISTING;
+		}
+
+		boolean hasPeriodOf(Entry other) {
+			return validFrom == other.validFrom && validTo == other.validTo;
+		}
+
+		boolean overlapsPeriodOf(Entry other) {
+			return validFrom < other.validTo && validTo > other.validFrom;
+		}
+
+		private static long validFrom(ValidityPeriod period) {
+			return period == null ? Long.MIN_VALUE : period.validFrom().toEpochDay();
+		}
+
+		private static long validTo(ValidityPeriod period) {
+			return period == null ? Long.MAX_VALUE : period.validTo().toEpochDay();
+		}
+	}
+
+	/**
+	 * A lecture earlier in the batch overlapping another one.
+	 *
+	 * @param resource the resource both lectures use
+	 * @param index    the position of the earlier lecture in the batch
+	 */
+	private record Overlap(Resource resource, int index) {
+	}
+}
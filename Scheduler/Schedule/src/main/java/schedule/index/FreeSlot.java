@@ -0,0 +1,25 @@
+package schedule.index;
+
+import schedule.classroom.Classroom;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+
+/**
+ * A time window in which a classroom is not used by any lecture.
+ *
+ * @param classroom the free classroom
+ * @param day       the day of the week
+ * @param start     the start of the window
+ * @param end       the end of the window, {@link LocalTime#MAX} if the classroom is free until midnight
+ */
+public record FreeSlot(Classroom classroom, DayOfWeek day, LocalTime start, LocalTime end) {
+
+	/**
+	 * @return the length of the window
+	 */
+	public Duration length() {
+		return end.equals(LocalTime.MAX) ? Duration.ofDays(1).minusSeconds(start.toSecondOfDay()) : Duration.between(start, end);
+	}
+}
@@ -0,0 +1,413 @@
+package schedule.index;
+
+import schedule.classroom.Classroom;
+import schedule.common.ValidityPeriod;
+import schedule.lecture.Lecture;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Answers which classrooms are free when, from a bitset per classroom and day of the week with a bit per cell of
+ * a fixed length, e.g. 15 minutes.
+ * <p>
+ * A cell is taken if a lecture in the classroom covers any part of it, so a lecture that doesn't start or end on
+ * the boundary of a cell takes the whole cells it touches, and the returned slots are always free. Every cell also
+ * counts the lectures covering it, so a lecture is added or removed by updating only its own cells.
+ * <p>
+ * The lectures are kept in a layer per validity period, so the lectures of different weeks of a collection schedule
+ * only take a classroom in the week they are held. The layers are ordered by the start of their period, and as the
+ * longest period ever added is remembered, a search only looks at the layers starting in a bounded range before
+ * the period it asks for.
+ * <p>
+ * The classrooms offered are the registered ones, see {@link #setClassrooms(Collection)}, and the classrooms of the
+ * lectures. The finder does not own the lectures, it has to be kept in sync with the list it indexes by the caller.
+ */
+public class FreeSlotFinder {
+
+	/**
+	 * The length of a cell used by default.
+	 */
+	public static final Duration DEFAULT_GRANULARITY = Duration.ofMinutes(15);
+
+	private static final int SECONDS_PER_DAY = 24 * 60 * 60;
+	private static final int DAYS = DayOfWeek.values().length;
+	private static final Comparator<ValidityPeriod> BY_START = Comparator.nullsFirst(
+			Comparator.comparing(ValidityPeriod::validFrom).thenComparing(ValidityPeriod::validTo));
+
+	private final int cellSeconds;
+	private final int cells;
+	/**
+	 * The registered classrooms, by name, in the order they were registered.
+	 */
+	private final Map<String, Classroom> registered = new LinkedHashMap<>();
+	/**
+	 * The classrooms of the lectures, by name, with the number of lectures held in them.
+	 */
+	private final Map<String, Usage> used = new LinkedHashMap<>();
+	/**
+	 * The occupancy of every classroom, by the validity period of the lectures and the name of the classroom.
+	 */
+	private final NavigableMap<ValidityPeriod, Map<String, Grid>> layers = new TreeMap<>(BY_START);
+	/**
+	 * The length of the longest validity period ever added, in days. It is never shrunk on removal,
+	 * which only widens the range of layers a search looks at.
+	 */
+	private long longestPeriod;
+	/**
+	 * The classrooms offered by the searches, null until the next search after the classrooms changed.
+	 */
+	private List<Classroom> candidates;
+
+	/**
+	 * Creates an empty finder.
+	 *
+	 * @param granularity the length of a cell, a whole number of seconds that divides a day, e.g. 15 minutes
+	 * @throws IllegalArgumentException If the day can't be divided into cells of the given length.
+	 */
+	public FreeSlotFinder(Duration granularity) {
+		if (granularity.isNegative() || granularity.isZero() || granularity.getNano() != 0
+				|| granularity.getSeconds() > SECONDS_PER_DAY || SECONDS_PER_DAY % granularity.getSeconds() != 0) {
+			throw new IllegalArgumentException("Granularity must be a whole number of seconds dividing a day: " + granularity);
+		}
+		cellSeconds = (int) granularity.getSeconds();
+		cells = SECONDS_PER_DAY / cellSeconds;
+	}
+
+	/**
+	 * @return the length of a cell
+	 */
+	public Duration getGranularity() {
+		return Duration.ofSeconds(cellSeconds);
+	}
+
+	/**
+	 * Replaces the registered classrooms, which are offered even if no lecture is held in them,
+	 * and whose amenities are used instead of the ones of the classrooms of the lectures.
+	 *
+	 * @param classrooms the registered classrooms
+	 */
+	public void setClassrooms(Collection<Classroom> classrooms) {
+		registered.clear();
+		for (Classroom classroom : classrooms) {
+			if (classroom.getName() != null) {
+				registered.putIfAbsent(classroom.getName(), classroom);
+			}
+		}
+		candidates = null;
+	}
+
+	/**
+	 * Adds a lecture to the finder.
+	 *
+	 * @param lecture the lecture to add
+	 */
+	public void add(Lecture lecture) {
+		if (!isPlaced(lecture)) {
+			return;
+		}
+		String name = lecture.getClassroom().getName();
+		ValidityPeriod period = lecture.getValidityPeriod();
+		if (period != null) {
+			longestPeriod = Math.max(longestPeriod, ChronoUnit.DAYS.between(period.validFrom(), period.validTo()));
+		}
+		Grid grid = layers.computeIfAbsent(period, key -> new HashMap<>())
+				.computeIfAbsent(name, key -> new Grid());
+		grid.update(lecture.getDay().ordinal(), firstCell(lecture.getStart()), endCell(lecture.getEnd()), 1);
+		Usage usage = used.get(name);
+		if (usage == null) {
+			used.put(name, new Usage(lecture.getClassroom()));
+			candidates = null;
+		} else {
+			usage.lectures++;
+		}
+	}
+
+	/**
+	 * Adds all the lectures to the finder.
+	 *
+	 * @param lectures the lectures to add
+	 */
+	public void addAll(Collection<Lecture> lectures) {
+		lectures.forEach(this::add);
+	}
+
+	/**
+	 * Removes a lecture from the finder.
+	 *
+	 * @param lecture the lecture to remove
+	 */
+	public void remove(Lecture lecture) {
+		if (!isPlaced(lecture)) {
+			return;
+		}
+		String name = lecture.getClassroom().getName();
+		Map<String, Grid> layer = layers.get(lecture.getValidityPeriod());
+		Grid grid = layer == null ? null : layer.get(name);
+		int day = lecture.getDay().ordinal();
+		int from = firstCell(lecture.getStart());
+		int to = endCell(lecture.getEnd());
+		if (grid == null || !grid.covers(day, from, to)) {
+			return;
+		}
+		grid.update(day, from, to, -1);
+		if (grid.lectures == 0) {
+			layer.remove(name);
+			if (layer.isEmpty()) {
+				layers.remove(lecture.getValidityPeriod());
+			}
+		}
+		Usage usage = used.get(name);
+		if (--usage.lectures == 0) {
+			used.remove(name);
+			candidates = null;
+		}
+	}
+
+	/**
+	 * Removes every lecture from the finder, keeping the registered classrooms.
+	 */
+	public void clear() {
+		layers.clear();
+		longestPeriod = 0;
+		used.clear();
+		candidates = null;
+	}
+
+	/**
+	 * Replaces the lectures of the finder with the given lectures.
+	 *
+	 * @param lectures the lectures to index
+	 */
+	public void rebuild(Collection<Lecture> lectures) {
+		clear();
+		addAll(lectures);
+	}
+
+	/**
+	 * Finds the classrooms that are free during the whole given time, e.g. the rooms with at least 30 seats and
+	 * a projector free on Tuesday from 14 to 16.
+	 *
+	 * @param requirements the amenities the classrooms need
+	 * @param day          the day of the week
+	 * @param start        the start of the time
+	 * @param end          the end of the time
+	 * @param period       the period the classrooms have to be free in, or null to check the lectures of every period
+	 * @return the free classrooms with the required amenities
+	 */
+	public List<Classroom> freeClassrooms(RoomRequirements requirements, DayOfWeek day, LocalTime start, LocalTime end, ValidityPeriod period) {
+		List<Map<String, Grid>> selected = layers(period);
+		int from = firstCell(start);
+		int to = endCell(end);
+		List<Classroom> free = new ArrayList<>();
+		for (Classroom classroom : candidates()) {
+			if (requirements.test(classroom) && isFree(selected, classroom.getName(), day.ordinal(), from, to)) {
+				free.add(classroom);
+			}
+		}
+		return free;
+	}
+
+	/**
+	 * Finds every window of at least the given length between two times in which a classroom is free.
+	 * The windows are as long as the classrooms are free, cut to the given times.
+	 *
+	 * @param requirements the amenities the classrooms need
+	 * @param days         the days of the week to search
+	 * @param from         the earliest start of a window
+	 * @param to           the latest end of a window, {@link LocalTime#MAX} for midnight
+	 * @param length       the least length of a window
+	 * @param period       the period the classrooms have to be free in, or null to check the lectures of every period
+	 * @return the free windows, by classroom and day
+	 */
+	public List<FreeSlot> find(RoomRequirements requirements, Set<DayOfWeek> days, LocalTime from, LocalTime to, Duration length, ValidityPeriod period) {
+		List<Map<String, Grid>> selected = layers(period);
+		// the windows have to be free, so only the whole cells between the times are searched
+		int first = endCell(from);
+		int last = to.equals(LocalTime.MAX) ? cells : to.toSecondOfDay() / cellSeconds;
+		int minCells = Math.max(1, (int) ((length.getSeconds() + cellSeconds - 1) / cellSeconds));
+		BitSet merged = new BitSet(cells);
+		List<FreeSlot> slots = new ArrayList<>();
+		for (Classroom classroom : candidates()) {
+			if (!requirements.test(classroom)) {
+				continue;
+			}
+			for (DayOfWeek day : days) {
+				BitSet taken = taken(selected, classroom.getName(), day.ordinal(), merged);
+				int cell = first;
+				while (cell < last) {
+					int start = taken.nextClearBit(cell);
+					if (start >= last) {
+						break;
+					}
+					int end = taken.nextSetBit(start);
+					if (end < 0 || end > last) {
+						end = last;
+					}
+					if (end - start >= minCells) {
+						slots.add(new FreeSlot(classroom, day, time(start), time(end)));
+					}
+					cell = end;
+				}
+			}
+		}
+		return slots;
+	}
+
+	private boolean isPlaced(Lecture lecture) {
+		return lecture.getClassroom() != null && lecture.getClassroom().getName() != null && lecture.getDay() != null
+				&& lecture.getStart() != null && lecture.getEnd() != null
+				&& firstCell(lecture.getStart()) < endCell(lecture.getEnd());
+	}
+
+	private List<Classroom> candidates() {
+		if (candidates == null) {
+			List<Classroom> classrooms = new ArrayList<>(registered.values());
+			for (Map.Entry<String, Usage> entry : used.entrySet()) {
+				if (!registered.containsKey(entry.getKey())) {
+					classrooms.add(entry.getValue().classroom);
+				}
+			}
+			candidates = classrooms;
+		}
+		return candidates;
+	}
+
+	private List<Map<String, Grid>> layers(ValidityPeriod period) {
+		if (period == null) {
+			return List.copyOf(layers.values());
+		}
+		List<Map<String, Grid>> selected = new ArrayList<>();
+		if (layers.containsKey(null)) {
+			selected.add(layers.get(null));
+		}
+		// only the layers starting before the end of the period, and at most the longest period before its start, can overlap it
+		NavigableMap<ValidityPeriod, Map<String, Grid>> candidates = layers.headMap(new ValidityPeriod(period.validTo(), period.validTo()), false);
+		if (longestPeriod < ChronoUnit.DAYS.between(LocalDate.MIN, period.validFrom())) {
+			LocalDate earliest = period.validFrom().minusDays(longestPeriod);
+			candidates = candidates.tailMap(new ValidityPeriod(earliest, earliest), true);
+		}
+		for (Map.Entry<ValidityPeriod, Map<String, Grid>> layer : candidates.entrySet()) {
+			if (layer.getKey() != null && layer.getKey().overlaps(period)) {
+				selected.add(layer.getValue());
+			}
+		}
+		return selected;
+	}
+
+	private static boolean isFree(List<Map<String, Grid>> layers, String name, int day, int from, int to) {
+		for (Map<String, Grid> layer : layers) {
+			Grid grid = layer.get(name);
+			if (grid != null && grid.days[day] != null) {
+				int taken = grid.days[day].nextSetBit(from);
+				if (taken >= 0 && taken < to) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the cells of the classroom taken in any of the layers, either the bitset of a single layer
+	 * or the given scratch bitset
+	 */
+	private static BitSet taken(List<Map<String, Grid>> layers, String name, int day, BitSet scratch) {
+		BitSet single = null;
+		scratch.clear();
+		for (Map<String, Grid> layer : layers) {
+			Grid grid = layer.get(name);
+			BitSet taken = grid == null ? null : grid.days[day];
+			if (taken == null) {
+				continue;
+			}
+			if (single == null) {
+				single = taken;
+			} else {
+				if (single != scratch) {
+					scratch.or(single);
+					single = scratch;
+				}
+				scratch.or(taken);
+			}
+		}
+		return single == null ? scratch : single;
+	}
+
+	private int firstCell(LocalTime time) {
+		return time.toSecondOfDay() / cellSeconds;
+	}
+
+	private int endCell(LocalTime time) {
+		return (time.toSecondOfDay() + cellSeconds - 1) / cellSeconds;
+	}
+
+	private LocalTime time(int cell) {
+		return cell == cells ? LocalTime.MAX : LocalTime.ofSecondOfDay((long) cell * cellSeconds);
+	}
+
+	/**
+	 * The cells of a classroom taken on every day of the week, and the number of lectures covering each of them.
+	 */
+	private final class Grid {
+
+		private final BitSet[] days = new BitSet[DAYS];
+		private final int[][] counts = new int[DAYS][];
+		private int lectures;
+
+		void update(int day, int from, int to, int delta) {
+			if (counts[day] == null) {
+				counts[day] = new int[cells];
+				days[day] = new BitSet(cells);
+			}
+			int[] dayCounts = counts[day];
+			for (int cell = from; cell < to; cell++) {
+				dayCounts[cell] += delta;
+			}
+			// a cell is taken while any lecture covers it
+			for (int cell = from; cell < to; cell++) {
+				days[day].set(cell, dayCounts[cell] > 0);
+			}
+			lectures += delta;
+		}
+
+		boolean covers(int day, int from, int to) {
+			if (counts[day] == null) {
+				return false;
+			}
+			for (int cell = from; cell < to; cell++) {
+				if (counts[day][cell] == 0) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * A classroom of the lectures and the number of lectures held in it.
+	 */
+	private static final class Usage {
+
+		private final Classroom classroom;
+		private int lectures = 1;
+
+		Usage(Classroom classroom) {
+			this.classroom = classroom;
+		}
+	}
+}
@@ -0,0 +1,116 @@
+package schedule.index;
+
+import schedule.common.ValidityPeriod;
+import schedule.lecture.Lecture;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * The lectures occupying a single resource on a single day, ordered by their start time.
+ * <p>
+ * Lectures are bucketed by their start second of the day. Because the longest lecture ever added is remembered,
+ * every lecture that can overlap a time window starts inside a bounded key range, so an overlap lookup is a
+ * logarithmic seek followed by a scan of the candidates in that range only.
+ */
+final class IntervalSet {
+
+	private final NavigableMap<Integer, List<Lecture>> byStart = new TreeMap<>();
+
+	/**
+	 * Length of the longest lecture ever added, in seconds. It is never shrunk on removal, which only widens
+	 * the range of candidates that is scanned.
+	 */
+	private int maxLength;
+
+	private int size;
+
+	void add(Lecture lecture) {
+		int start = secondOfDay(lecture.getStart());
+		maxLength = Math.max(maxLength, secondOfDay(lecture.getEnd()) - start);
+		byStart.computeIfAbsent(start, key -> new ArrayList<>(1)).add(lecture);
+		size++;
+	}
+
+	boolean remove(Lecture lecture) {
+		int start = secondOfDay(lecture.getStart());
+		List<Lecture> bucket = byStart.get(start);
+		if (bucket == null || !bucket.remove(lecture)) {
+			return false;
+		}
+		if (bucket.isEmpty()) {
+			byStart.remove(start);
+		}
+		size--;
+		return true;
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Passes every lecture that overlaps the given lecture, both in time of day and in validity period, to the consumer.
+	 * A lecture without a validity period overlaps every period.
+	 *
+	 * @param lecture  the lecture to check
+	 * @param consumer receives the overlapping lectures
+	 */
+	void forEachOverlap(Lecture lecture, Consumer<Lecture> consumer) {
+		int start = secondOfDay(lecture.getStart());
+		int end = secondOfDay(lecture.getEnd());
+
+		for (Map.Entry<Integer, List<Lecture>> entry : candidates(start, end).entrySet()) {
+			for (Lecture sample : entry.getValue()) {
+				if (overlaps(sample, start, lecture)) {
+					consumer.accept(sample);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Checks if any lecture overlaps the given lecture, both in time of day and in validity period.
+	 *
+	 * @param lecture the lecture to check
+	 * @return true if at least one overlapping lecture exists, false otherwise
+	 */
+	boolean overlaps(Lecture lecture) {
+		int start = secondOfDay(lecture.getStart());
+		int end = secondOfDay(lecture.getEnd());
+
+		for (Map.Entry<Integer, List<Lecture>> entry : candidates(start, end).entrySet()) {
+			for (Lecture sample : entry.getValue()) {
+				if (overlaps(sample, start, lecture)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private NavigableMap<Integer, List<Lecture>> candidates(int start, int end) {
+		return byStart.subMap(Math.min(start - maxLength, end), false, end, false);
+	}
+
+	private static boolean overlaps(Lecture sample, int start, Lecture lecture) {
+		// candidates already start before the end of the lecture, so only the other side is left to check
+		return secondOfDay(sample.getEnd()) > start && overlaps(sample.getValidityPeriod(), lecture.getValidityPeriod());
+	}
+
+	/**
+	 * A lecture without a validity period is held in every period, like {@link ConflictSweep} treats it.
+	 */
+	private static boolean overlaps(ValidityPeriod first, ValidityPeriod second) {
+		return first == null || second == null || first.overlaps(second);
+	}
+
+	private static int secondOfDay(LocalTime time) {
+		return time.toSecondOfDay();
+	}
+}
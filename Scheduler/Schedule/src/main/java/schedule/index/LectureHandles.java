@@ -0,0 +1,269 @@
+package schedule.index;
+
+import schedule.lecture.Lecture;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stable numeric handles of the lectures of a schedule, and the slots of the list the lectures are kept in.
+ * <p>
+ * Every lecture gets a handle when it is added, which stays the same until the lecture is removed, even when the
+ * lectures are sorted or other lectures are removed, and which tells apart lectures that are equal.
+ * A removed lecture only leaves a tombstone in its slot, so removing is O(1) and the slots of the other lectures
+ * don't change. The tombstones are dropped from the list by {@link #compact(List)}, before the list is read as
+ * a whole.
+ * <p>
+ * Lectures can also be looked up by value: the handles are kept per hash code of their lecture, built on the first
+ * lookup, so finding a lecture compares it with the lectures of the same hash code only. Lectures that can be changed
+ * in place through their setters are looked for through the whole list if they are not found by their hash code,
+ * and the hash codes are taken again once a changed lecture is found that way.
+ */
+public class LectureHandles {
+
+	/**
+	 * The handle of no lecture, also used as the tombstone of a removed lecture.
+	 */
+	public static final long NONE = 0;
+
+	/**
+	 * The handle of the lecture in every slot, {@link #NONE} for a removed lecture.
+	 */
+	private long[] handles = new long[16];
+	/**
+	 * The number of slots, including the tombstones.
+	 */
+	private int size;
+	private int tombstones;
+	private long nextHandle = 1;
+	private final Map<Long, Integer> slots = new HashMap<>();
+	/**
+	 * The handles of the lectures by their hash code, null until the first lookup by value.
+	 */
+	private Map<Integer, long[]> byHash;
+
+	/**
+	 * Creates an empty handle table.
+	 */
+	public LectureHandles() {
+	}
+
+	/**
+	 * Gives a handle to a lecture appended to the list.
+	 *
+	 * @param lecture the appended lecture
+	 * @return the handle of the lecture
+	 */
+	public long add(Lecture lecture) {
+		if (size == handles.length) {
+			handles = Arrays.copyOf(handles, size * 2);
+		}
+		long handle = nextHandle++;
+		handles[size] = handle;
+		slots.put(handle, size);
+		size++;
+		if (byHash != null) {
+			link(lecture.hashCode(), handle);
+		}
+		return handle;
+	}
+
+	/**
+	 * Gives new handles to all the lectures, e.g. after the list was replaced.
+	 *
+	 * @param lectures the lectures in the list, in order
+	 */
+	public void reset(List<Lecture> lectures) {
+		handles = new long[Math.max(16, lectures.size())];
+		size = 0;
+		tombstones = 0;
+		slots.clear();
+		byHash = null;
+		for (int i = 0; i < lectures.size(); i++) {
+			long handle = nextHandle++;
+			handles[size++] = handle;
+			slots.put(handle, i);
+		}
+	}
+
+	/**
+	 * Leaves a tombstone in the slot of a removed lecture.
+	 *
+	 * @param slot    the slot of the lecture
+	 * @param lecture the removed lecture
+	 */
+	public void remove(int slot, Lecture lecture) {
+		long handle = handles[slot];
+		handles[slot] = NONE;
+		slots.remove(handle);
+		tombstones++;
+		if (byHash != null) {
+			unlink(lecture.hashCode(), handle);
+		}
+	}
+
+	/**
+	 * Keeps the handle of a slot whose lecture was replaced, e.g. by the same lecture at another time.
+	 *
+	 * @param slot     the slot of the lecture
+	 * @param previous the lecture that was in the slot
+	 * @param lecture  the lecture now in the slot
+	 */
+	public void replace(int slot, Lecture previous, Lecture lecture) {
+		if (byHash != null) {
+			unlink(previous.hashCode(), handles[slot]);
+			link(lecture.hashCode(), handles[slot]);
+		}
+	}
+
+	/**
+	 * @param handle the handle of a lecture
+	 * @return the slot of the lecture, or -1 if no lecture has the handle
+	 */
+	public int slot(long handle) {
+		Integer slot = slots.get(handle);
+		return slot == null ? -1 : slot;
+	}
+
+	/**
+	 * @param slot a slot of the list
+	 * @return the handle of the lecture in the slot, {@link #NONE} for a tombstone
+	 */
+	public long handle(int slot) {
+		return handles[slot];
+	}
+
+	/**
+	 * @param slot a slot of the list
+	 * @return true if the slot holds a lecture, false for a tombstone
+	 */
+	public boolean isLive(int slot) {
+		return handles[slot] != NONE;
+	}
+
+	/**
+	 * @return the number of tombstones in the list
+	 */
+	public int tombstones() {
+		return tombstones;
+	}
+
+	/**
+	 * Finds the first slot holding a lecture equal to the given one.
+	 *
+	 * @param lecture  the lecture to find
+	 * @param lectures the list the slots belong to
+	 * @param scan     whether to look through the whole list if the lecture is not found by its hash code, which is
+	 *                 needed whenever the lectures in the list can be changed in place
+	 * @return the slot of the lecture, or -1 if it is not in the list
+	 */
+	public int find(Lecture lecture, List<Lecture> lectures, boolean scan) {
+		if (byHash == null) {
+			byHash = new HashMap<>();
+			for (int slot = 0; slot < size; slot++) {
+				if (handles[slot] != NONE) {
+					link(lectures.get(slot).hashCode(), handles[slot]);
+				}
+			}
+		}
+		int found = -1;
+		long[] candidates = byHash.get(lecture.hashCode());
+		if (candidates != null) {
+			for (long handle : candidates) {
+				Integer slot = slots.get(handle);
+				if (slot != null && (found < 0 || slot < found) && lectures.get(slot).equals(lecture)) {
+					found = slot;
+				}
+			}
+		}
+		if (found >= 0 || !scan) {
+			return found;
+		}
+		// a lecture changed after it was added is kept under its old hash code until the hash codes are taken again
+		for (int slot = 0; slot < size; slot++) {
+			if (handles[slot] != NONE && lectures.get(slot).equals(lecture)) {
+				byHash = null;
+				return slot;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Drops the tombstones from the list, moving the lectures after them towards the start. The handles stay the same.
+	 *
+	 * @param lectures the list the slots belong to
+	 */
+	public void compact(List<Lecture> lectures) {
+		if (tombstones == 0) {
+			return;
+		}
+		int live = 0;
+		for (int slot = 0; slot < size; slot++) {
+			if (handles[slot] == NONE) {
+				continue;
+			}
+			if (live != slot) {
+				lectures.set(live, lectures.get(slot));
+				handles[live] = handles[slot];
+				slots.put(handles[live], live);
+			}
+			live++;
+		}
+		for (int slot = size - 1; slot >= live; slot--) {
+			lectures.remove(slot);
+		}
+		Arrays.fill(handles, live, size, NONE);
+		size = live;
+		tombstones = 0;
+	}
+
+	/**
+	 * Moves the handles along with the lectures after the list was reordered.
+	 *
+	 * @param order the slot every lecture was in before, by its new slot
+	 */
+	public void permute(int[] order) {
+		long[] permuted = new long[handles.length];
+		for (int slot = 0; slot < order.length; slot++) {
+			permuted[slot] = handles[order[slot]];
+			if (permuted[slot] != NONE) {
+				slots.put(permuted[slot], slot);
+			}
+		}
+		handles = permuted;
+	}
+
+	private void link(int hash, long handle) {
+		long[] linked = byHash.get(hash);
+		if (linked == null) {
+			byHash.put(hash, new long[]{handle});
+		} else {
+			linked = Arrays.copyOf(linked, linked.length + 1);
+			linked[linked.length - 1] = handle;
+			byHash.put(hash, linked);
+		}
+	}
+
+	private void unlink(int hash, long handle) {
+		long[] linked = byHash.get(hash);
+		if (linked == null) {
+			return;
+		}
+		for (int i = 0; i < linked.length; i++) {
+			if (linked[i] == handle) {
+				if (linked.length == 1) {
+					byHash.remove(hash);
+				} else {
+					long[] rest = new long[linked.length - 1];
+					System.arraycopy(linked, 0, rest, 0, i);
+					System.arraycopy(linked, i + 1, rest, i, rest.length - i);
+					byHash.put(hash, rest);
+				}
+				return;
+			}
+		}
+	}
+}
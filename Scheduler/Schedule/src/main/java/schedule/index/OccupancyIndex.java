@@ -0,0 +1,168 @@
+package schedule.index;
+
+import schedule.lecture.Lecture;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps track of which lectures occupy which resource on which day of the week.
+ * <p>
+ * Every classroom, professor and group gets its own interval set per {@link DayOfWeek}, so checking whether a lecture
+ * fits only looks at the lectures sharing one of its resources on the same day instead of the whole schedule.
+ * <p>
+ * The index does not own the lectures, it has to be kept in sync with the list it indexes by the caller.
+ */
+public class OccupancyIndex {
+
+	private final Map<Resource, Map<String, Map<DayOfWeek, IntervalSet>>> index = new EnumMap<>(Resource.class);
+
+	/**
+	 * Creates an empty occupancy index.
+	 */
+	public OccupancyIndex() {
+		for (Resource resource : Resource.values()) {
+			index.put(resource, new HashMap<>());
+		}
+	}
+
+	/**
+	 * Returns the keys under which a lecture occupies the given resource.
+	 *
+	 * @param lecture  the lecture
+	 * @param resource the resource
+	 * @return the classroom name, the professor or the groups of the lecture, empty if the lecture doesn't use the resource
+	 */
+	public static Collection<String> keys(Lecture lecture, Resource resource) {
+		return switch (resource) {
+			case CLASSROOM -> lecture.getClassroom() == null ? List.of() : List.of(lecture.getClassroom().getName());
+			case PROFESSOR -> lecture.getProfessor() == null ? List.of() : List.of(lecture.getProfessor());
+			case GROUP -> lecture.getGroups() == null ? List.of() : lecture.getGroups();
+		};
+	}
+
+	/**
+	 * Adds a lecture to the index.
+	 *
+	 * @param lecture the lecture to add
+	 */
+	public void add(Lecture lecture) {
+		for (Resource resource : Resource.values()) {
+			Map<String, Map<DayOfWeek, IntervalSet>> byKey = index.get(resource);
+			for (String key : keys(lecture, resource)) {
+				byKey.computeIfAbsent(key, k -> new EnumMap<>(DayOfWeek.class))
+						.computeIfAbsent(lecture.getDay(), d -> new IntervalSet())
+						.add(lecture);
+			}
+		}
+	}
+
+	/**
+	 * Adds all the lectures to the index.
+	 *
+	 * @param lectures the lectures to add
+	 */
+	public void addAll(Collection<Lecture> lectures) {
+		lectures.forEach(this::add);
+	}
+
+	/**
+	 * Removes a lecture from the index.
+	 *
+	 * @param lecture the lecture to remove
+	 */
+	public void remove(Lecture lecture) {
+		for (Resource resource : Resource.values()) {
+			Map<String, Map<DayOfWeek, IntervalSet>> byKey = index.get(resource);
+			for (String key : keys(lecture, resource)) {
+				Map<DayOfWeek, IntervalSet> byDay = byKey.get(key);
+				if (byDay == null) {
+					continue;
+				}
+				IntervalSet intervals = byDay.get(lecture.getDay());
+				if (intervals != null && intervals.remove(lecture) && intervals.isEmpty()) {
+					byDay.remove(lecture.getDay());
+					if (byDay.isEmpty()) {
+						byKey.remove(key);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes every lecture from the index.
+	 */
+	public void clear() {
+		index.values().forEach(Map::clear);
+	}
+
+	/**
+	 * Replaces the content of the index with the given lectures.
+	 *
+	 * @param lectures the lectures to index
+	 */
+	public void rebuild(Collection<Lecture> lectures) {
+		clear();
+		addAll(lectures);
+	}
+
+	/**
+	 * Checks if none of the given resources used by the lecture are taken.
+	 *
+	 * @param lecture   the lecture to check
+	 * @param resources the resources to check
+	 * @return true if the lecture can be placed, false otherwise
+	 */
+	public boolean isFree(Lecture lecture, Set<Resource> resources) {
+		for (Resource resource : resources) {
+			for (String key : keys(lecture, resource)) {
+				IntervalSet intervals = intervals(resource, key, lecture.getDay());
+				if (intervals != null && intervals.overlaps(lecture)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Finds every lecture occupying one of the given resources at the same time as the lecture.
+	 * A lecture sharing several resources with the given one is reported once per shared resource type.
+	 *
+	 * @param lecture   the lecture to check
+	 * @param resources the resources to check
+	 * @return the list of conflicts, empty if the lecture can be placed
+	 */
+	public List<Conflict> conflicts(Lecture lecture, Set<Resource> resources) {
+		List<Conflict> conflicts = new ArrayList<>();
+		for (Resource resource : resources) {
+			// a lecture sharing several groups is found once per group
+			Set<Lecture> found = Collections.newSetFromMap(new IdentityHashMap<>());
+			for (String key : keys(lecture, resource)) {
+				IntervalSet intervals = intervals(resource, key, lecture.getDay());
+				if (intervals != null) {
+					intervals.forEachOverlap(lecture, sample -> {
+						if (found.add(sample)) {
+							conflicts.add(new Conflict(resource, sample));
+						}
+					});
+				}
+			}
+		}
+		return conflicts;
+	}
+
+	private IntervalSet intervals(Resource resource, String key, DayOfWeek day) {
+		Map<DayOfWeek, IntervalSet> byDay = index.get(resource).get(key);
+		return byDay == null ? null : byDay.get(day);
+	}
+}
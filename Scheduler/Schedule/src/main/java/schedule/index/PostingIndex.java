@@ -0,0 +1,180 @@
+package schedule.index;
+
+import schedule.filter.ClassroomNameFilter;
+import schedule.filter.DayFilter;
+import schedule.filter.Filter;
+import schedule.filter.GroupFilter;
+import schedule.filter.LectureTypeFilter;
+import schedule.lecture.Lecture;
+import schedule.lecture.type.LectureType;
+
+import java.time.DayOfWeek;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * Inverted index from exact-match lecture attributes to the positions of the lectures in the schedule.
+ * <p>
+ * Every group, classroom, {@link LectureType} and {@link DayOfWeek} keeps a posting list, stored as a bitmap of
+ * lecture positions. Filters that match on one of those attributes are answered by intersecting the bitmaps
+ * instead of testing every lecture.
+ * <p>
+ * Positions are the indices of the lectures in the indexed list, so the index has to be told about every change
+ * of that list, including reordering.
+ */
+public class PostingIndex {
+
+	private final Map<String, BitSet> byGroup = new HashMap<>();
+	private final Map<String, BitSet> byClassroom = new HashMap<>();
+	private final Map<LectureType, BitSet> byType = new EnumMap<>(LectureType.class);
+	private final Map<DayOfWeek, BitSet> byDay = new EnumMap<>(DayOfWeek.class);
+
+	/**
+	 * The number of indexed lectures, which is also the position of the next appended lecture.
+	 */
+	private int size;
+
+	/**
+	 * Creates an empty posting index.
+	 */
+	public PostingIndex() {
+	}
+
+	/**
+	 * Checks if the filter can be answered by the index.
+	 *
+	 * @param filter the filter to check
+	 * @return true if the lectures matching the filter can be looked up in the index, false otherwise
+	 */
+	public static boolean isIndexed(Filter filter) {
+		return filter instanceof GroupFilter
+				|| filter instanceof ClassroomNameFilter
+				|| filter instanceof LectureTypeFilter
+				|| filter instanceof DayFilter;
+	}
+
+	/**
+	 * Appends a lecture to the end of the index.
+	 *
+	 * @param lecture the lecture to add
+	 */
+	public void add(Lecture lecture) {
+		int position = size++;
+		if (lecture.getGroups() != null) {
+			for (String group : lecture.getGroups()) {
+				post(byGroup, group, position);
+			}
+		}
+		if (lecture.getClassroom() != null) {
+			post(byClassroom, lecture.getClassroom().getName(), position);
+		}
+		if (lecture.getType() != null) {
+			post(byType, lecture.getType(), position);
+		}
+		if (lecture.getDay() != null) {
+			post(byDay, lecture.getDay(), position);
+		}
+	}
+
+	/**
+	 * Drops the positions of removed lectures, moving the positions after them towards the start the same way the
+	 * indexed list is compacted, without indexing the lectures again.
+	 *
+	 * @param live whether the lecture at a position is kept
+	 */
+	public void compact(IntPredicate live) {
+		int[] moved = new int[size];
+		int kept = 0;
+		for (int position = 0; position < size; position++) {
+			moved[position] = live.test(position) ? kept++ : -1;
+		}
+		compact(byGroup, moved);
+		compact(byClassroom, moved);
+		compact(byType, moved);
+		compact(byDay, moved);
+		size = kept;
+	}
+
+	/**
+	 * Replaces the content of the index with the given lectures.
+	 *
+	 * @param lectures the lectures to index, in order
+	 */
+	public void rebuild(List<Lecture> lectures) {
+		byGroup.clear();
+		byClassroom.clear();
+		byType.clear();
+		byDay.clear();
+		size = 0;
+		lectures.forEach(this::add);
+	}
+
+	/**
+	 * Intersects the posting lists of every indexed filter.
+	 *
+	 * @param filters the active filters, filters that are not indexed are ignored
+	 * @return the positions of the lectures matching every indexed filter,
+	 * or null if none of the filters are indexed
+	 */
+	public BitSet candidates(Collection<Filter> filters) {
+		BitSet result = null;
+		for (Filter filter : filters) {
+			if (!isIndexed(filter)) {
+				continue;
+			}
+			BitSet postings = postings(filter);
+			if (result == null) {
+				result = (BitSet) postings.clone();
+			} else {
+				result.and(postings);
+			}
+			if (result.isEmpty()) {
+				break;
+			}
+		}
+		return result;
+	}
+
+	private BitSet postings(Filter filter) {
+		if (filter instanceof GroupFilter groupFilter) {
+			return byGroup.getOrDefault(groupFilter.requirement(), new BitSet());
+		}
+		if (filter instanceof LectureTypeFilter typeFilter) {
+			return byType.getOrDefault(typeFilter.requirement(), new BitSet());
+		}
+		if (filter instanceof DayFilter dayFilter) {
+			return byDay.getOrDefault(dayFilter.requirement(), new BitSet());
+		}
+		// Classroom names are matched by a substring, so every matching classroom contributes its postings
+		String requirement = ((ClassroomNameFilter) filter).requirement().toLowerCase();
+		BitSet union = new BitSet();
+		byClassroom.forEach((name, postings) -> {
+			if (name.toLowerCase().contains(requirement)) {
+				union.or(postings);
+			}
+		});
+		return union;
+	}
+
+	private static <K> void compact(Map<K, BitSet> index, int[] moved) {
+		index.replaceAll((key, postings) -> {
+			BitSet compacted = new BitSet();
+			for (int position = postings.nextSetBit(0); position >= 0; position = postings.nextSetBit(position + 1)) {
+				if (moved[position] >= 0) {
+					compacted.set(moved[position]);
+				}
+			}
+			return compacted;
+		});
+		index.values().removeIf(BitSet::isEmpty);
+	}
+
+	private static <K> void post(Map<K, BitSet> index, K key, int position) {
+		index.computeIfAbsent(key, k -> new BitSet()).set(position);
+	}
+}
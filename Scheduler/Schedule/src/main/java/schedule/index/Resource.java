@@ -0,0 +1,20 @@
+package schedule.index;
+
+/**
+ * The resources a lecture occupies while it is held.
+ * A lecture can only be placed in a slot if none of the resources it uses are already taken.
+ */
+public enum Resource {
+	/**
+	 * The classroom the lecture is held in.
+	 */
+	CLASSROOM,
+	/**
+	 * The professor holding the lecture.
+	 */
+	PROFESSOR,
+	/**
+	 * Every group attending the lecture.
+	 */
+	GROUP
+}
@@ -0,0 +1,63 @@
+package schedule.index;
+
+import schedule.classroom.Classroom;
+
+import java.util.function.Predicate;
+
+/**
+ * The amenities a classroom needs to have to be offered as a free slot.
+ * Classrooms without a known number of seats or computers are treated as having none.
+ *
+ * @param minSeats     the least number of seats
+ * @param projector    whether the classroom needs a projector
+ * @param minComputers the least number of computers
+ */
+public record RoomRequirements(int minSeats, boolean projector, int minComputers) implements Predicate<Classroom> {
+
+	private static final RoomRequirements ANY = new RoomRequirements(0, false, 0);
+
+	/**
+	 * @return requirements every classroom meets
+	 */
+	public static RoomRequirements any() {
+		return ANY;
+	}
+
+	/**
+	 * @param minSeats the least number of seats
+	 * @return requirements of a classroom with at least the given number of seats
+	 */
+	public static RoomRequirements seats(int minSeats) {
+		return new RoomRequirements(minSeats, false, 0);
+	}
+
+	/**
+	 * @return these requirements, also requiring a projector
+	 */
+	public RoomRequirements withProjector() {
+		return new RoomRequirements(minSeats, true, minComputers);
+	}
+
+	/**
+	 * @param minComputers the least number of computers
+	 * @return these requirements, also requiring the given number of computers
+	 */
+	public RoomRequirements withComputers(int minComputers) {
+		return new RoomRequirements(minSeats, projector, minComputers);
+	}
+
+	/**
+	 * @param classroom the classroom to check
+	 * @return true if the classroom has all the required amenities, false otherwise
+	 */
+	@Override
+	public boolean test(Classroom classroom) {
+		return (!projector || classroom.hasProjector())
+				&& count(classroom.getNoSpaces()) >= minSeats
+				&& count(classroom.getNoComputers()) >= minComputers;
+	}
+
+	private static int count(Integer value) {
+		return value == null ? 0 : value;
+	}
+}
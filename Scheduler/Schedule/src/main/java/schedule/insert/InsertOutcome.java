@@ -0,0 +1,21 @@
+package schedule.insert;
+
+import schedule.index.Conflict;
+import schedule.lecture.Lecture;
+
+/**
+ * Whether a lecture of a bulk insert was added to the schedule.
+ *
+ * @param lecture  the lecture
+ * @param conflict null if the lecture was added, otherwise the lecture of the schedule, or the lecture earlier in
+ *                 the insert, that is using one of its resources at the same time
+ */
+public record InsertOutcome(Lecture lecture, Conflict conflict) {
+
+	/**
+	 * @return true if the lecture was added, false if it was rejected
+	 */
+	public boolean accepted() {
+		return conflict == null;
+	}
+}
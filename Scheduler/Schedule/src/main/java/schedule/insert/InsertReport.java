@@ -0,0 +1,27 @@
+package schedule.insert;
+
+import schedule.lecture.Lecture;
+
+import java.util.List;
+
+/**
+ * Summarizes adding several lectures to a schedule at once.
+ *
+ * @param outcomes the outcome of every lecture, in the order the lectures were given
+ */
+public record InsertReport(List<InsertOutcome> outcomes) {
+
+	/**
+	 * @return the lectures that were added, in the order they were given
+	 */
+	public List<Lecture> accepted() {
+		return outcomes.stream().filter(InsertOutcome::accepted).map(InsertOutcome::lecture).toList();
+	}
+
+	/**
+	 * @return the outcomes of the lectures that were rejected, in the order the lectures were given
+	 */
+	public List<InsertOutcome> rejected() {
+		return outcomes.stream().filter(outcome -> !outcome.accepted()).toList();
+	}
+}
@@ -0,0 +1,21 @@
+package schedule.merge;
+
+import java.util.List;
+
+/**
+ * Summarizes merging several schedule files into one schedule.
+ *
+ * @param files         the number of files merged
+ * @param loaded        the number of lectures loaded from all the files
+ * @param duplicates    the number of lectures dropped because an identical lecture was merged from an earlier file
+ * @param roomConflicts the classroom double-bookings between lectures of different files, in merge order
+ */
+public record MergeReport(int files, int loaded, int duplicates, List<RoomConflict> roomConflicts) {
+
+	/**
+	 * @return the number of lectures in the merged schedule
+	 */
+	public int merged() {
+		return loaded - duplicates;
+	}
+}
@@ -0,0 +1,16 @@
+package schedule.merge;
+
+import schedule.lecture.Lecture;
+
+import java.nio.file.Path;
+
+/**
+ * Describes two lectures from different files that are held in the same classroom at the same time.
+ *
+ * @param file      the file the lecture was loaded from
+ * @param lecture   the lecture that was merged later
+ * @param otherFile the file the other lecture was loaded from
+ * @param other     the lecture that was already merged, from an earlier file
+ */
+public record RoomConflict(Path file, Lecture lecture, Path otherFile, Lecture other) {
+}
@@ -0,0 +1,91 @@
+package schedule.merge;
+
+import schedule.index.Conflict;
+import schedule.index.OccupancyIndex;
+import schedule.index.Resource;
+import schedule.lecture.Lecture;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Merges the lectures of several schedule files into one list in a single pass.
+ * <p>
+ * Lectures identical to one from an earlier file are dropped, identical lectures within one file are all kept.
+ * Every other lecture is checked against the classrooms occupied by the lectures merged before it, and
+ * double-bookings with lectures of another file are reported; double-bookings within one file are left alone,
+ * like loading that file on its own does.
+ * The lectures are added to the given occupancy index as they are merged, so the index doesn't have to be rebuilt.
+ */
+public class ScheduleMerger {
+
+	private static final Set<Resource> ROOMS = EnumSet.of(Resource.CLASSROOM);
+
+	private final OccupancyIndex occupancy;
+	private final List<Lecture> lectures = new ArrayList<>();
+	/**
+	 * The lectures of the files merged before the current one.
+	 */
+	private final Set<Lecture> earlier = new HashSet<>();
+	private final Map<Lecture, Path> origins = new IdentityHashMap<>();
+	private final List<RoomConflict> roomConflicts = new ArrayList<>();
+	private int files;
+	private int loaded;
+
+	/**
+	 * Creates a merger filling the given index.
+	 *
+	 * @param occupancy an empty index, receives every merged lecture
+	 */
+	public ScheduleMerger(OccupancyIndex occupancy) {
+		this.occupancy = occupancy;
+	}
+
+	/**
+	 * Merges the lectures of a file after the lectures of the files merged before.
+	 *
+	 * @param file     the file the lectures were loaded from
+	 * @param lectures the lectures of the file
+	 */
+	public void merge(Path file, List<Lecture> lectures) {
+		files++;
+		loaded += lectures.size();
+		int first = this.lectures.size();
+		for (Lecture lecture : lectures) {
+			if (earlier.contains(lecture)) {
+				continue;
+			}
+			for (Conflict conflict : occupancy.conflicts(lecture, ROOMS)) {
+				Path otherFile = origins.get(conflict.lecture());
+				if (!otherFile.equals(file)) {
+					roomConflicts.add(new RoomConflict(file, lecture, otherFile, conflict.lecture()));
+				}
+			}
+			origins.put(lecture, file);
+			occupancy.add(lecture);
+			this.lectures.add(lecture);
+		}
+		earlier.addAll(this.lectures.subList(first, this.lectures.size()));
+	}
+
+	/**
+	 * @return the merged lectures, in file order
+	 */
+	public List<Lecture> lectures() {
+		return lectures;
+	}
+
+	/**
+	 * @return the report of the lectures merged so far
+	 */
+	public MergeReport report() {
+		return new MergeReport(files, loaded, loaded - lectures.size(), Collections.unmodifiableList(roomConflicts));
+	}
+}
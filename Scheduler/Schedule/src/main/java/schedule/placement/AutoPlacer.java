@@ -0,0 +1,634 @@
+package schedule.placement;
+
+import schedule.classroom.Classroom;
+import schedule.common.ValidityPeriod;
+import schedule.lecture.Lecture;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Finds a classroom and a time for lectures that are not in the timetable yet, e.g. the lectures of a room taken
+ * over for renovation, so that no classroom, professor or group is used by two lectures at the same time.
+ * <pre>
+ *     AutoPlacer placer = schedule.autoPlacer();
+ *     placer.setClosedClassrooms(Set.of("Raf10 (a)"));
+ *     PlacementResult result = placer.place(requests, Duration.ofSeconds(2));
+ *     schedule.addLectures(result.lectures());
+ * </pre>
+ * The day is split into cells of {@link #CELL} and every classroom, professor and group gets a bitset of the cells
+ * it is used in per day of the week, so checking whether a lecture fits at some time is a few bitwise operations.
+ * Lectures that don't start or end on the boundary of a cell take the whole cells they touch, and the lectures of
+ * the timetable only block the cells if their validity period overlaps the period of one of the lectures to place.
+ * <p>
+ * The search runs one task per worker of a fork-join pool until the time budget runs out, or until every lecture
+ * that has a free slot in the timetable on its own is placed. Every task repeatedly
+ * places the lectures greedily, the most constrained first, each in its cheapest free classroom and time, the earliest
+ * start and the smallest fitting classroom, and then tries to fit the lectures that were left out by moving one of the
+ * placed lectures elsewhere. The first assignment is deterministic, the following ones shuffle the order and the
+ * costs, and the assignment placing the most lectures, then the cheapest one, is returned.
+ */
+public class AutoPlacer {
+
+	/**
+	 * The length of the cells the day is split into.
+	 */
+	public static final Duration CELL = Duration.ofMinutes(15);
+
+	private static final int CELL_SECONDS = (int) CELL.toSeconds();
+	private static final int CELLS = 24 * 60 * 60 / CELL_SECONDS;
+	private static final int WORDS = (CELLS + 63) / 64;
+	private static final int DAYS = DayOfWeek.values().length;
+	/**
+	 * How much a spare seat costs compared to starting a cell later.
+	 */
+	private static final int SEAT_COST = 1;
+	/**
+	 * The most a cost is shuffled by after the first assignment, in cells.
+	 */
+	private static final int NOISE = 8;
+
+	private final Collection<Lecture> timetable;
+	private final List<Classroom> classrooms;
+	private final Set<String> closedClassrooms = new HashSet<>();
+	private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+	/**
+	 * @param timetable  the lectures already held, which are never moved
+	 * @param classrooms the classrooms the lectures can be placed in
+	 */
+	public AutoPlacer(Collection<Lecture> timetable, Collection<Classroom> classrooms) {
+		this.timetable = Objects.requireNonNull(timetable, "Timetable cannot be null");
+		this.classrooms = List.copyOf(classrooms);
+	}
+
+	/**
+	 * Sets the classrooms no lecture is placed in, e.g. because they are being renovated.
+	 *
+	 * @param names the names of the closed classrooms
+	 */
+	public void setClosedClassrooms(Set<String> names) {
+		closedClassrooms.clear();
+		closedClassrooms.addAll(names);
+	}
+
+	/**
+	 * Sets the pool the search runs on, the common fork-join pool by default.
+	 *
+	 * @param pool the pool, one search task is run per worker
+	 */
+	public void setPool(ForkJoinPool pool) {
+		this.pool = Objects.requireNonNull(pool, "Pool cannot be null");
+	}
+
+	/**
+	 * Searches for the best assignment of the requests until the budget runs out. At least one assignment is tried
+	 * by every task, even if it takes longer than the budget.
+	 *
+	 * @param requests the lectures to place
+	 * @param budget   the wall-clock time the search can take
+	 * @return the best assignment found
+	 */
+	public PlacementResult place(List<PlacementRequest> requests, Duration budget) {
+		Objects.requireNonNull(requests, "Requests cannot be null");
+		Objects.requireNonNull(budget, "Budget cannot be null");
+		long started = System.nanoTime();
+		long deadline = started + budget.toNanos();
+		Problem problem = new Problem(requests);
+
+		List<SearchTask> tasks = new ArrayList<>();
+		for (int i = 0; i < pool.getParallelism(); i++) {
+			SearchTask task = new SearchTask(problem, i, deadline);
+			pool.execute(task);
+			tasks.add(task);
+		}
+		Assignment best = null;
+		int attempts = 0;
+		for (SearchTask task : tasks) {
+			Assignment found = task.join();
+			attempts += task.attempts;
+			if (best == null || found.isBetterThan(best)) {
+				best = found;
+			}
+		}
+
+		List<Placement> placements = new ArrayList<>();
+		List<PlacementRequest> unplaced = new ArrayList<>();
+		for (int i = 0; i < requests.size(); i++) {
+			if (best.slots[i] == Assignment.UNPLACED) {
+				unplaced.add(requests.get(i));
+			} else {
+				placements.add(problem.placement(i, best.slots[i]));
+			}
+		}
+		return new PlacementResult(List.copyOf(placements), List.copyOf(unplaced), attempts, Duration.ofNanos(System.nanoTime() - started));
+	}
+
+	/**
+	 * The requests turned into numbers: the classrooms, professors and groups are numbered resources, and the
+	 * possible placements of a request are the numbered classrooms, days and start cells it fits in.
+	 * Shared by all the search tasks and never changed.
+	 */
+	private final class Problem {
+
+		final List<PlacementRequest> requests;
+		final List<Classroom> rooms = new ArrayList<>();
+		final Map<String, Integer> resources = new HashMap<>();
+		/**
+		 * The cells of every resource used by the timetable, {@link #WORDS} per day.
+		 */
+		final List<long[]> fixed = new ArrayList<>();
+		final int[] roomResource;
+		final int[] length;
+		/**
+		 * The resources of every request other than the classroom: the professor and the groups.
+		 */
+		final int[][] people;
+		/**
+		 * The possible slots of every request, cheapest first, see {@link #slot(int, int, int)}.
+		 */
+		final int[][] slots;
+		final int[][] costs;
+		/**
+		 * The number of requests with a slot that is free in the timetable, no assignment places more.
+		 */
+		final int placeable;
+
+		Problem(List<PlacementRequest> requests) {
+			this.requests = requests;
+			Map<String, Classroom> byName = new LinkedHashMap<>();
+			for (Classroom classroom : classrooms) {
+				byName.putIfAbsent(classroom.getName(), classroom);
+			}
+			for (Lecture lecture : timetable) {
+				if (lecture.getClassroom() != null && lecture.getClassroom().getName() != null) {
+					byName.putIfAbsent(lecture.getClassroom().getName(), lecture.getClassroom());
+				}
+			}
+			byName.keySet().removeAll(closedClassrooms);
+			rooms.addAll(byName.values());
+			roomResource = new int[rooms.size()];
+			for (int room = 0; room < rooms.size(); room++) {
+				roomResource[room] = resource("classroom:" + rooms.get(room).getName());
+			}
+
+			int count = requests.size();
+			length = new int[count];
+			people = new int[count][];
+			slots = new int[count][];
+			costs = new int[count][];
+			Set<ValidityPeriod> periods = new HashSet<>();
+			for (int i = 0; i < count; i++) {
+				PlacementRequest request = requests.get(i);
+				Lecture lecture = request.lecture();
+				length[i] = endCell(lecture.getEnd()) - firstCell(lecture.getStart());
+				people[i] = people(lecture);
+				periods.add(lecture.getValidityPeriod());
+				candidates(i, request);
+			}
+			for (Lecture lecture : timetable) {
+				if (blocks(lecture, periods)) {
+					occupy(lecture);
+				}
+			}
+			int fitting = 0;
+			for (int i = 0; i < count; i++) {
+				for (int slot : slots[i]) {
+					if (fits(i, slot)) {
+						fitting++;
+						break;
+					}
+				}
+			}
+			placeable = fitting;
+		}
+
+		/**
+		 * @return true if the slot is free in the timetable
+		 */
+		boolean fits(int request, int slot) {
+			int day = dayOf(slot);
+			int start = startOf(slot);
+			if (isSet(fixed.get(roomResource[roomOf(slot)]), day, start, length[request])) {
+				return false;
+			}
+			for (int resource : people[request]) {
+				if (isSet(fixed.get(resource), day, start, length[request])) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private void candidates(int request, PlacementRequest placement) {
+			List<int[]> found = new ArrayList<>();
+			int first = endCell(placement.earliest());
+			int last = placement.latest().equals(LocalTime.MAX) ? CELLS : firstCell(placement.latest());
+			for (int room = 0; room < rooms.size(); room++) {
+				Classroom classroom = rooms.get(room);
+				if (!placement.requirements().test(classroom)) {
+					continue;
+				}
+				int spare = classroom.getNoSpaces() == null ? 0 : Math.max(0, classroom.getNoSpaces() - placement.requirements().minSeats());
+				for (DayOfWeek day : placement.days()) {
+					for (int start = first; start + length[request] <= last; start++) {
+						found.add(new int[]{slot(room, day.ordinal(), start), (start - first) + spare * SEAT_COST});
+					}
+				}
+			}
+			found.sort((a, b) -> Integer.compare(a[1], b[1]));
+			slots[request] = found.stream().mapToInt(slot -> slot[0]).toArray();
+			costs[request] = found.stream().mapToInt(slot -> slot[1]).toArray();
+		}
+
+		private int[] people(Lecture lecture) {
+			List<Integer> ids = new ArrayList<>();
+			if (lecture.getProfessor() != null) {
+				ids.add(resource("professor:" + lecture.getProfessor()));
+			}
+			if (lecture.getGroups() != null) {
+				for (String group : lecture.getGroups()) {
+					ids.add(resource("group:" + group));
+				}
+			}
+			return ids.stream().mapToInt(Integer::intValue).toArray();
+		}
+
+		private int resource(String key) {
+			return resources.computeIfAbsent(key, k -> {
+				fixed.add(new long[DAYS * WORDS]);
+				return fixed.size() - 1;
+			});
+		}
+
+		private boolean blocks(Lecture lecture, Set<ValidityPeriod> periods) {
+			if (lecture.getDay() == null || lecture.getStart() == null || lecture.getEnd() == null) {
+				return false;
+			}
+			ValidityPeriod period = lecture.getValidityPeriod();
+			for (ValidityPeriod other : periods) {
+				if (period == null || other == null || period.overlaps(other)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Marks the cells of a lecture of the timetable, only for the resources some request uses.
+		 */
+		private void occupy(Lecture lecture) {
+			int day = lecture.getDay().ordinal();
+			int start = firstCell(lecture.getStart());
+			int cells = endCell(lecture.getEnd()) - start;
+			if (lecture.getClassroom() != null) {
+				mark(resources.get("classroom:" + lecture.getClassroom().getName()), day, start, cells);
+			}
+			if (lecture.getProfessor() != null) {
+				mark(resources.get("professor:" + lecture.getProfessor()), day, start, cells);
+			}
+			if (lecture.getGroups() != null) {
+				for (String group : lecture.getGroups()) {
+					mark(resources.get("group:" + group), day, start, cells);
+				}
+			}
+		}
+
+		private void mark(Integer resource, int day, int start, int cells) {
+			if (resource != null) {
+				set(fixed.get(resource), day, start, cells, true);
+			}
+		}
+
+		Placement placement(int request, int slot) {
+			Lecture lecture = requests.get(request).lecture();
+			LocalTime start = LocalTime.ofSecondOfDay((long) startOf(slot) * CELL_SECONDS);
+			LocalTime end = start.plus(requests.get(request).length());
+			Lecture placed = new Lecture(lecture.getSubject(), lecture.getType(), lecture.getProfessor(),
+					lecture.getGroups() == null ? null : new HashSet<>(lecture.getGroups()),
+					DayOfWeek.values()[dayOf(slot)], start, end, lecture.getValidityPeriod(), rooms.get(roomOf(slot)));
+			return new Placement(requests.get(request), placed);
+		}
+	}
+
+	/**
+	 * The slot of every request, {@link #UNPLACED} for the ones left out, and the sum of the costs of the slots.
+	 */
+	private static final class Assignment {
+
+		static final int UNPLACED = -1;
+
+		final int[] slots;
+		final int placed;
+		final long cost;
+
+		Assignment(int[] slots, int placed, long cost) {
+			this.slots = slots;
+			this.placed = placed;
+			this.cost = cost;
+		}
+
+		boolean isBetterThan(Assignment other) {
+			return placed != other.placed ? placed > other.placed : cost < other.cost;
+		}
+	}
+
+	/**
+	 * Repeatedly builds assignments until the deadline, keeping the best one.
+	 */
+	private static final class SearchTask extends RecursiveTask<Assignment> {
+
+		/**
+		 * More than one placed request holds the resources of a slot.
+		 */
+		private static final int BLOCKED = -2;
+
+		private final Problem problem;
+		private final int worker;
+		private final long deadline;
+		private final Random random;
+		int attempts;
+
+		/**
+		 * The cells used by every resource in the assignment being built, including the timetable.
+		 */
+		private long[][] used;
+		/**
+		 * The position of the slot every request is placed in, in its list of possible slots.
+		 */
+		private int[] chosen;
+		/**
+		 * The placed requests using every resource.
+		 */
+		private List<List<Integer>> holders;
+
+		SearchTask(Problem problem, int worker, long deadline) {
+			this.problem = problem;
+			this.worker = worker;
+			this.deadline = deadline;
+			this.random = new Random(worker);
+		}
+
+		@Override
+		protected Assignment compute() {
+			Assignment best = null;
+			do {
+				Assignment found = attempt(worker > 0 || attempts > 0);
+				attempts++;
+				if (best == null || found.isBetterThan(best)) {
+					best = found;
+				}
+			} while (best.placed < problem.placeable && System.nanoTime() < deadline);
+			return best;
+		}
+
+		private Assignment attempt(boolean shuffled) {
+			int count = problem.requests.size();
+			used = new long[problem.fixed.size()][];
+			for (int i = 0; i < used.length; i++) {
+				used[i] = problem.fixed.get(i).clone();
+			}
+			chosen = new int[count];
+			holders = new ArrayList<>(used.length);
+			for (int i = 0; i < used.length; i++) {
+				holders.add(new ArrayList<>());
+			}
+
+			// the requests with the fewest possible slots first
+			long[] order = new long[count];
+			for (int i = 0; i < count; i++) {
+				long slots = problem.slots[i].length;
+				if (shuffled) {
+					slots = slots * 2 + random.nextInt((int) Math.min(Integer.MAX_VALUE, slots + 1));
+				}
+				order[i] = slots << 32 | i;
+			}
+			Arrays.sort(order);
+
+			List<Integer> unplaced = new ArrayList<>();
+			for (long entry : order) {
+				int request = (int) entry;
+				chosen[request] = cheapestFree(request, shuffled);
+				if (chosen[request] == Assignment.UNPLACED) {
+					unplaced.add(request);
+				} else {
+					take(request, slotOf(request), true);
+				}
+			}
+			for (int request : unplaced) {
+				if (System.nanoTime() >= deadline) {
+					break;
+				}
+				repair(request, shuffled);
+			}
+
+			int[] slots = new int[count];
+			int placed = 0;
+			long cost = 0;
+			for (int i = 0; i < count; i++) {
+				if (chosen[i] == Assignment.UNPLACED) {
+					slots[i] = Assignment.UNPLACED;
+				} else {
+					slots[i] = slotOf(i);
+					placed++;
+					cost += problem.costs[i][chosen[i]];
+				}
+			}
+			return new Assignment(slots, placed, cost);
+		}
+
+		/**
+		 * Tries to fit a request that was left out in a slot blocked by a single placed request, moving that request
+		 * to its cheapest other free slot.
+		 */
+		private void repair(int request, boolean shuffled) {
+			int[] slots = problem.slots[request];
+			for (int i = 0; i < slots.length; i++) {
+				int slot = slots[i];
+				if (!problem.fits(request, slot)) {
+					continue;
+				}
+				if (System.nanoTime() >= deadline) {
+					return;
+				}
+				int blocker = blocker(problem.roomResource[roomOf(slot)], request, slot, Assignment.UNPLACED);
+				for (int resource : problem.people[request]) {
+					blocker = blocker(resource, request, slot, blocker);
+				}
+				if (blocker < 0) {
+					continue;
+				}
+				int previous = chosen[blocker];
+				take(blocker, slotOf(blocker), false);
+				take(request, slot, true);
+				int moved = cheapestFree(blocker, shuffled);
+				if (moved != Assignment.UNPLACED) {
+					chosen[blocker] = moved;
+					chosen[request] = i;
+					take(blocker, slotOf(blocker), true);
+					return;
+				}
+				take(request, slot, false);
+				take(blocker, problem.slots[blocker][previous], true);
+			}
+		}
+
+		private int cheapestFree(int request, boolean shuffled) {
+			int[] slots = problem.slots[request];
+			int[] costs = problem.costs[request];
+			int best = Assignment.UNPLACED;
+			int bestCost = Integer.MAX_VALUE;
+			for (int i = 0; i < slots.length; i++) {
+				// the slots are sorted by cost, none of the rest can be cheaper even with the most noise
+				if (costs[i] - (shuffled ? NOISE : 0) >= bestCost) {
+					break;
+				}
+				if (isFree(used, request, slots[i])) {
+					int cost = shuffled ? costs[i] + random.nextInt(NOISE + 1) - NOISE : costs[i];
+					if (cost < bestCost) {
+						best = i;
+						bestCost = cost;
+					}
+				}
+			}
+			return best;
+		}
+
+		private boolean isFree(long[][] cells, int request, int slot) {
+			int day = dayOf(slot);
+			int start = startOf(slot);
+			int length = problem.length[request];
+			if (isSet(cells[problem.roomResource[roomOf(slot)]], day, start, length)) {
+				return false;
+			}
+			for (int resource : problem.people[request]) {
+				if (isSet(cells[resource], day, start, length)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Finds the placed request holding a resource at the time of a slot.
+		 *
+		 * @param blocker the blocker found on the other resources so far
+		 * @return the blocker if it is the only one, {@link Assignment#UNPLACED} if there is none,
+		 * {@link #BLOCKED} if there are several
+		 */
+		private int blocker(int resource, int request, int slot, int blocker) {
+			if (blocker == BLOCKED) {
+				return BLOCKED;
+			}
+			for (int other : holders.get(resource)) {
+				if (other != blocker && overlaps(request, slot, other, slotOf(other))) {
+					if (blocker != Assignment.UNPLACED) {
+						return BLOCKED;
+					}
+					blocker = other;
+				}
+			}
+			return blocker;
+		}
+
+		private boolean overlaps(int request, int slot, int other, int otherSlot) {
+			int start = startOf(slot);
+			int otherStart = startOf(otherSlot);
+			return dayOf(slot) == dayOf(otherSlot)
+					&& start < otherStart + problem.length[other] && otherStart < start + problem.length[request];
+		}
+
+		private void take(int request, int slot, boolean taken) {
+			int day = dayOf(slot);
+			int start = startOf(slot);
+			int length = problem.length[request];
+			hold(problem.roomResource[roomOf(slot)], request, day, start, length, taken);
+			for (int resource : problem.people[request]) {
+				hold(resource, request, day, start, length, taken);
+			}
+		}
+
+		private void hold(int resource, int request, int day, int start, int length, boolean taken) {
+			set(used[resource], day, start, length, taken);
+			if (taken) {
+				holders.get(resource).add(request);
+			} else {
+				holders.get(resource).remove(Integer.valueOf(request));
+			}
+		}
+
+		private int slotOf(int request) {
+			return problem.slots[request][chosen[request]];
+		}
+	}
+
+	/**
+	 * Packs a classroom, a day and a start cell into one number.
+	 */
+	private static int slot(int room, int day, int start) {
+		return (room * DAYS + day) * CELLS + start;
+	}
+
+	private static int roomOf(int slot) {
+		return slot / CELLS / DAYS;
+	}
+
+	private static int dayOf(int slot) {
+		return slot / CELLS % DAYS;
+	}
+
+	private static int startOf(int slot) {
+		return slot % CELLS;
+	}
+
+	private static int firstCell(LocalTime time) {
+		return time.toSecondOfDay() / CELL_SECONDS;
+	}
+
+	private static int endCell(LocalTime time) {
+		return time.equals(LocalTime.MAX) ? CELLS : (time.toSecondOfDay() + CELL_SECONDS - 1) / CELL_SECONDS;
+	}
+
+	private static boolean isSet(long[] cells, int day, int start, int length) {
+		for (int cell = start; cell < start + length; ) {
+			int word = cell >>> 6;
+			int bit = cell & 63;
+			int count = Math.min(64 - bit, start + length - cell);
+			long mask = (count == 64 ? -1L : (1L << count) - 1) << bit;
+			if ((cells[day * WORDS + word] & mask) != 0) {
+				return true;
+			}
+			cell += count;
+		}
+		return false;
+	}
+
+	private static void set(long[] cells, int day, int start, int length, boolean value) {
+		for (int cell = start; cell < start + length; ) {
+			int word = cell >>> 6;
+			int bit = cell & 63;
+			int count = Math.min(64 - bit, start + length - cell);
+			long mask = (count == 64 ? -1L : (1L << count) - 1) << bit;
+			if (value) {
+				cells[day * WORDS + word] |= mask;
+			} else {
+				cells[day * WORDS + word] &= ~mask;
+			}
+			cell += count;
+		}
+	}
+}
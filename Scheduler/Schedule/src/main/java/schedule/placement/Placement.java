@@ -0,0 +1,12 @@
+package schedule.placement;
+
+import schedule.lecture.Lecture;
+
+/**
+ * A lecture given a classroom and a time.
+ *
+ * @param request the request the lecture was placed for
+ * @param lecture a copy of the requested lecture, with the chosen classroom, day and times
+ */
+public record Placement(PlacementRequest request, Lecture lecture) {
+}
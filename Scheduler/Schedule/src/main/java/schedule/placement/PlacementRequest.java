@@ -0,0 +1,73 @@
+package schedule.placement;
+
+import schedule.index.RoomRequirements;
+import schedule.lecture.Lecture;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A lecture that needs a classroom and a time, and the constraints on both.
+ * The length of the lecture is taken from its current start and end, its day, times and classroom are replaced.
+ *
+ * @param lecture      the lecture to place
+ * @param requirements the amenities the classroom needs
+ * @param days         the days the lecture can be held on
+ * @param earliest     the earliest start of the lecture
+ * @param latest       the latest end of the lecture
+ */
+public record PlacementRequest(Lecture lecture, RoomRequirements requirements, Set<DayOfWeek> days, LocalTime earliest, LocalTime latest) {
+
+	/**
+	 * The days used by {@link #of(Lecture, RoomRequirements)}.
+	 */
+	public static final Set<DayOfWeek> WORKING_DAYS = EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY);
+	/**
+	 * The earliest start used by {@link #of(Lecture, RoomRequirements)}.
+	 */
+	public static final LocalTime DAY_START = LocalTime.of(8, 0);
+	/**
+	 * The latest end used by {@link #of(Lecture, RoomRequirements)}.
+	 */
+	public static final LocalTime DAY_END = LocalTime.of(21, 0);
+
+	/**
+	 * @throws IllegalArgumentException If the lecture has no start or end, or doesn't fit between the earliest start
+	 *                                  and the latest end.
+	 */
+	public PlacementRequest {
+		Objects.requireNonNull(lecture, "Lecture cannot be null");
+		Objects.requireNonNull(requirements, "Requirements cannot be null");
+		Objects.requireNonNull(earliest, "Earliest start cannot be null");
+		Objects.requireNonNull(latest, "Latest end cannot be null");
+		days = days.isEmpty() ? EnumSet.noneOf(DayOfWeek.class) : EnumSet.copyOf(days);
+		if (lecture.getStart() == null || lecture.getEnd() == null || !lecture.getEnd().isAfter(lecture.getStart())) {
+			throw new IllegalArgumentException("Lecture needs a start and a later end to know its length");
+		}
+		if (Duration.between(earliest, latest).compareTo(Duration.between(lecture.getStart(), lecture.getEnd())) < 0) {
+			throw new IllegalArgumentException("Lecture doesn't fit between " + earliest + " and " + latest);
+		}
+	}
+
+	/**
+	 * Creates a request for a lecture that can be held on any working day, between {@link #DAY_START} and {@link #DAY_END}.
+	 *
+	 * @param lecture      the lecture to place
+	 * @param requirements the amenities the classroom needs
+	 * @return the request
+	 */
+	public static PlacementRequest of(Lecture lecture, RoomRequirements requirements) {
+		return new PlacementRequest(lecture, requirements, WORKING_DAYS, DAY_START, DAY_END);
+	}
+
+	/**
+	 * @return the length of the lecture
+	 */
+	public Duration length() {
+		return Duration.between(lecture.getStart(), lecture.getEnd());
+	}
+}
@@ -0,0 +1,32 @@
+package schedule.placement;
+
+import schedule.lecture.Lecture;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The best assignment of classrooms and times found for a set of requests.
+ * The placed lectures are free of classroom, professor and group conflicts, with the timetable and with each other.
+ *
+ * @param placements the placed lectures, in the order of the requests
+ * @param unplaced   the requests no free classroom and time was found for, in the order of the requests
+ * @param attempts   the number of assignments that were tried
+ * @param elapsed    the time the search took
+ */
+public record PlacementResult(List<Placement> placements, List<PlacementRequest> unplaced, int attempts, Duration elapsed) {
+
+	/**
+	 * @return true if every request was placed
+	 */
+	public boolean isComplete() {
+		return unplaced.isEmpty();
+	}
+
+	/**
+	 * @return the placed lectures, ready to be added with {@link schedule.Schedule#addLectures(java.util.Collection)}
+	 */
+	public List<Lecture> lectures() {
+		return placements.stream().map(Placement::lecture).toList();
+	}
+}
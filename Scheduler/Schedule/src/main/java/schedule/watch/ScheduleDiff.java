@@ -0,0 +1,177 @@
+package schedule.watch;
+
+import schedule.Schedule;
+import schedule.classroom.Classroom;
+import schedule.common.ValidityPeriod;
+import schedule.lecture.Lecture;
+import schedule.lecture.type.LectureType;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The changes that turn one list of lectures into another: lectures added, lectures removed,
+ * and lectures moved to another time on the same day.
+ *
+ * @param added   the lectures to add
+ * @param removed the lectures to remove
+ * @param moved   the lectures to move
+ */
+public record ScheduleDiff(List<Lecture> added, List<Lecture> removed, List<Move> moved) {
+
+	/**
+	 * A lecture moved to another time.
+	 *
+	 * @param lecture the lecture at its current time
+	 * @param start   the new start time
+	 * @param end     the new end time
+	 */
+	public record Move(Lecture lecture, LocalTime start, LocalTime end) {
+	}
+
+	/**
+	 * Everything about a lecture except its times, the key under which a removed and an added lecture
+	 * are paired into a move.
+	 */
+	private record Key(String subject, LectureType type, String professor, Set<String> groups, DayOfWeek day,
+	                   ValidityPeriod validityPeriod, Classroom classroom) {
+
+		Key(Lecture lecture) {
+			this(lecture.getSubject(), lecture.getType(), lecture.getProfessor(), lecture.getGroups(), lecture.getDay(),
+					lecture.getValidityPeriod(), lecture.getClassroom());
+		}
+	}
+
+	/**
+	 * Compares two lists of lectures.
+	 * <p>
+	 * Lectures equal in both lists are matched up first, counting duplicates. Of the rest, a lecture of the current list
+	 * and a lecture of the target list that differ only in their times are paired into a move,
+	 * and what is left is removed from or added to the current list.
+	 *
+	 * @param current the lectures as they are
+	 * @param target  the lectures as they should be
+	 * @return the changes, in the order of the lists
+	 */
+	public static ScheduleDiff between(Collection<Lecture> current, Collection<Lecture> target) {
+		Map<Lecture, Integer> unmatched = new HashMap<>();
+		for (Lecture lecture : target) {
+			unmatched.merge(lecture, 1, Integer::sum);
+		}
+		List<Lecture> removed = new ArrayList<>();
+		for (Lecture lecture : current) {
+			if (!match(unmatched, lecture)) {
+				removed.add(lecture);
+			}
+		}
+		if (unmatched.isEmpty() && removed.isEmpty()) {
+			return new ScheduleDiff(List.of(), List.of(), List.of());
+		}
+
+		Map<Key, Deque<Lecture>> removedByKey = new HashMap<>();
+		for (Lecture lecture : removed) {
+			removedByKey.computeIfAbsent(new Key(lecture), key -> new ArrayDeque<>()).add(lecture);
+		}
+		List<Lecture> added = new ArrayList<>();
+		List<Move> moved = new ArrayList<>();
+		for (Lecture lecture : target) {
+			if (!match(unmatched, lecture)) {
+				continue;
+			}
+			Deque<Lecture> candidates = removedByKey.get(new Key(lecture));
+			if (candidates != null && !candidates.isEmpty()) {
+				moved.add(new Move(candidates.poll(), lecture.getStart(), lecture.getEnd()));
+			} else {
+				added.add(lecture);
+			}
+		}
+		if (!moved.isEmpty()) {
+			Set<Lecture> movedAway = Collections.newSetFromMap(new IdentityHashMap<>());
+			moved.forEach(move -> movedAway.add(move.lecture()));
+			removed.removeIf(movedAway::contains);
+		}
+		return new ScheduleDiff(added, removed, moved);
+	}
+
+	/**
+	 * Takes one copy of the lecture from the counted lectures.
+	 *
+	 * @return false if there was none left
+	 */
+	private static boolean match(Map<Lecture, Integer> counts, Lecture lecture) {
+		Integer count = counts.get(lecture);
+		if (count == null) {
+			return false;
+		}
+		if (count == 1) {
+			counts.remove(lecture);
+		} else {
+			counts.put(lecture, count - 1);
+		}
+		return true;
+	}
+
+	/**
+	 * @return true if the lists were equal
+	 */
+	public boolean isEmpty() {
+		return added.isEmpty() && removed.isEmpty() && moved.isEmpty();
+	}
+
+	/**
+	 * @return the number of changes
+	 */
+	public int size() {
+		return added.size() + removed.size() + moved.size();
+	}
+
+	/**
+	 * Applies the changes to a schedule through {@link Schedule#removeLecture}, {@link Schedule#moveLecture}
+	 * and {@link Schedule#addLecture}, so only the changed lectures are checked for conflicts and reindexed.
+	 * <p>
+	 * Lectures are removed first, then moved and added. Moves and additions rejected because their slot is taken
+	 * are retried while other changes succeed, so lectures swapping slots end up in place.
+	 *
+	 * @param schedule the schedule holding the current lectures
+	 * @return the changes that couldn't be applied, empty if the schedule now holds the target lectures
+	 */
+	public ScheduleDiff applyTo(Schedule schedule) {
+		List<Lecture> notRemoved = new ArrayList<>();
+		for (Lecture lecture : removed) {
+			if (!schedule.removeLecture(lecture)) {
+				notRemoved.add(lecture);
+			}
+		}
+		List<Move> pendingMoves = new ArrayList<>(moved);
+		List<Lecture> pendingAdds = new ArrayList<>(added);
+		boolean progress = true;
+		while (progress && !(pendingMoves.isEmpty() && pendingAdds.isEmpty())) {
+			progress = false;
+			for (Iterator<Move> moves = pendingMoves.iterator(); moves.hasNext(); ) {
+				Move move = moves.next();
+				if (schedule.moveLecture(move.lecture(), move.start(), move.end())) {
+					moves.remove();
+					progress = true;
+				}
+			}
+			for (Iterator<Lecture> adds = pendingAdds.iterator(); adds.hasNext(); ) {
+				if (schedule.addLecture(adds.next())) {
+					adds.remove();
+					progress = true;
+				}
+			}
+		}
+		return new ScheduleDiff(pendingAdds, notRemoved, pendingMoves);
+	}
+}
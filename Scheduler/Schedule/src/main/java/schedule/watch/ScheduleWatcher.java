@@ -0,0 +1,236 @@
+package schedule.watch;
+
+import schedule.Schedule;
+import schedule.lecture.Lecture;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+/**
+ * Watches the schedule and classroom files of a schedule and applies their changes to it while it is in use.
+ * <p>
+ * When the schedule file changes, only that file is parsed again with {@link Schedule#loadLectures(String, String)},
+ * so it is read by the manager of the schedule, e.g. expanded into occurrences by a collection manager.
+ * The difference to the lectures in the schedule is applied through {@link ScheduleDiff#applyTo(Schedule)},
+ * so only the changed lectures are checked and reindexed.
+ * When the classroom file changes, the classrooms are reloaded with {@link Schedule#loadClassroomAmenities(String)}.
+ * <p>
+ * The changes are applied on the thread of the watcher while holding the lock of the schedule,
+ * code using the schedule on other threads while it is watched has to synchronize on it too:
+ * <pre>
+ *     try (ScheduleWatcher watcher = new ScheduleWatcher(schedule, schedulePath, config, classroomsPath, listener)) {
+ *         watcher.start();
+ *         synchronized (schedule) {
+ *             schedule.filtered();
+ *         }
+ *     }
+ * </pre>
+ */
+public class ScheduleWatcher implements Closeable {
+
+	/**
+	 * Receives the outcome of every reload.
+	 */
+	public interface Listener {
+
+		/**
+		 * Called after the changes of the schedule file were applied.
+		 *
+		 * @param file     the schedule file
+		 * @param applied  the changes that were applied
+		 * @param rejected the changes that couldn't be applied because their slots were taken
+		 */
+		default void scheduleReloaded(Path file, ScheduleDiff applied, ScheduleDiff rejected) {
+		}
+
+		/**
+		 * Called after the classrooms were reloaded.
+		 *
+		 * @param file the classroom file
+		 */
+		default void classroomsReloaded(Path file) {
+		}
+
+		/**
+		 * Called when a changed file can't be loaded, e.g. because it is still being written.
+		 * The schedule is left as it was, and the file is loaded again on its next change.
+		 *
+		 * @param file      the file
+		 * @param exception the reason
+		 */
+		default void reloadFailed(Path file, Exception exception) {
+		}
+	}
+
+	/**
+	 * How long the files have to stay unchanged before they are reloaded, so a file written in several steps
+	 * is only reloaded once.
+	 */
+	private static final long SETTLE_MILLIS = 100;
+
+	private final Schedule schedule;
+	private final Path schedulePath;
+	private final String config;
+	private final Path classroomsPath;
+	private final Listener listener;
+	private final WatchService watchService;
+	private Thread thread;
+
+	/**
+	 * Creates a watcher for the files of a schedule, which should already be loaded from them.
+	 *
+	 * @param schedule       the schedule to keep up to date
+	 * @param schedulePath   the schedule file, CSV, JSON or {@code .sched}
+	 * @param config         the configuration for loading a CSV schedule file
+	 * @param classroomsPath the classroom file, or null to only watch the schedule file
+	 * @param listener       receives the outcome of every reload
+	 * @throws IOException If the directories of the files can't be watched.
+	 */
+	public ScheduleWatcher(Schedule schedule, Path schedulePath, String config, Path classroomsPath, Listener listener) throws IOException {
+		this.schedule = schedule;
+		this.schedulePath = schedulePath.toAbsolutePath().normalize();
+		this.config = config;
+		this.classroomsPath = classroomsPath == null ? null : classroomsPath.toAbsolutePath().normalize();
+		this.listener = listener;
+		watchService = FileSystems.getDefault().newWatchService();
+		try {
+			register(this.schedulePath.getParent());
+			if (this.classroomsPath != null && !this.classroomsPath.getParent().equals(this.schedulePath.getParent())) {
+				register(this.classroomsPath.getParent());
+			}
+		} catch (IOException e) {
+			watchService.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Starts watching on a daemon thread.
+	 *
+	 * @throws IllegalStateException If the watcher was already started.
+	 */
+	public synchronized void start() {
+		if (thread != null) {
+			throw new IllegalStateException("Watcher already started");
+		}
+		thread = new Thread(this::run, "schedule-watcher");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Parses the schedule file again and applies its changes to the schedule.
+	 *
+	 * @return the changes that couldn't be applied because their slots were taken
+	 * @throws Exception If the schedule file can't be loaded, the schedule is left as it was.
+	 */
+	public ScheduleDiff reloadSchedule() throws Exception {
+		List<Lecture> loaded = schedule.loadLectures(schedulePath.toString(), config);
+		ScheduleDiff diff;
+		ScheduleDiff rejected;
+		synchronized (schedule) {
+			diff = ScheduleDiff.between(schedule.getLectures(), loaded);
+			rejected = diff.applyTo(schedule);
+		}
+		listener.scheduleReloaded(schedulePath, diff, rejected);
+		return rejected;
+	}
+
+	/**
+	 * Loads the classroom file again and gives the lectures of the schedule the reloaded classrooms.
+	 *
+	 * @throws Exception If the classroom file can't be loaded, the classrooms are left as they were.
+	 */
+	public void reloadClassrooms() throws Exception {
+		synchronized (schedule) {
+			schedule.loadClassroomAmenities(classroomsPath.toString());
+		}
+		listener.classroomsReloaded(classroomsPath);
+	}
+
+	/**
+	 * Stops watching, waiting for a reload in progress to finish.
+	 *
+	 * @throws IOException If the watch service can't be closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		watchService.close();
+		Thread running;
+		synchronized (this) {
+			running = thread;
+		}
+		if (running != null && running != Thread.currentThread()) {
+			try {
+				running.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private void register(Path directory) throws IOException {
+		directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+	}
+
+	private void run() {
+		try {
+			while (true) {
+				Set<Path> changed = new LinkedHashSet<>();
+				WatchKey key = watchService.take();
+				// collect the events until the files settle
+				while (key != null) {
+					collect(key, changed);
+					key = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+				}
+				// the lectures are parsed with the new classrooms if both files changed
+				if (classroomsPath != null && changed.contains(classroomsPath)) {
+					reload(classroomsPath, this::reloadClassrooms);
+				}
+				if (changed.contains(schedulePath)) {
+					reload(schedulePath, this::reloadSchedule);
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ClosedWatchServiceException e) {
+			// closed
+		}
+	}
+
+	private void collect(WatchKey key, Set<Path> changed) {
+		Path directory = (Path) key.watchable();
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.context() instanceof Path name) {
+				changed.add(directory.resolve(name));
+			}
+		}
+		key.reset();
+	}
+
+	private void reload(Path file, ReloadAction action) {
+		try {
+			action.run();
+		} catch (Exception e) {
+			listener.reloadFailed(file, e);
+		}
+	}
+
+	@FunctionalInterface
+	private interface ReloadAction {
+		void run() throws Exception;
+	}
+}
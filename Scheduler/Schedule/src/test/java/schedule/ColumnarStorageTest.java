@@ -0,0 +1,97 @@
+package schedule;
+
+import org.junit.jupiter.api.Test;
+import schedule.classroom.Classroom;
+import schedule.index.Conflict;
+import schedule.lecture.Lecture;
+import schedule.lecture.type.LectureType;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarStorageTest {
+
+	private static final Classroom ROOM = new Classroom("Raf01", true, 30, 0);
+
+	private final Schedule objects = new Schedule();
+	private final Schedule columns = new Schedule();
+
+	ColumnarStorageTest() {
+		columns.setColumnarStorage(true);
+	}
+
+	@Test
+	void columnsKeepTheTimesOfLecturesToTheSecond() {
+		Lecture morning = lecture("Algoritmi", "Petrovic Ana", "101", time(9, 0, 30), time(10, 0, 0));
+		Lecture early = lecture("Baze", "Jovanovic Marko", "102", time(8, 0, 0), time(9, 0, 30));
+		// overlap the morning and the early lecture by one second
+		Lecture overlapping = lecture("Mreze", "Ilic Jovana", "103", time(9, 59, 59), time(10, 30, 0));
+		Lecture earlier = lecture("Mreze", "Ilic Jovana", "103", time(7, 0, 0), time(8, 0, 1));
+		Lecture night = lecture("Sistemi", "Maric Luka", "104", time(23, 0, 0), LocalTime.MAX);
+		Lecture lateEvening = lecture("Grafika", "Savic Nina", "105", time(23, 30, 0), time(23, 59, 59));
+
+		assertTrue(test(schedule -> schedule.addLecture(morning)));
+		assertTrue(test(schedule -> schedule.addLecture(early)));
+		assertEquals(List.of(morning), both(schedule -> schedule.getConflicts(overlapping)).stream().map(Conflict::lecture).toList());
+		assertFalse(test(schedule -> schedule.addLecture(overlapping)));
+		assertEquals(List.of(early), both(schedule -> schedule.getConflicts(earlier)).stream().map(Conflict::lecture).toList());
+		assertFalse(test(schedule -> schedule.addLecture(earlier)));
+		assertTrue(test(schedule -> schedule.addLecture(night)));
+		assertEquals(List.of(night), both(schedule -> schedule.getConflicts(lateEvening)).stream().map(Conflict::lecture).toList());
+		assertFalse(test(schedule -> schedule.addLecture(lateEvening)));
+		assertEquals(List.of(morning, early, night), both(Schedule::getLectures));
+
+		for (Lecture lecture : List.of(morning, early, night)) {
+			assertTrue(test(schedule -> schedule.handleOf(lecture).isPresent()));
+		}
+		Lecture onTheMinute = lecture("Algoritmi", "Petrovic Ana", "101", time(9, 0, 0), time(10, 0, 0));
+		Lecture withNanos = lecture("Algoritmi", "Petrovic Ana", "101", LocalTime.of(9, 0, 30, 5), time(10, 0, 0));
+		assertFalse(test(schedule -> schedule.handleOf(onTheMinute).isPresent()));
+		assertFalse(test(schedule -> schedule.handleOf(withNanos).isPresent()));
+		assertFalse(test(schedule -> schedule.removeLecture(onTheMinute)));
+
+		assertTrue(test(schedule -> schedule.removeLecture(morning)));
+		assertFalse(test(schedule -> schedule.removeLecture(morning)));
+		assertTrue(test(schedule -> schedule.addLecture(overlapping)));
+		assertFalse(test(schedule -> schedule.addLecture(morning)));
+
+		// starts with the early lecture in another classroom, and ends thirty seconds later
+		Lecture brief = new Lecture("Baze", LectureType.LECTURE, "Savic Nina", new HashSet<>(Set.of("106")),
+				DayOfWeek.MONDAY, time(8, 0, 0), time(8, 0, 30), null, new Classroom("Raf02", false, 20, 20));
+		assertTrue(test(schedule -> schedule.addLecture(brief)));
+		objects.sort();
+		columns.sort();
+		assertEquals(List.of(brief, early, overlapping, night), both(Schedule::getLectures));
+	}
+
+	/**
+	 * Runs an operation on the schedule kept as objects and on the one kept in columns.
+	 *
+	 * @return the result, the same for both
+	 */
+	private <T> T both(Function<Schedule, T> operation) {
+		T result = operation.apply(objects);
+		assertEquals(result, operation.apply(columns));
+		return result;
+	}
+
+	private boolean test(Predicate<Schedule> operation) {
+		return both(operation::test);
+	}
+
+	private static LocalTime time(int hour, int minute, int second) {
+		return LocalTime.of(hour, minute, second);
+	}
+
+	private static Lecture lecture(String subject, String professor, String group, LocalTime start, LocalTime end) {
+		return new Lecture(subject, LectureType.LECTURE, professor, new HashSet<>(Set.of(group)),
+				DayOfWeek.MONDAY, start, end, null, ROOM);
+	}
+}
@@ -0,0 +1,222 @@
+package schedule;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import schedule.classroom.Classroom;
+import schedule.filter.GroupFilter;
+import schedule.index.Resource;
+import schedule.lecture.Lecture;
+import schedule.lecture.type.LectureType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleHandlesTest {
+
+	private static final Classroom ROOM = new Classroom("Raf01", true, 30, 0);
+
+	@TempDir
+	Path directory;
+
+	@ParameterizedTest
+	@ValueSource(booleans = {false, true})
+	void removedLecturesStayOutOfFilteredAndSortedSchedule(boolean columnar) throws Exception {
+		Schedule schedule = new Schedule();
+		schedule.setColumnarStorage(columnar);
+		schedule.setIndexedFiltering(true);
+		schedule.loadClassroomAmenities(copy("/classrooms.json").toString());
+		schedule.loadSchedule(copy("/csv/schedule.csv").toString(), copy("/csv/mapping.cfg").toString());
+
+		Map<Long, Lecture> kept = new LinkedHashMap<>();
+		List<Long> removed = new ArrayList<>();
+		for (int i = 0; i < schedule.getLectures().size(); i++) {
+			long handle = schedule.handleAt(i);
+			if (i % 3 == 0) {
+				removed.add(handle);
+			} else {
+				kept.put(handle, schedule.getLecture(handle).orElseThrow());
+			}
+		}
+		for (long handle : removed) {
+			assertTrue(schedule.removeLecture(handle));
+			assertFalse(schedule.removeLecture(handle));
+		}
+
+		GroupFilter group = new GroupFilter("101");
+		schedule.addFilter(group);
+		List<Lecture> expected = kept.values().stream().filter(group).toList();
+		assertFalse(expected.isEmpty());
+		assertEquals(expected, schedule.filtered());
+
+		schedule.sort();
+		assertEquals(kept.size(), schedule.getLectures().size());
+		for (int i = 0; i < schedule.getLectures().size(); i++) {
+			long handle = schedule.handleAt(i);
+			assertEquals(kept.get(handle), schedule.getLectures().get(i));
+			assertEquals(kept.get(handle), schedule.getLecture(handle).orElseThrow());
+		}
+		for (long handle : removed) {
+			assertTrue(schedule.getLecture(handle).isEmpty());
+		}
+		assertEquals(counts(expected), counts(schedule.filtered()));
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = {false, true})
+	void postingListsFollowRemovalsAndCompaction(boolean columnar) throws Exception {
+		Schedule schedule = new Schedule();
+		schedule.setColumnarStorage(columnar);
+		schedule.setIndexedFiltering(true);
+		schedule.loadClassroomAmenities(copy("/classrooms.json").toString());
+		schedule.loadSchedule(copy("/csv/schedule.csv").toString(), copy("/csv/mapping.cfg").toString());
+		GroupFilter group = new GroupFilter("101");
+		schedule.addFilter(group);
+
+		List<Long> handles = new ArrayList<>();
+		for (int i = 0; i < schedule.getLectures().size(); i++) {
+			handles.add(schedule.handleAt(i));
+		}
+		Random random = new Random(25);
+		for (int step = 0; !handles.isEmpty(); step++) {
+			assertTrue(schedule.removeLecture(handles.remove(random.nextInt(handles.size()))));
+			if (step % 7 == 0) {
+				// compacts the list and the posting lists
+				assertEquals(handles.size(), schedule.getLectures().size());
+			}
+			// removing keeps the order of the other lectures, so the handles stay in the order of the list
+			List<Lecture> expected = handles.stream()
+					.map(handle -> schedule.getLecture(handle).orElseThrow())
+					.filter(group)
+					.toList();
+			assertEquals(expected, schedule.filtered());
+		}
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = {false, true})
+	void equalLecturesKeepTheirHandlesThroughSort(boolean columnar) {
+		Schedule schedule = new Schedule();
+		schedule.setColumnarStorage(columnar);
+		schedule.setConflictResources(EnumSet.noneOf(Resource.class));
+		Lecture late = lecture(DayOfWeek.WEDNESDAY, 10, 12);
+		Lecture first = lecture(DayOfWeek.MONDAY, 10, 12);
+		Lecture early = lecture(DayOfWeek.MONDAY, 8, 10);
+		Lecture second = lecture(DayOfWeek.MONDAY, 10, 12);
+		for (Lecture lecture : List.of(late, first, early, second)) {
+			assertTrue(schedule.addLecture(lecture));
+		}
+		long firstHandle = schedule.handleAt(1);
+		long secondHandle = schedule.handleAt(3);
+		assertNotEquals(firstHandle, secondHandle);
+
+		schedule.sort();
+		assertEquals(List.of(early, first, second, late), schedule.getLectures());
+		Set<Long> handles = new HashSet<>();
+		for (int i = 0; i < schedule.getLectures().size(); i++) {
+			handles.add(schedule.handleAt(i));
+			assertEquals(schedule.getLectures().get(i), schedule.getLecture(schedule.handleAt(i)).orElseThrow());
+		}
+		assertEquals(4, handles.size());
+		if (!columnar) {
+			// lectures kept as objects are the added ones, so the handles can be told apart by identity
+			assertSame(first, schedule.getLecture(firstHandle).orElseThrow());
+			assertSame(second, schedule.getLecture(secondHandle).orElseThrow());
+		}
+
+		assertTrue(schedule.removeLecture(firstHandle));
+		assertEquals(OptionalLong.of(secondHandle), schedule.handleOf(first));
+		assertTrue(schedule.moveLecture(secondHandle, LocalTime.of(14, 0), LocalTime.of(16, 0)));
+		assertTrue(schedule.handleOf(first).isEmpty());
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = {false, true})
+	void movedLectureKeepsItsHandleAndPosition(boolean columnar) {
+		Schedule schedule = new Schedule();
+		schedule.setColumnarStorage(columnar);
+		Lecture lecture = lecture(DayOfWeek.MONDAY, 10, 12);
+		Lecture next = new Lecture("Baze", LectureType.LECTURE, "Jovanovic Marko", new HashSet<>(Set.of("102")),
+				DayOfWeek.MONDAY, LocalTime.of(12, 0), LocalTime.of(14, 0), null, ROOM);
+		assertTrue(schedule.addLecture(lecture));
+		assertTrue(schedule.addLecture(next));
+		long handle = schedule.handleOf(lecture).orElseThrow();
+
+		assertTrue(schedule.moveLecture(handle, LocalTime.of(8, 0), LocalTime.of(10, 0)));
+		Lecture moved = schedule.getLecture(handle).orElseThrow();
+		assertEquals(LocalTime.of(8, 0), moved.getStart());
+		assertEquals(LocalTime.of(10, 0), moved.getEnd());
+		assertEquals(handle, schedule.handleAt(0));
+		assertEquals(OptionalLong.of(handle), schedule.handleOf(moved));
+		assertTrue(schedule.handleOf(lecture).isEmpty());
+
+		// the classroom is taken by the next lecture, the lecture stays where it was
+		assertFalse(schedule.moveLecture(handle, LocalTime.of(13, 0), LocalTime.of(15, 0)));
+		assertEquals(moved, schedule.getLecture(handle).orElseThrow());
+		// the times the lecture left are free again, the times it moved to are not
+		long nextHandle = schedule.handleOf(next).orElseThrow();
+		assertFalse(schedule.moveLecture(nextHandle, LocalTime.of(9, 0), LocalTime.of(11, 0)));
+		assertTrue(schedule.moveLecture(nextHandle, LocalTime.of(10, 0), LocalTime.of(12, 0)));
+
+		assertTrue(schedule.removeLecture(handle));
+		assertThrows(IllegalArgumentException.class, () -> schedule.moveLecture(handle, LocalTime.of(8, 0), LocalTime.of(10, 0)));
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = {false, true})
+	void lecturesChangedInPlaceAreFoundByValue(boolean lookedUpBefore) {
+		Schedule schedule = new Schedule();
+		Lecture lecture = lecture(DayOfWeek.MONDAY, 10, 12);
+		Lecture other = lecture(DayOfWeek.TUESDAY, 10, 12);
+		assertTrue(schedule.addLecture(lecture));
+		assertTrue(schedule.addLecture(other));
+		long handle = schedule.handleAt(0);
+		if (lookedUpBefore) {
+			assertEquals(OptionalLong.of(schedule.handleAt(1)), schedule.handleOf(other));
+		}
+
+		lecture.setSubject("Baze");
+		assertEquals(OptionalLong.of(handle), schedule.handleOf(lecture));
+		// changed again after it was found under its new hash code
+		lecture.setProfessor("Jovanovic Marko");
+		assertEquals(OptionalLong.of(handle), schedule.handleOf(lecture));
+		assertTrue(schedule.removeLecture(lecture));
+		assertEquals(List.of(other), schedule.getLectures());
+	}
+
+	private Path copy(String resource) throws IOException {
+		Path path = directory.resolve(Path.of(resource).getFileName().toString());
+		try (InputStream input = ScheduleHandlesTest.class.getResourceAsStream(resource)) {
+			Files.copy(input, path, StandardCopyOption.REPLACE_EXISTING);
+		}
+		return path;
+	}
+
+	private static Map<Lecture, Long> counts(List<Lecture> lectures) {
+		return lectures.stream().collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+	}
+
+	private static Lecture lecture(DayOfWeek day, int startHour, int endHour) {
+		return new Lecture("Algoritmi", LectureType.LECTURE, "Petrovic Ana", new HashSet<>(Set.of("101")),
+				day, LocalTime.of(startHour, 0), LocalTime.of(endHour, 0), null, ROOM);
+	}
+}
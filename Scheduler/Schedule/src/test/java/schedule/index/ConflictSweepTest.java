@@ -0,0 +1,113 @@
+package schedule.index;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import schedule.Schedule;
+import schedule.classroom.Classroom;
+import schedule.common.ValidityPeriod;
+import schedule.insert.InsertOutcome;
+import schedule.insert.InsertReport;
+import schedule.lecture.Lecture;
+import schedule.manager.ScheduleManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConflictSweepTest {
+
+	private static final LocalDate MONDAY = LocalDate.of(2023, 10, 2);
+
+	@TempDir
+	static Path directory;
+
+	private static List<Lecture> weekly;
+
+	@BeforeAll
+	static void loadFixtures() throws Exception {
+		for (String resource : List.of("/csv/schedule.csv", "/csv/mapping.cfg", "/classrooms.json")) {
+			try (InputStream input = ConflictSweepTest.class.getResourceAsStream(resource)) {
+				Files.copy(input, directory.resolve(Path.of(resource).getFileName().toString()), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		ScheduleManager manager = new ScheduleManager();
+		manager.initializeClassrooms(directory.resolve("classrooms.json").toString());
+		weekly = manager.loadSchedule(directory.resolve("schedule.csv").toString(), directory.resolve("mapping.cfg").toString());
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = {false, true})
+	void batchMatchesAddingOneByOne(boolean columnar) throws IOException {
+		Random random = new Random(22);
+		List<Lecture> existing = new ArrayList<>();
+		List<Lecture> batch = new ArrayList<>();
+		for (Lecture lecture : weekly) {
+			(random.nextInt(3) == 0 ? existing : batch).add(lecture);
+			batch.add(variant(lecture, random));
+		}
+		Collections.shuffle(batch, random);
+
+		Schedule oneByOne = schedule(existing, columnar);
+		List<Boolean> added = new ArrayList<>();
+		for (Lecture lecture : batch) {
+			added.add(oneByOne.addLecture(lecture));
+		}
+
+		Schedule bulk = schedule(existing, columnar);
+		InsertReport report = bulk.addLectures(batch);
+		assertEquals(added, report.outcomes().stream().map(InsertOutcome::accepted).toList());
+		assertTrue(added.contains(true));
+		assertTrue(added.contains(false));
+		assertEquals(oneByOne.getLectures(), bulk.getLectures());
+
+		for (InsertOutcome outcome : report.rejected()) {
+			assertFalse(bulk.addLecture(outcome.lecture()));
+		}
+	}
+
+	/**
+	 * Builds an empty schedule and adds the lectures without checking them, as they aren't free of conflicts.
+	 */
+	private static Schedule schedule(List<Lecture> lectures, boolean columnar) {
+		Schedule schedule = new Schedule();
+		schedule.setColumnarStorage(columnar);
+		schedule.setConflictResources(EnumSet.noneOf(Resource.class));
+		lectures.forEach(schedule::addLecture);
+		schedule.setConflictResources(EnumSet.allOf(Resource.class));
+		return schedule;
+	}
+
+	/**
+	 * A copy of the lecture at another time, in another classroom, in one of a few validity periods, or in none.
+	 */
+	private static Lecture variant(Lecture lecture, Random random) {
+		LocalTime start = LocalTime.of(8 + random.nextInt(12), 15 * random.nextInt(4));
+		LocalTime end = start.plusMinutes(45 + 15 * random.nextInt(8));
+		ValidityPeriod period = switch (random.nextInt(4)) {
+			case 0 -> lecture.getValidityPeriod();
+			case 1 -> null;
+			default -> {
+				LocalDate from = MONDAY.plusWeeks(random.nextInt(4));
+				yield new ValidityPeriod(from, from.plusWeeks(1 + random.nextInt(3)));
+			}
+		};
+		Classroom classroom = random.nextBoolean() ? lecture.getClassroom() : weekly.get(random.nextInt(weekly.size())).getClassroom();
+		return new Lecture(lecture.getSubject(), lecture.getType(), lecture.getProfessor(), new HashSet<>(lecture.getGroups()),
+				DayOfWeek.of(1 + random.nextInt(5)), start, end, period, classroom);
+	}
+}
@@ -0,0 +1,103 @@
+package schedule.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import schedule.classroom.Classroom;
+import schedule.common.ValidityPeriod;
+import schedule.lecture.Lecture;
+import schedule.lecture.type.LectureType;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FreeSlotFinderTest {
+
+	private static final Classroom ROOM = new Classroom("Raf01", true, 30, 0);
+	private static final LocalDate MONDAY = LocalDate.of(2023, 10, 2);
+	private static final ValidityPeriod FIRST_WEEK = new ValidityPeriod(MONDAY, MONDAY.plusDays(6));
+	private static final ValidityPeriod SECOND_WEEK = new ValidityPeriod(MONDAY.plusWeeks(1), MONDAY.plusWeeks(1).plusDays(6));
+
+	private final FreeSlotFinder finder = new FreeSlotFinder(FreeSlotFinder.DEFAULT_GRANULARITY);
+
+	@BeforeEach
+	void registerRoom() {
+		finder.setClassrooms(List.of(ROOM));
+	}
+
+	@Test
+	void lecturesOnlyTakeTheirValidityPeriod() {
+		finder.add(lecture(LocalTime.of(10, 0), LocalTime.of(12, 0), FIRST_WEEK));
+
+		assertTrue(freeAt(10, 12, FIRST_WEEK).isEmpty());
+		assertEquals(List.of(ROOM), freeAt(10, 12, SECOND_WEEK));
+		assertTrue(freeAt(10, 12, null).isEmpty());
+		// a period overlapping the first week by a day
+		assertTrue(freeAt(10, 12, new ValidityPeriod(MONDAY.minusDays(6), MONDAY.plusDays(1))).isEmpty());
+
+		// a lecture without a period takes the classroom in every period
+		finder.add(lecture(LocalTime.of(14, 0), LocalTime.of(15, 0), null));
+		assertTrue(freeAt(14, 15, SECOND_WEEK).isEmpty());
+
+		finder.remove(lecture(LocalTime.of(10, 0), LocalTime.of(12, 0), FIRST_WEEK));
+		assertEquals(List.of(ROOM), freeAt(10, 12, FIRST_WEEK));
+	}
+
+	@Test
+	void overlappingLecturesShareCells() {
+		Lecture early = lecture(LocalTime.of(10, 0), LocalTime.of(11, 10), FIRST_WEEK);
+		Lecture late = lecture(LocalTime.of(11, 0), LocalTime.of(12, 0), FIRST_WEEK);
+		finder.add(early);
+		finder.add(late);
+
+		finder.remove(early);
+		assertEquals(List.of(slot(LocalTime.of(10, 0), LocalTime.of(11, 0))), windows(LocalTime.of(10, 0), LocalTime.of(12, 0)));
+
+		// the same lecture twice takes its cells until both are removed
+		finder.add(late);
+		finder.remove(late);
+		assertEquals(List.of(slot(LocalTime.of(10, 0), LocalTime.of(11, 0))), windows(LocalTime.of(10, 0), LocalTime.of(12, 0)));
+
+		finder.remove(late);
+		assertEquals(List.of(slot(LocalTime.of(10, 0), LocalTime.of(12, 0))), windows(LocalTime.of(10, 0), LocalTime.of(12, 0)));
+	}
+
+	@Test
+	void lecturesAndWindowsCanEndAtMidnight() {
+		Lecture lateNight = lecture(LocalTime.of(22, 0), LocalTime.MAX, FIRST_WEEK);
+		finder.add(lateNight);
+		assertEquals(List.of(slot(LocalTime.of(20, 0), LocalTime.of(22, 0))), windows(LocalTime.of(20, 0), LocalTime.MAX));
+		assertTrue(freeAt(23, 0, FIRST_WEEK).isEmpty());
+
+		finder.remove(lateNight);
+		List<FreeSlot> untilMidnight = windows(LocalTime.of(20, 0), LocalTime.MAX);
+		assertEquals(List.of(slot(LocalTime.of(20, 0), LocalTime.MAX)), untilMidnight);
+		assertEquals(Duration.ofHours(4), untilMidnight.get(0).length());
+		// an end equal to LocalTime.MAX, but another instance
+		assertEquals(untilMidnight, windows(LocalTime.of(20, 0), LocalTime.of(23, 59, 59, 999_999_999)));
+	}
+
+	private List<Classroom> freeAt(int startHour, int endHour, ValidityPeriod period) {
+		LocalTime end = endHour == 0 ? LocalTime.MAX : LocalTime.of(endHour, 0);
+		return finder.freeClassrooms(RoomRequirements.any(), DayOfWeek.MONDAY, LocalTime.of(startHour, 0), end, period);
+	}
+
+	private List<FreeSlot> windows(LocalTime from, LocalTime to) {
+		return finder.find(RoomRequirements.any(), Set.of(DayOfWeek.MONDAY), from, to, Duration.ofMinutes(30), FIRST_WEEK);
+	}
+
+	private static FreeSlot slot(LocalTime start, LocalTime end) {
+		return new FreeSlot(ROOM, DayOfWeek.MONDAY, start, end);
+	}
+
+	private static Lecture lecture(LocalTime start, LocalTime end, ValidityPeriod period) {
+		return new Lecture("Algoritmi", LectureType.LECTURE, "Petrovic Ana", new HashSet<>(Set.of("101")),
+				DayOfWeek.MONDAY, start, end, period, ROOM);
+	}
+}
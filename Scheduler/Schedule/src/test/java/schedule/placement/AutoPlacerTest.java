@@ -0,0 +1,240 @@
+package schedule.placement;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import schedule.Schedule;
+import schedule.classroom.Classroom;
+import schedule.classroom.ClassroomRegistry;
+import schedule.common.ValidityPeriod;
+import schedule.index.Resource;
+import schedule.index.RoomRequirements;
+import schedule.insert.InsertOutcome;
+import schedule.lecture.Lecture;
+import schedule.lecture.type.LectureType;
+import schedule.manager.ScheduleManager;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AutoPlacerTest {
+
+	private static final Set<DayOfWeek> MONDAY = EnumSet.of(DayOfWeek.MONDAY);
+
+	@TempDir
+	Path directory;
+
+	/**
+	 * A single worker starts with the deterministic greedy attempt, and stops after it if it places every request.
+	 */
+	private final ForkJoinPool single = new ForkJoinPool(1);
+
+	@AfterEach
+	void shutdown() {
+		single.shutdown();
+	}
+
+	@Test
+	void repairMovesTheLectureBlockingTheOnlyFreeSlot() {
+		Classroom small = new Classroom("Small", true, 40, 20);
+		Classroom big = new Classroom("Big", true, 100, 0);
+		List<Lecture> timetable = List.of(lecture("Baze", "Other", "900", 9, 0, 12, 0, small));
+		// the smallest classroom is cheapest, so the first lecture takes the small one, which the second one needs
+		PlacementRequest flexible = request(lecture("Algoritmi", "Petrovic Ana", "101", 8, 0, 9, 0, null),
+				RoomRequirements.seats(30), LocalTime.of(8, 0), LocalTime.of(10, 0));
+		PlacementRequest computers = request(lecture("Programiranje", "Jovanovic Marko", "102", 8, 0, 9, 0, null),
+				RoomRequirements.any().withComputers(10), LocalTime.of(8, 0), LocalTime.of(12, 0));
+
+		PlacementResult result = place(timetable, List.of(small, big), List.of(flexible, computers), Duration.ofSeconds(10));
+
+		assertTrue(result.isComplete());
+		assertEquals(1, result.attempts());
+		assertPlaced(result.placements().get(0), flexible, big, LocalTime.of(8, 0));
+		assertPlaced(result.placements().get(1), computers, small, LocalTime.of(8, 0));
+		assertFreeOfConflicts(timetable, result);
+	}
+
+	@Test
+	void movedLectureHoldsItsNewSlotInLaterRepairs() {
+		Classroom small = new Classroom("Small", true, 40, 20);
+		Classroom big = new Classroom("Big", true, 100, 0);
+		Classroom lab = new Classroom("Lab", true, 20, 40);
+		List<Lecture> timetable = List.of(
+				lecture("Baze", "Other", "900", 9, 0, 13, 0, small),
+				lecture("Mreze", "Other", "901", 8, 0, 20, 0, lab));
+		PlacementRequest large = request(lecture("Analiza", "Jovanovic Marko", "100", 8, 0, 9, 0, null),
+				RoomRequirements.seats(80), LocalTime.of(7, 0), LocalTime.of(9, 30));
+		// moved from the small classroom to the big one at 8:00 by the first repair
+		PlacementRequest flexible = request(lecture("Algoritmi", "Petrovic Ana", "101", 8, 0, 9, 0, null),
+				RoomRequirements.seats(30), LocalTime.of(8, 0), LocalTime.of(10, 30));
+		PlacementRequest computers = request(lecture("Programiranje", "Nikolic Jelena", "102", 8, 0, 9, 0, null),
+				RoomRequirements.any().withComputers(10), LocalTime.of(8, 0), LocalTime.of(13, 0));
+		// the second repair tries to move the large lecture of the same professor, and only the cells of the moved
+		// lecture keep it from the big classroom at 8:00
+		PlacementRequest professor = request(lecture("Statistika", "Jovanovic Marko", "103", 8, 0, 9, 0, null),
+				RoomRequirements.any().withComputers(30), LocalTime.of(7, 0), LocalTime.of(13, 0));
+
+		PlacementResult result = place(timetable, List.of(small, big, lab), List.of(large, flexible, computers, professor), Duration.ofMillis(100));
+
+		assertTrue(result.placements().size() >= 3);
+		assertFreeOfConflicts(timetable, result);
+	}
+
+	@Test
+	void failedRepairPutsTheBlockingLectureBack() {
+		Classroom large = new Classroom("Large", true, 60, 0);
+		Classroom lab = new Classroom("Lab", true, 20, 20);
+		List<Lecture> timetable = List.of(
+				lecture("Baze", "Other", "900", 9, 45, 14, 0, large),
+				lecture("Mreze", "Other", "901", 8, 0, 20, 0, lab));
+		RoomRequirements inLarge = RoomRequirements.seats(40);
+		RoomRequirements inLab = RoomRequirements.any().withComputers(10);
+		PlacementRequest first = request(lecture("Algoritmi", "Petrovic Ana", "101", 8, 0, 9, 0, null),
+				inLarge, LocalTime.of(8, 0), LocalTime.of(9, 30));
+		PlacementRequest early = request(lecture("Analiza", "Jovanovic Marko", "102", 8, 0, 9, 0, null),
+				inLarge, LocalTime.of(7, 0), LocalTime.of(9, 0));
+		// only fits where the first lecture is, which has nowhere else to go
+		PlacementRequest blocked = request(lecture("Diskretna", "Nikolic Jelena", "103", 8, 0, 9, 0, null),
+				inLarge, LocalTime.of(8, 30), LocalTime.of(14, 0));
+		// only fits where the early lecture of the same professor is, which could only move onto the first lecture,
+		// if the failed repair above hadn't taken its cells back
+		PlacementRequest professor = request(lecture("Programiranje", "Jovanovic Marko", "104", 8, 0, 9, 0, null),
+				inLab, LocalTime.of(7, 0), LocalTime.of(20, 0));
+
+		// no assignment places more than two of the requests, so the search runs until the budget is spent
+		PlacementResult result = place(timetable, List.of(large, lab), List.of(first, early, blocked, professor), Duration.ofMillis(100));
+
+		assertTrue(result.attempts() > 1);
+		assertEquals(2, result.placements().size());
+		assertFreeOfConflicts(timetable, result);
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = {1, 5})
+	void placementsDoNotConflictWithTheTimetableOrEachOther(int closed) throws Exception {
+		List<Lecture> lectures = loadWeekly();
+		Set<String> closedClassrooms = lectures.stream()
+				.collect(Collectors.groupingBy(lecture -> lecture.getClassroom().getName(), Collectors.counting()))
+				.entrySet().stream()
+				.sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+				.limit(closed)
+				.map(Map.Entry::getKey)
+				.collect(Collectors.toSet());
+		List<Lecture> timetable = new ArrayList<>();
+		List<PlacementRequest> requests = new ArrayList<>();
+		for (Lecture lecture : lectures) {
+			// the placeholder group RG is booked for more hours than a week has
+			if (closedClassrooms.contains(lecture.getClassroom().getName()) && !lecture.getGroups().contains("RG")) {
+				requests.add(PlacementRequest.of(lecture, RoomRequirements.seats(lecture.getClassroom().getNoSpaces())));
+			} else {
+				timetable.add(lecture);
+			}
+		}
+		Schedule schedule = new Schedule();
+		schedule.setConflictResources(EnumSet.noneOf(Resource.class));
+		timetable.forEach(schedule::addLecture);
+		schedule.setConflictResources(EnumSet.allOf(Resource.class));
+
+		AutoPlacer placer = schedule.autoPlacer();
+		placer.setClosedClassrooms(closedClassrooms);
+		PlacementResult result = placer.place(requests, Duration.ofMillis(300));
+
+		assertEquals(requests.size(), result.placements().size() + result.unplaced().size());
+		assertFalse(result.placements().isEmpty());
+		for (Placement placement : result.placements()) {
+			PlacementRequest request = placement.request();
+			Lecture placed = placement.lecture();
+			assertFalse(closedClassrooms.contains(placed.getClassroom().getName()));
+			assertTrue(request.requirements().test(placed.getClassroom()));
+			assertTrue(request.days().contains(placed.getDay()));
+			assertFalse(placed.getStart().isBefore(request.earliest()));
+			assertFalse(placed.getEnd().isAfter(request.latest()));
+			assertEquals(request.length(), Duration.between(placed.getStart(), placed.getEnd()));
+		}
+		assertFreeOfConflicts(timetable, result);
+		assertTrue(schedule.addLectures(result.lectures()).outcomes().stream().allMatch(InsertOutcome::accepted));
+	}
+
+	private PlacementResult place(List<Lecture> timetable, List<Classroom> classrooms, List<PlacementRequest> requests, Duration budget) {
+		AutoPlacer placer = new AutoPlacer(timetable, classrooms);
+		placer.setPool(single);
+		return placer.place(requests, budget);
+	}
+
+	private List<Lecture> loadWeekly() throws Exception {
+		for (String resource : List.of("/csv/schedule.csv", "/csv/mapping.cfg", "/classrooms.json")) {
+			try (InputStream input = AutoPlacerTest.class.getResourceAsStream(resource)) {
+				Files.copy(input, directory.resolve(Path.of(resource).getFileName().toString()), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		ScheduleManager manager = new ScheduleManager();
+		manager.initializeClassrooms(directory.resolve("classrooms.json").toString());
+		assertFalse(ClassroomRegistry.classrooms().isEmpty());
+		return manager.loadSchedule(directory.resolve("schedule.csv").toString(), directory.resolve("mapping.cfg").toString());
+	}
+
+	private static void assertPlaced(Placement placement, PlacementRequest request, Classroom classroom, LocalTime start) {
+		assertSame(request, placement.request());
+		assertEquals(classroom, placement.lecture().getClassroom());
+		assertEquals(DayOfWeek.MONDAY, placement.lecture().getDay());
+		assertEquals(start, placement.lecture().getStart());
+		assertEquals(start.plus(request.length()), placement.lecture().getEnd());
+	}
+
+	/**
+	 * Compares every placed lecture with the timetable and the other placed lectures.
+	 */
+	private static void assertFreeOfConflicts(List<Lecture> timetable, PlacementResult result) {
+		List<Lecture> placed = result.lectures();
+		for (int i = 0; i < placed.size(); i++) {
+			for (Lecture lecture : timetable) {
+				assertFalse(conflict(placed.get(i), lecture), () -> "Placed over the timetable: " + lecture);
+			}
+			for (Lecture other : placed.subList(i + 1, placed.size())) {
+				assertFalse(conflict(placed.get(i), other), () -> "Placed over another placement: " + other);
+			}
+		}
+	}
+
+	private static boolean conflict(Lecture first, Lecture second) {
+		if (first.getDay() != second.getDay() || !first.getStart().isBefore(second.getEnd()) || !second.getStart().isBefore(first.getEnd())) {
+			return false;
+		}
+		ValidityPeriod period = first.getValidityPeriod();
+		ValidityPeriod other = second.getValidityPeriod();
+		if (period != null && other != null && !period.overlaps(other)) {
+			return false;
+		}
+		return first.getClassroom().getName().equals(second.getClassroom().getName())
+				|| first.getProfessor() != null && first.getProfessor().equals(second.getProfessor())
+				|| !Collections.disjoint(first.getGroups(), second.getGroups());
+	}
+
+	private static PlacementRequest request(Lecture lecture, RoomRequirements requirements, LocalTime earliest, LocalTime latest) {
+		return new PlacementRequest(lecture, requirements, MONDAY, earliest, latest);
+	}
+
+	private static Lecture lecture(String subject, String professor, String group, int startHour, int startMinute,
+	                               int endHour, int endMinute, Classroom classroom) {
+		return new Lecture(subject, LectureType.LECTURE, professor, new HashSet<>(Set.of(group)), DayOfWeek.MONDAY,
+				LocalTime.of(startHour, startMinute), LocalTime.of(endHour, endMinute), null, classroom);
+	}
+}
@@ -0,0 +1,71 @@
+package schedule.watch;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import schedule.Schedule;
+import schedule.common.ValidityPeriod;
+import schedule.manager.collection.ScheduleManagerCollection;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleWatcherTest {
+
+	private static final LocalDate MONDAY = LocalDate.of(2023, 10, 2);
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void reloadsCollectionThroughItsManager() throws Exception {
+		Path csv = copy("/csv/schedule.csv");
+		Path config = copy("/csv/mapping.cfg");
+		Schedule schedule = new Schedule(new ScheduleManagerCollection());
+		// a single week, so every row of the file is expanded into a single occurrence
+		schedule.setValidityPeriod(new ValidityPeriod(MONDAY, MONDAY.plusDays(6)));
+		schedule.loadClassroomAmenities(copy("/classrooms.json").toString());
+		schedule.loadSchedule(csv.toString(), config.toString());
+		int size = schedule.getLectures().size();
+
+		List<ScheduleDiff> applied = new ArrayList<>();
+		ScheduleWatcher.Listener listener = new ScheduleWatcher.Listener() {
+			@Override
+			public void scheduleReloaded(Path file, ScheduleDiff diff, ScheduleDiff rejected) {
+				applied.add(diff);
+			}
+		};
+		try (ScheduleWatcher watcher = new ScheduleWatcher(schedule, csv, config.toString(), null, listener)) {
+			assertTrue(watcher.reloadSchedule().isEmpty());
+			assertTrue(applied.get(0).isEmpty());
+
+			List<String> lines = Files.readAllLines(csv, StandardCharsets.UTF_8);
+			lines.set(1, lines.get(1).replace("\"11:15-13\"", "\"07:00-08:00\""));
+			Files.write(csv, lines, StandardCharsets.UTF_8);
+			assertTrue(watcher.reloadSchedule().isEmpty());
+		}
+
+		ScheduleDiff diff = applied.get(1);
+		assertEquals(1, diff.size());
+		assertEquals(1, diff.moved().size());
+		assertEquals(size, schedule.getLectures().size());
+		assertEquals(new HashSet<>(schedule.loadLectures(csv.toString(), config.toString())), new HashSet<>(schedule.getLectures()));
+	}
+
+	private Path copy(String resource) throws IOException {
+		Path path = directory.resolve(Path.of(resource).getFileName().toString());
+		try (InputStream input = ScheduleWatcherTest.class.getResourceAsStream(resource)) {
+			Files.copy(input, path, StandardCopyOption.REPLACE_EXISTING);
+		}
+		return path;
+	}
+}
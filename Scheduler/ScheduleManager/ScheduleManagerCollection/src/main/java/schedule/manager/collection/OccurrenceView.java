@@ -0,0 +1,163 @@
+package schedule.manager.collection;
+
+import schedule.common.ValidityPeriod;
+import schedule.lecture.Lecture;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A lazy view of the occurrences of weekly lectures over a validity period.
+ * <p>
+ * The weekly lectures are bucketed by {@link DayOfWeek} once, an occurrence is only created when it is iterated,
+ * so iterating a date range only looks at the lectures held on the days in the range.
+ * Every occurrence is a copy of its weekly lecture that is valid on a single date, from the date until the next day.
+ * <p>
+ * The view keeps the weekly lectures it was created with, changing one of them changes the occurrences created afterwards.
+ */
+public final class OccurrenceView {
+
+	private static final Lecture[] NONE = new Lecture[0];
+
+	private final Map<DayOfWeek, Lecture[]> byDay = new EnumMap<>(DayOfWeek.class);
+
+	/**
+	 * The first date of the view.
+	 */
+	private final LocalDate from;
+
+	/**
+	 * The date after the last date of the view.
+	 */
+	private final LocalDate to;
+
+	/**
+	 * Creates a view of the occurrences of the weekly lectures on every date from the start of the validity period,
+	 * until the day before its end.
+	 *
+	 * @param lectures       the weekly lectures, lectures without a day never occur
+	 * @param validityPeriod the validity period
+	 */
+	public OccurrenceView(List<Lecture> lectures, ValidityPeriod validityPeriod) {
+		this.from = validityPeriod.validFrom();
+		this.to = validityPeriod.validTo();
+
+		Map<DayOfWeek, List<Lecture>> buckets = new EnumMap<>(DayOfWeek.class);
+		for (Lecture lecture : lectures) {
+			if (lecture.getDay() != null) {
+				buckets.computeIfAbsent(lecture.getDay(), day -> new ArrayList<>()).add(lecture);
+			}
+		}
+		buckets.forEach((day, bucket) -> byDay.put(day, bucket.toArray(NONE)));
+	}
+
+	/**
+	 * @return the number of occurrences in the view
+	 */
+	public int size() {
+		return count(from, to);
+	}
+
+	/**
+	 * @return every occurrence, ordered by date and then by the order of the weekly lectures
+	 */
+	public Stream<Lecture> stream() {
+		return between(from, to);
+	}
+
+	/**
+	 * Returns the occurrences in a date range, limited to the dates of the view.
+	 *
+	 * @param start the first date of the range
+	 * @param end   the date after the last date of the range
+	 * @return the occurrences, ordered by date and then by the order of the weekly lectures
+	 */
+	public Stream<Lecture> between(LocalDate start, LocalDate end) {
+		LocalDate first = start.isAfter(from) ? start : from;
+		LocalDate last = end.isBefore(to) ? end : to;
+		if (!first.isBefore(last)) {
+			return Stream.empty();
+		}
+		return Stream.iterate(first, date -> date.isBefore(last), date -> date.plusDays(1))
+				.flatMap(this::occurrencesOn);
+	}
+
+	/**
+	 * Returns the occurrences on a date.
+	 *
+	 * @param date the date
+	 * @return the occurrences, empty if the date isn't in the view
+	 */
+	public List<Lecture> on(LocalDate date) {
+		return between(date, date.plusDays(1)).toList();
+	}
+
+	/**
+	 * Creates every occurrence in parallel.
+	 *
+	 * @return a mutable list of the occurrences, in the same order as {@link #stream()}
+	 */
+	public List<Lecture> materialize() {
+		int days = Math.toIntExact(Math.max(0, ChronoUnit.DAYS.between(from, to)));
+		int[] offsets = new int[days + 1];
+		for (int day = 0; day < days; day++) {
+			offsets[day + 1] = offsets[day] + templates(from.plusDays(day)).length;
+		}
+
+		Lecture[] occurrences = new Lecture[offsets[days]];
+		IntStream.range(0, days).parallel().forEach(day -> {
+			LocalDate date = from.plusDays(day);
+			Lecture[] templates = templates(date);
+			for (int i = 0; i < templates.length; i++) {
+				occurrences[offsets[day] + i] = occurrence(templates[i], date);
+			}
+		});
+		return new ArrayList<>(Arrays.asList(occurrences));
+	}
+
+	private int count(LocalDate start, LocalDate end) {
+		long days = ChronoUnit.DAYS.between(start, end);
+		if (days <= 0) {
+			return 0;
+		}
+		long count = 0;
+		for (Map.Entry<DayOfWeek, Lecture[]> entry : byDay.entrySet()) {
+			// dates in the range falling on the day: whole weeks plus the remainder, if the day is in it
+			int offset = Math.floorMod(entry.getKey().getValue() - start.getDayOfWeek().getValue(), 7);
+			long dates = days / 7 + (offset < days % 7 ? 1 : 0);
+			count += dates * entry.getValue().length;
+		}
+		return Math.toIntExact(count);
+	}
+
+	private Stream<Lecture> occurrencesOn(LocalDate date) {
+		return Arrays.stream(templates(date)).map(lecture -> occurrence(lecture, date));
+	}
+
+	private Lecture[] templates(LocalDate date) {
+		return byDay.getOrDefault(date.getDayOfWeek(), NONE);
+	}
+
+	private static Lecture occurrence(Lecture lecture, LocalDate date) {
+		return new Lecture(
+				lecture.getSubject(),
+				lecture.getType(),
+				lecture.getProfessor(),
+				new HashSet<>(lecture.getGroups()),
+				lecture.getDay(),
+				lecture.getStart(),
+				lecture.getEnd(),
+				new ValidityPeriod(date, date.plusDays(1)),
+				lecture.getClassroom()
+		);
+	}
+}
@@ -1,15 +1,9 @@
 package schedule.manager.collection;
 
-import schedule.common.ValidityPeriod;
 import schedule.lecture.Lecture;
 import schedule.manager.ScheduleManager;
 
-import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
-import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 /**
  * ScheduleManagerCollection is a subclass of ScheduleManager that overrides the loadSchedule method.
@@ -18,33 +12,19 @@ import java.util.stream.IntStream;
 public class ScheduleManagerCollection extends ScheduleManager {
 	@Override
 	public List<Lecture> loadSchedule(String path, String configPath) throws Exception {
-		List<Lecture> lectures = super.loadSchedule(path, configPath);
-		return copyLectures(lectures);
+		return loadOccurrences(path, configPath).materialize();
 	}
 
-	private List<Lecture> copyLectures(List<Lecture> lectures) {
-		var from = validityPeriod.validFrom();
-		var to = validityPeriod.validTo();
-
-		return IntStream.iterate(0, i -> i + 1)
-				.limit(ChronoUnit.DAYS.between(from, to))
-				.mapToObj(from::plusDays)
-				.flatMap(date -> lectures.stream()
-						.filter(lecture -> lecture.getDay().equals(date.getDayOfWeek()))
-						.map(lecture -> copyLecture(lecture, date)))
-				.collect(Collectors.toList());
-	}
-	private Lecture copyLecture(Lecture lecture, LocalDate date) {
-		return new Lecture(
-				lecture.getSubject(),
-				lecture.getType(),
-				lecture.getProfessor(),
-				new HashSet<>(lecture.getGroups()),
-				lecture.getDay(),
-				lecture.getStart(),
-				lecture.getEnd(),
-				new ValidityPeriod(date, date.plusDays(1)),
-				lecture.getClassroom()
-		);
+	/**
+	 * Loads a weekly schedule from a file and returns a lazy view of its occurrences on every day of the validity period,
+	 * for callers that only iterate the occurrences or look at some of the dates.
+	 *
+	 * @param path       The path of the file to load the schedule from.
+	 * @param configPath The path of the configuration file.
+	 * @return A view of the occurrences of the loaded lectures.
+	 * @throws Exception If an error occurs while loading the schedule.
+	 */
+	public OccurrenceView loadOccurrences(String path, String configPath) throws Exception {
+		return new OccurrenceView(super.loadSchedule(path, configPath), validityPeriod);
 	}
 }
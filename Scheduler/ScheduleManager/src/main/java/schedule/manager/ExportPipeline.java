@@ -0,0 +1,232 @@
+package schedule.manager;
+
+import schedule.exporter.spec.ScheduleExporter;
+import schedule.lecture.Lecture;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads lectures once and writes them to several exporters running concurrently.
+ * <p>
+ * The lectures are passed to the exporters in batches, through a bounded queue per exporter, so the memory used
+ * doesn't depend on the number of lectures. Every batch is shared by all the queues. An exporter that fails stops
+ * getting batches, the others keep going.
+ */
+final class ExportPipeline {
+
+	private static final int BATCH_SIZE = 512;
+	private static final int QUEUE_CAPACITY = 8;
+	private static final long OFFER_MILLIS = 50;
+
+	/**
+	 * Ends the lectures of a queue.
+	 */
+	private static final Lecture[] END = new Lecture[0];
+	/**
+	 * Ends the lectures of a queue because they couldn't be read.
+	 */
+	private static final Lecture[] FAILED = new Lecture[0];
+
+	private ExportPipeline() {
+	}
+
+	/**
+	 * Writes the lectures with every exporter.
+	 *
+	 * @param lectures  the lectures
+	 * @param exporters the exporters, by the path they write to
+	 * @return a future completed when all the exporters are done
+	 */
+	static CompletableFuture<ExportReport> run(Iterator<Lecture> lectures, Map<String, ScheduleExporter> exporters) {
+		long started = System.nanoTime();
+		ExecutorService executor = Executors.newFixedThreadPool(exporters.size() + 1, runnable -> {
+			Thread thread = new Thread(runnable, "schedule-export");
+			thread.setDaemon(true);
+			return thread;
+		});
+		List<Target> targets = new ArrayList<>(exporters.size());
+		exporters.forEach((path, exporter) -> targets.add(new Target(path, exporter, started, executor)));
+		CompletableFuture<Integer> produced = CompletableFuture.supplyAsync(() -> produce(lectures, targets), executor);
+
+		List<CompletableFuture<?>> all = new ArrayList<>();
+		all.add(produced);
+		targets.forEach(target -> all.add(target.written));
+		return CompletableFuture.allOf(all.toArray(CompletableFuture[]::new)).handle((ignored, error) -> {
+			executor.shutdown();
+			Throwable failure = failure(produced, null);
+			for (Target target : targets) {
+				failure = failure(target.written, failure);
+			}
+			if (failure != null) {
+				throw new CompletionException(failure);
+			}
+			Map<String, Duration> timings = new LinkedHashMap<>();
+			targets.forEach(target -> timings.put(target.path, target.written.join()));
+			return new ExportReport(produced.join(), timings, Duration.ofNanos(System.nanoTime() - started));
+		});
+	}
+
+	/**
+	 * Passes the lectures to every target in batches.
+	 *
+	 * @return the number of lectures
+	 */
+	private static int produce(Iterator<Lecture> lectures, List<Target> targets) {
+		int count = 0;
+		try {
+			Lecture[] batch = new Lecture[BATCH_SIZE];
+			int size = 0;
+			while (lectures.hasNext()) {
+				batch[size++] = lectures.next();
+				count++;
+				if (size == BATCH_SIZE) {
+					offer(targets, batch);
+					batch = new Lecture[BATCH_SIZE];
+					size = 0;
+				}
+			}
+			if (size > 0) {
+				Lecture[] last = new Lecture[size];
+				System.arraycopy(batch, 0, last, 0, size);
+				offer(targets, last);
+			}
+			offer(targets, END);
+			return count;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			fail(targets);
+			throw new CompletionException(e);
+		} catch (RuntimeException | Error e) {
+			fail(targets);
+			throw e;
+		}
+	}
+
+	private static void offer(List<Target> targets, Lecture[] batch) throws InterruptedException {
+		for (Target target : targets) {
+			target.offer(batch);
+		}
+	}
+
+	private static void fail(List<Target> targets) {
+		for (Target target : targets) {
+			try {
+				target.offer(FAILED);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * @return the error of the future, added to the error found before if there was one
+	 */
+	private static Throwable failure(CompletableFuture<?> future, Throwable before) {
+		if (!future.isCompletedExceptionally()) {
+			return before;
+		}
+		try {
+			future.join();
+			return before;
+		} catch (CompletionException e) {
+			Throwable cause = e.getCause() instanceof UncheckedIOException unchecked ? unchecked.getCause() : e.getCause();
+			if (before == null) {
+				return cause;
+			}
+			if (cause != before) {
+				before.addSuppressed(cause);
+			}
+			return before;
+		}
+	}
+
+	/**
+	 * An exporter with its queue of batches.
+	 */
+	private static final class Target {
+
+		private final String path;
+		private final BlockingQueue<Lecture[]> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+		private final CompletableFuture<Duration> written;
+
+		Target(String path, ScheduleExporter exporter, long started, ExecutorService executor) {
+			this.path = path;
+			written = CompletableFuture.supplyAsync(() -> {
+				try {
+					exporter.exportData(new BatchIterator(queue), path);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				return Duration.ofNanos(System.nanoTime() - started);
+			}, executor);
+		}
+
+		/**
+		 * Waits for room in the queue, unless the exporter is already done.
+		 */
+		void offer(Lecture[] batch) throws InterruptedException {
+			while (!written.isDone()) {
+				if (queue.offer(batch, OFFER_MILLIS, TimeUnit.MILLISECONDS)) {
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Iterates over the lectures of the batches in a queue.
+	 */
+	private static final class BatchIterator implements Iterator<Lecture> {
+
+		private final BlockingQueue<Lecture[]> queue;
+		private Lecture[] batch = new Lecture[0];
+		private int position;
+
+		BatchIterator(BlockingQueue<Lecture[]> queue) {
+			this.queue = queue;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (position == batch.length) {
+				if (batch == END) {
+					return false;
+				}
+				try {
+					batch = queue.take();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("Interrupted while waiting for lectures", e);
+				}
+				position = 0;
+				if (batch == FAILED) {
+					throw new IllegalStateException("The lectures couldn't be read");
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public Lecture next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return batch[position++];
+		}
+	}
+}
@@ -0,0 +1,14 @@
+package schedule.manager;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Describes writing the lectures to several files at once.
+ *
+ * @param lectures the number of lectures written to every file
+ * @param timings  the time it took to write every file, by path, in the order the paths were given
+ * @param total    the time it took to write all the files
+ */
+public record ExportReport(int lectures, Map<String, Duration> timings, Duration total) {
+}
@@ -1,9 +1,16 @@
 package schedule.manager;
 /**
  * Represents the file types supported by the application.
+ *
+ * @deprecated The file types are plugins found by {@link FormatRegistry}, which lists the supported extensions.
  */
+@Deprecated
 public enum FileType {
     JSON,
     CSV,
-    PDF
+    PDF,
+    /**
+     * The binary format of {@link schedule.manager.service.provided.binary.ScheduleManagerBinary}, {@code .sched} files.
+     */
+    SCHED
 }
@@ -0,0 +1,105 @@
+package schedule.manager;
+
+import schedule.exporter.spec.ConflictReportExporter;
+import schedule.exporter.spec.ScheduleExporter;
+import schedule.exporter.spec.ScheduleExporterProvider;
+import schedule.importer.spec.ScheduleImporter;
+import schedule.importer.spec.ScheduleImporterProvider;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Finds the importers and exporters of schedule files by the extension of the file name.
+ * <p>
+ * The formats are plugins, found through {@link ServiceLoader} as {@link ScheduleImporterProvider}s and
+ * {@link ScheduleExporterProvider}s on the class path. The providers are only looked up when a file is first
+ * loaded or written, and the importer or exporter of a format is only created, and its libraries loaded,
+ * when a file of that format is first loaded or written. The created importers and exporters are kept for later files.
+ */
+public final class FormatRegistry {
+
+	private static final Map<String, ScheduleImporter> IMPORTERS = new ConcurrentHashMap<>();
+	private static final Map<String, ScheduleExporter> EXPORTERS = new ConcurrentHashMap<>();
+	private static final Map<String, ConflictReportExporter> CONFLICT_REPORT_EXPORTERS = new ConcurrentHashMap<>();
+
+	private FormatRegistry() {
+	}
+
+	/**
+	 * @param extension the extension of the file name, without the dot
+	 * @return the importer for the files, or null if no plugin reads them
+	 */
+	public static ScheduleImporter importer(String extension) {
+		return create(IMPORTERS, ImporterProviders.BY_EXTENSION, extension, ScheduleImporterProvider::createImporter);
+	}
+
+	/**
+	 * @param extension the extension of the file name, without the dot
+	 * @return the exporter for the files, or null if no plugin writes them
+	 */
+	public static ScheduleExporter exporter(String extension) {
+		return create(EXPORTERS, ExporterProviders.BY_EXTENSION, extension, ScheduleExporterProvider::createExporter);
+	}
+
+	/**
+	 * @param extension the extension of the file name, without the dot
+	 * @return the writer of conflict reports to the files, or null if no plugin writes conflict reports to them
+	 */
+	public static ConflictReportExporter conflictReportExporter(String extension) {
+		return create(CONFLICT_REPORT_EXPORTERS, ExporterProviders.BY_EXTENSION, extension, ScheduleExporterProvider::createConflictReportExporter);
+	}
+
+	/**
+	 * @return the extensions of the files that can be loaded, in alphabetical order
+	 */
+	public static Set<String> importExtensions() {
+		return ImporterProviders.BY_EXTENSION.keySet();
+	}
+
+	/**
+	 * @return the extensions of the files that can be written, in alphabetical order
+	 */
+	public static Set<String> exportExtensions() {
+		return ExporterProviders.BY_EXTENSION.keySet();
+	}
+
+	private static <P, C> C create(Map<String, C> cache, Map<String, P> providers, String extension, Function<P, C> factory) {
+		String key = extension.toLowerCase(Locale.ROOT);
+		P provider = providers.get(key);
+		return provider == null ? null : cache.computeIfAbsent(key, k -> factory.apply(provider));
+	}
+
+	/**
+	 * @return the providers by extension, the first provider on the class path wins if several have the same extension
+	 */
+	private static <P> Map<String, P> load(Class<P> type, Function<P, Set<String>> extensions) {
+		Map<String, P> byExtension = new TreeMap<>();
+		for (P provider : ServiceLoader.load(type, FormatRegistry.class.getClassLoader())) {
+			for (String extension : extensions.apply(provider)) {
+				byExtension.putIfAbsent(extension.toLowerCase(Locale.ROOT), provider);
+			}
+		}
+		return Collections.unmodifiableMap(byExtension);
+	}
+
+	/**
+	 * Looks the importer providers up on first use.
+	 */
+	private static final class ImporterProviders {
+		static final Map<String, ScheduleImporterProvider> BY_EXTENSION = load(ScheduleImporterProvider.class, ScheduleImporterProvider::extensions);
+	}
+
+	/**
+	 * Looks the exporter providers up on first use.
+	 */
+	private static final class ExporterProviders {
+		static final Map<String, ScheduleExporterProvider> BY_EXTENSION = load(ScheduleExporterProvider.class, ScheduleExporterProvider::extensions);
+	}
+}
@@ -6,16 +6,19 @@ import schedule.classroom.Classroom;
 import schedule.classroom.ClassroomRegistry;
 import schedule.common.ValidityPeriod;
 import schedule.exclusions.Exclusion;
+import schedule.exporter.spec.ConflictReportExporter;
+import schedule.exporter.spec.DoubleBookingRow;
+import schedule.exporter.spec.ScheduleExporter;
+import schedule.importer.spec.ScheduleImporter;
 import schedule.lecture.Lecture;
-import schedule.manager.service.provided.csv.ScheduleManagerCSV;
-import schedule.manager.service.provided.json.ScheduleManagerJSON;
 import schedule.manager.service.provided.json.mappers.ClassroomMapper;
 import schedule.manager.service.provided.json.mappers.ExclusionMapper;
-import schedule.manager.service.provided.pdf.ScheduleExporterPDF;
 
 import java.io.*;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /**
  * The ScheduleManager class is responsible for loading, writing, and manipulating schedules.
@@ -79,24 +82,19 @@ public class ScheduleManager {
 
 		Optional<String> fileTypeExtension = getExtensionByStringHandling(file.getName());
 		if (fileTypeExtension.isPresent()) {
-			FileType fileType = getSupportedFileType(fileTypeExtension.get());
-			switch (fileType) {
-				case CSV -> {
-					return new ScheduleManagerCSV().loadData(path, configPath);
-				}
-				case JSON -> {
-					return new ScheduleManagerJSON().loadData(path, configPath);
-				}
-				case PDF -> throw new FileTypeNotSupportedException("PDF files are not supported for loading. " +
-						"File type must be either .csv or .json");
+			ScheduleImporter importer = FormatRegistry.importer(fileTypeExtension.get());
+			if (importer == null) {
+				throw new FileTypeNotSupportedException(unsupportedForLoading(fileTypeExtension.get()));
 			}
+			return importer.loadData(path, configPath);
 		}
 
 		return new ArrayList<>();
 	}
 
 	/**
-	 * Loads Classroom configurations from an external file
+	 * Loads Classroom configurations from an external file, replacing the previously loaded classrooms.
+	 * If the file can't be read, the previously loaded classrooms are kept.
 	 *
 	 * @param path The path for classroom details JSON file, this file should be configured as following:
 	 *             {
@@ -117,7 +115,7 @@ public class ScheduleManager {
 
 
 	/**
-	 * Writes the schedule of lectures to an external file in either CSV or JSON format.
+	 * Writes the schedule of lectures to an external file in CSV, JSON, PDF or the binary {@code .sched} format.
 	 * The file format is determined based on the extension of the file name.
 	 *
 	 * @param lectures The list of lectures to be exported to the file.
@@ -125,6 +123,101 @@ public class ScheduleManager {
 	 * @throws Exception If an error occurs during the file writing process.
 	 */
 	public void writeSchedule(List<Lecture> lectures, String path) throws Exception {
+		writeSchedule(lectures.iterator(), path);
+	}
+
+	/**
+	 * Writes the lectures of a stream, like a filtered or expanded view of a schedule, to an external file
+	 * without collecting them into a list first. The file format is determined based on the extension of the file name.
+	 *
+	 * @param lectures The lectures to be exported to the file, in encounter order.
+	 * @param path     The path for the output file.
+	 * @throws Exception If an error occurs during the file writing process.
+	 */
+	public void writeSchedule(Stream<Lecture> lectures, String path) throws Exception {
+		writeSchedule(lectures.iterator(), path);
+	}
+
+	private void writeSchedule(Iterator<Lecture> lectures, String path) throws Exception {
+		ScheduleExporter exporter = createExporter(path);
+		if (exporter != null) {
+			exporter.exportData(lectures, path);
+		}
+	}
+
+	/**
+	 * Writes the lectures to several files at once, e.g. a CSV, a JSON and a PDF file to publish a schedule.
+	 * The lectures are read once, on a thread of their own, and handed to the writers of the files,
+	 * which run concurrently, in batches through bounded queues, so the writers don't get ahead of each other
+	 * by more than a few batches. The file formats are determined based on the extensions of the file names.
+	 *
+	 * @param lectures The lectures to be exported to the files, in encounter order.
+	 *                 They must not be changed until the returned future completes.
+	 * @param paths    The paths for the output files.
+	 * @return A future completed with the time each file took, or with the first error if a file couldn't be written.
+	 * @throws Exception If the type of a file is not supported, before any file is created, or if a file can't be created.
+	 */
+	public CompletableFuture<ExportReport> writeSchedules(List<Lecture> lectures, Collection<String> paths) throws Exception {
+		return writeSchedules(lectures.iterator(), paths);
+	}
+
+	/**
+	 * Writes the lectures of a stream to several files at once, see {@link #writeSchedules(List, Collection)}.
+	 *
+	 * @param lectures The lectures to be exported to the files, in encounter order.
+	 * @param paths    The paths for the output files.
+	 * @return A future completed with the time each file took, or with the first error if a file couldn't be written.
+	 * @throws Exception If the type of a file is not supported, before any file is created, or if a file can't be created.
+	 */
+	public CompletableFuture<ExportReport> writeSchedules(Stream<Lecture> lectures, Collection<String> paths) throws Exception {
+		return writeSchedules(lectures.iterator(), paths);
+	}
+
+	private CompletableFuture<ExportReport> writeSchedules(Iterator<Lecture> lectures, Collection<String> paths) throws Exception {
+		for (String path : paths) {
+			Optional<String> fileTypeExtension = getExtensionByStringHandling(new File(path).getName());
+			if (fileTypeExtension.isPresent() && FormatRegistry.exporter(fileTypeExtension.get()) == null) {
+				throw new FileTypeNotSupportedException(unsupported());
+			}
+		}
+		Map<String, ScheduleExporter> exporters = new LinkedHashMap<>();
+		for (String path : new LinkedHashSet<>(paths)) {
+			ScheduleExporter exporter = createExporter(path);
+			if (exporter != null) {
+				exporters.put(path, exporter);
+			}
+		}
+		return ExportPipeline.run(lectures, exporters);
+	}
+
+	/**
+	 * Writes a conflict report to an external file, through the format plugin of the extension of the file name.
+	 *
+	 * @param lectures       The number of lectures analyzed.
+	 * @param counts         The number of double-bookings of every checked resource, by the name of the resource.
+	 * @param doubleBookings The double-bookings, in report order.
+	 * @param path           The path for the output file.
+	 * @throws FileTypeNotSupportedException If no plugin writes conflict reports to files of the type.
+	 * @throws IOException                   If the file can't be written.
+	 */
+	public void writeConflictReport(int lectures, Map<String, Integer> counts, List<DoubleBookingRow> doubleBookings, String path) throws Exception {
+		ConflictReportExporter exporter = getExtensionByStringHandling(new File(path).getName())
+				.map(FormatRegistry::conflictReportExporter)
+				.orElse(null);
+		if (exporter == null) {
+			Set<String> supported = new TreeSet<>(FormatRegistry.exportExtensions());
+			supported.removeIf(extension -> FormatRegistry.conflictReportExporter(extension) == null);
+			throw new FileTypeNotSupportedException("Conflict reports can only be written to files ending in either " + extensions(supported));
+		}
+		exporter.exportConflicts(lectures, counts, doubleBookings, path);
+	}
+
+	/**
+	 * Creates the file if it doesn't exist yet, and the exporter for its type.
+	 *
+	 * @return the exporter, or null if the file name has no extension
+	 */
+	private ScheduleExporter createExporter(String path) throws Exception {
 		File file = new File(path);
 		if (!file.exists()) {
 			if (!file.createNewFile()) {
@@ -133,35 +226,36 @@ public class ScheduleManager {
 		}
 
 		Optional<String> fileTypeExtension = getExtensionByStringHandling(file.getName());
-		if (fileTypeExtension.isPresent()) {
-			FileType fileType = getSupportedFileType(fileTypeExtension.get());
-			switch (fileType) {
-				case CSV -> new ScheduleManagerCSV().exportData(lectures, path);
-				case JSON -> new ScheduleManagerJSON().exportData(lectures, path);
-				case PDF -> new ScheduleExporterPDF().exportData(lectures, path);
-			}
+		if (fileTypeExtension.isEmpty()) {
+			return null;
 		}
-
+		ScheduleExporter exporter = FormatRegistry.exporter(fileTypeExtension.get());
+		if (exporter == null) {
+			throw new FileTypeNotSupportedException(unsupported());
+		}
+		return exporter;
 	}
 
 	private Optional<String> getExtensionByStringHandling(String filename) {
 		return Optional.ofNullable(filename).filter(f -> f.contains(".")).map(f -> f.substring(filename.lastIndexOf(".") + 1));
 	}
 
-	private FileType getSupportedFileType(String fileType) throws Exception {
-		switch (fileType.toLowerCase()) {
-			case "csv" -> {
-				return FileType.CSV;
-			}
-			case "json" -> {
-				return FileType.JSON;
-			}
-			case "pdf" -> {
-				return FileType.PDF;
-			}
-			default ->
-					throw new FileTypeNotSupportedException("File Type is not supported. File needs to end in either .csv, .json or .pdf");
+	private String unsupportedForLoading(String extension) {
+		String supported = extensions(FormatRegistry.importExtensions());
+		if (FormatRegistry.exporter(extension) != null) {
+			return extension.toUpperCase(Locale.ROOT) + " files are not supported for loading. File type must be either " + supported;
 		}
+		return "File Type is not supported. File needs to end in either " + supported;
+	}
+
+	private String unsupported() {
+		return "File Type is not supported. File needs to end in either " + extensions(FormatRegistry.exportExtensions());
+	}
+
+	private static String extensions(Set<String> extensions) {
+		StringJoiner joiner = new StringJoiner(", ");
+		extensions.forEach(extension -> joiner.add("." + extension));
+		return joiner.toString();
 	}
 
 
@@ -0,0 +1,22 @@
+package schedule.exporter.spec;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interface for writing the double-bookings found in a schedule to an external file.
+ */
+public interface ConflictReportExporter {
+
+    /**
+     * Writes a conflict report to an external file.
+     *
+     * @param lectures       The number of lectures analyzed.
+     * @param counts         The number of double-bookings of every checked resource, by the name of the resource.
+     * @param doubleBookings The double-bookings, in report order.
+     * @param path           The path where the report will be saved.
+     * @throws IOException If an I/O error occurs while writing the report.
+     */
+    void exportConflicts(int lectures, Map<String, Integer> counts, List<DoubleBookingRow> doubleBookings, String path) throws IOException;
+}
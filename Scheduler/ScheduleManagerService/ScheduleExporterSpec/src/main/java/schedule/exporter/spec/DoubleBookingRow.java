@@ -0,0 +1,21 @@
+package schedule.exporter.spec;
+
+import schedule.lecture.Lecture;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * Two lectures using the same resource at the same time, as written to a conflict report.
+ *
+ * @param resource The name of the resource both lectures use, e.g. {@code CLASSROOM}.
+ * @param key      The classroom name, the professor or the group both lectures have.
+ * @param day      The day both lectures are held on.
+ * @param start    The start of the time both lectures are held.
+ * @param end      The end of the time both lectures are held.
+ * @param first    The lecture starting first.
+ * @param second   The other lecture.
+ */
+public record DoubleBookingRow(String resource, String key, DayOfWeek day, LocalTime start, LocalTime end,
+                               Lecture first, Lecture second) {
+}
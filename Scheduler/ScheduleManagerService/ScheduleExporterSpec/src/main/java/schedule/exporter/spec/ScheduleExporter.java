@@ -3,7 +3,10 @@ package schedule.exporter.spec;
 import schedule.lecture.Lecture;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Interface for exporting schedule data to an external file.
@@ -19,4 +22,34 @@ public interface ScheduleExporter {
      * @throws IOException If an I/O error occurs during the export process.
      */
     boolean exportData(List<Lecture> lectures, String path) throws IOException;
+
+    /**
+     * Exports schedule data to an external file, taking the lectures from an iterator,
+     * so views that aren't lists, like filtered or expanded schedules, can be exported without collecting them first.
+     * <p>
+     * The default implementation collects the lectures into a list, exporters that can write
+     * the lectures one at a time should override it.
+     *
+     * @param lectures Iterator over the lectures whose data will be saved.
+     * @param path     The path where the exported data will be saved.
+     * @return {@code true} if the export is successful, {@code false} otherwise.
+     * @throws IOException If an I/O error occurs during the export process.
+     */
+    default boolean exportData(Iterator<Lecture> lectures, String path) throws IOException {
+        List<Lecture> list = new ArrayList<>();
+        lectures.forEachRemaining(list::add);
+        return exportData(list, path);
+    }
+
+    /**
+     * Exports schedule data to an external file, taking the lectures from a stream in encounter order.
+     *
+     * @param lectures Stream of the lectures whose data will be saved.
+     * @param path     The path where the exported data will be saved.
+     * @return {@code true} if the export is successful, {@code false} otherwise.
+     * @throws IOException If an I/O error occurs during the export process.
+     */
+    default boolean exportData(Stream<Lecture> lectures, String path) throws IOException {
+        return exportData(lectures.iterator(), path);
+    }
 }
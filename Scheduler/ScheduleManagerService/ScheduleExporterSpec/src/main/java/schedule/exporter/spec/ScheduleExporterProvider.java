@@ -0,0 +1,33 @@
+package schedule.exporter.spec;
+
+import java.util.Set;
+
+/**
+ * Service provider of a {@link ScheduleExporter}, found through {@link java.util.ServiceLoader}.
+ * <p>
+ * Implementations are listed in {@code META-INF/services/schedule.exporter.spec.ScheduleExporterProvider}.
+ * They should be cheap to create, the exporter itself is only created once a file of one of its extensions is written.
+ */
+public interface ScheduleExporterProvider {
+
+    /**
+     * @return The extensions of the files the exporter writes, in lower case and without the dot, e.g. {@code pdf}.
+     */
+    Set<String> extensions();
+
+    /**
+     * Creates the exporter. The exporter may be cached and used by several threads at once.
+     *
+     * @return The exporter.
+     */
+    ScheduleExporter createExporter();
+
+    /**
+     * Creates the writer of conflict reports in the format of the exporter, if the format has one.
+     *
+     * @return The writer, or {@code null} if conflict reports can't be written in the format.
+     */
+    default ConflictReportExporter createConflictReportExporter() {
+        return null;
+    }
+}
@@ -4,7 +4,10 @@ package schedule.importer.spec;
 import schedule.lecture.Lecture;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Interface for importing schedule data from an external file.
@@ -21,4 +24,53 @@ public interface ScheduleImporter {
      */
     List<Lecture> loadData(String path, String configPath) throws IOException;
 
+    /**
+     * Loads schedule data from an external file, handing every lecture to the consumer as soon as it is read,
+     * in the order it appears in the file, so the lectures don't have to be kept in memory all at once.
+     *
+     * @param path       The path from which to load the schedule data.
+     * @param configPath The path to the configuration file, if applicable.
+     * @param consumer   The consumer of the lectures.
+     * @throws IOException If an I/O error occurs during the data loading process.
+     */
+    default void loadData(String path, String configPath, Consumer<? super Lecture> consumer) throws IOException {
+        try (Stream<Lecture> lectures = streamData(path, configPath)) {
+            lectures.forEachOrdered(consumer);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Streams schedule data from an external file, in the order it appears in the file.
+     * <p>
+     * The returned stream may hold the file open, so it should be closed, e.g. with a try-with-resources statement.
+     * Errors while reading the file after the stream was returned are thrown as {@link UncheckedIOException}.
+     *
+     * @param path       The path from which to load the schedule data.
+     * @param configPath The path to the configuration file, if applicable.
+     * @return {@code Stream<Lecture>} of the lectures in the file.
+     * @throws IOException If an I/O error occurs while opening the file.
+     */
+    default Stream<Lecture> streamData(String path, String configPath) throws IOException {
+        return streamData(path, configPath, false);
+    }
+
+    /**
+     * Streams schedule data from an external file, in the order it appears in the file, optionally parsing it in parallel.
+     * <p>
+     * The default implementation loads all the data with {@link #loadData(String, String)} first,
+     * importers that can read the file incrementally or in parallel should override it.
+     *
+     * @param path       The path from which to load the schedule data.
+     * @param configPath The path to the configuration file, if applicable.
+     * @param parallel   Whether the file should be parsed in parallel.
+     * @return {@code Stream<Lecture>} of the lectures in the file.
+     * @throws IOException If an I/O error occurs while opening the file.
+     */
+    default Stream<Lecture> streamData(String path, String configPath, boolean parallel) throws IOException {
+        List<Lecture> lectures = loadData(path, configPath);
+        return parallel ? lectures.parallelStream() : lectures.stream();
+    }
+
 }
@@ -0,0 +1,24 @@
+package schedule.importer.spec;
+
+import java.util.Set;
+
+/**
+ * Service provider of a {@link ScheduleImporter}, found through {@link java.util.ServiceLoader}.
+ * <p>
+ * Implementations are listed in {@code META-INF/services/schedule.importer.spec.ScheduleImporterProvider}.
+ * They should be cheap to create, the importer itself is only created once a file of one of its extensions is loaded.
+ */
+public interface ScheduleImporterProvider {
+
+    /**
+     * @return The extensions of the files the importer reads, in lower case and without the dot, e.g. {@code csv}.
+     */
+    Set<String> extensions();
+
+    /**
+     * Creates the importer. The importer may be cached and used by several threads at once.
+     *
+     * @return The importer.
+     */
+    ScheduleImporter createImporter();
+}
@@ -0,0 +1,29 @@
+package schedule.manager.service.provided.binary;
+
+import schedule.exporter.spec.ScheduleExporter;
+import schedule.exporter.spec.ScheduleExporterProvider;
+import schedule.importer.spec.ScheduleImporter;
+import schedule.importer.spec.ScheduleImporterProvider;
+
+import java.util.Set;
+
+/**
+ * Provides the {@link ScheduleManagerBinary} importer and exporter for files ending in {@code .sched}.
+ */
+public class BinaryFormatProvider implements ScheduleImporterProvider, ScheduleExporterProvider {
+
+	@Override
+	public Set<String> extensions() {
+		return Set.of("sched");
+	}
+
+	@Override
+	public ScheduleImporter createImporter() {
+		return new ScheduleManagerBinary();
+	}
+
+	@Override
+	public ScheduleExporter createExporter() {
+		return new ScheduleManagerBinary();
+	}
+}
@@ -0,0 +1,75 @@
+package schedule.manager.service.provided.binary;
+
+import java.nio.ByteOrder;
+
+/**
+ * The layout of {@code .sched} files. Every number is little-endian.
+ * <pre>
+ * header, 56 bytes
+ *     0  int    magic, the bytes "SCHD"
+ *     4  short  version
+ *     6  short  size of a lecture record
+ *     8  int    number of lectures
+ *    12  int    number of strings
+ *    16  int    number of classrooms
+ *    20  int    number of group sets
+ *    24  long   offset of the lecture records
+ *    32  long   offset of the strings
+ *    40  long   offset of the classrooms
+ *    48  long   offset of the group sets
+ * lecture records, 36 bytes each
+ *     0  int    subject, string id
+ *     4  int    professor, string id
+ *     8  int    groups, group set id
+ *    12  int    classroom id
+ *    16  byte   day of the week, 1 for Monday to 7 for Sunday
+ *    17  byte   lecture type, ordinal + 1
+ *    18  short  reserved
+ *    20  int    start, second of the day
+ *    24  int    end, second of the day
+ *    28  int    valid from, epoch day
+ *    32  int    valid to, epoch day
+ * strings
+ *        int    length in bytes, followed by the UTF-8 bytes
+ * classrooms, 16 bytes each
+ *     0  int    name, string id
+ *     4  int    number of seats
+ *     8  int    number of computers
+ *    12  int    1 if the classroom has a projector, otherwise 0
+ * group sets
+ *        int    number of groups, followed by a string id per group
+ * </pre>
+ * Missing ids and times are stored as {@link #NONE}, missing numbers as {@link #NO_NUMBER}, a missing day or type as 0,
+ * and dates are encoded with {@link schedule.common.EpochDay}. A lecture without a validity period has both dates missing.
+ */
+final class BinaryLayout {
+
+	static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+	/**
+	 * "SCHD" read as a little-endian int.
+	 */
+	static final int MAGIC = 'S' | 'C' << 8 | 'H' << 16 | 'D' << 24;
+	static final short VERSION = 1;
+
+	static final int HEADER_SIZE = 56;
+	static final int RECORD_SIZE = 36;
+	static final int CLASSROOM_SIZE = 16;
+
+	static final int NONE = -1;
+	static final int NO_NUMBER = Integer.MIN_VALUE;
+
+	static final int SUBJECT = 0;
+	static final int PROFESSOR = 4;
+	static final int GROUPS = 8;
+	static final int CLASSROOM = 12;
+	static final int DAY = 16;
+	static final int TYPE = 17;
+	static final int START = 20;
+	static final int END = 24;
+	static final int VALID_FROM = 28;
+	static final int VALID_TO = 32;
+
+	private BinaryLayout() {
+	}
+}
@@ -0,0 +1,261 @@
+package schedule.manager.service.provided.binary;
+
+import schedule.classroom.Classroom;
+import schedule.common.EpochDay;
+import schedule.common.ValidityPeriod;
+import schedule.lecture.Lecture;
+import schedule.lecture.type.LectureType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.RandomAccess;
+import java.util.Set;
+
+import static schedule.manager.service.provided.binary.BinaryLayout.*;
+
+/**
+ * A read-only view of the lectures of a {@code .sched} file mapped into memory.
+ * <p>
+ * Opening the view only decodes the header and the small tables of strings, classrooms and groups,
+ * the lecture records are read from the mapped buffer when they are accessed. {@link #get(int)} creates a new
+ * lecture on every call, the accessors like {@link #day(int)} read a single field without creating the lecture.
+ * <p>
+ * The view can be read from multiple threads.
+ *
+ * @see ScheduleManagerBinary#open(String)
+ */
+public final class MappedSchedule extends AbstractList<Lecture> implements RandomAccess {
+
+	private static final DayOfWeek[] DAYS = DayOfWeek.values();
+	private static final LectureType[] TYPES = LectureType.values();
+
+	private final ByteBuffer buffer;
+	private final int size;
+	private final int recordsOffset;
+	private final int recordSize;
+
+	private final String[] strings;
+	private final Classroom[] classrooms;
+	private final Set<String>[] groupSets;
+
+	/**
+	 * Decodes the header and the tables of a mapped file.
+	 *
+	 * @param buffer the contents of the file
+	 * @throws IOException if the buffer doesn't contain a {@code .sched} file of a supported version
+	 */
+	MappedSchedule(ByteBuffer buffer) throws IOException {
+		this.buffer = buffer.order(ORDER);
+		try {
+			if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+				throw new IOException("Not a schedule file");
+			}
+			short version = buffer.getShort(4);
+			if (version != VERSION) {
+				throw new IOException("Unsupported schedule file version " + version + ", expected " + VERSION);
+			}
+			this.recordSize = buffer.getShort(6);
+			this.size = buffer.getInt(8);
+			int stringCount = buffer.getInt(12);
+			int classroomCount = buffer.getInt(16);
+			int groupSetCount = buffer.getInt(20);
+			if (recordSize < RECORD_SIZE || size < 0 || stringCount < 0 || classroomCount < 0 || groupSetCount < 0) {
+				throw new IOException("Corrupt schedule file header");
+			}
+			this.recordsOffset = offset(buffer.getLong(24), (long) size * recordSize);
+
+			this.strings = readStrings(offset(buffer.getLong(32), 4L * stringCount), stringCount);
+			this.classrooms = readClassrooms(offset(buffer.getLong(40), (long) classroomCount * CLASSROOM_SIZE), classroomCount);
+			this.groupSets = readGroupSets(offset(buffer.getLong(48), 4L * groupSetCount), groupSetCount);
+		} catch (IndexOutOfBoundsException e) {
+			throw new IOException("Truncated schedule file", e);
+		}
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public Lecture get(int index) {
+		Set<String> groups = groups(index);
+		return new Lecture(
+				subject(index),
+				type(index),
+				professor(index),
+				groups == null ? null : new HashSet<>(groups),
+				day(index),
+				start(index),
+				end(index),
+				validityPeriod(index),
+				classroom(index)
+		);
+	}
+
+	/**
+	 * @param index the position of the lecture
+	 * @return the subject of the lecture
+	 */
+	public String subject(int index) {
+		return string(intAt(index, SUBJECT));
+	}
+
+	/**
+	 * @param index the position of the lecture
+	 * @return the type of the lecture
+	 */
+	public LectureType type(int index) {
+		int type = buffer.get(record(index) + TYPE);
+		return type == 0 ? null : TYPES[type - 1];
+	}
+
+	/**
+	 * @param index the position of the lecture
+	 * @return the professor of the lecture
+	 */
+	public String professor(int index) {
+		return string(intAt(index, PROFESSOR));
+	}
+
+	/**
+	 * @param index the position of the lecture
+	 * @return the groups of the lecture, shared with other lectures with the same groups and unmodifiable
+	 */
+	public Set<String> groups(int index) {
+		int id = intAt(index, GROUPS);
+		return id == NONE ? null : groupSets[id];
+	}
+
+	/**
+	 * @param index the position of the lecture
+	 * @return the day of the lecture
+	 */
+	public DayOfWeek day(int index) {
+		int day = buffer.get(record(index) + DAY);
+		return day == 0 ? null : DAYS[day - 1];
+	}
+
+	/**
+	 * @param index the position of the lecture
+	 * @return the start of the lecture
+	 */
+	public LocalTime start(int index) {
+		return time(intAt(index, START));
+	}
+
+	/**
+	 * @param index the position of the lecture
+	 * @return the end of the lecture
+	 */
+	public LocalTime end(int index) {
+		return time(intAt(index, END));
+	}
+
+	/**
+	 * @param index the position of the lecture
+	 * @return the validity period of the lecture
+	 */
+	public ValidityPeriod validityPeriod(int index) {
+		int from = intAt(index, VALID_FROM);
+		if (from == EpochDay.NONE) {
+			return null;
+		}
+		return new ValidityPeriod(EpochDay.toDate(from), EpochDay.toDate(intAt(index, VALID_TO)));
+	}
+
+	/**
+	 * @param index the position of the lecture
+	 * @return the classroom of the lecture
+	 */
+	public Classroom classroom(int index) {
+		int id = intAt(index, CLASSROOM);
+		return id == NONE ? null : classrooms[id];
+	}
+
+	private int record(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+		return recordsOffset + index * recordSize;
+	}
+
+	private int intAt(int index, int field) {
+		return buffer.getInt(record(index) + field);
+	}
+
+	private String string(int id) {
+		return id == NONE ? null : strings[id];
+	}
+
+	private static LocalTime time(int secondOfDay) {
+		return secondOfDay == NONE ? null : LocalTime.ofSecondOfDay(secondOfDay);
+	}
+
+	/**
+	 * Checks that a section of the given minimum length lies inside the buffer.
+	 */
+	private int offset(long offset, long length) throws IOException {
+		if (offset < HEADER_SIZE || offset + length > buffer.capacity()) {
+			throw new IOException("Truncated schedule file");
+		}
+		return (int) offset;
+	}
+
+	private String[] readStrings(int position, int count) {
+		String[] strings = new String[count];
+		byte[] bytes = new byte[64];
+		for (int i = 0; i < count; i++) {
+			int length = buffer.getInt(position);
+			position += 4;
+			if (length > bytes.length) {
+				bytes = new byte[Math.max(length, bytes.length * 2)];
+			}
+			buffer.get(position, bytes, 0, length);
+			position += length;
+			strings[i] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+		}
+		return strings;
+	}
+
+	private Classroom[] readClassrooms(int position, int count) {
+		Classroom[] classrooms = new Classroom[count];
+		for (int i = 0; i < count; i++, position += CLASSROOM_SIZE) {
+			Classroom classroom = new Classroom(
+					string(buffer.getInt(position)),
+					buffer.getInt(position + 12) != 0,
+					number(buffer.getInt(position + 4)),
+					number(buffer.getInt(position + 8))
+			);
+			// share the registered instance, unless the classroom changed since the file was written
+			classrooms[i] = classroom.getName() == null ? classroom
+					: Classroom.forName(classroom.getName()).filter(classroom::equals).orElse(classroom);
+		}
+		return classrooms;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Set<String>[] readGroupSets(int position, int count) {
+		Set<String>[] groupSets = new Set[count];
+		for (int i = 0; i < count; i++) {
+			int groups = buffer.getInt(position);
+			position += 4;
+			Set<String> set = new HashSet<>();
+			for (int j = 0; j < groups; j++, position += 4) {
+				set.add(string(buffer.getInt(position)));
+			}
+			groupSets[i] = Collections.unmodifiableSet(set);
+		}
+		return groupSets;
+	}
+
+	private static Integer number(int value) {
+		return value == NO_NUMBER ? null : value;
+	}
+}
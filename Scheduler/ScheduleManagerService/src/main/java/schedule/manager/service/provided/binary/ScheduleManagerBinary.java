@@ -0,0 +1,265 @@
+package schedule.manager.service.provided.binary;
+
+import schedule.classroom.Classroom;
+import schedule.common.EpochDay;
+import schedule.common.ValidityPeriod;
+import schedule.lecture.Lecture;
+import schedule.manager.service.ScheduleManagerService;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static schedule.manager.service.provided.binary.BinaryLayout.*;
+
+/**
+ * Implementation of the ScheduleManagerService interface that uses a compact binary format, {@code .sched} files,
+ * for loading and exporting lecture data.
+ * <p>
+ * Every distinct subject, professor, group, classroom and set of groups is stored once, and every lecture is a
+ * fixed-width record of ids, so a lecture can be found by its position and read without parsing the ones before it.
+ * Files are loaded by mapping them into memory, see {@link #open(String)}. The layout is described in {@link BinaryLayout}.
+ * <p>
+ * Times are stored with a precision of one second.
+ */
+public class ScheduleManagerBinary implements ScheduleManagerService {
+
+	/**
+	 * The size of the buffer the file is written through.
+	 */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	@Override
+	public List<Lecture> loadData(String path, String ignored) throws IOException {
+		return new ArrayList<>(open(path));
+	}
+
+	/**
+	 * Maps a {@code .sched} file into memory, without reading its lectures.
+	 * <p>
+	 * The mapping stays valid after the file is closed, until the returned view is garbage collected.
+	 *
+	 * @param path The path of the file.
+	 * @return A read-only view of the lectures in the file.
+	 * @throws IOException If the file can't be read, is larger than 2 GB, or isn't a {@code .sched} file of a supported version.
+	 */
+	public MappedSchedule open(String path) throws IOException {
+		try (FileChannel channel = FileChannel.open(Path.of(path), StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new IOException("Schedule file is larger than 2 GB: " + path);
+			}
+			return new MappedSchedule(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+		}
+	}
+
+	@Override
+	public boolean exportData(List<Lecture> lectures, String path) throws IOException {
+		return exportData(lectures.iterator(), path);
+	}
+
+	/**
+	 * Exports the lectures in a single pass: the records are written as the lectures are taken from the iterator,
+	 * followed by the tables, and finally the header. The file is created if it doesn't exist and replaced if it does.
+	 *
+	 * @param lectures Iterator over the lectures to export.
+	 * @param path     The path of the file.
+	 * @return true
+	 * @throws IOException If the file can't be written.
+	 */
+	@Override
+	public boolean exportData(Iterator<Lecture> lectures, String path) throws IOException {
+		try (FileChannel channel = FileChannel.open(Path.of(path), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			new Writer(channel).write(lectures);
+		}
+		return true;
+	}
+
+	/**
+	 * Writes a single file, assigning ids to the values in the order they are first seen.
+	 */
+	private static final class Writer {
+
+		private final FileChannel channel;
+		private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ORDER);
+
+		private final Map<String, Integer> stringIds = new HashMap<>();
+		private final List<String> strings = new ArrayList<>();
+		private final Map<Classroom, Integer> classroomIds = new HashMap<>();
+		private final List<Classroom> classrooms = new ArrayList<>();
+		private final Map<Set<String>, Integer> groupSetIds = new HashMap<>();
+		private final List<int[]> groupSets = new ArrayList<>();
+
+		private Writer(FileChannel channel) {
+			this.channel = channel;
+		}
+
+		private void write(Iterator<Lecture> lectures) throws IOException {
+			channel.position(HEADER_SIZE);
+			int count = 0;
+			while (lectures.hasNext()) {
+				writeRecord(lectures.next());
+				count++;
+			}
+
+			long stringsOffset = flush();
+			for (String string : strings) {
+				byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+				putInt(bytes.length);
+				put(bytes);
+			}
+
+			long classroomsOffset = flush();
+			for (Classroom classroom : classrooms) {
+				ensure(CLASSROOM_SIZE);
+				buffer.putInt(stringId(classroom.getName()));
+				buffer.putInt(number(classroom.getNoSpaces()));
+				buffer.putInt(number(classroom.getNoComputers()));
+				buffer.putInt(classroom.hasProjector() ? 1 : 0);
+			}
+
+			long groupSetsOffset = flush();
+			for (int[] groupSet : groupSets) {
+				putInt(groupSet.length);
+				for (int id : groupSet) {
+					putInt(id);
+				}
+			}
+			flush();
+
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ORDER);
+			header.putInt(MAGIC)
+					.putShort(VERSION)
+					.putShort((short) RECORD_SIZE)
+					.putInt(count)
+					.putInt(strings.size())
+					.putInt(classrooms.size())
+					.putInt(groupSets.size())
+					.putLong(HEADER_SIZE)
+					.putLong(stringsOffset)
+					.putLong(classroomsOffset)
+					.putLong(groupSetsOffset)
+					.flip();
+			while (header.hasRemaining()) {
+				channel.write(header, header.position());
+			}
+		}
+
+		private void writeRecord(Lecture lecture) throws IOException {
+			ensure(RECORD_SIZE);
+			buffer.putInt(stringId(lecture.getSubject()));
+			buffer.putInt(stringId(lecture.getProfessor()));
+			buffer.putInt(groupSetId(lecture.getGroups()));
+			buffer.putInt(classroomId(lecture.getClassroom()));
+			buffer.put(lecture.getDay() == null ? 0 : (byte) lecture.getDay().getValue());
+			buffer.put(lecture.getType() == null ? 0 : (byte) (lecture.getType().ordinal() + 1));
+			buffer.putShort((short) 0);
+			buffer.putInt(time(lecture.getStart()));
+			buffer.putInt(time(lecture.getEnd()));
+			ValidityPeriod period = lecture.getValidityPeriod();
+			buffer.putInt(period == null ? EpochDay.NONE : EpochDay.of(period.validFrom()));
+			buffer.putInt(period == null ? EpochDay.NONE : EpochDay.of(period.validTo()));
+		}
+
+		private int stringId(String value) {
+			if (value == null) {
+				return NONE;
+			}
+			Integer id = stringIds.get(value);
+			if (id == null) {
+				id = strings.size();
+				stringIds.put(value, id);
+				strings.add(value);
+			}
+			return id;
+		}
+
+		private int classroomId(Classroom classroom) {
+			if (classroom == null) {
+				return NONE;
+			}
+			Integer id = classroomIds.get(classroom);
+			if (id == null) {
+				// the name is added now, the strings are written before the classrooms
+				stringId(classroom.getName());
+				id = classrooms.size();
+				classroomIds.put(classroom, id);
+				classrooms.add(classroom);
+			}
+			return id;
+		}
+
+		private int groupSetId(Set<String> groups) {
+			if (groups == null) {
+				return NONE;
+			}
+			Integer id = groupSetIds.get(groups);
+			if (id == null) {
+				int[] ids = new int[groups.size()];
+				int i = 0;
+				for (String group : groups) {
+					ids[i++] = stringId(group);
+				}
+				id = groupSets.size();
+				// copied, the set of the lecture can still change
+				groupSetIds.put(new HashSet<>(groups), id);
+				groupSets.add(ids);
+			}
+			return id;
+		}
+
+		private void putInt(int value) throws IOException {
+			ensure(4);
+			buffer.putInt(value);
+		}
+
+		private void put(byte[] bytes) throws IOException {
+			for (int offset = 0; offset < bytes.length; ) {
+				ensure(1);
+				int length = Math.min(buffer.remaining(), bytes.length - offset);
+				buffer.put(bytes, offset, length);
+				offset += length;
+			}
+		}
+
+		private void ensure(int bytes) throws IOException {
+			if (buffer.remaining() < bytes) {
+				flush();
+			}
+		}
+
+		/**
+		 * Writes the buffered bytes to the file.
+		 *
+		 * @return the position in the file after the written bytes
+		 */
+		private long flush() throws IOException {
+			buffer.flip();
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			buffer.clear();
+			return channel.position();
+		}
+
+		private static int time(LocalTime time) {
+			return time == null ? NONE : time.toSecondOfDay();
+		}
+
+		private static int number(Integer value) {
+			return value == null ? NO_NUMBER : value;
+		}
+	}
+}
@@ -0,0 +1,202 @@
+package schedule.manager.service.provided.codec;
+
+import schedule.manager.service.provided.csv.mappers.DayMapper;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+
+/**
+ * Decodes and encodes days without allocating, as the abbreviations of {@link DayMapper} or as the names of {@link DayOfWeek}.
+ */
+public final class DayCodec {
+
+	private static final DayOfWeek[] DAYS = DayOfWeek.values();
+
+	private static final String[] ABBREVIATIONS = new String[DAYS.length];
+
+	/**
+	 * The characters of the abbreviations, packed by 16 bits with their length on top.
+	 */
+	private static final long[] PACKED_CHARACTERS = new long[DAYS.length];
+
+	/**
+	 * The UTF-8 bytes of the abbreviations, packed by 8 bits with their length on top.
+	 */
+	private static final long[] PACKED_BYTES = new long[DAYS.length];
+
+	private static final char NO_BREAK_SPACE = '\u00A0';
+
+	static {
+		for (DayOfWeek day : DAYS) {
+			String abbreviation = DayMapper.mapToAbbreviation(day);
+			ABBREVIATIONS[day.ordinal()] = abbreviation;
+
+			long characters = abbreviation.length();
+			for (int i = 0; i < abbreviation.length(); i++) {
+				characters = characters << 16 | abbreviation.charAt(i);
+			}
+			PACKED_CHARACTERS[day.ordinal()] = characters;
+
+			byte[] utf8 = abbreviation.getBytes(StandardCharsets.UTF_8);
+			long bytes = utf8.length;
+			for (byte value : utf8) {
+				bytes = bytes << 8 | (value & 0xFF);
+			}
+			PACKED_BYTES[day.ordinal()] = bytes;
+		}
+	}
+
+	private DayCodec() {
+	}
+
+	/**
+	 * Decodes the abbreviation of a day, ignoring whitespace and non-breaking spaces anywhere in it
+	 * and control characters around it, like the CSV importer always has.
+	 *
+	 * @param text the text containing the abbreviation
+	 * @param from the index of the first character of the abbreviation
+	 * @param to   the index after the last character of the abbreviation
+	 * @return the day
+	 * @throws IllegalArgumentException if the abbreviation is not recognized
+	 */
+	public static DayOfWeek fromAbbreviation(CharSequence text, int from, int to) {
+		long packed = 0;
+		int length = 0;
+		boolean started = false;
+		boolean trailing = false;
+		boolean mismatch = false;
+		for (int i = from; i < to && !mismatch; i++) {
+			char value = text.charAt(i);
+			if (isWhitespace(value) || value == NO_BREAK_SPACE) {
+				continue;
+			}
+			if (value <= ' ') {
+				// control characters are trimmed at the ends, and never part of an abbreviation
+				trailing = started;
+				continue;
+			}
+			mismatch = trailing || length == 3;
+			packed = packed << 16 | value;
+			length++;
+			started = true;
+		}
+		if (!mismatch) {
+			long key = (long) length << (16 * length) | packed;
+			for (int ordinal = 0; ordinal < DAYS.length; ordinal++) {
+				if (PACKED_CHARACTERS[ordinal] == key) {
+					return DAYS[ordinal];
+				}
+			}
+		}
+		throw new IllegalArgumentException("Unknown day abbreviation: " + stripped(text.subSequence(from, to).toString()));
+	}
+
+	/**
+	 * Decodes the abbreviation of a day from UTF-8 bytes, like {@link #fromAbbreviation(CharSequence, int, int)}.
+	 *
+	 * @param bytes the buffer containing the abbreviation
+	 * @param from  the index of the first byte of the abbreviation
+	 * @param to    the index after the last byte of the abbreviation
+	 * @return the day
+	 * @throws IllegalArgumentException if the abbreviation is not recognized
+	 */
+	public static DayOfWeek fromAbbreviation(ByteBuffer bytes, int from, int to) {
+		long packed = 0;
+		int length = 0;
+		boolean started = false;
+		boolean trailing = false;
+		boolean mismatch = false;
+		for (int i = from; i < to && !mismatch; i++) {
+			byte value = bytes.get(i);
+			if (isWhitespace((char) value)) {
+				continue;
+			}
+			if (value == (byte) 0xC2 && i + 1 < to && bytes.get(i + 1) == (byte) 0xA0) {
+				i++;
+				continue;
+			}
+			if (value >= 0 && value <= ' ') {
+				trailing = started;
+				continue;
+			}
+			mismatch = trailing || length == 7;
+			packed = packed << 8 | (value & 0xFF);
+			length++;
+			started = true;
+		}
+		if (!mismatch) {
+			long key = (long) length << (8 * length) | packed;
+			for (int ordinal = 0; ordinal < DAYS.length; ordinal++) {
+				if (PACKED_BYTES[ordinal] == key) {
+					return DAYS[ordinal];
+				}
+			}
+		}
+		byte[] copy = new byte[to - from];
+		bytes.get(from, copy);
+		String text = new String(copy, StandardCharsets.UTF_8);
+		return fromAbbreviation(text, 0, text.length());
+	}
+
+	/**
+	 * Decodes the name of a day, as returned by {@link DayOfWeek#name()}.
+	 *
+	 * @param text the text containing the name
+	 * @param from the index of the first character of the name
+	 * @param to   the index after the last character of the name
+	 * @return the day, or null if the text isn't the name of a day
+	 */
+	public static DayOfWeek fromName(CharSequence text, int from, int to) {
+		for (DayOfWeek day : DAYS) {
+			String name = day.name();
+			if (name.length() == to - from && matches(text, from, name)) {
+				return day;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @param day the day
+	 * @return the abbreviation of the day, the same as {@link DayMapper#mapToAbbreviation(DayOfWeek)}
+	 * @throws IllegalArgumentException if the day is null
+	 */
+	public static String abbreviation(DayOfWeek day) {
+		if (day == null) {
+			throw new IllegalArgumentException("Unknown DayOfWeek value: null");
+		}
+		return ABBREVIATIONS[day.ordinal()];
+	}
+
+	/**
+	 * @return whether the character is whitespace matched by {@code \s}
+	 */
+	static boolean isWhitespace(char value) {
+		return value == ' ' || (value >= '\t' && value <= '\r');
+	}
+
+	private static boolean matches(CharSequence text, int from, String name) {
+		for (int i = 0; i < name.length(); i++) {
+			if (text.charAt(from + i) != name.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * The abbreviation the CSV importer used to look up, for the message of the exception.
+	 */
+	private static String stripped(String value) {
+		StringBuilder stripped = new StringBuilder(value.length());
+		String trimmed = value.trim();
+		for (int i = 0; i < trimmed.length(); i++) {
+			char character = trimmed.charAt(i);
+			if (!isWhitespace(character) && character != NO_BREAK_SPACE) {
+				stripped.append(character);
+			}
+		}
+		return stripped.toString().trim();
+	}
+}
@@ -0,0 +1,167 @@
+package schedule.manager.service.provided.codec;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+
+/**
+ * Splits and joins lists of groups like {@code 101, 102} without regular expressions.
+ * <p>
+ * Splitting hands the position of every group to a consumer instead of creating substrings, so callers can look the
+ * groups up by position, and splits exactly like {@link String#split(String)}: with {@code \s*,\s*} when whitespace
+ * around the commas is trimmed and with {@code ,} otherwise, dropping the empty groups at the end.
+ */
+public final class GroupCodec {
+
+	/**
+	 * Receives the position of a group.
+	 *
+	 * @param <S> the type of the source containing the groups
+	 */
+	@FunctionalInterface
+	public interface GroupConsumer<S> {
+
+		/**
+		 * @param source the source containing the group
+		 * @param from   the index of the first character, or byte, of the group
+		 * @param to     the index after the last character, or byte, of the group
+		 */
+		void accept(S source, int from, int to);
+	}
+
+	private GroupCodec() {
+	}
+
+	/**
+	 * Splits a list of groups at commas.
+	 *
+	 * @param text     the text containing the list
+	 * @param from     the index of the first character of the list
+	 * @param to       the index after the last character of the list
+	 * @param trim     whether to drop the whitespace around the commas
+	 * @param consumer receives every group, in order
+	 * @param <S>      the type of the text
+	 */
+	public static <S extends CharSequence> void split(S text, int from, int to, boolean trim, GroupConsumer<? super S> consumer) {
+		int comma = indexOf(text, from, to);
+		if (comma < 0) {
+			consumer.accept(text, from, to);
+			return;
+		}
+		// empty groups are only passed on once a group follows them
+		int empty = -1;
+		int empties = 0;
+		for (int start = from; start <= to; ) {
+			int end = comma < 0 ? to : comma;
+			int first = start;
+			int last = end;
+			if (trim && start > from) {
+				while (first < last && DayCodec.isWhitespace(text.charAt(first))) {
+					first++;
+				}
+			}
+			if (trim && comma >= 0) {
+				while (last > first && DayCodec.isWhitespace(text.charAt(last - 1))) {
+					last--;
+				}
+			}
+			if (first == last) {
+				empty = first;
+				empties++;
+			} else {
+				for (; empties > 0; empties--) {
+					consumer.accept(text, empty, empty);
+				}
+				consumer.accept(text, first, last);
+			}
+			start = end + 1;
+			comma = comma < 0 ? -1 : indexOf(text, start, to);
+		}
+	}
+
+	/**
+	 * Splits a list of groups in UTF-8 bytes at commas, like {@link #split(CharSequence, int, int, boolean, GroupConsumer)}.
+	 *
+	 * @param bytes    the buffer containing the list
+	 * @param from     the index of the first byte of the list
+	 * @param to       the index after the last byte of the list
+	 * @param trim     whether to drop the whitespace around the commas
+	 * @param consumer receives every group, in order
+	 */
+	public static void split(ByteBuffer bytes, int from, int to, boolean trim, GroupConsumer<? super ByteBuffer> consumer) {
+		int comma = indexOf(bytes, from, to);
+		if (comma < 0) {
+			consumer.accept(bytes, from, to);
+			return;
+		}
+		int empty = -1;
+		int empties = 0;
+		for (int start = from; start <= to; ) {
+			int end = comma < 0 ? to : comma;
+			int first = start;
+			int last = end;
+			if (trim && start > from) {
+				while (first < last && DayCodec.isWhitespace((char) bytes.get(first))) {
+					first++;
+				}
+			}
+			if (trim && comma >= 0) {
+				while (last > first && DayCodec.isWhitespace((char) bytes.get(last - 1))) {
+					last--;
+				}
+			}
+			if (first == last) {
+				empty = first;
+				empties++;
+			} else {
+				for (; empties > 0; empties--) {
+					consumer.accept(bytes, empty, empty);
+				}
+				consumer.accept(bytes, first, last);
+			}
+			start = end + 1;
+			comma = comma < 0 ? -1 : indexOf(bytes, start, to);
+		}
+	}
+
+	/**
+	 * Joins groups into a list, like {@link String#join(CharSequence, Iterable)}, sizing the result up front.
+	 *
+	 * @param groups    the groups
+	 * @param delimiter the delimiter between the groups
+	 * @return the list
+	 */
+	public static String join(Collection<String> groups, String delimiter) {
+		int length = Math.max(0, groups.size() - 1) * delimiter.length();
+		for (String group : groups) {
+			length += String.valueOf(group).length();
+		}
+		StringBuilder joined = new StringBuilder(length);
+		boolean first = true;
+		for (String group : groups) {
+			if (!first) {
+				joined.append(delimiter);
+			}
+			joined.append(group);
+			first = false;
+		}
+		return joined.toString();
+	}
+
+	private static int indexOf(CharSequence text, int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (text.charAt(i) == ',') {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static int indexOf(ByteBuffer bytes, int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (bytes.get(i) == ',') {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
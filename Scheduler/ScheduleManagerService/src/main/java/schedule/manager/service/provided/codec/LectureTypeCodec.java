@@ -0,0 +1,56 @@
+package schedule.manager.service.provided.codec;
+
+import schedule.lecture.type.LectureType;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Decodes and encodes the one letter codes of lecture types without allocating,
+ * the same codes as {@link schedule.manager.service.provided.csv.mappers.LectureTypeMapper}.
+ */
+public final class LectureTypeCodec {
+
+	private LectureTypeCodec() {
+	}
+
+	/**
+	 * @param text the text containing the code
+	 * @param from the index of the first character of the code
+	 * @param to   the index after the last character of the code
+	 * @return {@link LectureType#SEMINAR} for {@code V}, {@link LectureType#LECTURE} for {@code P}, otherwise {@link LectureType#OTHER}
+	 */
+	public static LectureType fromCode(CharSequence text, int from, int to) {
+		return to - from == 1 ? fromCode(text.charAt(from)) : LectureType.OTHER;
+	}
+
+	/**
+	 * @param bytes the buffer containing the code
+	 * @param from  the index of the first byte of the code
+	 * @param to    the index after the last byte of the code
+	 * @return the type, like {@link #fromCode(CharSequence, int, int)}
+	 */
+	public static LectureType fromCode(ByteBuffer bytes, int from, int to) {
+		return to - from == 1 ? fromCode((char) bytes.get(from)) : LectureType.OTHER;
+	}
+
+	/**
+	 * @param type the type
+	 * @return {@code V} for {@link LectureType#SEMINAR}, {@code P} for {@link LectureType#LECTURE}, otherwise {@code D}
+	 * @throws NullPointerException if the type is null
+	 */
+	public static String code(LectureType type) {
+		return switch (type) {
+			case SEMINAR -> "V";
+			case LECTURE -> "P";
+			default -> "D";
+		};
+	}
+
+	private static LectureType fromCode(char code) {
+		return switch (code) {
+			case 'V' -> LectureType.SEMINAR;
+			case 'P' -> LectureType.LECTURE;
+			default -> LectureType.OTHER;
+		};
+	}
+}
@@ -0,0 +1,257 @@
+package schedule.manager.service.provided.codec;
+
+import java.nio.ByteBuffer;
+import java.time.LocalTime;
+
+/**
+ * Decodes and encodes time ranges like {@code 11:15-13} without allocating.
+ * <p>
+ * A decoded range is packed into an {@code int}, the minute of the day of the start in the upper half and of the end
+ * in the lower half, and turned into times with {@link #start(int)} and {@link #end(int)}, which return shared instances.
+ * The decoders only accept the usual forms of a range and return {@link #INVALID} for anything else,
+ * callers fall back to the general parsers for those.
+ */
+public final class TimeRangeCodec {
+
+	/**
+	 * Returned by the decoders for ranges they don't accept.
+	 */
+	public static final int INVALID = -1;
+
+	/**
+	 * The length of an encoded range, {@code HH:mm-HH:mm}.
+	 */
+	public static final int ENCODED_LENGTH = 11;
+
+	private static final LocalTime[] MINUTES = new LocalTime[24 * 60];
+
+	static {
+		for (int minute = 0; minute < MINUTES.length; minute++) {
+			MINUTES[minute] = LocalTime.of(minute / 60, minute % 60);
+		}
+	}
+
+	private TimeRangeCodec() {
+	}
+
+	/**
+	 * Decodes a range of the form {@code H:m-H:m} or {@code H:m-H}, with one or two digits per number,
+	 * the form read by {@link schedule.manager.service.provided.csv.mappers.TimePeriodMapper}.
+	 *
+	 * @param text the text containing the range
+	 * @param from the index of the first character of the range
+	 * @param to   the index after the last character of the range
+	 * @return the packed range, or {@link #INVALID}
+	 */
+	public static int decode(CharSequence text, int from, int to) {
+		long startHour = number(text, from, to, false);
+		if (startHour < 0 || !at(text, next(startHour), to, ':')) {
+			return INVALID;
+		}
+		long startMinute = number(text, next(startHour) + 1, to, false);
+		if (startMinute < 0 || !at(text, next(startMinute), to, '-')) {
+			return INVALID;
+		}
+		long endHour = number(text, next(startMinute) + 1, to, false);
+		if (endHour < 0) {
+			return INVALID;
+		}
+		int endMinute = 0;
+		if (next(endHour) < to) {
+			if (!at(text, next(endHour), to, ':')) {
+				return INVALID;
+			}
+			long minute = number(text, next(endHour) + 1, to, false);
+			if (minute < 0 || next(minute) != to) {
+				return INVALID;
+			}
+			endMinute = value(minute);
+		}
+		return pack(value(startHour), value(startMinute), value(endHour), endMinute);
+	}
+
+	/**
+	 * Decodes a range of the form {@code H:m-H:m} or {@code H:m-H} from UTF-8 bytes, like {@link #decode(CharSequence, int, int)}.
+	 *
+	 * @param bytes the buffer containing the range
+	 * @param from  the index of the first byte of the range
+	 * @param to    the index after the last byte of the range
+	 * @return the packed range, or {@link #INVALID}
+	 */
+	public static int decode(ByteBuffer bytes, int from, int to) {
+		long startHour = number(bytes, from, to);
+		if (startHour < 0 || !at(bytes, next(startHour), to, ':')) {
+			return INVALID;
+		}
+		long startMinute = number(bytes, next(startHour) + 1, to);
+		if (startMinute < 0 || !at(bytes, next(startMinute), to, '-')) {
+			return INVALID;
+		}
+		long endHour = number(bytes, next(startMinute) + 1, to);
+		if (endHour < 0) {
+			return INVALID;
+		}
+		int endMinute = 0;
+		if (next(endHour) < to) {
+			if (!at(bytes, next(endHour), to, ':')) {
+				return INVALID;
+			}
+			long minute = number(bytes, next(endHour) + 1, to);
+			if (minute < 0 || next(minute) != to) {
+				return INVALID;
+			}
+			endMinute = value(minute);
+		}
+		return pack(value(startHour), value(startMinute), value(endHour), endMinute);
+	}
+
+	/**
+	 * Decodes a range of the form {@code HH:mm-HH:mm}, the form written by {@link #encode}
+	 * and read by {@link LocalTime#parse(CharSequence)}.
+	 *
+	 * @param text the text containing the range
+	 * @param from the index of the first character of the range
+	 * @param to   the index after the last character of the range
+	 * @return the packed range, or {@link #INVALID}
+	 */
+	public static int decodeIso(CharSequence text, int from, int to) {
+		if (to - from != ENCODED_LENGTH || text.charAt(from + 2) != ':' || text.charAt(from + 5) != '-' || text.charAt(from + 8) != ':') {
+			return INVALID;
+		}
+		long startHour = number(text, from, to, true);
+		long startMinute = number(text, from + 3, to, true);
+		long endHour = number(text, from + 6, to, true);
+		long endMinute = number(text, from + 9, to, true);
+		if (startHour < 0 || startMinute < 0 || endHour < 0 || endMinute < 0) {
+			return INVALID;
+		}
+		return pack(value(startHour), value(startMinute), value(endHour), value(endMinute));
+	}
+
+	/**
+	 * @param range a packed range
+	 * @return the start of the range
+	 */
+	public static LocalTime start(int range) {
+		return MINUTES[range >>> 16];
+	}
+
+	/**
+	 * @param range a packed range
+	 * @return the end of the range
+	 */
+	public static LocalTime end(int range) {
+		return MINUTES[range & 0xFFFF];
+	}
+
+	/**
+	 * @param minuteOfDay the minute of the day
+	 * @return the shared time at the start of the minute
+	 */
+	public static LocalTime time(int minuteOfDay) {
+		return MINUTES[minuteOfDay];
+	}
+
+	/**
+	 * Encodes a range as {@code HH:mm-HH:mm}, dropping seconds, like formatting both times with the pattern {@code HH:mm}.
+	 *
+	 * @param start  the start of the range
+	 * @param end    the end of the range
+	 * @param buffer the buffer to write to, with at least {@link #ENCODED_LENGTH} characters from the offset
+	 * @param offset the index of the first character to write
+	 * @return the index after the last character written
+	 */
+	public static int encode(LocalTime start, LocalTime end, char[] buffer, int offset) {
+		encode(start, buffer, offset);
+		buffer[offset + 5] = '-';
+		encode(end, buffer, offset + 6);
+		return offset + ENCODED_LENGTH;
+	}
+
+	/**
+	 * Formats a range as {@code HH:mm-HH:mm}, see {@link #encode(LocalTime, LocalTime, char[], int)}.
+	 *
+	 * @param start the start of the range
+	 * @param end   the end of the range
+	 * @return the formatted range
+	 */
+	public static String format(LocalTime start, LocalTime end) {
+		char[] buffer = new char[ENCODED_LENGTH];
+		encode(start, end, buffer, 0);
+		return new String(buffer);
+	}
+
+	private static void encode(LocalTime time, char[] buffer, int offset) {
+		int hour = time.getHour();
+		int minute = time.getMinute();
+		buffer[offset] = (char) ('0' + hour / 10);
+		buffer[offset + 1] = (char) ('0' + hour % 10);
+		buffer[offset + 2] = ':';
+		buffer[offset + 3] = (char) ('0' + minute / 10);
+		buffer[offset + 4] = (char) ('0' + minute % 10);
+	}
+
+	private static int pack(int startHour, int startMinute, int endHour, int endMinute) {
+		if (startHour > 23 || endHour > 23 || startMinute > 59 || endMinute > 59) {
+			return INVALID;
+		}
+		return (startHour * 60 + startMinute) << 16 | (endHour * 60 + endMinute);
+	}
+
+	/**
+	 * Reads a number of one or two digits, or of exactly two digits.
+	 *
+	 * @return the number in the upper half and the index after it in the lower half, or -1 if there is no such number
+	 */
+	private static long number(CharSequence text, int from, int to, boolean twoDigits) {
+		int value = 0;
+		int index = from;
+		while (index < to && index - from < 3) {
+			int digit = text.charAt(index) - '0';
+			if (digit < 0 || digit > 9) {
+				break;
+			}
+			value = value * 10 + digit;
+			index++;
+		}
+		int digits = index - from;
+		if (digits == 0 || digits > 2 || (twoDigits && digits != 2)) {
+			return -1;
+		}
+		return (long) value << 32 | index;
+	}
+
+	private static long number(ByteBuffer bytes, int from, int to) {
+		int value = 0;
+		int index = from;
+		while (index < to && index - from < 3) {
+			int digit = bytes.get(index) - '0';
+			if (digit < 0 || digit > 9) {
+				break;
+			}
+			value = value * 10 + digit;
+			index++;
+		}
+		int digits = index - from;
+		if (digits == 0 || digits > 2) {
+			return -1;
+		}
+		return (long) value << 32 | index;
+	}
+
+	private static boolean at(CharSequence text, int index, int to, char expected) {
+		return index < to && text.charAt(index) == expected;
+	}
+
+	private static boolean at(ByteBuffer bytes, int index, int to, char expected) {
+		return index < to && bytes.get(index) == expected;
+	}
+
+	private static int value(long number) {
+		return (int) (number >>> 32);
+	}
+
+	private static int next(long number) {
+		return (int) number;
+	}
+}
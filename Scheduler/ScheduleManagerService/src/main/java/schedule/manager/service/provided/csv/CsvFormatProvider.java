@@ -0,0 +1,36 @@
+package schedule.manager.service.provided.csv;
+
+import schedule.exporter.spec.ConflictReportExporter;
+import schedule.exporter.spec.ScheduleExporter;
+import schedule.exporter.spec.ScheduleExporterProvider;
+import schedule.importer.spec.ScheduleImporter;
+import schedule.importer.spec.ScheduleImporterProvider;
+import schedule.manager.service.provided.report.ConflictReportCSV;
+
+import java.util.Set;
+
+/**
+ * Provides the {@link ScheduleManagerCSV} importer and exporter, and the {@link ConflictReportCSV} writer, for files ending in {@code .csv}.
+ */
+public class CsvFormatProvider implements ScheduleImporterProvider, ScheduleExporterProvider {
+
+	@Override
+	public Set<String> extensions() {
+		return Set.of("csv");
+	}
+
+	@Override
+	public ScheduleImporter createImporter() {
+		return new ScheduleManagerCSV();
+	}
+
+	@Override
+	public ScheduleExporter createExporter() {
+		return new ScheduleManagerCSV();
+	}
+
+	@Override
+	public ConflictReportExporter createConflictReportExporter() {
+		return new ConflictReportCSV();
+	}
+}
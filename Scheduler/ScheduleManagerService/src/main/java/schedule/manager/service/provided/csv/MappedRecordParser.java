@@ -0,0 +1,297 @@
+package schedule.manager.service.provided.csv;
+
+import schedule.classroom.Classroom;
+import schedule.common.StringDictionary;
+import schedule.common.ValidityPeriod;
+import schedule.lecture.Lecture;
+import schedule.manager.service.provided.codec.DayCodec;
+import schedule.manager.service.provided.codec.GroupCodec;
+import schedule.manager.service.provided.codec.LectureTypeCodec;
+import schedule.manager.service.provided.codec.TimeRangeCodec;
+import schedule.manager.service.provided.csv.mappers.ConfigMapping;
+import schedule.manager.service.provided.csv.mappers.TimePeriodMapper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parses the lectures of a CSV file straight from the UTF-8 bytes of a buffer, usually a mapped file.
+ * <p>
+ * The records are tokenized in place, a field is only a range of the buffer. Days, time ranges, groups and lecture
+ * types are decoded from the bytes by the codecs of {@code schedule.manager.service.provided.codec}, subjects,
+ * professors, groups and classrooms are looked up in {@link SliceTable tables} keyed by the bytes, so no {@code String}
+ * is created for a value that was seen before. Time ranges the codec doesn't recognize are decoded into a
+ * {@code String} and handed to {@link TimePeriodMapper}, so every value is read, or rejected, exactly like
+ * {@link ScheduleManagerCSV} does.
+ * <p>
+ * The format is the default format of commons-csv: fields are separated by commas, can be quoted with double quotes
+ * and escape a quote by doubling it, records end with a line feed, a carriage return, or both, and empty lines are skipped.
+ * <p>
+ * Not thread-safe, every buffer is parsed by its own parser.
+ */
+final class MappedRecordParser {
+
+	private static final byte QUOTE = '"';
+	private static final byte COMMA = ',';
+	private static final byte LINE_FEED = '\n';
+	private static final byte CARRIAGE_RETURN = '\r';
+
+	/**
+	 * Every lecture of a CSV file is valid indefinitely, the lectures share the period.
+	 */
+	private static final ValidityPeriod ALWAYS = new ValidityPeriod(LocalDate.MIN, LocalDate.MAX);
+
+	/**
+	 * The kinds of the columns the configuration maps.
+	 */
+	private enum Column {
+		NAME, TYPE, PROFESSOR, GROUPS, DAY, TIME_RANGE, CLASSROOM
+	}
+
+	private final ByteBuffer buffer;
+	private final int limit;
+	private int position;
+
+	/**
+	 * Whether the first record is a header, which is skipped.
+	 */
+	private boolean header;
+
+	/**
+	 * The number of records read, for error messages.
+	 */
+	private int record;
+
+	/**
+	 * The kind of every column, by index, null for columns that aren't read.
+	 */
+	private final Column[] columns;
+
+	/**
+	 * The indices of the columns that are read, in the order of the configuration.
+	 */
+	private final int[] mapped;
+
+	/**
+	 * The fields of the current record: the buffer containing the field, and its range.
+	 * A field with escaped quotes is unescaped into the scratch buffer.
+	 */
+	private final ByteBuffer[] sources;
+	private final int[] starts;
+	private final int[] ends;
+
+	private byte[] scratch = new byte[256];
+	private ByteBuffer scratchBuffer = ByteBuffer.wrap(scratch);
+	private int scratchSize;
+
+	private final SliceTable<String> strings;
+	private final SliceTable<Classroom> classrooms = new SliceTable<>(name -> Classroom.forLooseName(name).orElse(null));
+
+	/**
+	 * @param buffer     the records, from the position to the limit of the buffer
+	 * @param mappings   the column configuration
+	 * @param header     whether the first record is a header
+	 * @param dictionary the dictionary the strings are interned in, shared by the parsers of one file
+	 */
+	MappedRecordParser(ByteBuffer buffer, List<ConfigMapping> mappings, boolean header, StringDictionary dictionary) {
+		this.strings = new SliceTable<>(dictionary::intern);
+		this.buffer = buffer;
+		this.position = buffer.position();
+		this.limit = buffer.limit();
+		this.header = header;
+
+		int width = 0;
+		for (ConfigMapping mapping : mappings) {
+			width = Math.max(width, mapping.getIndex() + 1);
+		}
+		this.columns = new Column[width];
+		for (ConfigMapping mapping : mappings) {
+			columns[mapping.getIndex()] = column(mapping.getOriginal());
+		}
+		this.mapped = mappings.stream()
+				.mapToInt(ConfigMapping::getIndex)
+				.filter(index -> columns[index] != null)
+				.toArray();
+		this.sources = new ByteBuffer[width];
+		this.starts = new int[width];
+		this.ends = new int[width];
+	}
+
+	/**
+	 * Parses the next record.
+	 *
+	 * @return the lecture of the record, or null if there are no more records
+	 * @throws IOException if the record is malformed or lacks a configured column
+	 */
+	Lecture next() throws IOException {
+		while (position < limit) {
+			byte value = buffer.get(position);
+			if (value == LINE_FEED || value == CARRIAGE_RETURN) {
+				position++;
+				continue;
+			}
+			int fields = readRecord();
+			record++;
+			if (header) {
+				header = false;
+				continue;
+			}
+			return lecture(fields);
+		}
+		return null;
+	}
+
+	private int readRecord() throws IOException {
+		scratchSize = 0;
+		int field = 0;
+		while (true) {
+			ByteBuffer source = buffer;
+			int start;
+			int end;
+			if (position < limit && buffer.get(position) == QUOTE) {
+				start = ++position;
+				boolean escaped = false;
+				while (true) {
+					if (position >= limit) {
+						throw new IOException("The end of the file was reached inside a quoted value, record " + (record + 1));
+					}
+					if (buffer.get(position) == QUOTE) {
+						if (position + 1 < limit && buffer.get(position + 1) == QUOTE) {
+							escaped = true;
+							position += 2;
+							continue;
+						}
+						break;
+					}
+					position++;
+				}
+				end = position++;
+				if (escaped) {
+					int length = unescape(start, end);
+					source = scratchBuffer;
+					start = scratchSize - length;
+					end = scratchSize;
+				}
+			} else {
+				start = position;
+				while (position < limit) {
+					byte value = buffer.get(position);
+					if (value == COMMA || value == LINE_FEED || value == CARRIAGE_RETURN) {
+						break;
+					}
+					position++;
+				}
+				end = position;
+			}
+			if (field < columns.length) {
+				sources[field] = source;
+				starts[field] = start;
+				ends[field] = end;
+			}
+			field++;
+
+			if (position >= limit) {
+				return field;
+			}
+			byte value = buffer.get(position++);
+			if (value == COMMA) {
+				continue;
+			}
+			if (value == CARRIAGE_RETURN) {
+				if (position < limit && buffer.get(position) == LINE_FEED) {
+					position++;
+				}
+				return field;
+			}
+			if (value == LINE_FEED) {
+				return field;
+			}
+			throw new IOException("Invalid character between a quoted value and the delimiter, record " + (record + 1));
+		}
+	}
+
+	/**
+	 * Copies a quoted value to the end of the scratch buffer, replacing doubled quotes with single ones.
+	 *
+	 * @return the length of the copied value
+	 */
+	private int unescape(int start, int end) {
+		if (scratchSize + end - start > scratch.length) {
+			// fields already in the old scratch buffer keep it
+			scratch = new byte[Math.max(scratch.length * 2, end - start)];
+			scratchBuffer = ByteBuffer.wrap(scratch);
+			scratchSize = 0;
+		}
+		int length = 0;
+		for (int i = start; i < end; i++) {
+			byte value = buffer.get(i);
+			scratch[scratchSize + length++] = value;
+			if (value == QUOTE) {
+				i++;
+			}
+		}
+		scratchSize += length;
+		return length;
+	}
+
+	private Lecture lecture(int fields) throws IOException {
+		Lecture lecture = new Lecture();
+		for (int index : mapped) {
+			if (index >= fields) {
+				throw new IOException("Record " + record + " has " + fields + " values, there is no column " + index);
+			}
+			ByteBuffer source = sources[index];
+			int start = starts[index];
+			int end = ends[index];
+			switch (columns[index]) {
+				case NAME -> lecture.setSubject(strings.get(source, start, end));
+				case TYPE -> lecture.setType(LectureTypeCodec.fromCode(source, start, end));
+				case PROFESSOR -> lecture.setProfessor(strings.get(source, start, end));
+				case GROUPS -> lecture.setGroups(groups(source, start, end));
+				case DAY -> lecture.setDay(DayCodec.fromAbbreviation(source, start, end));
+				case TIME_RANGE -> timeRange(lecture, source, start, end);
+				case CLASSROOM -> lecture.setClassroom(classrooms.get(source, start, end));
+			}
+		}
+		lecture.setValidityPeriod(ALWAYS);
+		return lecture;
+	}
+
+	private Set<String> groups(ByteBuffer source, int start, int end) {
+		Set<String> groups = new HashSet<>();
+		GroupCodec.split(source, start, end, true, (bytes, from, to) -> groups.add(strings.get(bytes, from, to)));
+		return groups;
+	}
+
+	private static void timeRange(Lecture lecture, ByteBuffer source, int start, int end) {
+		int range = TimeRangeCodec.decode(source, start, end);
+		if (range != TimeRangeCodec.INVALID) {
+			lecture.setStart(TimeRangeCodec.start(range));
+			lecture.setEnd(TimeRangeCodec.end(range));
+			return;
+		}
+		byte[] bytes = new byte[end - start];
+		source.get(start, bytes);
+		TimePeriodMapper.TimeRange timeRange = TimePeriodMapper.parseTimeString(new String(bytes, StandardCharsets.UTF_8));
+		lecture.setStart(timeRange.getStartTime());
+		lecture.setEnd(timeRange.getEndTime());
+	}
+
+	private static Column column(String original) {
+		return switch (original) {
+			case "name" -> Column.NAME;
+			case "type" -> Column.TYPE;
+			case "professor" -> Column.PROFESSOR;
+			case "groups" -> Column.GROUPS;
+			case "day" -> Column.DAY;
+			case "timeRange" -> Column.TIME_RANGE;
+			case "classroom" -> Column.CLASSROOM;
+			default -> null;
+		};
+	}
+}
@@ -0,0 +1,130 @@
+package schedule.manager.service.provided.csv;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a CSV file into byte ranges that start and end at record boundaries, so the ranges can be parsed independently.
+ * <p>
+ * A record ends at a line feed outside of quotes. Quoted values can contain line feeds, so the file is scanned once
+ * from the start to keep track of the quotes. An escaped quote ({@code ""}) toggles the state twice, and the quote
+ * byte never appears inside a multibyte UTF-8 character, so counting quote bytes is enough.
+ */
+final class RecordChunks {
+
+	private static final byte QUOTE = '"';
+	private static final byte LINE_FEED = '\n';
+
+	private RecordChunks() {
+	}
+
+	/**
+	 * Splits a CSV file, skipping its header record.
+	 *
+	 * @param channel   the file to split
+	 * @param chunkSize the size a chunk should have, the chunks end at the first record boundary after it
+	 * @return the chunks, in file order
+	 * @throws IOException If an error occurs while reading the file.
+	 */
+	static List<Chunk> split(FileChannel channel, long chunkSize) throws IOException {
+		List<Chunk> chunks = new ArrayList<>();
+		ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+		byte[] bytes = buffer.array();
+
+		boolean quoted = false;
+		long start = -1;
+		long position = 0;
+		int read;
+		while ((read = channel.read(buffer.clear(), position)) != -1) {
+			for (int i = 0; i < read; i++) {
+				byte value = bytes[i];
+				if (value == QUOTE) {
+					quoted = !quoted;
+				} else if (value == LINE_FEED && !quoted) {
+					long end = position + i + 1;
+					if (start < 0) {
+						start = end;
+					} else if (end - start >= chunkSize) {
+						chunks.add(new Chunk(start, end - start));
+						start = end;
+					}
+				}
+			}
+			position += read;
+		}
+		if (start >= 0 && position > start) {
+			chunks.add(new Chunk(start, position - start));
+		}
+		return chunks;
+	}
+
+	/**
+	 * A range of whole records.
+	 *
+	 * @param start  the offset of the first byte of the range
+	 * @param length the number of bytes in the range
+	 */
+	record Chunk(long start, long length) {
+
+		/**
+		 * Maps the range of the file into memory.
+		 *
+		 * @param channel the file
+		 * @return a stream reading the mapped range
+		 * @throws IOException If an error occurs while mapping the file.
+		 */
+		InputStream open(FileChannel channel) throws IOException {
+			return new BufferStream(map(channel));
+		}
+
+		/**
+		 * Maps the range of the file into memory.
+		 *
+		 * @param channel the file
+		 * @return the mapped range
+		 * @throws IOException If an error occurs while mapping the file.
+		 */
+		ByteBuffer map(FileChannel channel) throws IOException {
+			return channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+		}
+	}
+
+	/**
+	 * Reads a byte buffer.
+	 */
+	private static final class BufferStream extends InputStream {
+
+		private final ByteBuffer buffer;
+
+		private BufferStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length) {
+			if (length == 0) {
+				return 0;
+			}
+			if (!buffer.hasRemaining()) {
+				return -1;
+			}
+			int read = Math.min(length, buffer.remaining());
+			buffer.get(bytes, offset, read);
+			return read;
+		}
+
+		@Override
+		public int available() {
+			return buffer.remaining();
+		}
+	}
+}
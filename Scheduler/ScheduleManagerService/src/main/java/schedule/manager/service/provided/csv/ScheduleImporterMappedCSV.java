@@ -0,0 +1,148 @@
+package schedule.manager.service.provided.csv;
+
+import schedule.common.StringDictionary;
+import schedule.importer.spec.ScheduleImporter;
+import schedule.lecture.Lecture;
+import schedule.manager.service.provided.csv.mappers.ConfigMapping;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Imports lecture data from CSV files by mapping them into memory and parsing their bytes in place.
+ * <p>
+ * Reads the same files with the same column configuration as {@link ScheduleManagerCSV} and produces equal lectures,
+ * but without decoding the file into characters or creating a {@code String} per value: days, time ranges and types
+ * are decoded straight from the bytes, and repeated subjects, professors, groups and classrooms are recognized by
+ * their bytes. See {@link MappedRecordParser} for the details.
+ */
+public class ScheduleImporterMappedCSV implements ScheduleImporter {
+
+	/**
+	 * Files at least this large are parsed in parallel by {@link #loadData(String, String)}.
+	 */
+	private static final long PARALLEL_THRESHOLD = 8L << 20;
+
+	/**
+	 * The size of the chunks a file is split into for parallel parsing.
+	 */
+	private static final long CHUNK_SIZE = 2L << 20;
+
+	/**
+	 * Creates a new instance of ScheduleImporterMappedCSV.
+	 */
+	public ScheduleImporterMappedCSV() {
+	}
+
+	/**
+	 * Loads lecture data from a CSV file using the provided file path and configuration path.
+	 * Large files are parsed in parallel.
+	 *
+	 * @param filePath   The file path to the CSV file containing lecture data.
+	 * @param configPath The file path to the configuration file.
+	 * @return A list of Lecture objects representing the loaded lecture data.
+	 * @throws IOException If an error occurs while reading the files, or the file is malformed.
+	 */
+	@Override
+	public List<Lecture> loadData(String filePath, String configPath) throws IOException {
+		boolean parallel = new File(filePath).length() >= PARALLEL_THRESHOLD;
+		try (Stream<Lecture> lectures = streamData(filePath, configPath, parallel)) {
+			return lectures.collect(Collectors.toCollection(ArrayList::new));
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Streams lecture data from a CSV file, in the order of the rows in the file.
+	 * <p>
+	 * The sequential stream maps the whole file and parses a record whenever a lecture is consumed.
+	 * The parallel stream, and the sequential stream of files larger than 2 GB, split the file into chunks
+	 * of whole records, which are mapped and parsed separately.
+	 *
+	 * @param filePath   The file path to the CSV file containing lecture data.
+	 * @param configPath The file path to the configuration file.
+	 * @param parallel   Whether to parse the file in parallel.
+	 * @return A stream of lectures, which should be closed to release the file.
+	 * @throws IOException If an error occurs while opening the files.
+	 */
+	@Override
+	public Stream<Lecture> streamData(String filePath, String configPath, boolean parallel) throws IOException {
+		List<ConfigMapping> mappings = ScheduleManagerCSV.readConfig(configPath);
+		StringDictionary dictionary = new StringDictionary();
+		FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ);
+		try {
+			if (!parallel && channel.size() <= Integer.MAX_VALUE) {
+				ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+				channel.close();
+				return StreamSupport.stream(new RecordSpliterator(new MappedRecordParser(buffer, mappings, true, dictionary)), false);
+			}
+			Stream<RecordChunks.Chunk> chunks = RecordChunks.split(channel, CHUNK_SIZE).stream();
+			return (parallel ? chunks.parallel() : chunks)
+					.flatMap(chunk -> parseChunk(channel, chunk, mappings, dictionary).stream())
+					.onClose(() -> {
+						try {
+							channel.close();
+						} catch (IOException e) {
+							throw new UncheckedIOException(e);
+						}
+					});
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	private static List<Lecture> parseChunk(FileChannel channel, RecordChunks.Chunk chunk, List<ConfigMapping> mappings, StringDictionary dictionary) {
+		try {
+			MappedRecordParser parser = new MappedRecordParser(chunk.map(channel), mappings, false, dictionary);
+			List<Lecture> lectures = new ArrayList<>();
+			for (Lecture lecture = parser.next(); lecture != null; lecture = parser.next()) {
+				lectures.add(lecture);
+			}
+			return lectures;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Parses one record at a time.
+	 */
+	private static final class RecordSpliterator extends Spliterators.AbstractSpliterator<Lecture> {
+
+		private final MappedRecordParser parser;
+
+		private RecordSpliterator(MappedRecordParser parser) {
+			super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+			this.parser = parser;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super Lecture> action) {
+			try {
+				Lecture lecture = parser.next();
+				if (lecture == null) {
+					return false;
+				}
+				action.accept(lecture);
+				return true;
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+}
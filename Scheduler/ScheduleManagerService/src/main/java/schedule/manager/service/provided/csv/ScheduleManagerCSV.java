@@ -5,18 +5,30 @@ import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVPrinter;
 import org.apache.commons.csv.CSVRecord;
 import schedule.classroom.Classroom;
+import schedule.common.StringDictionary;
 import schedule.common.ValidityPeriod;
 import schedule.lecture.Lecture;
 import schedule.lecture.type.LectureType;
 import schedule.manager.service.ScheduleManagerService;
+import schedule.manager.service.provided.codec.DayCodec;
+import schedule.manager.service.provided.codec.GroupCodec;
+import schedule.manager.service.provided.codec.LectureTypeCodec;
+import schedule.manager.service.provided.codec.TimeRangeCodec;
 import schedule.manager.service.provided.csv.mappers.ConfigMapping;
-import schedule.manager.service.provided.csv.mappers.DayMapper;
 import schedule.manager.service.provided.csv.mappers.LectureTypeMapper;
 import schedule.manager.service.provided.csv.mappers.TimePeriodMapper;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * The ScheduleManagerCSV class is responsible for loading and exporting lecture data from/to CSV files.
@@ -24,32 +36,48 @@ import java.util.*;
  */
 public class ScheduleManagerCSV implements ScheduleManagerService {
 
+	/**
+	 * Files at least this large are parsed in parallel by {@link #loadData(String, String)}.
+	 */
+	private static final long PARALLEL_THRESHOLD = 8L << 20;
+
+	/**
+	 * The size of the chunks a file is split into for parallel parsing.
+	 */
+	private static final long CHUNK_SIZE = 2L << 20;
+
 	/**
 	 * Creates a new instance of ScheduleManagerCSV.
 	 */
 	public ScheduleManagerCSV() {
 	}
 
-	private static List<ConfigMapping> readConfig(String filePath) throws FileNotFoundException {
+	/**
+	 * Reads the column configuration, a line per column with its index, its name in the file and the field it maps to.
+	 *
+	 * @param filePath The file path to the configuration file.
+	 * @return The mappings, in the order of the file.
+	 * @throws IOException If an error occurs while reading the file.
+	 */
+	static List<ConfigMapping> readConfig(String filePath) throws IOException {
 		List<ConfigMapping> mappings = new ArrayList<>();
 
 		File file = new File(filePath);
-		Scanner scanner = new Scanner(file);
+		try (Scanner scanner = new Scanner(file, StandardCharsets.UTF_8)) {
+			while (scanner.hasNextLine()) {
+				String line = scanner.nextLine();
+				String[] splitLine = line.split(" ", 3);
 
-		while (scanner.hasNextLine()) {
-			String line = scanner.nextLine();
-			String[] splitLine = line.split(" ", 3);
-
-			mappings.add(new ConfigMapping(Integer.valueOf(splitLine[0]), splitLine[1], splitLine[2]));
+				mappings.add(new ConfigMapping(Integer.valueOf(splitLine[0]), splitLine[1], splitLine[2]));
+			}
 		}
 
-		scanner.close();
-
 		return mappings;
 	}
 
 	/**
 	 * Loads lecture data from a CSV file using the provided file path and configuration path.
+	 * Large files are parsed in parallel.
 	 *
 	 * @param filePath    The file path to the CSV file containing lecture data.
 	 * @param configPath  The file path to the configuration file.
@@ -58,7 +86,31 @@ public class ScheduleManagerCSV implements ScheduleManagerService {
 	 */
 	@Override
 	public List<Lecture> loadData(String filePath, String configPath) throws IOException {
-		return loadLecturesFromCSV(filePath, configPath);
+		boolean parallel = new File(filePath).length() >= PARALLEL_THRESHOLD;
+		try (Stream<Lecture> lectures = streamData(filePath, configPath, parallel)) {
+			return lectures.collect(Collectors.toCollection(ArrayList::new));
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Streams lecture data from a CSV file, in the order of the rows in the file.
+	 * <p>
+	 * The sequential stream reads the file as it is consumed, holding a single row in memory at a time.
+	 * The parallel stream splits the file into chunks of whole records, maps them into memory
+	 * and parses them on the common fork-join pool.
+	 *
+	 * @param filePath   The file path to the CSV file containing lecture data.
+	 * @param configPath The file path to the configuration file.
+	 * @param parallel   Whether to parse the file in parallel.
+	 * @return A stream of lectures, which has to be closed to release the file.
+	 * @throws IOException If an error occurs while opening the files.
+	 */
+	@Override
+	public Stream<Lecture> streamData(String filePath, String configPath, boolean parallel) throws IOException {
+		Function<CSVRecord, Lecture> mapper = recordMapper(readConfig(configPath));
+		return parallel ? streamChunks(Path.of(filePath), mapper) : streamRecords(Path.of(filePath), mapper);
 	}
 
 	/**
@@ -71,52 +123,106 @@ public class ScheduleManagerCSV implements ScheduleManagerService {
 	 */
 	@Override
 	public boolean exportData(List<Lecture> lectures, String path) throws IOException {
+		return writeDataToCSV(lectures.iterator(), path);
+	}
+
+	/**
+	 * Exports lecture data to a CSV file, writing each lecture as it is taken from the iterator.
+	 *
+	 * @param lectures Iterator over the lectures to export.
+	 * @param path     The file path to export the data to.
+	 * @return True if the data was successfully exported, false otherwise.
+	 * @throws IOException If an error occurs while writing the data to the file.
+	 */
+	@Override
+	public boolean exportData(Iterator<Lecture> lectures, String path) throws IOException {
 		return writeDataToCSV(lectures, path);
 	}
 
-	private List<Lecture> loadLecturesFromCSV(String filePath, String configPath) throws IOException {
-		List<Lecture> lectures = new ArrayList<>();
+	private Stream<Lecture> streamRecords(Path path, Function<CSVRecord, Lecture> mapper) throws IOException {
+		Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+		try {
+			CSVParser parser = CSVFormat.Builder.create(CSVFormat.DEFAULT).setHeader().setSkipHeaderRecord(true).build().parse(reader);
+			return parser.stream().map(mapper).onClose(() -> close(parser));
+		} catch (IOException | RuntimeException e) {
+			reader.close();
+			throw e;
+		}
+	}
+
+	private Stream<Lecture> streamChunks(Path path, Function<CSVRecord, Lecture> mapper) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			return RecordChunks.split(channel, CHUNK_SIZE).stream()
+					.parallel()
+					.flatMap(chunk -> parseChunk(channel, chunk, mapper).stream())
+					.onClose(() -> close(channel));
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
 
-		List<ConfigMapping> columnMappings = readConfig(configPath);
+	private static List<Lecture> parseChunk(FileChannel channel, RecordChunks.Chunk chunk, Function<CSVRecord, Lecture> mapper) {
+		try (Reader reader = new InputStreamReader(chunk.open(channel), StandardCharsets.UTF_8);
+		     CSVParser parser = CSVFormat.DEFAULT.parse(reader)) {
+			List<Lecture> lectures = new ArrayList<>();
+			for (CSVRecord record : parser) {
+				lectures.add(mapper.apply(record));
+			}
+			return lectures;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static void close(Closeable closeable) {
+		try {
+			closeable.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private Function<CSVRecord, Lecture> recordMapper(List<ConfigMapping> columnMappings) {
 		Map<Integer, String> mappings = new HashMap<>();
 		for (ConfigMapping configMapping : columnMappings) {
 			mappings.put(configMapping.getIndex(), configMapping.getOriginal());
 		}
+		// subjects, professors and groups repeat on many rows, the rows of one file share the same instances
+		StringDictionary dictionary = new StringDictionary();
 
-		FileReader fileReader = new FileReader(filePath);
-		CSVParser parser = CSVFormat.Builder.create(CSVFormat.DEFAULT).setHeader().setSkipHeaderRecord(true).build().parse(fileReader);
-
-		for (CSVRecord record : parser) {
+		return record -> {
 			Lecture lecture = new Lecture();
 			for (ConfigMapping entry : columnMappings) {
-				mapColumnValue(lecture, entry, record, mappings);
+				mapColumnValue(lecture, entry, record, mappings, dictionary);
 			}
 			lecture.setValidityPeriod(new ValidityPeriod(LocalDate.MIN, LocalDate.MAX));
-			lectures.add(lecture);
-		}
-
-		return lectures;
+			return lecture;
+		};
 	}
 
-	private void mapColumnValue(Lecture lecture, ConfigMapping entry, CSVRecord record, Map<Integer, String> mappings) {
+	private void mapColumnValue(Lecture lecture, ConfigMapping entry, CSVRecord record, Map<Integer, String> mappings, StringDictionary dictionary) {
 		int columnIndex = entry.getIndex();
 
 		switch (mappings.get(columnIndex)) {
-			case "name" -> lecture.setSubject(record.get(columnIndex));
+			case "name" -> lecture.setSubject(dictionary.intern(record.get(columnIndex)));
 			case "type" -> {
 				String typeString = record.get(columnIndex);
 				LectureType lectureType = LectureTypeMapper.mapToLectureType(typeString);
 				lecture.setType(lectureType);
 			}
-			case "professor" -> lecture.setProfessor(record.get(columnIndex));
+			case "professor" -> lecture.setProfessor(dictionary.intern(record.get(columnIndex)));
 			case "groups" -> {
 				String groupsString = record.get(columnIndex);
-				Set<String> groups = new HashSet<>(Arrays.asList(groupsString.split("\\s*,\\s*")));
+				Set<String> groups = new HashSet<>();
+				GroupCodec.split(groupsString, 0, groupsString.length(), true,
+						(text, from, to) -> groups.add(dictionary.intern(text.substring(from, to))));
 				lecture.setGroups(groups);
 			}
 			case "day" -> {
-				String dayAbbreviation = record.get(columnIndex).trim();
-				lecture.setDay(DayMapper.mapToDayOfWeek(dayAbbreviation.replaceAll("[\\s ]*", "").trim()));
+				String dayAbbreviation = record.get(columnIndex);
+				lecture.setDay(DayCodec.fromAbbreviation(dayAbbreviation, 0, dayAbbreviation.length()));
 			}
 			case "timeRange" -> {
 				String timeRangeString = record.get(columnIndex);
@@ -124,16 +230,16 @@ public class ScheduleManagerCSV implements ScheduleManagerService {
 				lecture.setStart(timeRange.getStartTime());
 				lecture.setEnd(timeRange.getEndTime());
 			}
-			case "classroom" -> lecture.setClassroom(Classroom.forName(record.get(columnIndex)).orElse(null));
+			case "classroom" -> lecture.setClassroom(Classroom.forLooseName(record.get(columnIndex)).orElse(null));
 		}
 	}
 
-	private boolean writeDataToCSV(List<Lecture> lectures, String path) throws IOException {
-		try (FileWriter fileWriter = new FileWriter(path);
+	private boolean writeDataToCSV(Iterator<Lecture> lectures, String path) throws IOException {
+		try (Writer fileWriter = Files.newBufferedWriter(Path.of(path), StandardCharsets.UTF_8);
 		     CSVPrinter csvPrinter = new CSVPrinter(fileWriter, createCSVFormat())) {
 
-			for (Lecture lecture : lectures) {
-				csvPrinter.printRecord(formatLecture(lecture));
+			while (lectures.hasNext()) {
+				csvPrinter.printRecord(formatLecture(lectures.next()));
 			}
 
 		}
@@ -146,14 +252,13 @@ public class ScheduleManagerCSV implements ScheduleManagerService {
 	}
 
 	private List<String> formatLecture(Lecture lecture) {
-		String timeRange = TimePeriodMapper.formatTimeRange(new TimePeriodMapper.TimeRange(lecture.getStart(), lecture.getEnd()));
 		return Arrays.asList(
 				lecture.getSubject(),
-				LectureTypeMapper.lectureTypeToString(lecture.getType()),
+				LectureTypeCodec.code(lecture.getType()),
 				lecture.getProfessor(),
-				String.join(", ", lecture.getGroups()),
-				DayMapper.mapToAbbreviation(lecture.getDay()),
-				timeRange,
+				GroupCodec.join(lecture.getGroups(), ", "),
+				DayCodec.abbreviation(lecture.getDay()),
+				TimeRangeCodec.format(lecture.getStart(), lecture.getEnd()),
 				lecture.getClassroom().getName()
 		);
 	}
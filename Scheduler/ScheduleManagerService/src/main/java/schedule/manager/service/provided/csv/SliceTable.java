@@ -0,0 +1,126 @@
+package schedule.manager.service.provided.csv;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * A hash table keyed by byte slices of a buffer, caching the value decoded from every distinct slice.
+ * <p>
+ * Looking up a slice that was seen before hashes and compares the bytes in place, so the slice is never decoded
+ * into a {@code String} again. Only the bytes of the distinct keys are copied into the table.
+ * <p>
+ * Not thread-safe, every parser has its own tables.
+ *
+ * @param <V> the type of the decoded values
+ */
+final class SliceTable<V> {
+
+	private static final Object NULL = new Object();
+
+	private final Function<String, ? extends V> decoder;
+
+	/**
+	 * The bytes of the keys, one after the other.
+	 */
+	private byte[] keys = new byte[1 << 12];
+	private int keysSize;
+
+	private int[] offsets = new int[64];
+	private int[] lengths = new int[64];
+	private int[] hashes = new int[64];
+	private Object[] values = new Object[64];
+	private int size;
+
+	/**
+	 * The open-addressed table of entry indices plus one, zero marks an empty bucket.
+	 */
+	private int[] buckets = new int[128];
+
+	/**
+	 * @param decoder decodes a key the first time it is seen, can return null
+	 */
+	SliceTable(Function<String, ? extends V> decoder) {
+		this.decoder = decoder;
+	}
+
+	/**
+	 * Returns the value of a slice, decoding the slice as UTF-8 if it wasn't seen before.
+	 *
+	 * @param buffer the buffer containing the slice
+	 * @param start  the index of the first byte of the slice
+	 * @param end    the index after the last byte of the slice
+	 * @return the decoded value
+	 */
+	@SuppressWarnings("unchecked")
+	V get(ByteBuffer buffer, int start, int end) {
+		int hash = 1;
+		for (int i = start; i < end; i++) {
+			hash = 31 * hash + buffer.get(i);
+		}
+		int length = end - start;
+		int mask = buckets.length - 1;
+		for (int bucket = mix(hash) & mask; ; bucket = (bucket + 1) & mask) {
+			int entry = buckets[bucket] - 1;
+			if (entry < 0) {
+				return add(buffer, start, length, hash, bucket);
+			}
+			if (hashes[entry] == hash && lengths[entry] == length && matches(entry, buffer, start)) {
+				Object value = values[entry];
+				return value == NULL ? null : (V) value;
+			}
+		}
+	}
+
+	private boolean matches(int entry, ByteBuffer buffer, int start) {
+		int offset = offsets[entry];
+		for (int i = 0; i < lengths[entry]; i++) {
+			if (keys[offset + i] != buffer.get(start + i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private V add(ByteBuffer buffer, int start, int length, int hash, int bucket) {
+		if (keysSize + length > keys.length) {
+			keys = Arrays.copyOf(keys, Math.max(keys.length * 2, keysSize + length));
+		}
+		buffer.get(start, keys, keysSize, length);
+		V value = decoder.apply(new String(keys, keysSize, length, StandardCharsets.UTF_8));
+
+		if (size == offsets.length) {
+			offsets = Arrays.copyOf(offsets, size * 2);
+			lengths = Arrays.copyOf(lengths, size * 2);
+			hashes = Arrays.copyOf(hashes, size * 2);
+			values = Arrays.copyOf(values, size * 2);
+		}
+		offsets[size] = keysSize;
+		lengths[size] = length;
+		hashes[size] = hash;
+		values[size] = value == null ? NULL : value;
+		keysSize += length;
+		buckets[bucket] = ++size;
+		if (size * 2 > buckets.length) {
+			rehash();
+		}
+		return value;
+	}
+
+	private void rehash() {
+		buckets = new int[buckets.length * 2];
+		int mask = buckets.length - 1;
+		for (int entry = 0; entry < size; entry++) {
+			int bucket = mix(hashes[entry]) & mask;
+			while (buckets[bucket] != 0) {
+				bucket = (bucket + 1) & mask;
+			}
+			buckets[bucket] = entry + 1;
+		}
+	}
+
+	private static int mix(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+}
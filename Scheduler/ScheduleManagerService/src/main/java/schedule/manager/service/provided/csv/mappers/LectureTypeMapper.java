@@ -1,6 +1,7 @@
 package schedule.manager.service.provided.csv.mappers;
 
 import schedule.lecture.type.LectureType;
+import schedule.manager.service.provided.codec.LectureTypeCodec;
 
 /**
  * The LectureTypeMapper class provides methods to map between string representation of a lecture type
@@ -16,11 +17,7 @@ public class LectureTypeMapper {
      * @throws IllegalArgumentException if the typeString is not recognized.
      */
     public static LectureType mapToLectureType(String typeString) {
-        return switch (typeString) {
-            case "V" -> LectureType.SEMINAR;
-            case "P" -> LectureType.LECTURE;
-            default -> LectureType.OTHER;
-        };
+        return LectureTypeCodec.fromCode(typeString, 0, typeString.length());
     }
 
     // TODO: Improve mapping back other types to string (maybe save a map instead of mapping them straight to ENUM)
@@ -34,10 +31,6 @@ public class LectureTypeMapper {
      *         - "D" for OTHER (default).
      */
     public static String lectureTypeToString(LectureType lectureType) {
-	    return switch (lectureType) {
-		    case SEMINAR -> "V";
-		    case LECTURE -> "P";
-		    default -> "D";
-	    };
+        return LectureTypeCodec.code(lectureType);
     }
 }
@@ -1,5 +1,7 @@
 package schedule.manager.service.provided.csv.mappers;
 
+import schedule.manager.service.provided.codec.TimeRangeCodec;
+
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 
@@ -8,31 +10,41 @@ import java.time.format.DateTimeFormatter;
  */
 public class TimePeriodMapper {
 
+    /**
+     * The format of the times in a range, the minutes of the end time can be left out.
+     */
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("H:m");
+
     /**
      * Parses a time string and creates a time range.
+     * <p>
+     * The usual forms, with one or two digits per number, are decoded by {@link TimeRangeCodec},
+     * anything else is parsed with the formatter.
      *
      * @param input The input string representing the time range (e.g., "15:15-17").
      * @return A TimeRange object representing the parsed start and end times.
      */
     public static TimeRange parseTimeString(String input) {
+        int range = TimeRangeCodec.decode(input, 0, input.length());
+        if (range != TimeRangeCodec.INVALID) {
+            return new TimeRange(TimeRangeCodec.start(range), TimeRangeCodec.end(range));
+        }
+
         // Split the input string into start and end parts
         String[] parts = input.split("-");
         String startTimeString = parts[0];
         String endTimeString = parts[1];
 
-        // Define a formatter for parsing time with or without minutes
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("H:m");
-
         // Parse the start time
-        LocalTime startTime = LocalTime.parse(startTimeString, formatter);
+        LocalTime startTime = LocalTime.parse(startTimeString, FORMATTER);
 
         // Parse the end time (add default minutes if not specified)
         LocalTime endTime;
         if (endTimeString.contains(":")) {
-            endTime = LocalTime.parse(endTimeString, formatter);
+            endTime = LocalTime.parse(endTimeString, FORMATTER);
         } else {
             // If minutes are not specified, use 00 as the default
-            endTime = LocalTime.parse(endTimeString + ":00", formatter);
+            endTime = LocalTime.parse(endTimeString + ":00", FORMATTER);
         }
 
         return new TimeRange(startTime, endTime);
@@ -45,11 +57,7 @@ public class TimePeriodMapper {
      * @return The formatted time range string.
      */
     public static String formatTimeRange(TimeRange timeRange) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("HH:mm");
-        String startTimeString = timeRange.getStartTime().format(formatter);
-        String endTimeString = timeRange.getEndTime().format(formatter);
-
-        return startTimeString + "-" + endTimeString;
+        return TimeRangeCodec.format(timeRange.getStartTime(), timeRange.getEndTime());
     }
 
     /**
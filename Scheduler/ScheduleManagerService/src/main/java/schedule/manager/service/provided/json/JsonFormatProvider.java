@@ -0,0 +1,36 @@
+package schedule.manager.service.provided.json;
+
+import schedule.exporter.spec.ConflictReportExporter;
+import schedule.exporter.spec.ScheduleExporter;
+import schedule.exporter.spec.ScheduleExporterProvider;
+import schedule.importer.spec.ScheduleImporter;
+import schedule.importer.spec.ScheduleImporterProvider;
+import schedule.manager.service.provided.report.ConflictReportJSON;
+
+import java.util.Set;
+
+/**
+ * Provides the {@link ScheduleManagerJSON} importer and exporter, and the {@link ConflictReportJSON} writer, for files ending in {@code .json}.
+ */
+public class JsonFormatProvider implements ScheduleImporterProvider, ScheduleExporterProvider {
+
+	@Override
+	public Set<String> extensions() {
+		return Set.of("json");
+	}
+
+	@Override
+	public ScheduleImporter createImporter() {
+		return new ScheduleManagerJSON();
+	}
+
+	@Override
+	public ScheduleExporter createExporter() {
+		return new ScheduleManagerJSON();
+	}
+
+	@Override
+	public ConflictReportExporter createConflictReportExporter() {
+		return new ConflictReportJSON();
+	}
+}
@@ -1,6 +1,9 @@
 package schedule.manager.service.provided.json;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.module.SimpleModule;
@@ -11,10 +14,20 @@ import schedule.manager.service.provided.json.mappers.ClassroomMapper;
 import schedule.manager.service.provided.json.mappers.LectureDeserializer;
 import schedule.manager.service.provided.json.mappers.LectureSerializer;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 
 /**
@@ -25,18 +38,35 @@ public class ScheduleManagerJSON implements ScheduleManagerService {
 
     private final ObjectMapper objectMapper;
 
+    private final LectureSerializer lectureSerializer = new LectureSerializer();
+
+    /**
+     * Whether the exported JSON is written without indentation.
+     */
+    private final boolean compact;
+
     /**
      * This method is the constructor for the ScheduleManagerJSON class. It initializes the ScheduleManagerJSON object.
      * It sets up the ObjectMapper and configures it with deserializers and serializers for Lecture and Classroom objects.
      * It also enables indentation of the JSON output.
      */
     public ScheduleManagerJSON() {
+        this(false);
+    }
+
+    /**
+     * Creates a ScheduleManagerJSON that writes either indented JSON for people, or compact JSON for machines.
+     *
+     * @param compact true to export JSON without indentation and line breaks, false to indent it
+     */
+    public ScheduleManagerJSON(boolean compact) {
+        this.compact = compact;
         objectMapper = new ObjectMapper();
 
         SimpleModule module = new SimpleModule();
         module.addDeserializer(Lecture.class, new LectureDeserializer());
         module.addDeserializer(Classroom.class, new ClassroomMapper.ClassroomDeserializer());
-        module.addSerializer(Lecture.class, new LectureSerializer());
+        module.addSerializer(Lecture.class, lectureSerializer);
 
         objectMapper.registerModule(module);
         objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
@@ -51,25 +81,105 @@ public class ScheduleManagerJSON implements ScheduleManagerService {
             }
         }
 
-	    return objectMapper.readValue(file, new TypeReference<>() {
-	    });
+        List<Lecture> lectures = new ArrayList<>();
+        loadData(path, ignored, lectures::add);
+        return lectures;
     }
 
+    /**
+     * Streams the lectures of a JSON array, reading one lecture from the file at a time.
+     * <p>
+     * The lectures are read straight from the token stream of the file, so the memory used doesn't depend on the size
+     * of the file. A parallel stream reads the lectures in batches, which are then processed in parallel.
+     *
+     * @param path     The path of the JSON file.
+     * @param ignored  Not used, JSON files need no configuration.
+     * @param parallel Whether the stream should be parallel.
+     * @return A stream of lectures, which has to be closed to release the file.
+     * @throws IOException If the file can't be opened or doesn't contain a JSON array.
+     */
     @Override
-    public boolean exportData(List<Lecture> lectures, String path) throws IOException {
-        File file = new File(path);
-        if (!file.exists()) {
-            if (file.createNewFile()) {
-                throw new IOException("File not found");
+    public Stream<Lecture> streamData(String path, String ignored, boolean parallel) throws IOException {
+        JsonParser parser = objectMapper.getFactory().createParser(new File(path));
+        try {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array of lectures in " + path);
             }
+            return StreamSupport.stream(new LectureSpliterator(parser), parallel).onClose(() -> {
+                try {
+                    parser.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            parser.close();
+            throw e;
         }
+    }
 
-        FileWriter writer = new FileWriter(file);
-        String json = objectMapper.writeValueAsString(lectures);
-        writer.write(json);
+    @Override
+    public boolean exportData(List<Lecture> lectures, String path) throws IOException {
+        return exportData(lectures.iterator(), path);
+    }
 
-        writer.close();
+    /**
+     * Exports the lectures as a JSON array, writing each lecture to the file as it is taken from the iterator.
+     * The file is created if it doesn't exist and written as UTF-8.
+     *
+     * @param lectures Iterator over the lectures to export.
+     * @param path     The path of the JSON file.
+     * @return true
+     * @throws IOException If the file can't be written.
+     */
+    @Override
+    public boolean exportData(Iterator<Lecture> lectures, String path) throws IOException {
+        try (OutputStream output = new BufferedOutputStream(new FileOutputStream(path), 1 << 16);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(output, JsonEncoding.UTF8)) {
+            if (!compact) {
+                generator.useDefaultPrettyPrinter();
+            }
+            generator.writeStartArray();
+            while (lectures.hasNext()) {
+                lectureSerializer.serialize(lectures.next(), generator, null);
+            }
+            generator.writeEndArray();
+        }
         return true;
     }
 
+    /**
+     * Reads the lectures of a JSON array one by one.
+     */
+    private final class LectureSpliterator extends Spliterators.AbstractSpliterator<Lecture> {
+
+        private final JsonParser parser;
+
+        /**
+         * A deserializer per file, so the strings of a file are only shared while it is read.
+         */
+        private final LectureDeserializer lectureDeserializer = new LectureDeserializer();
+
+        private LectureSpliterator(JsonParser parser) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.parser = parser;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Lecture> action) {
+            try {
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.START_OBJECT) {
+                    action.accept(lectureDeserializer.deserialize(parser, null));
+                    return true;
+                }
+                if (token == JsonToken.END_ARRAY || token == null) {
+                    return false;
+                }
+                throw new IOException("Expected a lecture object, got " + token);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
 }
@@ -1,53 +1,140 @@
 package schedule.manager.service.provided.json.mappers;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
 import schedule.classroom.Classroom;
+import schedule.common.StringDictionary;
 import schedule.common.ValidityPeriod;
 import schedule.lecture.Lecture;
 import schedule.lecture.type.LectureType;
+import schedule.manager.service.provided.codec.DayCodec;
+import schedule.manager.service.provided.codec.GroupCodec;
+import schedule.manager.service.provided.codec.TimeRangeCodec;
 
 import java.io.IOException;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * A class responsible for deserializing a JSON representation of a Lecture object.
  * <p>
  * This class is a subclass of {@code JsonDeserializer<Lecture>} and overrides the deserialize
  * method to perform the deserialization process.
+ * <p>
+ * The lecture is read directly from the tokens of the parser, without building a tree of the object first.
+ * Unknown fields are skipped. The professor, the groups and the classroom are left empty if they are missing or not
+ * strings, every other field of the lecture is required.
  */
 public class LectureDeserializer extends JsonDeserializer<Lecture> {
+
+	/**
+	 * The fields every lecture must have, as strings.
+	 */
+	private static final List<String> REQUIRED = List.of("Predmet", "Tip", "Dan", "Termin", "validFrom", "validTo");
+
+	/**
+	 * Subjects, professors and groups repeat on many lectures, every lecture read by this deserializer shares the same
+	 * instances through the dictionary.
+	 */
+	private final StringDictionary dictionary = new StringDictionary();
+
+	/**
+	 * Creates a deserializer with its own string dictionary, so it should be created once per file.
+	 */
+	public LectureDeserializer() {
+	}
+
 	/**
 	 * Deserialize JSON representation of a Lecture object.
 	 *
-	 * @param jp      JSON parser used to read the JSON representation
-	 * @param context deserialization context
+	 * @param jp      JSON parser used to read the JSON representation, positioned at the start of the object or its first field
+	 * @param context deserialization context, not used
 	 * @return deserialized Lecture object
-	 * @throws IOException if an I/O error occurs during deserialization
+	 * @throws IOException if an I/O error occurs during deserialization, or a required field is missing or not a string
 	 */
 	@Override
 	public Lecture deserialize(JsonParser jp, DeserializationContext context) throws IOException {
-		JsonNode node = jp.getCodec().readTree(jp);
+		String field;
+		if (jp.currentToken() == JsonToken.START_OBJECT) {
+			field = jp.nextFieldName();
+		} else if (jp.currentToken() == JsonToken.FIELD_NAME) {
+			field = jp.currentName();
+		} else {
+			throw new IOException("Expected a lecture object, got " + jp.currentToken());
+		}
 		Lecture lecture = new Lecture();
+		LocalDate validFrom = null;
+		LocalDate validTo = null;
+		int present = 0;
+
+		for (; field != null; field = jp.nextFieldName()) {
+			int required = REQUIRED.indexOf(field);
+			if (jp.nextToken() != JsonToken.VALUE_STRING) {
+				if (required >= 0) {
+					throw new IOException("Field " + field + " of a lecture must be a string, got " + jp.currentToken());
+				}
+				jp.skipChildren();
+				continue;
+			}
+			if (required >= 0) {
+				present |= 1 << required;
+			}
+			switch (field) {
+				case "Predmet" -> lecture.setSubject(dictionary.intern(jp.getText()));
+				case "Tip" -> lecture.setType(LectureType.valueOf(jp.getText()));
+				case "Nastavnik" -> lecture.setProfessor(dictionary.intern(jp.getText()));
+				case "Grupe" -> lecture.setGroups(groups(jp.getText()));
+				case "Dan" -> lecture.setDay(day(jp.getText()));
+				case "Termin" -> timeRange(lecture, jp.getText());
+				case "Učionica" -> lecture.setClassroom(Classroom.forLooseName(jp.getText()).orElse(null));
+				case "validFrom" -> validFrom = LocalDate.parse(jp.getText());
+				case "validTo" -> validTo = LocalDate.parse(jp.getText());
+				default -> {
+				}
+			}
+		}
+		for (int required = 0; required < REQUIRED.size(); required++) {
+			if ((present & 1 << required) == 0) {
+				throw new IOException("Lecture is missing the field " + REQUIRED.get(required));
+			}
+		}
+		lecture.setValidityPeriod(new ValidityPeriod(validFrom, validTo));
+		return lecture;
+	}
+
+	private Set<String> groups(String value) {
+		Set<String> groups = new HashSet<>();
+		GroupCodec.split(value, 0, value.length(), false, (text, from, to) -> groups.add(dictionary.intern(text.substring(from, to))));
+		return groups;
+	}
 
-		lecture.setSubject(node.get("Predmet").asText());
-		lecture.setType(LectureType.valueOf(node.get("Tip").asText()));
-		lecture.setProfessor(node.get("Nastavnik").asText());
-		lecture.setGroups(new HashSet<>(Arrays.asList(node.get("Grupe").asText().split(","))));
-		lecture.setDay(DayOfWeek.valueOf(node.get("Dan").asText()));
-		String[] times = node.get("Termin").asText().split("-");
+	private static DayOfWeek day(String value) {
+		DayOfWeek day = DayCodec.fromName(value, 0, value.length());
+		return day != null ? day : DayOfWeek.valueOf(value);
+	}
+
+	/**
+	 * Reads the {@code HH:mm-HH:mm} ranges written by {@link LectureSerializer} with {@link TimeRangeCodec},
+	 * any other format is left to {@link LocalTime#parse(CharSequence)}.
+	 */
+	private static void timeRange(Lecture lecture, String value) throws IOException {
+		int range = TimeRangeCodec.decodeIso(value, 0, value.length());
+		if (range != TimeRangeCodec.INVALID) {
+			lecture.setStart(TimeRangeCodec.start(range));
+			lecture.setEnd(TimeRangeCodec.end(range));
+			return;
+		}
+		String[] times = value.split("-");
+		if (times.length < 2) {
+			throw new IOException("Invalid time range: " + value);
+		}
 		lecture.setStart(LocalTime.parse(times[0]));
 		lecture.setEnd(LocalTime.parse(times[1]));
-		lecture.setClassroom(Classroom.forName(node.get("Učionica").asText()).orElse(null));
-		String validFrom = node.get("validFrom").asText();
-		String validTo = node.get("validTo").asText();
-		lecture.setValidityPeriod(new ValidityPeriod(LocalDate.parse(validFrom), LocalDate.parse(validTo)));
-		return lecture;
 	}
 }
@@ -4,12 +4,18 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import schedule.lecture.Lecture;
+import schedule.manager.service.provided.codec.GroupCodec;
+import schedule.manager.service.provided.codec.TimeRangeCodec;
 
 import java.io.IOException;
+import java.time.LocalTime;
 
 /**
  * This class is responsible for serializing Lecture objects into JSON format.
  * It extends the JsonSerializer class and overrides the serialize method.
+ * <p>
+ * The fields are written straight to the generator, the serializer doesn't need the provider,
+ * so it can also be called directly on a generator writing to a stream.
  */
 public class LectureSerializer extends JsonSerializer<Lecture> {
     @Override
@@ -18,13 +24,27 @@ public class LectureSerializer extends JsonSerializer<Lecture> {
         JsonGen.writeStringField("Predmet", lecture.getSubject());
         JsonGen.writeStringField("Tip", lecture.getType().toString());
         JsonGen.writeStringField("Nastavnik", lecture.getProfessor());
-        JsonGen.writeStringField("Grupe", String.join(",", lecture.getGroups()));
+        JsonGen.writeStringField("Grupe", GroupCodec.join(lecture.getGroups(), ","));
         JsonGen.writeStringField("Dan", lecture.getDay().toString());
-        JsonGen.writeStringField("Termin", lecture.getStart().toString() + "-" + lecture.getEnd().toString());
+        JsonGen.writeFieldName("Termin");
+        writeTimeRange(JsonGen, lecture.getStart(), lecture.getEnd());
         JsonGen.writeStringField("Učionica", lecture.getClassroom().getName());
         JsonGen.writeStringField("validFrom", lecture.getValidityPeriod().validFrom().toString());
         JsonGen.writeStringField("validTo", lecture.getValidityPeriod().validTo().toString());
         JsonGen.writeEndObject();
     }
-}
 
+    /**
+     * Writes {@code start-end} the way {@link LocalTime#toString()} formats the times,
+     * without creating strings for the usual times on whole minutes.
+     */
+    private static void writeTimeRange(JsonGenerator generator, LocalTime start, LocalTime end) throws IOException {
+        if (start.getSecond() != 0 || start.getNano() != 0 || end.getSecond() != 0 || end.getNano() != 0) {
+            generator.writeString(start + "-" + end);
+            return;
+        }
+        char[] range = new char[TimeRangeCodec.ENCODED_LENGTH];
+        TimeRangeCodec.encode(start, end, range, 0);
+        generator.writeString(range, 0, range.length);
+    }
+}
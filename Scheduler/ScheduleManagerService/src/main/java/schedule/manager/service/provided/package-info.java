@@ -1,13 +1,17 @@
 /**
  * This package provides specific implementations for the ScheduleManagerService interface.
- * This includes classes for importing and exporting schedules to and from both CSV and JSON formats:
+ * This includes classes for importing and exporting schedules to and from CSV, JSON and binary formats:
  * <ul>
  *     <li>{@link schedule.manager.service.provided.csv.ScheduleManagerCSV}: an implementation of ScheduleManagerService handling CSV formats</li>
+ *     <li>{@link schedule.manager.service.provided.csv.ScheduleImporterMappedCSV}: a faster importer of the same CSV formats, parsing memory-mapped files in place</li>
  *     <li>{@link schedule.manager.service.provided.json.ScheduleManagerJSON}: an implementation of ScheduleManagerService handling JSON formats</li>
+ *     <li>{@link schedule.manager.service.provided.binary.ScheduleManagerBinary}: an implementation of ScheduleManagerService handling the binary {@code .sched} format</li>
+ *     <li>{@link schedule.manager.service.provided.report.ConflictReportCSV} and {@link schedule.manager.service.provided.report.ConflictReportJSON}: writers of conflict reports</li>
  * </ul>
  *
  * @see schedule.manager.service.provided.csv.ScheduleManagerCSV
  * @see schedule.manager.service.provided.json.ScheduleManagerJSON
+ * @see schedule.manager.service.provided.binary.ScheduleManagerBinary
  * @see schedule.manager.service.ScheduleManagerService
 */
 package schedule.manager.service.provided;
\ No newline at end of file
@@ -0,0 +1,22 @@
+package schedule.manager.service.provided.pdf;
+
+import schedule.exporter.spec.ScheduleExporter;
+import schedule.exporter.spec.ScheduleExporterProvider;
+
+import java.util.Set;
+
+/**
+ * Provides the {@link ScheduleExporterPDF} exporter for files ending in {@code .pdf}.
+ */
+public class PdfFormatProvider implements ScheduleExporterProvider {
+
+	@Override
+	public Set<String> extensions() {
+		return Set.of("pdf");
+	}
+
+	@Override
+	public ScheduleExporter createExporter() {
+		return new ScheduleExporterPDF();
+	}
+}
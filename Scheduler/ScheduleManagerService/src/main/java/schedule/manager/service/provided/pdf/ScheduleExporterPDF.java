@@ -1,70 +1,345 @@
 package schedule.manager.service.provided.pdf;
 
-import be.quodlibet.boxable.BaseTable;
-import be.quodlibet.boxable.Cell;
-import be.quodlibet.boxable.Row;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDResources;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
 import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
 import schedule.exporter.spec.ScheduleExporter;
 import schedule.lecture.Lecture;
+import schedule.manager.service.provided.codec.GroupCodec;
 
 import java.io.IOException;
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implementation of the ScheduleExporter interface that exports data to a PDF format.
+ * <p>
+ * The lectures are written as a table, a fixed number of rows per page. Every page is drawn as soon as its rows
+ * are known and its content is moved to a scratch file, so the memory used stays the same however many lectures
+ * are exported. The header of the table is drawn once and reused by every page.
  */
 public class ScheduleExporterPDF implements ScheduleExporter {
 
+	/**
+	 * The main memory used for the content of the pages before it is moved to the scratch file.
+	 */
+	public static final long DEFAULT_MAIN_MEMORY = 4L * 1024 * 1024;
+
+	private static final String TITLE = "Lecture Information";
+	private static final String[] COLUMNS = {"Subject", "Type", "Professor", "Groups", "Day", "Start", "End", "Classroom"};
+	/**
+	 * The share of the table width of every column.
+	 */
+	private static final float[] WIDTHS = {0.22f, 0.09f, 0.16f, 0.12f, 0.10f, 0.06f, 0.06f, 0.19f};
+
+	private static final PDRectangle PAGE = PDRectangle.A4;
+	private static final float MARGIN = 50;
+	private static final float TITLE_HEIGHT = 18;
+	private static final float ROW_HEIGHT = 13;
+	private static final float TITLE_FONT_SIZE = 12;
+	private static final float FONT_SIZE = 8;
+	private static final float PADDING = 3;
+	private static final float LINE_WIDTH = 0.5f;
+
+	/**
+	 * The number of lecture rows on every page.
+	 */
+	private static final int ROWS_PER_PAGE = (int) ((PAGE.getHeight() - 2 * MARGIN - TITLE_HEIGHT - ROW_HEIGHT) / ROW_HEIGHT);
+
+	private final MemoryUsageSetting memory;
+
+	/**
+	 * Creates an exporter keeping up to {@link #DEFAULT_MAIN_MEMORY} of page content in memory.
+	 */
+	public ScheduleExporterPDF() {
+		this(MemoryUsageSetting.setupMixed(DEFAULT_MAIN_MEMORY));
+	}
+
+	/**
+	 * Creates an exporter with the given memory settings for the content of the pages.
+	 *
+	 * @param memory where to keep the content of the finished pages until the document is saved,
+	 *               e.g. {@link MemoryUsageSetting#setupTempFileOnly()}
+	 */
+	public ScheduleExporterPDF(MemoryUsageSetting memory) {
+		this.memory = memory;
+	}
+
 	@Override
 	public boolean exportData(List<Lecture> lectures, String path) throws IOException {
-		try (PDDocument doc = new PDDocument()) {
-			PDPage page = new PDPage(PDRectangle.A4);
+		return exportData(lectures.iterator(), path);
+	}
+
+	@Override
+	public boolean exportData(Iterator<Lecture> lectures, String path) throws IOException {
+		try (PDDocument doc = new PDDocument(memory)) {
+			TableWriter writer = new TableWriter(doc);
+			do {
+				writer.drawPage(lectures);
+			} while (lectures.hasNext());
+			doc.save(path);
+		}
+		return true;
+	}
+
+	/**
+	 * Draws the pages of the table, sharing the fonts, the header and the column positions between them.
+	 */
+	private static final class TableWriter {
+
+		private final PDDocument doc;
+		private final PDFont font = PDType1Font.HELVETICA;
+		private final PDFont boldFont = PDType1Font.HELVETICA_BOLD;
+		private final TextFitter fitter = new TextFitter(font, FONT_SIZE);
+		private final float left = MARGIN;
+		private final float right = PAGE.getWidth() - MARGIN;
+		private final float top = PAGE.getHeight() - MARGIN;
+		private final float[] columnX = new float[COLUMNS.length + 1];
+		private final PDResources resources = new PDResources();
+		private final PDFormXObject header;
+		private final String[] cells = new String[COLUMNS.length];
+
+		TableWriter(PDDocument doc) throws IOException {
+			this.doc = doc;
+			float x = left;
+			for (int column = 0; column < COLUMNS.length; column++) {
+				columnX[column] = x;
+				x += WIDTHS[column] * (right - left);
+			}
+			columnX[COLUMNS.length] = right;
+			resources.add(font);
+			resources.add(boldFont);
+			header = createHeader();
+		}
+
+		/**
+		 * Draws a page with the header and up to {@link #ROWS_PER_PAGE} lectures.
+		 */
+		void drawPage(Iterator<Lecture> lectures) throws IOException {
+			PDPage page = new PDPage(PAGE);
+			page.setResources(resources);
 			doc.addPage(page);
+			try (PDPageContentStream content = new PDPageContentStream(doc, page)) {
+				content.drawForm(header);
+				float rowsTop = top - TITLE_HEIGHT - ROW_HEIGHT;
+				int rows = 0;
+				content.beginText();
+				content.setFont(font, FONT_SIZE);
+				float textX = 0;
+				float textY = 0;
+				while (rows < ROWS_PER_PAGE && lectures.hasNext()) {
+					cells(lectures.next());
+					float y = rowsTop - (rows + 1) * ROW_HEIGHT + PADDING + 1;
+					for (int column = 0; column < COLUMNS.length; column++) {
+						float x = columnX[column] + PADDING;
+						content.newLineAtOffset(x - textX, y - textY);
+						content.showText(fitter.fit(cells[column], columnX[column + 1] - columnX[column] - 2 * PADDING));
+						textX = x;
+						textY = y;
+					}
+					rows++;
+				}
+				content.endText();
 
-			PDPageContentStream contentStream = new PDPageContentStream(doc, page);
+				float bottom = rowsTop - rows * ROW_HEIGHT;
+				content.setLineWidth(LINE_WIDTH);
+				for (int row = 1; row <= rows; row++) {
+					content.moveTo(left, rowsTop - row * ROW_HEIGHT);
+					content.lineTo(right, rowsTop - row * ROW_HEIGHT);
+				}
+				for (float x : columnX) {
+					content.moveTo(x, rowsTop);
+					content.lineTo(x, bottom);
+				}
+				content.stroke();
+			}
+		}
 
-			contentStream.setFont(PDType1Font.HELVETICA_BOLD, 12);
+		private void cells(Lecture lecture) {
+			cells[0] = lecture.getSubject();
+			cells[1] = String.valueOf(lecture.getType());
+			cells[2] = lecture.getProfessor();
+			cells[3] = lecture.getGroups() == null ? "" : GroupCodec.join(lecture.getGroups(), ", ");
+			cells[4] = String.valueOf(lecture.getDay());
+			cells[5] = String.valueOf(lecture.getStart());
+			cells[6] = String.valueOf(lecture.getEnd());
+			cells[7] = lecture.getClassroom() == null ? "" : lecture.getClassroom().getName();
+		}
 
-			float margin = 50;
-			float yStart = page.getMediaBox().getHeight() - margin;
-			float tableWidth = page.getMediaBox().getWidth() - 2 * margin;
-			float tableHeight = yStart - margin;
+		/**
+		 * Draws the title and the column names with their borders into a form shared by every page.
+		 */
+		private PDFormXObject createHeader() throws IOException {
+			PDFormXObject form = new PDFormXObject(doc);
+			form.setBBox(PAGE);
+			form.setResources(new PDResources());
+			try (PDPageContentStream content = new PDPageContentStream(doc, form, form.getStream().createOutputStream())) {
+				float titleBottom = top - TITLE_HEIGHT;
+				float namesBottom = titleBottom - ROW_HEIGHT;
+				content.beginText();
+				content.setFont(boldFont, TITLE_FONT_SIZE);
+				content.newLineAtOffset(left + PADDING, titleBottom + PADDING + 2);
+				content.showText(TITLE);
+				content.setFont(boldFont, FONT_SIZE);
+				for (int column = 0; column < COLUMNS.length; column++) {
+					float offset = column == 0 ? 0 : columnX[column] - columnX[column - 1];
+					content.newLineAtOffset(offset, column == 0 ? -ROW_HEIGHT : 0);
+					content.showText(COLUMNS[column]);
+				}
+				content.endText();
 
-			BaseTable table = new BaseTable(yStart, yStart, margin, tableWidth, margin, doc, page, true, true);
+				content.setLineWidth(LINE_WIDTH);
+				content.addRect(left, namesBottom, right - left, top - namesBottom);
+				content.moveTo(left, titleBottom);
+				content.lineTo(right, titleBottom);
+				for (int column = 1; column < COLUMNS.length; column++) {
+					content.moveTo(columnX[column], titleBottom);
+					content.lineTo(columnX[column], namesBottom);
+				}
+				content.stroke();
+			}
+			return form;
+		}
+	}
 
-			// Create Header row
-			Row<PDPage> headerRow = table.createRow(15);
-			Cell<PDPage> cell = headerRow.createCell(100, "Lecture Information");
-			cell.setFont(PDType1Font.HELVETICA_BOLD);
+	/**
+	 * Shortens texts to the width of a cell, replacing the characters the font can't encode.
+	 * <p>
+	 * Whether the font can encode a character is asked once per character and kept with its width. Characters it
+	 * can't encode are written without their accents if the font can encode the letters they are made of.
+	 */
+	private static final class TextFitter {
 
-			table.addHeaderRow(headerRow);
+		private static final char ELLIPSIS = '…';
+		private static final String REPLACEMENT = "?";
+		private static final float UNENCODABLE = -1;
 
-			// Create rows for lecture data
-			drawLectureRows(lectures, table);
+		private final PDFont font;
+		private final float size;
+		private final float[] latin1Widths = new float[256];
+		private final Map<Character, Float> widths = new HashMap<>();
+		private final float ellipsisWidth;
+		private final StringBuilder text = new StringBuilder();
+		private float textWidth;
 
-			// Draw the table
-			table.draw();
-			contentStream.close();
+		TextFitter(PDFont font, float size) throws IOException {
+			this.font = font;
+			this.size = size;
+			for (char character = 0; character < latin1Widths.length; character++) {
+				latin1Widths[character] = measure(character);
+			}
+			ellipsisWidth = width(ELLIPSIS);
+		}
 
-			doc.save(path);
+		/**
+		 * @param value    the text
+		 * @param maxWidth the width of the cell
+		 * @return the text, shortened with an ellipsis if it is wider than the cell
+		 */
+		String fit(String value, float maxWidth) throws IOException {
+			if (value == null) {
+				return "";
+			}
+			if (!Normalizer.isNormalized(value, Normalizer.Form.NFC)) {
+				// accents written after their letters are joined with them, the font may encode the result
+				value = Normalizer.normalize(value, Normalizer.Form.NFC);
+			}
+			text.setLength(0);
+			textWidth = 0;
+			boolean changed = false;
+			for (int i = 0; i < value.length(); ) {
+				int codePoint = value.codePointAt(i);
+				i += Character.charCount(codePoint);
+				if (Character.isBmpCodePoint(codePoint) && width((char) codePoint) != UNENCODABLE) {
+					if (!append((char) codePoint, maxWidth)) {
+						return ellipsize(maxWidth);
+					}
+					continue;
+				}
+				changed = true;
+				String replacement = replacement(codePoint);
+				for (int j = 0; j < replacement.length(); j++) {
+					if (!append(replacement.charAt(j), maxWidth)) {
+						return ellipsize(maxWidth);
+					}
+				}
+			}
+			return changed ? text.toString() : value;
+		}
 
+		/**
+		 * @return the letters of the character the font can encode, without the accents, or a replacement if there
+		 * are none
+		 */
+		private String replacement(int codePoint) throws IOException {
+			if (codePoint < ' ') {
+				return " ";
+			}
+			String decomposed = Normalizer.normalize(Character.toString(codePoint), Normalizer.Form.NFD);
+			StringBuilder letters = new StringBuilder();
+			for (int i = 0; i < decomposed.length(); i++) {
+				char character = decomposed.charAt(i);
+				if (Character.getType(character) != Character.NON_SPACING_MARK && width(character) != UNENCODABLE) {
+					letters.append(character);
+				}
+			}
+			return letters.length() == 0 ? REPLACEMENT : letters.toString();
 		}
-		return true;
-	}
-	private void drawLectureRows(List<Lecture> lectures, BaseTable table) {
-		for (Lecture lecture : lectures) {
-			Row<PDPage> row = table.createRow(10);
-			row.createCell((100 / 8f), lecture.getSubject());
-			row.createCell((100 / 8f), lecture.getType().toString());
-			row.createCell((100 / 8f), lecture.getProfessor());
-			row.createCell((100 / 8f), lecture.getGroups().toString());
-			row.createCell((100 / 8f), lecture.getDay().toString());
-			row.createCell((100 / 8f), lecture.getStart().toString());
-			row.createCell((100 / 8f), lecture.getEnd().toString());
+
+		/**
+		 * Appends an encodable character if it fits in the cell.
+		 */
+		private boolean append(char character, float maxWidth) throws IOException {
+			float width = width(character);
+			if (textWidth + width > maxWidth) {
+				return false;
+			}
+			text.append(character);
+			textWidth += width;
+			return true;
+		}
+
+		private String ellipsize(float maxWidth) throws IOException {
+			while (text.length() > 0 && textWidth + ellipsisWidth > maxWidth) {
+				textWidth -= width(text.charAt(text.length() - 1));
+				text.setLength(text.length() - 1);
+			}
+			return text.append(ELLIPSIS).toString();
+		}
+
+		/**
+		 * @return the width of the character, or {@link #UNENCODABLE} if the font can't encode it
+		 */
+		private float width(char character) throws IOException {
+			if (character < latin1Widths.length) {
+				return latin1Widths[character];
+			}
+			Float width = widths.get(character);
+			if (width == null) {
+				width = measure(character);
+				widths.put(character, width);
+			}
+			return width;
+		}
+
+		private float measure(char character) throws IOException {
+			if (character < ' ' || Character.isSurrogate(character)) {
+				return UNENCODABLE;
+			}
+			try {
+				return font.getStringWidth(String.valueOf(character)) / 1000 * size;
+			} catch (IllegalArgumentException e) {
+				return UNENCODABLE;
+			}
 		}
 	}
 }
@@ -0,0 +1,51 @@
+package schedule.manager.service.provided.report;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import schedule.exporter.spec.ConflictReportExporter;
+import schedule.exporter.spec.DoubleBookingRow;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes conflict reports as CSV files, with a row per double-booking and the columns of both lectures side by side.
+ */
+public class ConflictReportCSV implements ConflictReportExporter {
+
+	private static final String[] HEADER = header();
+
+	@Override
+	public void exportConflicts(int lectures, Map<String, Integer> counts, List<DoubleBookingRow> doubleBookings, String path) throws IOException {
+		try (Writer writer = Files.newBufferedWriter(Path.of(path), StandardCharsets.UTF_8);
+		     CSVPrinter printer = new CSVPrinter(writer, CSVFormat.Builder.create().setHeader(HEADER).build())) {
+			for (DoubleBookingRow booking : doubleBookings) {
+				List<Object> row = new ArrayList<>(HEADER.length);
+				row.add(booking.resource());
+				row.add(booking.key());
+				row.add(booking.day());
+				row.add(booking.start());
+				row.add(booking.end());
+				row.addAll(LectureColumns.of(booking.first()));
+				row.addAll(LectureColumns.of(booking.second()));
+				printer.printRecord(row);
+			}
+		}
+	}
+
+	private static String[] header() {
+		List<String> header = new ArrayList<>(List.of("resource", "key", "day", "start", "end"));
+		for (String prefix : new String[]{"first", "second"}) {
+			for (String column : LectureColumns.NAMES) {
+				header.add(prefix + Character.toUpperCase(column.charAt(0)) + column.substring(1));
+			}
+		}
+		return header.toArray(String[]::new);
+	}
+}
@@ -0,0 +1,59 @@
+package schedule.manager.service.provided.report;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import schedule.exporter.spec.ConflictReportExporter;
+import schedule.exporter.spec.DoubleBookingRow;
+import schedule.lecture.Lecture;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes conflict reports as JSON files, with the number of double-bookings of every resource,
+ * and the double-bookings with both lectures.
+ */
+public class ConflictReportJSON implements ConflictReportExporter {
+
+	private final JsonFactory factory = new JsonFactory();
+
+	@Override
+	public void exportConflicts(int lectures, Map<String, Integer> counts, List<DoubleBookingRow> doubleBookings, String path) throws IOException {
+		try (JsonGenerator generator = factory.createGenerator(new File(path), JsonEncoding.UTF8)) {
+			generator.useDefaultPrettyPrinter();
+			generator.writeStartObject();
+			generator.writeNumberField("lectures", lectures);
+			generator.writeObjectFieldStart("counts");
+			for (Map.Entry<String, Integer> count : counts.entrySet()) {
+				generator.writeNumberField(count.getKey(), count.getValue());
+			}
+			generator.writeEndObject();
+			generator.writeArrayFieldStart("doubleBookings");
+			for (DoubleBookingRow booking : doubleBookings) {
+				generator.writeStartObject();
+				generator.writeStringField("resource", booking.resource());
+				generator.writeStringField("key", booking.key());
+				generator.writeStringField("day", booking.day().name());
+				generator.writeStringField("start", booking.start().toString());
+				generator.writeStringField("end", booking.end().toString());
+				writeLecture(generator, "first", booking.first());
+				writeLecture(generator, "second", booking.second());
+				generator.writeEndObject();
+			}
+			generator.writeEndArray();
+			generator.writeEndObject();
+		}
+	}
+
+	private static void writeLecture(JsonGenerator generator, String name, Lecture lecture) throws IOException {
+		List<String> columns = LectureColumns.of(lecture);
+		generator.writeObjectFieldStart(name);
+		for (int i = 0; i < LectureColumns.NAMES.size(); i++) {
+			generator.writeStringField(LectureColumns.NAMES.get(i), columns.get(i));
+		}
+		generator.writeEndObject();
+	}
+}
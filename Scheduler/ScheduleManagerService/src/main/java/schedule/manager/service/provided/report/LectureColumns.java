@@ -0,0 +1,36 @@
+package schedule.manager.service.provided.report;
+
+import schedule.lecture.Lecture;
+
+import java.util.List;
+
+/**
+ * The columns of a lecture in a conflict report.
+ */
+final class LectureColumns {
+
+	static final List<String> NAMES = List.of("subject", "type", "professor", "groups", "start", "end", "classroom", "validFrom", "validTo");
+
+	private LectureColumns() {
+	}
+
+	/**
+	 * @return the values of the columns, empty for the missing values
+	 */
+	static List<String> of(Lecture lecture) {
+		return List.of(
+				text(lecture.getSubject()),
+				text(lecture.getType()),
+				text(lecture.getProfessor()),
+				lecture.getGroups() == null ? "" : String.join(", ", lecture.getGroups()),
+				text(lecture.getStart()),
+				text(lecture.getEnd()),
+				lecture.getClassroom() == null ? "" : text(lecture.getClassroom().getName()),
+				lecture.getValidityPeriod() == null ? "" : lecture.getValidityPeriod().validFrom().toString(),
+				lecture.getValidityPeriod() == null ? "" : lecture.getValidityPeriod().validTo().toString());
+	}
+
+	private static String text(Object value) {
+		return value == null ? "" : value.toString();
+	}
+}
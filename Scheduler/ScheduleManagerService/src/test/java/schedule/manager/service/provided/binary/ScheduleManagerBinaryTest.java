@@ -0,0 +1,165 @@
+package schedule.manager.service.provided.binary;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import schedule.classroom.Classroom;
+import schedule.classroom.ClassroomRegistry;
+import schedule.common.ValidityPeriod;
+import schedule.lecture.Lecture;
+import schedule.lecture.type.LectureType;
+import schedule.manager.service.provided.csv.ScheduleManagerCSV;
+import schedule.manager.service.provided.json.ScheduleManagerJSON;
+import schedule.manager.service.provided.json.mappers.ClassroomMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleManagerBinaryTest {
+
+	@TempDir
+	static Path directory;
+
+	private static List<Lecture> weekly;
+
+	private final ScheduleManagerBinary binary = new ScheduleManagerBinary();
+
+	@BeforeAll
+	static void loadFixtures() throws IOException {
+		for (String name : List.of("schedule.csv", "mapping.cfg", "classrooms.json")) {
+			try (InputStream input = ScheduleManagerBinaryTest.class.getResourceAsStream("/" + name)) {
+				Files.copy(input, directory.resolve(name), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		ClassroomRegistry.initialize(new ClassroomMapper().getClassrooms(directory.resolve("classrooms.json").toString()));
+		weekly = new ScheduleManagerCSV().loadData(directory.resolve("schedule.csv").toString(), directory.resolve("mapping.cfg").toString());
+	}
+
+	@Test
+	void csvRoundTrip() throws IOException {
+		Path sched = directory.resolve("csv.sched");
+		binary.exportData(weekly, sched.toString());
+		List<Lecture> loaded = binary.loadData(sched.toString(), null);
+		assertFalse(loaded.isEmpty());
+		assertEquals(weekly, loaded);
+
+		Path csv = directory.resolve("from-sched.csv");
+		new ScheduleManagerCSV().exportData(loaded, csv.toString());
+		Path config = directory.resolve("mapping.cfg");
+		assertEquals(new ScheduleManagerCSV().loadData(csv.toString(), config.toString()), loaded);
+	}
+
+	@Test
+	void jsonRoundTrip() throws IOException {
+		List<Lecture> expanded = expand(weekly, LocalDate.of(2023, 10, 2), 14);
+		Path json = directory.resolve("expanded.json");
+		new ScheduleManagerJSON().exportData(expanded, json.toString());
+		List<Lecture> fromJson = new ScheduleManagerJSON().loadData(json.toString(), null);
+
+		Path sched = directory.resolve("json.sched");
+		binary.exportData(fromJson, sched.toString());
+		List<Lecture> loaded = binary.loadData(sched.toString(), null);
+		assertEquals(expanded, loaded);
+
+		Path back = directory.resolve("from-sched.json");
+		new ScheduleManagerJSON().exportData(loaded, back.toString());
+		assertArrayEquals(Files.readAllBytes(json), Files.readAllBytes(back));
+	}
+
+	@Test
+	void fieldsAreReadLazily() throws IOException {
+		Path sched = directory.resolve("fields.sched");
+		binary.exportData(weekly, sched.toString());
+		MappedSchedule mapped = binary.open(sched.toString());
+		assertEquals(weekly.size(), mapped.size());
+		for (int i = 0; i < mapped.size(); i++) {
+			Lecture lecture = weekly.get(i);
+			assertEquals(lecture.getSubject(), mapped.subject(i));
+			// the strings of a file are decoded once, every lecture shares them
+			assertSame(mapped.subject(i), mapped.subject(i));
+			assertEquals(lecture.getType(), mapped.type(i));
+			assertEquals(lecture.getProfessor(), mapped.professor(i));
+			assertEquals(lecture.getGroups(), mapped.groups(i));
+			assertEquals(lecture.getDay(), mapped.day(i));
+			assertEquals(lecture.getStart(), mapped.start(i));
+			assertEquals(lecture.getEnd(), mapped.end(i));
+			assertEquals(lecture.getValidityPeriod(), mapped.validityPeriod(i));
+			assertSame(lecture.getClassroom(), mapped.classroom(i));
+		}
+		assertThrows(IndexOutOfBoundsException.class, () -> mapped.get(mapped.size()));
+		assertThrows(UnsupportedOperationException.class, () -> mapped.groups(0).add("x"));
+	}
+
+	@Test
+	void missingValues() throws IOException {
+		Classroom unregistered = new Classroom("Nepoznata", true, null, 12);
+		Lecture empty = new Lecture();
+		Lecture partial = new Lecture("Predmet", LectureType.OTHER, null, new HashSet<>(Set.of("101", "102")),
+				DayOfWeek.SUNDAY, LocalTime.of(23, 59, 59), null,
+				new ValidityPeriod(LocalDate.MIN, LocalDate.MAX), unregistered);
+		Path sched = directory.resolve("missing.sched");
+		binary.exportData(List.of(empty, partial), sched.toString());
+		assertEquals(List.of(empty, partial), binary.loadData(sched.toString(), null));
+	}
+
+	@Test
+	void emptySchedule() throws IOException {
+		Path sched = directory.resolve("empty.sched");
+		binary.exportData(List.of(), sched.toString());
+		assertTrue(binary.open(sched.toString()).isEmpty());
+	}
+
+	@Test
+	void rejectsOtherFiles() throws IOException {
+		Path sched = directory.resolve("version.sched");
+		binary.exportData(weekly, sched.toString());
+		try (FileChannel channel = FileChannel.open(sched, StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.allocate(2).order(ByteOrder.LITTLE_ENDIAN).putShort(0, (short) 2), 4);
+		}
+		IOException version = assertThrows(IOException.class, () -> binary.open(sched.toString()));
+		assertTrue(version.getMessage().contains("version"));
+
+		Path truncated = directory.resolve("truncated.sched");
+		binary.exportData(weekly, truncated.toString());
+		try (FileChannel channel = FileChannel.open(truncated, StandardOpenOption.WRITE)) {
+			channel.truncate(channel.size() / 2);
+		}
+		assertThrows(IOException.class, () -> binary.open(truncated.toString()));
+
+		Path csv = directory.resolve("schedule.csv");
+		assertThrows(IOException.class, () -> binary.open(csv.toString()));
+	}
+
+	/**
+	 * Copies every weekly lecture onto each of its dates, like an expanded collection of lectures.
+	 */
+	private static List<Lecture> expand(List<Lecture> weekly, LocalDate from, int days) {
+		List<Lecture> expanded = new ArrayList<>();
+		for (LocalDate date = from; date.isBefore(from.plusDays(days)); date = date.plusDays(1)) {
+			for (Lecture lecture : weekly) {
+				if (lecture.getDay() == date.getDayOfWeek()) {
+					expanded.add(new Lecture(lecture.getSubject(), lecture.getType(), lecture.getProfessor(),
+							new HashSet<>(lecture.getGroups()), lecture.getDay(), lecture.getStart(), lecture.getEnd(),
+							new ValidityPeriod(date, date.plusDays(1)), lecture.getClassroom()));
+				}
+			}
+		}
+		return expanded;
+	}
+}
@@ -0,0 +1,256 @@
+package schedule.manager.service.provided.codec;
+
+import org.junit.jupiter.api.Test;
+import schedule.lecture.type.LectureType;
+import schedule.manager.service.provided.csv.mappers.DayMapper;
+import schedule.manager.service.provided.csv.mappers.LectureTypeMapper;
+import schedule.manager.service.provided.csv.mappers.TimePeriodMapper;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the codecs, and the mappers using them, with the regular expression and formatter based implementations
+ * they replaced, on random inputs.
+ */
+class CodecFuzzTest {
+
+	private static final int ROUNDS = 50_000;
+
+	private final Random random = new Random(20231122);
+
+	@Test
+	void timeRanges() {
+		String[] pieces = {"0", "1", "2", "3", "5", "9", "11", "15", "23", "24", "59", "60", "07", "123", ":", ":", "-", "-", " ", "+", "a"};
+		for (int round = 0; round < ROUNDS; round++) {
+			String input = round % 2 == 0 ? validTimeRange() : randomText(pieces, 1 + random.nextInt(7));
+			Object expected = outcome(() -> Baseline.parseTimeString(input));
+			Object actual = outcome(() -> range(TimePeriodMapper.parseTimeString(input)));
+			assertEquals(expected, actual, input);
+
+			int decoded = TimeRangeCodec.decode(input, 0, input.length());
+			if (decoded != TimeRangeCodec.INVALID) {
+				assertEquals(expected, List.of(TimeRangeCodec.start(decoded), TimeRangeCodec.end(decoded)), input);
+			}
+			Slice slice = slice(input);
+			assertEquals(decoded, TimeRangeCodec.decode(slice.bytes, slice.from, slice.to), input);
+		}
+	}
+
+	@Test
+	void isoTimeRanges() {
+		String[] pieces = {"0", "1", "00", "09", "11", "23", "24", "59", "60", ":", "-", ":30", " "};
+		for (int round = 0; round < ROUNDS; round++) {
+			String input = randomText(pieces, 1 + random.nextInt(7));
+			int decoded = TimeRangeCodec.decodeIso(input, 0, input.length());
+			if (decoded != TimeRangeCodec.INVALID) {
+				String[] times = input.split("-");
+				assertEquals(List.of(LocalTime.parse(times[0]), LocalTime.parse(times[1])),
+						List.of(TimeRangeCodec.start(decoded), TimeRangeCodec.end(decoded)), input);
+			}
+		}
+		for (int round = 0; round < ROUNDS; round++) {
+			LocalTime start = LocalTime.ofSecondOfDay(random.nextInt(24 * 60) * 60L);
+			LocalTime end = LocalTime.ofSecondOfDay(random.nextInt(24 * 60) * 60L);
+			String input = start + "-" + end;
+			int decoded = TimeRangeCodec.decodeIso(input, 0, input.length());
+			assertEquals(List.of(start, end), List.of(TimeRangeCodec.start(decoded), TimeRangeCodec.end(decoded)), input);
+		}
+	}
+
+	@Test
+	void formattedTimeRanges() {
+		for (int round = 0; round < ROUNDS; round++) {
+			LocalTime start = LocalTime.ofNanoOfDay(Math.floorMod(random.nextLong(), 24L * 60 * 60 * 1_000_000_000));
+			LocalTime end = LocalTime.ofSecondOfDay(random.nextInt(24 * 60 * 60));
+			TimePeriodMapper.TimeRange range = new TimePeriodMapper.TimeRange(start, end);
+			assertEquals(Baseline.formatTimeRange(range), TimePeriodMapper.formatTimeRange(range));
+		}
+	}
+
+	@Test
+	void days() {
+		String[] pieces = {"PON", "UTO", "SRE", "ČET", "PET", "SUB", "NED", "P", "O", "N", "Č", "E", "T",
+				" ", " ", "\t", "\r\n", " ", " ", "\u0001", "\u001F", "x", "ČETPON"};
+		for (int round = 0; round < ROUNDS; round++) {
+			String input = randomText(pieces, random.nextInt(6));
+			Object expected = outcome(() -> Baseline.day(input));
+			assertEquals(expected, outcome(() -> DayCodec.fromAbbreviation(input, 0, input.length())), input);
+			Slice slice = slice(input);
+			assertEquals(expected, outcome(() -> DayCodec.fromAbbreviation(slice.bytes, slice.from, slice.to)), input);
+		}
+		for (DayOfWeek day : DayOfWeek.values()) {
+			assertEquals(DayMapper.mapToAbbreviation(day), DayCodec.abbreviation(day));
+			assertEquals(day, DayCodec.fromName(day.name(), 0, day.name().length()));
+			String padded = " " + day.name() + "S";
+			assertNull(DayCodec.fromName(padded, 0, padded.length()));
+			assertEquals(day, DayCodec.fromName(padded, 1, padded.length() - 1));
+		}
+		assertEquals(outcome(() -> DayMapper.mapToAbbreviation(null)), outcome(() -> DayCodec.abbreviation(null)));
+	}
+
+	@Test
+	void groups() {
+		String[] pieces = {"101", "102", "2", "a", "Č", ",", ",", ",", " ", " ", "\t", " ", ""};
+		for (int round = 0; round < ROUNDS; round++) {
+			String input = randomText(pieces, random.nextInt(8));
+			assertEquals(Arrays.asList(input.split("\\s*,\\s*")), split(input, true), input);
+			assertEquals(Arrays.asList(input.split(",")), split(input, false), input);
+
+			Slice slice = slice(input);
+			for (boolean trim : new boolean[]{true, false}) {
+				List<String> groups = new ArrayList<>();
+				GroupCodec.split(slice.bytes, slice.from, slice.to, trim, (bytes, from, to) -> groups.add(decode(bytes, from, to)));
+				assertEquals(split(input, trim), groups, input);
+			}
+
+			List<String> joined = Arrays.asList(input.split(","));
+			assertEquals(String.join(", ", joined), GroupCodec.join(joined, ", "));
+		}
+		assertEquals("", GroupCodec.join(List.of(), ","));
+	}
+
+	@Test
+	void lectureTypes() {
+		String[] pieces = {"V", "P", "D", "v", "p", " ", "VV", "Č"};
+		for (int round = 0; round < ROUNDS; round++) {
+			String input = randomText(pieces, random.nextInt(3));
+			assertEquals(Baseline.mapToLectureType(input), LectureTypeMapper.mapToLectureType(input), input);
+			Slice slice = slice(input);
+			assertEquals(Baseline.mapToLectureType(input), LectureTypeCodec.fromCode(slice.bytes, slice.from, slice.to), input);
+		}
+		for (LectureType type : LectureType.values()) {
+			assertEquals(Baseline.lectureTypeToString(type), LectureTypeMapper.lectureTypeToString(type));
+		}
+	}
+
+	private String validTimeRange() {
+		StringBuilder range = new StringBuilder();
+		range.append(number(24)).append(':').append(number(60)).append('-').append(number(24));
+		if (random.nextBoolean()) {
+			range.append(':').append(number(60));
+		}
+		return range.toString();
+	}
+
+	private String number(int bound) {
+		int value = random.nextInt(bound);
+		return value < 10 && random.nextBoolean() ? "0" + value : String.valueOf(value);
+	}
+
+	private String randomText(String[] pieces, int count) {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			text.append(pieces[random.nextInt(pieces.length)]);
+		}
+		return text.toString();
+	}
+
+	/**
+	 * Encodes the text as UTF-8 between random bytes, so the decoders have to respect the bounds of the slice.
+	 */
+	private Slice slice(String text) {
+		byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		int before = random.nextInt(3);
+		int after = random.nextInt(3);
+		ByteBuffer buffer = ByteBuffer.allocate(before + bytes.length + after);
+		for (int i = 0; i < before; i++) {
+			buffer.put((byte) ("1:, \u00C2".charAt(random.nextInt(5))));
+		}
+		buffer.put(bytes);
+		for (int i = 0; i < after; i++) {
+			buffer.put((byte) ("1:, -\u00A0".charAt(random.nextInt(6))));
+		}
+		return new Slice(buffer, before, before + bytes.length);
+	}
+
+	private static List<String> split(String text, boolean trim) {
+		List<String> groups = new ArrayList<>();
+		GroupCodec.split(text, 0, text.length(), trim, (source, from, to) -> groups.add(source.substring(from, to)));
+		return groups;
+	}
+
+	private static String decode(ByteBuffer bytes, int from, int to) {
+		byte[] copy = new byte[to - from];
+		bytes.get(from, copy);
+		return new String(copy, StandardCharsets.UTF_8);
+	}
+
+	private static List<LocalTime> range(TimePeriodMapper.TimeRange range) {
+		return List.of(range.getStartTime(), range.getEndTime());
+	}
+
+	/**
+	 * @return the result, or the type and message of the exception, without the message of index exceptions,
+	 * which the JIT throws without one once they are thrown often enough
+	 */
+	private static Object outcome(Callable<?> call) {
+		try {
+			return call.call();
+		} catch (IndexOutOfBoundsException e) {
+			return e.getClass().getName();
+		} catch (Exception e) {
+			return e.getClass().getName() + ": " + e.getMessage();
+		}
+	}
+
+	private record Slice(ByteBuffer bytes, int from, int to) {
+	}
+
+	/**
+	 * The implementations the codecs replaced.
+	 */
+	private static final class Baseline {
+
+		static List<LocalTime> parseTimeString(String input) {
+			String[] parts = input.split("-");
+			String startTimeString = parts[0];
+			String endTimeString = parts[1];
+			DateTimeFormatter formatter = DateTimeFormatter.ofPattern("H:m");
+			LocalTime startTime = LocalTime.parse(startTimeString, formatter);
+			LocalTime endTime;
+			if (endTimeString.contains(":")) {
+				endTime = LocalTime.parse(endTimeString, formatter);
+			} else {
+				endTime = LocalTime.parse(endTimeString + ":00", formatter);
+			}
+			return List.of(startTime, endTime);
+		}
+
+		static String formatTimeRange(TimePeriodMapper.TimeRange timeRange) {
+			DateTimeFormatter formatter = DateTimeFormatter.ofPattern("HH:mm");
+			return timeRange.getStartTime().format(formatter) + "-" + timeRange.getEndTime().format(formatter);
+		}
+
+		static DayOfWeek day(String value) {
+			String dayAbbreviation = value.trim();
+			return DayMapper.mapToDayOfWeek(dayAbbreviation.replaceAll("[\\s ]*", "").trim());
+		}
+
+		static LectureType mapToLectureType(String typeString) {
+			return switch (typeString) {
+				case "V" -> LectureType.SEMINAR;
+				case "P" -> LectureType.LECTURE;
+				default -> LectureType.OTHER;
+			};
+		}
+
+		static String lectureTypeToString(LectureType lectureType) {
+			return switch (lectureType) {
+				case SEMINAR -> "V";
+				case LECTURE -> "P";
+				default -> "D";
+			};
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package schedule.manager.service.provided.json;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import schedule.common.ValidityPeriod;
+import schedule.lecture.Lecture;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LectureDeserializerTest {
+
+	private static final String LECTURE = """
+			{"Predmet": "Poslovne aplikacije", "Tip": "SEMINAR", "Nastavnik": "Mijatovic Igor", "Grupe": "101,102",
+			 "Dan": "TUESDAY", "Termin": "11:15-13:00", "Učionica": "Raf04 (u)",
+			 "validFrom": "2023-10-02", "validTo": "2024-01-15"%s}""";
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void readsLecture() throws IOException {
+		Lecture lecture = load(LECTURE.formatted("")).get(0);
+		assertEquals("Poslovne aplikacije", lecture.getSubject());
+		assertEquals("Mijatovic Igor", lecture.getProfessor());
+		assertEquals(Set.of("101", "102"), lecture.getGroups());
+		assertEquals(DayOfWeek.TUESDAY, lecture.getDay());
+		assertEquals(LocalTime.of(11, 15), lecture.getStart());
+		assertEquals(LocalTime.of(13, 0), lecture.getEnd());
+		assertEquals(new ValidityPeriod(LocalDate.of(2023, 10, 2), LocalDate.of(2024, 1, 15)), lecture.getValidityPeriod());
+	}
+
+	@Test
+	void skipsUnknownAndOptionalFields() throws IOException {
+		Lecture lecture = load(LECTURE.replace("\"Mijatovic Igor\"", "null")
+				.formatted(", \"Napomena\": {\"tekst\": [1, 2]}")).get(0);
+		assertNull(lecture.getProfessor());
+		assertEquals("Poslovne aplikacije", lecture.getSubject());
+	}
+
+	@Test
+	void rejectsMissingRequiredField() {
+		for (String field : List.of("Predmet", "Tip", "Dan", "Termin", "validFrom", "validTo")) {
+			String value = "\"" + field + "\": \"[^\"]*\"";
+			String json = LECTURE.formatted("").replaceFirst(value + ",\\s*|,\\s*" + value, "");
+			IOException e = assertThrows(IOException.class, () -> load(json));
+			assertTrue(e.getMessage().contains(field), e.getMessage());
+		}
+	}
+
+	@Test
+	void rejectsRequiredFieldThatIsNotAString() {
+		String json = LECTURE.formatted("").replace("\"Termin\": \"11:15-13:00\"", "\"Termin\": 11");
+		IOException e = assertThrows(IOException.class, () -> load(json));
+		assertTrue(e.getMessage().contains("Termin"), e.getMessage());
+	}
+
+	private List<Lecture> load(String lecture) throws IOException {
+		Path path = directory.resolve("lecture.json");
+		Files.writeString(path, "[" + lecture + "]", StandardCharsets.UTF_8);
+		return new ScheduleManagerJSON().loadData(path.toString(), null);
+	}
+}
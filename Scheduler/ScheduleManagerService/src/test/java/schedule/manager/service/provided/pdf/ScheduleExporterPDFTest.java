@@ -0,0 +1,65 @@
+package schedule.manager.service.provided.pdf;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import schedule.classroom.Classroom;
+import schedule.lecture.Lecture;
+import schedule.lecture.type.LectureType;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleExporterPDFTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void lettersTheFontEncodesKeepTheirAccents() throws IOException {
+		String text = export(List.of(
+				lecture("Šifrovanje", "Šašić Žarko"),
+				lecture("Računarstvo", "Ćosić Đorđe"),
+				// s and c followed by combining carons
+				lecture("Sistemi", "Ks\u030Cic\u030C Ana")));
+
+		assertTrue(text.contains("Šifrovanje"), text);
+		assertTrue(text.contains("Šašić Žarko".replace('ć', 'c')), text);
+		// the font has no č, ć or đ, they lose their accents or are replaced
+		assertTrue(text.contains("Racunarstvo"), text);
+		assertTrue(text.contains("Cosic ?or?e"), text);
+		assertTrue(text.contains("Kšic Ana"), text);
+	}
+
+	@Test
+	void textWiderThanTheCellEndsWithAnEllipsis() throws IOException {
+		String subject = "Žitna polja i njihova primena u računarstvu i upravljanju podacima";
+		String text = export(List.of(lecture(subject, "Šašić Žarko")));
+
+		String line = text.lines().filter(row -> row.startsWith("Žitna")).findFirst().orElseThrow();
+		String fitted = line.substring(0, line.indexOf('…') + 1);
+		assertTrue(fitted.length() > 1 && fitted.length() < subject.length(), line);
+		assertTrue(subject.startsWith(fitted.substring(0, fitted.length() - 1)), line);
+	}
+
+	private String export(List<Lecture> lectures) throws IOException {
+		Path path = directory.resolve("schedule.pdf");
+		assertTrue(new ScheduleExporterPDF().exportData(lectures, path.toString()));
+		try (PDDocument doc = PDDocument.load(path.toFile())) {
+			return new PDFTextStripper().getText(doc);
+		}
+	}
+
+	private static Lecture lecture(String subject, String professor) {
+		return new Lecture(subject, LectureType.LECTURE, professor, new HashSet<>(Set.of("101")),
+				DayOfWeek.MONDAY, LocalTime.of(10, 0), LocalTime.of(12, 0), null, new Classroom("Raf01", true, 30, 0));
+	}
+}